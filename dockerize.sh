@@ -1,3 +1,3 @@
-mvn clean package -DskipTests
-mkdir -p target/dependency && (cd target/dependency; jar -xf ../*.jar)
+mvn clean package -Pprod -DskipTests
+java -Djarmode=tools -jar target/CaseBoard-*.jar extract --force --destination target/extracted --application-filename application.jar
 docker build --platform linux/amd64 -t oscarhkli/case-board .
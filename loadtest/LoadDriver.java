@@ -0,0 +1,353 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load driver for the case API. JDK only, run with the source launcher:
+ *
+ * <pre>
+ * java loadtest/LoadDriver.java --url=http://localhost:61001 --scenario=read-heavy
+ * </pre>
+ *
+ * Options, all {@code --name=value}:
+ * <ul>
+ *   <li>{@code scenario}: {@code read-heavy} (default), {@code balanced} or {@code write-heavy},
+ *   presets of the operation weights below</li>
+ *   <li>{@code weights}: explicit weights, e.g. {@code get=80,changes=10,insert=10}, over
+ *   {@code list}, {@code get}, {@code changes}, {@code insert}, {@code update} and
+ *   {@code delete}</li>
+ *   <li>{@code concurrency} (32), {@code duration} (60s), {@code warm-up} (10s)</li>
+ *   <li>{@code rate}: total requests per second for an open-loop run, where latency is measured
+ *   from each request's scheduled start so a stalled server is not hidden; 0 (default) runs
+ *   closed-loop</li>
+ *   <li>{@code seed} (42): fixes every client's operation sequence</li>
+ *   <li>{@code list-accept}: Accept header of the list request</li>
+ *   <li>{@code out}: CSV file the per-operation results are appended to, with the current commit,
+ *   so runs can be compared across commits</li>
+ * </ul>
+ * The server's rate limiter should be disabled for the run
+ * ({@code --case-board.rate-limit.enabled=false}); 429 and 503 responses are counted separately
+ * as throttled.
+ */
+public class LoadDriver {
+
+    enum Operation {
+        LIST, GET, CHANGES, INSERT, UPDATE, DELETE
+    }
+
+    static final Map<String, String> SCENARIOS = Map.of(
+        "read-heavy", "list=1,get=85,changes=9,insert=2,update=2,delete=1",
+        "balanced", "list=1,get=44,changes=5,insert=25,update=20,delete=5",
+        "write-heavy", "list=1,get=15,changes=4,insert=45,update=30,delete=5");
+
+    static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    static final Pattern NEXT_TOKEN = Pattern.compile("\"nextToken\":\"([^\"]+)\"");
+    static final Pattern HAS_MORE = Pattern.compile("\"hasMore\":true");
+
+    record Sample(Operation operation, long latencyNanos, int status) {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = new LinkedHashMap<String, String>();
+        for (var arg : args) {
+            var parts = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(parts[0], parts.length > 1 ? parts[1] : "true");
+        }
+        var baseUrl = options.getOrDefault("url", "http://localhost:61001");
+        var scenario = options.getOrDefault("scenario", "read-heavy");
+        var weights = parseWeights(options.getOrDefault("weights", SCENARIOS.get(scenario)));
+        var concurrency = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+        var duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        var warmUp = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warm-up", "10")));
+        var rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        var seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        var listAccept = options.getOrDefault("list-accept", "application/json");
+        var idSample = Integer.parseInt(options.getOrDefault("id-sample", "10000"));
+
+        var client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5)).build();
+        var ids = sampleIds(client, baseUrl, idSample);
+        System.out.printf("sampled %d case ids%n", ids.size());
+
+        var runId = Long.toString(System.currentTimeMillis(), 36);
+        var results = new ConcurrentLinkedQueue<List<Sample>>();
+        var start = System.nanoTime();
+        var measureFrom = start + warmUp.toNanos();
+        var end = measureFrom + duration.toNanos();
+        var intervalNanos = rate > 0 ? (long) (concurrency * 1e9 / rate) : 0;
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < concurrency; i++) {
+                var worker = i;
+                executor.submit(() -> {
+                    var random = new SplittableRandom(seed + worker);
+                    var driver = new Worker(client, baseUrl, listAccept, ids, random,
+                        "LT-%s-%d-".formatted(runId, worker));
+                    var samples = new ArrayList<Sample>();
+                    var scheduled = start + (intervalNanos > 0 ? random.nextLong(intervalNanos)
+                        : 0);
+                    while (scheduled < end) {
+                        if (intervalNanos > 0) {
+                            LockSupport.parkNanos(scheduled - System.nanoTime());
+                        } else {
+                            scheduled = System.nanoTime();
+                        }
+                        var operation = driver.feasible(pick(weights, random));
+                        var status = driver.execute(operation);
+                        var completed = System.nanoTime();
+                        if (scheduled >= measureFrom && completed <= end) {
+                            samples.add(new Sample(operation, completed - scheduled, status));
+                        }
+                        scheduled += intervalNanos;
+                    }
+                    results.add(samples);
+                    return null;
+                });
+            }
+        }
+        var samples = results.stream().flatMap(List::stream).toList();
+        report(options, baseUrl, scenario, concurrency, duration, rate, samples);
+    }
+
+    static final class Worker {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String listAccept;
+        private final List<Long> ids;
+        private final SplittableRandom random;
+        private final String caseNumberPrefix;
+        private final List<Long> created = new ArrayList<>();
+        private int sequence;
+
+        Worker(HttpClient client, String baseUrl, String listAccept, List<Long> ids,
+            SplittableRandom random, String caseNumberPrefix) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.listAccept = listAccept;
+            this.ids = ids;
+            this.random = random;
+            this.caseNumberPrefix = caseNumberPrefix;
+        }
+
+        Operation feasible(Operation operation) {
+            return operation == Operation.DELETE && created.isEmpty() ? Operation.INSERT
+                : operation;
+        }
+
+        int execute(Operation operation) {
+            var cases = baseUrl + "/api/v1/cases";
+            var request = switch (operation) {
+                case LIST -> get(cases).header("Accept", listAccept);
+                case GET -> get(cases + "/" + anyId());
+                case CHANGES -> get(cases + "/changes?limit=100");
+                case INSERT -> json(cases).POST(BodyPublishers.ofString(body("OPEN")));
+                case UPDATE -> json(cases + "/" + anyId())
+                    .PUT(BodyPublishers.ofString(body("IN_PROGRESS")));
+                case DELETE -> HttpRequest.newBuilder(URI.create(cases + "/" + ownId())).DELETE();
+            };
+            try {
+                var timed = request.timeout(Duration.ofSeconds(30)).build();
+                if (operation != Operation.INSERT) {
+                    return client.send(timed, BodyHandlers.discarding()).statusCode();
+                }
+                var response = client.send(timed, BodyHandlers.ofString());
+                if (response.statusCode() == 201) {
+                    created.add(Long.parseLong(response.body().trim()));
+                }
+                return response.statusCode();
+            } catch (IOException e) {
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+
+        private static HttpRequest.Builder get(String uri) {
+            return HttpRequest.newBuilder(URI.create(uri)).GET();
+        }
+
+        private static HttpRequest.Builder json(String uri) {
+            return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json");
+        }
+
+        private String body(String status) {
+            return """
+                {"caseNumber":"%s%d","title":"Load test case","description":"Created by \
+                LoadDriver","status":"%s"}""".formatted(caseNumberPrefix, sequence++, status);
+        }
+
+        private long anyId() {
+            if (!created.isEmpty() && (ids.isEmpty() || random.nextInt(10) == 0)) {
+                return created.get(random.nextInt(created.size()));
+            }
+            return ids.isEmpty() ? 1 : ids.get(random.nextInt(ids.size()));
+        }
+
+        // only delete cases this run created, so repeated runs see the same data set
+        private long ownId() {
+            return created.remove(created.size() - 1);
+        }
+    }
+
+    static Map<Operation, Integer> parseWeights(String spec) {
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown scenario, use one of " + SCENARIOS.keySet());
+        }
+        var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (var entry : spec.split(",")) {
+            var parts = entry.split("=");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()),
+                Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    static Operation pick(Map<Operation, Integer> weights, SplittableRandom random) {
+        var total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        var roll = random.nextInt(total);
+        for (var entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Pages through the changes feed for live ids, falling back to the list endpoint on builds
+     * without it.
+     */
+    static List<Long> sampleIds(HttpClient client, String baseUrl, int limit) throws Exception {
+        var ids = new ArrayList<Long>();
+        String token = null;
+        do {
+            var uri = baseUrl + "/api/v1/cases/changes?limit=1000"
+                + (token == null ? "" : "&since=" + token);
+            var response = client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                response = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/cases"))
+                        .header("Accept", "application/json").GET().build(),
+                    BodyHandlers.ofString());
+                ids.addAll(parseIds(response.body()));
+                break;
+            }
+            ids.addAll(parseIds(response.body()));
+            var next = NEXT_TOKEN.matcher(response.body());
+            token = HAS_MORE.matcher(response.body()).find() && next.find() ? next.group(1) : null;
+        } while (token != null && ids.size() < limit);
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    static List<Long> parseIds(String body) {
+        var data = body.contains("\"deleted\"") ? body.substring(0, body.indexOf("\"deleted\""))
+            : body;
+        var matcher = ID.matcher(data);
+        var ids = new ArrayList<Long>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    static void report(Map<String, String> options, String baseUrl, String scenario,
+        int concurrency, Duration duration, double rate, List<Sample> samples) {
+        var commit = commit();
+        var seconds = (double) duration.toSeconds();
+        System.out.printf("target=%s commit=%s scenario=%s concurrency=%d rate=%s duration=%ds%n",
+            baseUrl, commit, scenario, concurrency, rate > 0 ? rate : "closed-loop",
+            duration.toSeconds());
+        System.out.printf("%-8s %9s %7s %9s %10s %9s %9s %9s %9s %9s%n", "op", "requests",
+            "errors", "throttled", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        var rows = new ArrayList<String>();
+        var byOperation = new EnumMap<Operation, List<Sample>>(Operation.class);
+        samples.forEach(sample -> byOperation.computeIfAbsent(sample.operation(),
+            operation -> new ArrayList<>()).add(sample));
+        var groups = new LinkedHashMap<String, List<Sample>>();
+        byOperation.forEach((operation, list) -> groups.put(operation.name().toLowerCase(), list));
+        groups.put("all", samples);
+        groups.forEach((name, list) -> {
+            var latencies = list.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+            var throttled = list.stream().filter(s -> s.status() == 429 || s.status() == 503)
+                .count();
+            // 404 is expected for deletes/gets racing with other clients' deletes
+            var errors = list.stream().filter(s -> s.status() < 0
+                || (s.status() >= 400 && s.status() != 404 && s.status() != 429
+                && s.status() != 503)).count();
+            var values = new double[]{percentile(latencies, 50), percentile(latencies, 90),
+                percentile(latencies, 99), percentile(latencies, 99.9),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6};
+            System.out.printf("%-8s %9d %7d %9d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                list.size(), errors, throttled, list.size() / seconds, values[0], values[1],
+                values[2], values[3], values[4]);
+            rows.add("%s,%s,%s,%s,%d,%s,%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f".formatted(
+                Instant.now(), commit, baseUrl, scenario, concurrency, rate > 0 ? rate : "",
+                name, list.size(), errors, throttled, list.size() / seconds, values[0],
+                values[1], values[2], values[3], values[4]));
+        });
+        var out = options.get("out");
+        if (out != null) {
+            append(Path.of(out), rows);
+            System.out.printf("results appended to %s%n", out);
+        }
+    }
+
+    static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.clamp(rank, 0, sorted.length - 1)] / 1e6;
+    }
+
+    static void append(Path path, List<String> rows) {
+        try {
+            if (!Files.exists(path)) {
+                Files.writeString(path, "timestamp,commit,target,scenario,concurrency,rate,op,"
+                    + "requests,errors,throttled,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+            }
+            Files.write(path, rows, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String commit() {
+        try {
+            var process = new ProcessBuilder("git", "describe", "--always", "--dirty")
+                .redirectErrorStream(true).start();
+            var output = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 ? output : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Runs the balanced and write-heavy scenarios against an instance on the plain cloud profile and
+# one on cloud,tuned-datasource, then prints each instance's pool wait and usage percentiles.
+# Both must run against the same database with the rate limiter off, one at a time or on
+# different hosts so they do not compete for the database, e.g.
+#   mvn spring-boot:run -Dspring-boot.run.profiles=cloud \
+#       -Dspring-boot.run.arguments=--case-board.rate-limit.enabled=false
+#   mvn spring-boot:run -Dspring-boot.run.profiles=cloud,tuned-datasource \
+#       -Dspring-boot.run.arguments="--case-board.rate-limit.enabled=false --server.port=8081"
+set -e
+BASELINE_URL=${BASELINE_URL:-http://localhost:8080}
+TUNED_URL=${TUNED_URL:-http://localhost:8081}
+CONCURRENCY=${CONCURRENCY:-64}
+DURATION=${DURATION:-60}
+DIR=$(dirname "$0")
+mkdir -p "$DIR/results"
+
+pool_metrics() {
+  for METRIC in hikaricp.connections.acquire hikaricp.connections.usage \
+      hikaricp.connections.timeout; do
+    echo "$METRIC: $(curl -s "$1/actuator/metrics/$METRIC")"
+  done
+}
+
+for TARGET in "baseline $BASELINE_URL" "tuned-datasource $TUNED_URL"; do
+  set -- $TARGET
+  for SCENARIO in balanced write-heavy; do
+    echo "== $1, $SCENARIO =="
+    java "$DIR/LoadDriver.java" --url="$2" --scenario="$SCENARIO" \
+      --concurrency="$CONCURRENCY" --duration="$DURATION" --out="$DIR/results/results.csv"
+  done
+  pool_metrics "$2"
+done
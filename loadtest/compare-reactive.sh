@@ -0,0 +1,23 @@
+#!/bin/sh
+# Runs the same read load against the MVC + JPA and the WebFlux + R2DBC builds of the API.
+# Both must be running against the same database, e.g.
+#   mvn spring-boot:run -Dspring-boot.run.profiles=cloud
+#   mvn -Preactive spring-boot:run -Dspring-boot.run.profiles=cloud,reactive \
+#       -Dspring-boot.run.arguments=--server.port=8081
+set -e
+SERVLET_URL=${SERVLET_URL:-http://localhost:8080}
+REACTIVE_URL=${REACTIVE_URL:-http://localhost:8081}
+CONCURRENCY=${CONCURRENCY:-64}
+DURATION=${DURATION:-30}
+WEIGHTS=list=50,get=50
+DIR=$(dirname "$0")
+
+echo "== servlet (CaseController) =="
+java "$DIR/LoadDriver.java" --url="$SERVLET_URL" --weights=$WEIGHTS \
+  --concurrency="$CONCURRENCY" --duration="$DURATION"
+echo "== reactive (ReactiveCaseController) =="
+java "$DIR/LoadDriver.java" --url="$REACTIVE_URL" --weights=$WEIGHTS \
+  --concurrency="$CONCURRENCY" --duration="$DURATION"
+echo "== reactive, NDJSON stream =="
+java "$DIR/LoadDriver.java" --url="$REACTIVE_URL" --weights=$WEIGHTS \
+  --concurrency="$CONCURRENCY" --duration="$DURATION" --list-accept=application/x-ndjson
@@ -0,0 +1,18 @@
+#!/bin/sh
+# Runs the read-heavy, balanced and write-heavy scenarios with fixed settings and appends the
+# results, tagged with the current commit, to loadtest/results/results.csv.
+#
+# Start the API with the rate limiter off and, once per database, a generated data set, e.g.
+#   mvn spring-boot:run -Dspring-boot.run.arguments="--case-board.rate-limit.enabled=false \
+#       --case-board.data-generator.enabled=true --case-board.data-generator.cases=1000000"
+set -e
+URL=${URL:-http://localhost:61001}
+CONCURRENCY=${CONCURRENCY:-32}
+DURATION=${DURATION:-60}
+DIR=$(dirname "$0")
+mkdir -p "$DIR/results"
+
+for SCENARIO in read-heavy balanced write-heavy; do
+  java "$DIR/LoadDriver.java" --url="$URL" --scenario="$SCENARIO" \
+    --concurrency="$CONCURRENCY" --duration="$DURATION" --out="$DIR/results/results.csv"
+done
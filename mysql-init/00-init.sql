@@ -1,12 +1,2 @@
-create table if not exists cases
-(
-    id                     bigint not null auto_increment,
-    case_number            varchar(255) unique not null,
-    title                  varchar(255)        not null,
-    description            text,
-    status                 varchar(255)        not null,
-    created_datetime       timestamp,
-    last_modified_datetime timestamp,
-    primary key (id),
-    index idx_cases_id (id)
-);
+-- The cases schema is owned by the Flyway migrations in src/main/resources/db/migration,
+-- which the backend applies on startup. Do not create tables here.
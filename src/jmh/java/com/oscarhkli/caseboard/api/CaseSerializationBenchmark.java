@@ -0,0 +1,95 @@
+package com.oscarhkli.caseboard.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.jackson.JsonComponent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+/**
+ * Maps entities to the API responses and writes them as JSON with the application's
+ * {@link ObjectMapper}, as {@link CaseController} does. Run with the GC profiler (the
+ * {@code benchmark} Maven profile adds {@code -prof gc}) and divide {@code gc.alloc.rate.norm}
+ * of {@code findCases} by {@code size} for the bytes allocated per list element.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaseSerializationBenchmark {
+
+    @Param({"100"})
+    int size;
+
+    AnnotationConfigApplicationContext context;
+    ObjectMapper objectMapper;
+    List<CaseEntity> entities;
+    // writeValue closes its target, which OutputStream.nullOutputStream() would then reject
+    OutputStream out = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        var scanner = new ClassPathBeanDefinitionScanner((BeanDefinitionRegistry) context, false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(JsonComponent.class));
+        scanner.scan(CaseSerializationBenchmark.class.getPackageName());
+        context.register(JacksonAutoConfiguration.class);
+        context.refresh();
+        objectMapper = context.getBean(ObjectMapper.class);
+        var created = LocalDateTime.of(2025, 4, 4, 18, 43, 57, 123_456_000);
+        entities = new ArrayList<>();
+        for (var i = 0; i < size; i++) {
+            entities.add(CaseEntity.builder().id((long) i + 1).caseNumber("CASE-%06d".formatted(i))
+                .title("Title of case " + i).description("Description of case " + i)
+                .status(i % 3 == 0 ? "OPEN" : "CLOSED").createdDateTime(created.plusMinutes(i))
+                .lastModifiedDateTime(created.plusHours(i)).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void getCase() throws IOException {
+        objectMapper.writeValue(out, CaseGetResponse.of(Case.of(entities.getFirst())));
+    }
+
+    @Benchmark
+    public void findCases() throws IOException {
+        objectMapper.writeValue(out,
+            CasesFindResponse.of(entities.stream().map(Case::of).toList()));
+    }
+}
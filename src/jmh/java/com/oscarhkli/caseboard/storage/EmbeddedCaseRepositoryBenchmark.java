@@ -0,0 +1,87 @@
+package com.oscarhkli.caseboard.storage;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Point reads and single-case writes against {@link EmbeddedCaseRepository} holding {@code size}
+ * cases. Writes include the forced write-ahead log append.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddedCaseRepositoryBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    Path directory;
+    EmbeddedCaseRepository caseRepository;
+    long updated = 1;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("embedded-case-store");
+        caseRepository = new EmbeddedCaseRepository(new EmbeddedStorageProperties(directory,
+            DataSize.ofMegabytes(64), Duration.ofMinutes(5), true), Clock.systemUTC());
+        caseRepository.open();
+        caseRepository.saveAll(IntStream.rangeClosed(1, size).mapToObj(
+            i -> CaseEntity.builder().caseNumber("CASE_%07d".formatted(i)).title("Title " + i)
+                .description("Description " + i).status("STATUS_" + i % 5).build()).toList());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        caseRepository.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<CaseEntity> findById() {
+        return caseRepository.findById(ThreadLocalRandom.current().nextLong(1, size + 1));
+    }
+
+    @Benchmark
+    public Optional<CaseEntity> findByCaseNumber() {
+        return caseRepository.findByCaseNumber(
+            "CASE_%07d".formatted(ThreadLocalRandom.current().nextInt(1, size + 1)));
+    }
+
+    @Benchmark
+    public CaseEntity update() {
+        var caseEntity = caseRepository.findById(updated++ % size + 1).orElseThrow();
+        caseEntity.setTitle("Updated " + updated);
+        return caseRepository.save(caseEntity);
+    }
+
+    @Benchmark
+    public List<CaseEntity> findByStatus() {
+        return caseRepository.findByStatus("STATUS_" + ThreadLocalRandom.current().nextInt(5));
+    }
+}
@@ -0,0 +1,14 @@
+package com.oscarhkli.caseboard;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param closedStatuses statuses that do not count towards an assignee's open cases; should
+ *                       include every archived status, since archiving does not decrement
+ */
+@ConfigurationProperties(prefix = "case-board.assignment")
+public record AssignmentProperties(@DefaultValue("CLOSED") List<String> closedStatuses) {
+
+}
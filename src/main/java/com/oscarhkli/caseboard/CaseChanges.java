@@ -0,0 +1,9 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.api.Case;
+import java.util.List;
+
+public record CaseChanges(List<Case> changed, List<Long> deletedIds, List<Long> archivedIds,
+                          SyncToken nextToken, boolean hasMore) {
+
+}
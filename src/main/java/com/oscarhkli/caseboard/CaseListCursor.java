@@ -0,0 +1,50 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Opaque listing cursor: the sort in use and the sort key and id of the last case a client has
+ * seen. Encoded like {@link SyncToken}; the sort travels with the cursor so that a next page is
+ * always read in the order the previous one was.
+ */
+public record CaseListCursor(CaseSort sort, Object value, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static CaseListCursor after(CaseSort sort, CaseEntity last) {
+        return new CaseListCursor(sort, sort.key().valueOf(last), last.getId());
+    }
+
+    public KeysetScrollPosition toScrollPosition() {
+        var keys = new LinkedHashMap<String, Object>();
+        keys.put(sort.key().property(), value);
+        keys.put(CaseSort.ID, id);
+        return ScrollPosition.forward(keys);
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+            (sort + SEPARATOR + id + SEPARATOR + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor; used by Spring to convert the {@code after} request parameter.
+     */
+    public static CaseListCursor valueOf(String cursor) {
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                .split("\\" + SEPARATOR, 3);
+            var sort = CaseSort.valueOf(parts[0]);
+            return new CaseListCursor(sort, sort.key().parse(parts[2]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException
+                 | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: %s".formatted(cursor), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.oscarhkli.caseboard;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboard figures for {@code [from, to]}, computed from daily rollups.
+ *
+ * @param meanSecondsInStatus mean time cases spent in each status before leaving it, over the
+ *                            exits within the range
+ * @param weeklyThroughput    cases entering {@code throughputStatus} per ISO week, keyed by Monday
+ */
+public record CaseMetrics(LocalDate from, LocalDate to, List<DailyCount> createdPerDay,
+                          Map<String, Double> meanSecondsInStatus, String throughputStatus,
+                          List<DailyCount> weeklyThroughput) {
+
+    public record DailyCount(LocalDate date, long count) {
+
+    }
+}
@@ -0,0 +1,101 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.CaseMetrics.DailyCount;
+import com.oscarhkli.caseboard.entity.CaseRollupRepository;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeMap;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the daily case rollups from {@link CaseService} writes, in the same transaction, and
+ * answers dashboard queries from them in O(days x statuses) regardless of the number of cases.
+ */
+@Service
+@AllArgsConstructor
+public class CaseMetricsService {
+
+    static final int DEFAULT_RANGE_DAYS = 90;
+    /**
+     * The response has one entry per day, so the range is capped to keep it small.
+     */
+    static final int MAX_RANGE_DAYS = 366;
+
+    private final CaseRollupRepository caseRollupRepository;
+    private final Clock clock;
+
+    public void recordCreated(String status, LocalDateTime at) {
+        recordCreated(status, at, 1);
+    }
+
+    public void recordCreated(String status, LocalDateTime at, long count) {
+        caseRollupRepository.increment(at.toLocalDate(), status, count, count, 0, 0);
+    }
+
+    public void recordStatusChange(String from, String to, LocalDateTime since,
+        LocalDateTime at) {
+        var seconds = Math.max(0, Duration.between(since, at).toSeconds());
+        caseRollupRepository.increment(at.toLocalDate(), from, 0, 0, 1, seconds);
+        caseRollupRepository.increment(at.toLocalDate(), to, 0, 1, 0, 0);
+    }
+
+    /**
+     * @throws InvalidMetricsRangeException if {@code from} is after {@code to} or the range is
+     *                                      longer than {@link #MAX_RANGE_DAYS}
+     */
+    public CaseMetrics findMetrics(LocalDate from, LocalDate to, String throughputStatus) {
+        var end = to == null ? LocalDate.now(clock) : to;
+        var start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+        if (start.isAfter(end)) {
+            throw new InvalidMetricsRangeException(
+                "from %s is after to %s".formatted(start, end));
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new InvalidMetricsRangeException(
+                "Range from %s to %s is longer than %d days".formatted(start, end,
+                    MAX_RANGE_DAYS));
+        }
+        var created = new TreeMap<LocalDate, Long>();
+        for (var date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            created.put(date, 0L);
+        }
+        var weekly = new TreeMap<LocalDate, Long>();
+        for (var week = monday(start); !week.isAfter(end); week = week.plusWeeks(1)) {
+            weekly.put(week, 0L);
+        }
+        var exited = new HashMap<String, long[]>();
+        for (var rollup : caseRollupRepository.findBetween(start, end)) {
+            created.merge(rollup.date(), rollup.created(), Long::sum);
+            if (rollup.status().equals(throughputStatus)) {
+                weekly.merge(monday(rollup.date()), rollup.entered(), Long::sum);
+            }
+            var totals = exited.computeIfAbsent(rollup.status(), status -> new long[2]);
+            totals[0] += rollup.exited();
+            totals[1] += rollup.exitedSeconds();
+        }
+        var meanSecondsInStatus = new TreeMap<String, Double>();
+        exited.forEach((status, totals) -> {
+            if (totals[0] > 0) {
+                meanSecondsInStatus.put(status, (double) totals[1] / totals[0]);
+            }
+        });
+        var createdPerDay = new ArrayList<DailyCount>();
+        created.forEach((date, count) -> createdPerDay.add(new DailyCount(date, count)));
+        var weeklyThroughput = new ArrayList<DailyCount>();
+        weekly.forEach((week, count) -> weeklyThroughput.add(new DailyCount(week, count)));
+        return new CaseMetrics(start, end, createdPerDay, meanSecondsInStatus, throughputStatus,
+            weeklyThroughput);
+    }
+
+    private static LocalDate monday(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,11 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.api.Case;
+import java.util.List;
+
+/**
+ * A page of a sorted listing; {@code next} is null on the last page.
+ */
+public record CasePage(List<Case> cases, CaseListCursor next) {
+
+}
@@ -0,0 +1,84 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a case: members present are set, a {@code null} description
+ * is removed and absent members are left as they are. Only title, description and status can be
+ * patched; title and status cannot be removed.
+ *
+ * @param changes new values by property name
+ */
+public record CasePatch(Map<String, String> changes) {
+
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String STATUS = "status";
+
+    public CasePatch {
+        changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+    }
+
+    /**
+     * Validates the members of a merge patch document.
+     *
+     * @throws InvalidCasePatchException listing every member that cannot be applied
+     */
+    public static CasePatch of(Map<String, ?> members) {
+        var changes = new LinkedHashMap<String, String>();
+        var errors = new LinkedHashMap<String, String>();
+        members.forEach((name, value) -> {
+            switch (name) {
+                case TITLE, STATUS -> {
+                    if (value instanceof String text && !text.isEmpty()) {
+                        changes.put(name, text);
+                    } else {
+                        errors.put(name, "must not be empty");
+                    }
+                }
+                case DESCRIPTION -> {
+                    if (value == null || value instanceof String) {
+                        changes.put(name, (String) value);
+                    } else {
+                        errors.put(name, "must be a string or null");
+                    }
+                }
+                default -> errors.put(name, "cannot be patched");
+            }
+        });
+        if (!errors.isEmpty()) {
+            throw new InvalidCasePatchException(errors);
+        }
+        return new CasePatch(changes);
+    }
+
+    public boolean changesStatus(CaseEntity caseEntity) {
+        return changes.containsKey(STATUS)
+            && !Objects.equals(caseEntity.getStatus(), changes.get(STATUS));
+    }
+
+    /**
+     * Sets the members that differ from {@code caseEntity} and returns whether there were any.
+     */
+    public boolean applyTo(CaseEntity caseEntity) {
+        var changed = false;
+        if (changes.containsKey(TITLE) && !changes.get(TITLE).equals(caseEntity.getTitle())) {
+            caseEntity.setTitle(changes.get(TITLE));
+            changed = true;
+        }
+        if (changes.containsKey(DESCRIPTION)
+            && !Objects.equals(changes.get(DESCRIPTION), caseEntity.getDescription())) {
+            caseEntity.setDescription(changes.get(DESCRIPTION));
+            changed = true;
+        }
+        if (changesStatus(caseEntity)) {
+            caseEntity.setStatus(changes.get(STATUS));
+            changed = true;
+        }
+        return changed;
+    }
+}
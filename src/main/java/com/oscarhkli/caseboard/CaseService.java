@@ -1,52 +1,375 @@
 package com.oscarhkli.caseboard;
 
 import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
 import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import com.oscarhkli.caseboard.singleflight.CaseReadCoalescer;
+import io.micrometer.observation.annotation.Observed;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @Service
+@Observed(name = "case.service")
 @AllArgsConstructor
 public class CaseService {
 
+    public static final String CASE_CACHE = "cases";
+    /**
+     * Changes younger than this are held back from delta sync, so that a transaction which
+     * stamped an earlier last_modified_datetime but commits later is not skipped by the cursor.
+     * Inserts and deletes are stamped again just before commit (see
+     * {@link #restampBeforeCommit}), and updates are stamped by the flush at commit, so this only
+     * has to cover the commit itself. A change whose commit takes longer is missed by clients that
+     * synced in between.
+     */
+    static final Duration SYNC_SETTLE_WINDOW = Duration.ofSeconds(2);
+    static final CaseSort DEFAULT_PAGE_SORT = new CaseSort(
+        CaseSort.Key.LAST_MODIFIED_DATE_TIME, Direction.DESC);
+
     private final CaseRepository caseRepository;
+    private final CaseMetricsService caseMetricsService;
+    private final InvalidationBus invalidationBus;
+    private final CaseOutbox caseOutbox;
+    private final Clock clock;
+    private final CaseReadCoalescer caseReadCoalescer;
+    private final CaseArchiveRepository caseArchiveRepository;
+    private final OpenCaseCountService openCaseCountService;
+    private final TombstoneProperties tombstoneProperties;
 
     public List<Case> findAllCases() {
-        return caseRepository.findAll().stream().map(Case::of).toList();
+        return caseReadCoalescer.findCases(null,
+            () -> caseRepository.findAll().stream().map(Case::of).toList());
+    }
+
+    public List<Case> findCasesByStatus(String status) {
+        return caseReadCoalescer.findCases(status,
+            () -> caseRepository.findByStatus(status).stream().map(Case::of).toList());
+    }
+
+    /**
+     * One page of cases, optionally of one status, in {@code sort} order or, when continuing from
+     * {@code after}, in the order of the cursor; most recently modified first when neither is
+     * given. With {@code includeArchived}, archived cases are merged into the same order.
+     */
+    public CasePage findCases(String status, CaseSort sort, CaseListCursor after, int limit,
+        boolean includeArchived) {
+        var order = after != null ? after.sort()
+            : sort != null ? sort : DEFAULT_PAGE_SORT;
+        var position = after == null ? ScrollPosition.keyset() : after.toScrollPosition();
+        var window = status == null
+            ? caseRepository.findAllBy(position, order.toSort(), Limit.of(limit))
+            : caseRepository.findByStatus(status, position, order.toSort(), Limit.of(limit));
+        return page(order, window, includeArchived
+            ? caseArchiveRepository.findPage(null, status, order, after, limit + 1) : List.of(),
+            limit);
+    }
+
+    /**
+     * One page of the cases assigned to {@code assignee}, optionally of one status. Pages are
+     * always keyset pages, most recently modified first unless {@code sort} says otherwise. With
+     * {@code includeArchived}, the assignee's archived cases are merged into the same order.
+     */
+    public CasePage findCasesByAssignee(String assignee, String status, CaseSort sort,
+        CaseListCursor after, int limit, boolean includeArchived) {
+        var order = after != null ? after.sort()
+            : sort != null ? sort : DEFAULT_PAGE_SORT;
+        var position = after == null ? ScrollPosition.keyset() : after.toScrollPosition();
+        var window = status == null
+            ? caseRepository.findByAssignee(assignee, position, order.toSort(), Limit.of(limit))
+            : caseRepository.findByAssigneeAndStatus(assignee, status, position, order.toSort(),
+                Limit.of(limit));
+        return page(order, window, includeArchived
+            ? caseArchiveRepository.findPage(assignee, status, order, after, limit + 1)
+            : List.of(), limit);
+    }
+
+    /**
+     * The first {@code limit} of the live cases in {@code window} and {@code archived}, both read
+     * after the same cursor in {@code order}. Since a cursor is a keyset position rather than an
+     * offset, the next page reads both tables after the last case of this one.
+     */
+    private static CasePage page(CaseSort order, Window<CaseEntity> window,
+        List<CaseEntity> archived, int limit) {
+        var merged = archived.isEmpty() ? window.getContent()
+            : Stream.concat(window.getContent().stream(), archived.stream())
+                .sorted(order.comparator()).toList();
+        var page = merged.subList(0, Math.min(limit, merged.size()));
+        var next = (window.hasNext() || merged.size() > limit) && !page.isEmpty()
+            ? CaseListCursor.after(order, page.getLast()) : null;
+        return new CasePage(page.stream().map(Case::of).toList(), next);
+    }
+
+    public long findOpenCaseCount(String assignee) {
+        return openCaseCountService.findOpenCount(assignee);
     }
 
+    @Cacheable(cacheNames = CASE_CACHE, key = "#id", unless = "#result == null")
     public Optional<Case> findCaseById(Long id) {
-        return caseRepository.findById(id).map(Case::of);
+        return caseReadCoalescer.findCaseById(id,
+            () -> caseRepository.findById(id).map(Case::of));
     }
 
+    /**
+     * A case moved to {@code case_archive}. Not cached, since archived cases are rarely read.
+     */
+    public Optional<Case> findArchivedCaseById(long id) {
+        return caseArchiveRepository.findById(id).map(Case::of);
+    }
+
+    public List<Case> findArchivedCasesByCaseNumber(String caseNumber) {
+        return caseArchiveRepository.findByCaseNumber(caseNumber).stream().map(Case::of).toList();
+    }
+
+    /**
+     * Changes after {@code since}, tombstones included. Cases archived since are reported by id
+     * at their archive time, read from {@code case_archive} in the same keyset order. A token older than
+     * {@link TombstoneProperties#retention()} is rejected, since tombstones purged after it would
+     * be silently missed; the client has to sync again from the start.
+     *
+     * @throws SyncTokenExpiredException if {@code since} predates the tombstone retention
+     */
+    public CaseChanges findChangesSince(SyncToken since, int limit) {
+        var now = LocalDateTime.now(clock);
+        if (!SyncToken.INITIAL.equals(since) && since.lastModifiedDateTime()
+            .isBefore(now.minus(tombstoneProperties.retention()))) {
+            throw new SyncTokenExpiredException(
+                "Sync token is older than %s, sync again without it".formatted(
+                    tombstoneProperties.retention()));
+        }
+        var upTo = now.minus(SYNC_SETTLE_WINDOW);
+        var entities = caseRepository.findChangedAfter(since.lastModifiedDateTime(), since.id(),
+            upTo, limit + 1);
+        var archivedCases = caseArchiveRepository.findArchivedAfter(since.lastModifiedDateTime(),
+            since.id(), upTo, limit + 1);
+        var changes = Stream.concat(
+                entities.stream().map(caseEntity -> new SyncChange(
+                    caseEntity.getLastModifiedDateTime(), caseEntity.getId(), caseEntity)),
+                archivedCases.stream().map(archivedCase -> new SyncChange(
+                    archivedCase.archivedAt(), archivedCase.id(), null)))
+            .sorted(Comparator.comparing(SyncChange::at).thenComparingLong(SyncChange::id))
+            .toList();
+        var hasMore = changes.size() > limit;
+        var page = hasMore ? changes.subList(0, limit) : changes;
+        var changed = new ArrayList<Case>();
+        var deletedIds = new ArrayList<Long>();
+        var archivedIds = new ArrayList<Long>();
+        page.forEach(change -> {
+            if (change.caseEntity() == null) {
+                archivedIds.add(change.id());
+            } else if (change.caseEntity().getDeletedAt() != null) {
+                deletedIds.add(change.id());
+            } else {
+                changed.add(Case.of(change.caseEntity()));
+            }
+        });
+        var nextToken = page.isEmpty() ? since
+            : new SyncToken(page.getLast().at(), page.getLast().id());
+        return new CaseChanges(changed, deletedIds, archivedIds, nextToken, hasMore);
+    }
+
+    @Transactional
     public Long insertCase(Case newCase) {
+        var now = LocalDateTime.now(clock);
+        var caseEntity = newCase.toEntity();
+        caseEntity.setStatusChangedDateTime(now);
         try {
-            return caseRepository.save(newCase.toEntity()).getId();
+            var savedEntity = caseRepository.save(caseEntity);
+            var id = savedEntity.getId();
+            caseMetricsService.recordCreated(newCase.status(), now);
+            openCaseCountService.recordCreated(newCase.assignee(), newCase.status(), 1);
+            caseOutbox.appendChange(CaseEventType.CREATED, savedEntity);
+            // cached status queries on other nodes do not list the new case yet
+            invalidationBus.publish(id);
+            restampBeforeCommit(List.of(id));
+            return id;
         } catch (DataIntegrityViolationException e) {
             log.error(e.getMessage());
             throw new CaseOperationException(
-                "Case number %s cannot be reused".formatted(newCase.getCaseNumber()));
+                "Case number %s cannot be reused".formatted(newCase.caseNumber()));
+        }
+    }
+
+    /**
+     * Inserts a chunk of a bulk import in one transaction: one JDBC batch of cases, one of outbox
+     * events and one invalidation message, with one rollup increment per status and one open case
+     * count increment per assignee and status rather than per case.
+     *
+     * @throws CaseOperationException if any case number is taken, inserting none of the cases
+     */
+    @Transactional
+    public List<Long> importCases(List<Case> newCases) {
+        var now = LocalDateTime.now(clock);
+        var caseEntities = newCases.stream().map(newCase -> {
+            var caseEntity = newCase.toEntity();
+            caseEntity.setCreatedDateTime(now);
+            caseEntity.setLastModifiedDateTime(now);
+            caseEntity.setStatusChangedDateTime(now);
+            return caseEntity;
+        }).toList();
+        try {
+            var savedEntities = caseRepository.insertAll(caseEntities);
+            var created = new TreeMap<String, Long>();
+            var assigned = new HashMap<List<String>, Long>();
+            savedEntities.forEach(savedEntity -> {
+                created.merge(savedEntity.getStatus(), 1L, Long::sum);
+                if (savedEntity.getAssignee() != null) {
+                    assigned.merge(List.of(savedEntity.getAssignee(), savedEntity.getStatus()),
+                        1L, Long::sum);
+                }
+            });
+            created.forEach((status, count) -> caseMetricsService.recordCreated(status, now, count));
+            assigned.forEach((assigneeAndStatus, count) -> openCaseCountService.recordCreated(
+                assigneeAndStatus.get(0), assigneeAndStatus.get(1), count));
+            caseOutbox.appendChanges(CaseEventType.CREATED, savedEntities);
+            var ids = savedEntities.stream().map(CaseEntity::getId).toList();
+            invalidationBus.publishAll(ids);
+            restampBeforeCommit(ids);
+            return ids;
+        } catch (DataIntegrityViolationException e) {
+            log.error(e.getMessage());
+            throw new CaseOperationException("Case numbers of the import cannot be reused");
         }
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CASE_CACHE, key = "#id")
     public void updateCase(long id, Case updatedCase) {
-        caseRepository.findById(id).ifPresentOrElse(caseEntity -> {
-            caseEntity.setTitle(updatedCase.getTitle());
-            caseEntity.setDescription(updatedCase.getDescription());
-            caseEntity.setStatus(updatedCase.getStatus());
+        caseRepository.findForUpdateById(id).ifPresentOrElse(caseEntity -> {
+            if (!Objects.equals(caseEntity.getStatus(), updatedCase.status())) {
+                recordStatusChange(caseEntity, updatedCase.status());
+            }
+            caseEntity.setTitle(updatedCase.title());
+            caseEntity.setDescription(updatedCase.description());
+            caseEntity.setStatus(updatedCase.status());
             caseRepository.save(caseEntity);
+            caseOutbox.appendChange(CaseEventType.UPDATED, caseEntity);
+            invalidationBus.publish(id);
         }, () -> {
             throw new CaseOperationException("Case <id: %d> not found".formatted(id));
         });
     }
 
+    /**
+     * Applies a merge patch. A patch that changes nothing is not written, published or added to
+     * the outbox, and a change writes only the changed columns ({@code @DynamicUpdate}). The
+     * cached case is evicted on this node like any other write; other nodes drop theirs on the
+     * invalidation published after commit.
+     *
+     * @return whether the case changed
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CASE_CACHE, key = "#id")
+    public boolean patchCase(long id, CasePatch casePatch) {
+        var caseEntity = caseRepository.findForUpdateById(id).orElseThrow(
+            () -> new CaseOperationException("Case <id: %d> not found".formatted(id)));
+        if (casePatch.changesStatus(caseEntity)) {
+            recordStatusChange(caseEntity, casePatch.changes().get(CasePatch.STATUS));
+        }
+        if (!casePatch.applyTo(caseEntity)) {
+            return false;
+        }
+        caseRepository.save(caseEntity);
+        caseOutbox.appendChange(CaseEventType.UPDATED, caseEntity);
+        invalidationBus.publish(id);
+        return true;
+    }
+
+    /**
+     * Assigns a case, or unassigns it when {@code assignee} is {@code null}, moving it between
+     * the assignees' open case counts. Assigning a case to its current assignee is not written.
+     *
+     * @return whether the assignee changed
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CASE_CACHE, key = "#id")
+    public boolean assignCase(long id, String assignee) {
+        var caseEntity = caseRepository.findForUpdateById(id).orElseThrow(
+            () -> new CaseOperationException("Case <id: %d> not found".formatted(id)));
+        if (Objects.equals(caseEntity.getAssignee(), assignee)) {
+            return false;
+        }
+        openCaseCountService.recordChange(caseEntity.getAssignee(), caseEntity.getStatus(),
+            assignee, caseEntity.getStatus());
+        caseEntity.setAssignee(assignee);
+        caseRepository.save(caseEntity);
+        caseOutbox.appendChange(CaseEventType.UPDATED, caseEntity);
+        invalidationBus.publish(id);
+        return true;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CASE_CACHE, key = "#id")
     public void deleteCaseById(Long id) {
-        caseRepository.deleteById(id);
+        var assigned = caseRepository.findForUpdateById(id).filter(
+            caseEntity -> caseEntity.getAssignee() != null);
+        if (caseRepository.softDeleteById(id, LocalDateTime.now(clock)) > 0) {
+            assigned.ifPresent(caseEntity -> openCaseCountService.recordChange(
+                caseEntity.getAssignee(), caseEntity.getStatus(), null, null));
+            caseOutbox.appendDeleted(id);
+            invalidationBus.publish(id);
+            restampBeforeCommit(List.of(id));
+        }
+    }
+
+    /**
+     * Moves {@code ids} to the time their transaction is about to commit, after its rollups,
+     * counts and outbox events and any lock waits on them. Outside a transaction each repository
+     * call commits on its own, so there is nothing to move.
+     */
+    private void restampBeforeCommit(List<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                caseRepository.restampLastModified(ids, LocalDateTime.now(clock));
+            }
+        });
+    }
+
+    private void recordStatusChange(CaseEntity caseEntity, String newStatus) {
+        var now = LocalDateTime.now(clock);
+        var since = Objects.requireNonNullElse(caseEntity.getStatusChangedDateTime(),
+            Objects.requireNonNullElse(caseEntity.getCreatedDateTime(), now));
+        caseMetricsService.recordStatusChange(caseEntity.getStatus(), newStatus, since, now);
+        openCaseCountService.recordChange(caseEntity.getAssignee(), caseEntity.getStatus(),
+            caseEntity.getAssignee(), newStatus);
+        caseEntity.setStatusChangedDateTime(now);
+    }
+
+    /**
+     * A delta-sync entry at its keyset position; {@code caseEntity} is null for an archived case.
+     */
+    private record SyncChange(LocalDateTime at, long id, CaseEntity caseEntity) {
+
     }
 }
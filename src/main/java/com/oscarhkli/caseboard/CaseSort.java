@@ -0,0 +1,98 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+
+/**
+ * Server-side listing order: one indexed {@link Key}, then id in the same direction, so that
+ * ties are ordered stably and every row has a unique keyset position. Parsed from request
+ * parameters of the form {@code <property>[,asc|desc]}.
+ */
+public record CaseSort(Key key, Direction direction) {
+
+    public static final String ID = "id";
+
+    public enum Key {
+        LAST_MODIFIED_DATE_TIME("lastModifiedDateTime", "last_modified_datetime",
+            CaseEntity::getLastModifiedDateTime, LocalDateTime::parse),
+        CREATED_DATE_TIME("createdDateTime", "created_datetime", CaseEntity::getCreatedDateTime,
+            LocalDateTime::parse),
+        CASE_NUMBER("caseNumber", "case_number", CaseEntity::getCaseNumber,
+            Function.identity()),
+        STATUS("status", "status", CaseEntity::getStatus, Function.identity());
+
+        private final String property;
+        private final String column;
+        private final Function<CaseEntity, ?> getter;
+        private final Function<String, ?> parser;
+
+        Key(String property, String column, Function<CaseEntity, ?> getter,
+            Function<String, ?> parser) {
+            this.property = property;
+            this.column = column;
+            this.getter = getter;
+            this.parser = parser;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public String column() {
+            return column;
+        }
+
+        Object valueOf(CaseEntity caseEntity) {
+            return getter.apply(caseEntity);
+        }
+
+        Object parse(String value) {
+            return parser.apply(value);
+        }
+    }
+
+    public Sort toSort() {
+        return Sort.by(new Order(direction, key.property), new Order(direction, ID));
+    }
+
+    /**
+     * The same order in memory, for merging pages read from more than one table. Nulls come
+     * first ascending, as they do in MySQL and H2.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<CaseEntity> comparator() {
+        Comparator<CaseEntity> ascending = Comparator.comparing(
+            caseEntity -> (Comparable) key.valueOf(caseEntity),
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+        ascending = ascending.thenComparing(CaseEntity::getId);
+        return direction.isAscending() ? ascending : ascending.reversed();
+    }
+
+    @Override
+    public String toString() {
+        return key.property + "," + direction.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parses a sort; used by Spring to convert the {@code sort} request parameter.
+     */
+    public static CaseSort valueOf(String sort) {
+        var parts = sort.split(",", -1);
+        var key = Arrays.stream(Key.values()).filter(k -> k.property.equals(parts[0]))
+            .findFirst().orElseThrow(() -> new IllegalArgumentException(
+                "Invalid sort: %s, expected one of %s".formatted(sort,
+                    Arrays.stream(Key.values()).map(Key::property).toList())));
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: %s".formatted(sort));
+        }
+        return new CaseSort(key,
+            parts.length == 1 ? Direction.ASC : Direction.fromString(parts[1]));
+    }
+}
@@ -0,0 +1,161 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.entity.CaseRollupRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk-loads {@link DataGeneratorProperties#cases()} synthetic cases for load testing, when
+ * {@code enabled}.
+ * <p>
+ * Row {@code n} is derived from {@code seed} and {@code n} only, so every run with the same
+ * settings produces the same data set regardless of database, batch size or interruptions. Rows
+ * already present are kept and generation resumes after the highest generated case number, in
+ * {@code cases} or {@code case_archive}, so rows deleted or archived since are not generated again
+ * under a number that is still taken. Inserts go through JDBC batches of
+ * {@code batchSize}, each committed on its own; on MySQL add {@code rewriteBatchedStatements=true}
+ * to the JDBC URL to send them as multi-row inserts.
+ * <p>
+ * Each batch adds its cases to the daily rollups in the same transaction, so {@code /metrics}
+ * counts them. Generated cases have no history, so like the rollup seed in the {@code V6}
+ * migration, a case is created and enters its status on the day it was created and its status
+ * clock starts then.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class DataGenerator implements ApplicationRunner {
+
+    static final String CASE_NUMBER_PREFIX = "GEN-";
+
+    private static final String INSERT_SQL = """
+        insert into cases (case_number, title, description, status, created_datetime,
+        last_modified_datetime, status_changed_datetime) values (?, ?, ?, ?, ?, ?, ?)""";
+    private static final String[] VERBS = {"Investigate", "Fix", "Review", "Escalate", "Refund",
+        "Replace", "Verify", "Follow up on", "Close out", "Reconcile"};
+    private static final String[] SUBJECTS = {"billing discrepancy", "login failure",
+        "late delivery", "damaged parcel", "duplicate charge", "address change", "warranty claim",
+        "account lockout", "missing invoice", "data export request", "service outage",
+        "contract renewal"};
+    private static final String[] CUSTOMERS = {"Acme Ltd", "Globex", "Initech", "Umbrella",
+        "Hooli", "Stark Industries", "Wayne Enterprises", "Wonka", "Tyrell", "Cyberdyne"};
+    private static final String[] SENTENCES = {"Customer reported the issue by phone.",
+        "Awaiting confirmation from the finance team.", "Screenshots attached to the ticket.",
+        "Affects several users in the same region.", "Previously reported and reopened.",
+        "Workaround provided, permanent fix pending.", "Escalated by the account manager.",
+        "Needs sign-off before the next billing cycle."};
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "PENDING", "RESOLVED",
+        "CLOSED"};
+    private static final int[] STATUS_WEIGHTS = {35, 25, 10, 20, 10};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CaseRollupRepository caseRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataGeneratorProperties dataGeneratorProperties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (dataGeneratorProperties.enabled()) {
+            generate();
+        }
+    }
+
+    public int generate() {
+        var next = Math.max(nextNumber("cases"), nextNumber("case_archive"));
+        var target = dataGeneratorProperties.cases();
+        if (next >= target) {
+            log.info("Data generator would resume at case {} of {}, nothing to do", next, target);
+            return 0;
+        }
+        var batchSize = Math.max(1, dataGeneratorProperties.batchSize());
+        var start = System.nanoTime();
+        var batch = new ArrayList<Object[]>(batchSize);
+        for (var n = next; n < target; n++) {
+            batch.add(row(n));
+            if (batch.size() == batchSize || n == target - 1) {
+                insert(batch);
+                batch.clear();
+                if ((n + 1) % (batchSize * 100) == 0) {
+                    log.info("Data generator inserted {} of {} cases", n + 1, target);
+                }
+            }
+        }
+        var inserted = target - next;
+        log.info("Data generator inserted {} cases in {} ms", inserted,
+            (System.nanoTime() - start) / 1_000_000);
+        return inserted;
+    }
+
+    private void insert(List<Object[]> batch) {
+        var created = new TreeMap<LocalDate, Map<String, Long>>();
+        batch.forEach(row -> created.computeIfAbsent(((LocalDateTime) row[4]).toLocalDate(),
+            date -> new TreeMap<>()).merge((String) row[3], 1L, Long::sum));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            created.forEach((date, counts) -> counts.forEach((caseStatus, count) ->
+                caseRollupRepository.increment(date, caseStatus, count, count, 0, 0)));
+        });
+    }
+
+    /**
+     * One past the highest generated case number in {@code table}, read backwards from its
+     * {@code case_number} index; zero-padding makes string order numeric order.
+     */
+    private int nextNumber(String table) {
+        var caseNumbers = jdbcTemplate.queryForList("select case_number from " + table
+            + " where case_number like ? order by case_number desc limit 1", String.class,
+            CASE_NUMBER_PREFIX + "%");
+        return caseNumbers.isEmpty() ? 0
+            : Integer.parseInt(caseNumbers.getFirst().substring(CASE_NUMBER_PREFIX.length())) + 1;
+    }
+
+    Object[] row(int n) {
+        var random = new SplittableRandom(
+            dataGeneratorProperties.seed() ^ (n * 0x9E3779B97F4A7C15L));
+        var title = "%s %s for %s".formatted(pick(random, VERBS), pick(random, SUBJECTS),
+            pick(random, CUSTOMERS));
+        String description = null;
+        if (random.nextInt(10) > 0) {
+            var sentences = new ArrayList<String>();
+            for (var i = random.nextInt(1, 4); i > 0; i--) {
+                sentences.add(pick(random, SENTENCES));
+            }
+            description = String.join(" ", sentences);
+        }
+        var spanSeconds = Math.max(1, dataGeneratorProperties.span().toSeconds());
+        var created = dataGeneratorProperties.epoch().plusSeconds(random.nextLong(spanSeconds));
+        var end = dataGeneratorProperties.epoch().plusSeconds(spanSeconds);
+        // most cases are touched within days of creation, a long tail much later
+        var touchedAfter = (long) (-Math.log(1 - random.nextDouble()) * 3 * 24 * 3600);
+        var lastModified = created.plusSeconds(touchedAfter);
+        return new Object[]{"%s%09d".formatted(CASE_NUMBER_PREFIX, n), title, description,
+            status(random), created, lastModified.isAfter(end) ? end : lastModified, created};
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String status(SplittableRandom random) {
+        var roll = random.nextInt(100);
+        for (var i = 0; i < STATUSES.length; i++) {
+            roll -= STATUS_WEIGHTS[i];
+            if (roll < 0) {
+                return STATUSES[i];
+            }
+        }
+        return STATUSES[STATUSES.length - 1];
+    }
+}
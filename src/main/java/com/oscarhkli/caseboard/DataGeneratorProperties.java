@@ -0,0 +1,16 @@
+package com.oscarhkli.caseboard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.data-generator")
+public record DataGeneratorProperties(@DefaultValue("false") boolean enabled,
+                                      @DefaultValue("1000000") int cases,
+                                      @DefaultValue("1000") int batchSize,
+                                      @DefaultValue("42") long seed,
+                                      @DefaultValue("2024-01-01T00:00:00") LocalDateTime epoch,
+                                      @DefaultValue("P730D") Duration span) {
+
+}
@@ -0,0 +1,111 @@
+package com.oscarhkli.caseboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.api.CaseGetResponse;
+import com.oscarhkli.caseboard.api.CasesFindResponse;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the application up before it is reported ready.
+ * <p>
+ * Runs synchronously on {@link ApplicationReadyEvent}, so the readiness probe stays
+ * {@link ReadinessState#REFUSING_TRAFFIC} until the connection pool is filled, the hot cases are
+ * cached and the query and Jackson paths have been exercised.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+class Initializer {
+
+    private final CaseRepository caseRepository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WarmUpProperties warmUpProperties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        if (!warmUpProperties.enabled()) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        var start = System.nanoTime();
+        try {
+            warmUpConnectionPool();
+            var hotCases = preloadHotCases();
+            warmUpSerialization(hotCases);
+            log.info("Warm-up finished in {} ms with {} hot cases cached",
+                (System.nanoTime() - start) / 1_000_000, hotCases.size());
+        } catch (Exception e) {
+            log.warn("Warm-up failed, accepting traffic anyway", e);
+        }
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    void warmUpConnectionPool() throws SQLException {
+        var size = dataSource instanceof HikariDataSource hikari ? Math.max(1,
+            hikari.getMinimumIdle() > 0 ? hikari.getMinimumIdle() : hikari.getMaximumPoolSize())
+            : 1;
+        var connections = new ArrayList<Connection>(size);
+        try {
+            for (var i = 0; i < size; i++) {
+                var connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (var connection : connections) {
+                connection.close();
+            }
+        }
+        log.info("Warm-up opened {} connections", size);
+    }
+
+    List<Case> preloadHotCases() {
+        var page = PageRequest.of(0, Math.max(1, warmUpProperties.hotCases()),
+            Sort.by(Sort.Direction.DESC, "lastModifiedDateTime"));
+        var hotCases = caseRepository.findAll(page).stream().map(Case::of).toList();
+        var cache = cacheManager.getCache(CaseService.CASE_CACHE);
+        if (cache != null) {
+            hotCases.forEach(hotCase -> cache.put(hotCase.id(), hotCase));
+        }
+        hotCases.stream().findFirst().ifPresent(hotCase -> caseRepository.findById(hotCase.id()));
+        return hotCases;
+    }
+
+    @SneakyThrows
+    void warmUpSerialization(List<Case> hotCases) {
+        var now = LocalDateTime.now(Clock.systemUTC());
+        var sample = hotCases.isEmpty() ? List.of(
+            Case.builder().id(0L).caseNumber("WARMUP").title("Warm-up").description("Warm-up")
+                .status("Warm-up").createdDateTime(now).lastModifiedDateTime(now).build())
+            : hotCases;
+        for (var i = 0; i < warmUpProperties.iterations(); i++) {
+            objectMapper.writeValueAsBytes(CasesFindResponse.of(sample));
+            var json = objectMapper.writeValueAsBytes(CaseGetResponse.of(sample.getFirst()));
+            objectMapper.readValue(json, CaseGetResponse.class);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.oscarhkli.caseboard;
+
+import java.util.Map;
+import lombok.Getter;
+
+@Getter
+public class InvalidCasePatchException extends RuntimeException {
+
+    /**
+     * Error message by patch member.
+     */
+    private final Map<String, String> errors;
+
+    public InvalidCasePatchException(Map<String, String> errors) {
+        super("Invalid case patch");
+        this.errors = errors;
+    }
+}
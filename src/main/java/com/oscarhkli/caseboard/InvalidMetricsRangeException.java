@@ -0,0 +1,8 @@
+package com.oscarhkli.caseboard;
+
+public class InvalidMetricsRangeException extends RuntimeException {
+
+    public InvalidMetricsRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.entity.CaseAssigneeCountRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains each assignee's count of open cases from {@link CaseService} writes, in the same
+ * transaction, so reading it is a primary key lookup instead of a count over the assignee's
+ * cases. A case is open while its status is not one of
+ * {@link AssignmentProperties#closedStatuses()}.
+ */
+@Service
+@AllArgsConstructor
+public class OpenCaseCountService {
+
+    private final CaseAssigneeCountRepository caseAssigneeCountRepository;
+    private final AssignmentProperties assignmentProperties;
+
+    public void recordCreated(String assignee, String status, long count) {
+        if (isCounted(assignee, status)) {
+            caseAssigneeCountRepository.increment(assignee, count);
+        }
+    }
+
+    /**
+     * Moves a case from one assignee and status to another. Either assignee may be {@code null},
+     * and a change that leaves the case open with the same assignee writes nothing.
+     */
+    public void recordChange(String fromAssignee, String fromStatus, String toAssignee,
+        String toStatus) {
+        var wasCounted = isCounted(fromAssignee, fromStatus);
+        var isCounted = isCounted(toAssignee, toStatus);
+        if (wasCounted && isCounted && fromAssignee.equals(toAssignee)) {
+            return;
+        }
+        if (wasCounted) {
+            caseAssigneeCountRepository.increment(fromAssignee, -1);
+        }
+        if (isCounted) {
+            caseAssigneeCountRepository.increment(toAssignee, 1);
+        }
+    }
+
+    /**
+     * Takes cases leaving {@code cases} for good, such as archived ones, out of their assignees'
+     * counts, with one write per assignee.
+     */
+    public void recordRemoved(List<CaseEntity> caseEntities) {
+        caseEntities.stream()
+            .filter(caseEntity -> isCounted(caseEntity.getAssignee(), caseEntity.getStatus()))
+            .collect(Collectors.groupingBy(CaseEntity::getAssignee, TreeMap::new,
+                Collectors.counting()))
+            .forEach((assignee, count) -> caseAssigneeCountRepository.increment(assignee, -count));
+    }
+
+    public long findOpenCount(String assignee) {
+        return caseAssigneeCountRepository.findOpenCases(assignee);
+    }
+
+    /**
+     * Whether a case with {@code assignee} and {@code status} counts towards the assignee's open
+     * cases.
+     */
+    public boolean isCounted(String assignee, String status) {
+        return assignee != null && !assignmentProperties.closedStatuses().contains(status);
+    }
+}
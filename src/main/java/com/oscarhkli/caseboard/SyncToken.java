@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync cursor: the {@code (lastModifiedDateTime, id)} of the last change a client
+ * has seen. Encoded as URL-safe Base64 so clients treat it as a black box.
+ */
+public record SyncToken(LocalDateTime lastModifiedDateTime, long id) {
+
+    public static final SyncToken INITIAL = new SyncToken(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((lastModifiedDateTime + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token; used by Spring to convert the {@code since} request parameter.
+     */
+    public static SyncToken valueOf(String token) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separator = decoded.lastIndexOf(SEPARATOR);
+            return new SyncToken(LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException
+                 | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid sync token: %s".formatted(token), e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.oscarhkli.caseboard;
+
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.oscarhkli.caseboard;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.tombstone")
+public record TombstoneProperties(@DefaultValue("P7D") Duration retention,
+                                  @DefaultValue("500") int purgeBatchSize,
+                                  @DefaultValue("20") int purgeMaxBatches,
+                                  @DefaultValue("100ms") Duration purgePause) {
+
+}
@@ -0,0 +1,82 @@
+package com.oscarhkli.caseboard;
+
+import com.oscarhkli.caseboard.attachment.AttachmentStore;
+import com.oscarhkli.caseboard.entity.CaseAttachmentRepository;
+import com.oscarhkli.caseboard.entity.CaseCommentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hard-deletes tombstones older than {@link TombstoneProperties#retention()}.
+ * <p>
+ * Each run deletes at most {@code purgeMaxBatches} batches of {@code purgeBatchSize} rows, each
+ * in its own short transaction, pausing between batches so purge I/O stays bounded. A batch
+ * deletes the comments and attachment records of its cases along with them, and the attachment
+ * content once the transaction has committed.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class TombstonePurger {
+
+    private final CaseRepository caseRepository;
+    private final CaseCommentRepository caseCommentRepository;
+    private final CaseAttachmentRepository caseAttachmentRepository;
+    private final AttachmentStore attachmentStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TombstoneProperties tombstoneProperties;
+    private final Clock clock;
+
+    @Scheduled(fixedDelayString = "${case-board.tombstone.purge-interval:PT5M}",
+        initialDelayString = "${case-board.tombstone.purge-interval:PT5M}")
+    public int purgeExpiredTombstones() {
+        var cutoff = LocalDateTime.now(clock).minus(tombstoneProperties.retention());
+        var batchSize = tombstoneProperties.purgeBatchSize();
+        var purged = 0;
+        for (var batch = 0; batch < tombstoneProperties.purgeMaxBatches(); batch++) {
+            var ids = caseRepository.findExpiredTombstoneIds(cutoff, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            purged += purgeBatch(ids);
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} tombstones deleted before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    private int purgeBatch(List<Long> ids) {
+        var storageKeys = new ArrayList<String>();
+        int count = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            storageKeys.addAll(caseAttachmentRepository.findStorageKeysByCaseIds(ids));
+            caseCommentRepository.deleteByCaseIds(ids);
+            caseAttachmentRepository.deleteByCaseIds(ids);
+            return caseRepository.purgeTombstones(ids);
+        }));
+        storageKeys.forEach(attachmentStore::delete);
+        return count;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(tombstoneProperties.purgePause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
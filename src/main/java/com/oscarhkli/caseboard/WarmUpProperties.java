@@ -0,0 +1,11 @@
+package com.oscarhkli.caseboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.warm-up")
+public record WarmUpProperties(@DefaultValue("true") boolean enabled,
+                               @DefaultValue("100") int hotCases,
+                               @DefaultValue("200") int iterations) {
+
+}
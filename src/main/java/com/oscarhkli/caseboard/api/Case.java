@@ -4,32 +4,29 @@ import com.oscarhkli.caseboard.entity.CaseEntity;
 import jakarta.validation.constraints.NotEmpty;
 import java.time.LocalDateTime;
 import lombok.Builder;
-import lombok.Value;
 
-@Value
+/**
+ * Serialized by {@link CaseJsonComponent.CaseSerializer}. The builder is kept for callers that
+ * set only a few fields; mapping from entities uses the canonical constructor.
+ */
 @Builder
-public class Case {
-
-    Long id;
-    @NotEmpty
-    String caseNumber;
-    @NotEmpty
-    String title;
-    String description;
-    @NotEmpty
-    String status;
-    LocalDateTime createdDateTime;
-    LocalDateTime lastModifiedDateTime;
+public record Case(Long id,
+                   @NotEmpty String caseNumber,
+                   @NotEmpty String title,
+                   String description,
+                   @NotEmpty String status,
+                   String assignee,
+                   LocalDateTime createdDateTime,
+                   LocalDateTime lastModifiedDateTime) {
 
     public CaseEntity toEntity() {
         return CaseEntity.builder().caseNumber(this.caseNumber).title(this.title)
-            .description(this.description).status(this.status).build();
+            .description(this.description).status(this.status).assignee(this.assignee).build();
     }
 
     public static Case of(CaseEntity caseEntity) {
-        return Case.builder().id(caseEntity.getId()).caseNumber(caseEntity.getCaseNumber())
-            .title(caseEntity.getTitle()).description(caseEntity.getDescription())
-            .status(caseEntity.getStatus()).createdDateTime(caseEntity.getCreatedDateTime())
-            .lastModifiedDateTime(caseEntity.getLastModifiedDateTime()).build();
+        return new Case(caseEntity.getId(), caseEntity.getCaseNumber(), caseEntity.getTitle(),
+            caseEntity.getDescription(), caseEntity.getStatus(), caseEntity.getAssignee(),
+            caseEntity.getCreatedDateTime(), caseEntity.getLastModifiedDateTime());
     }
 }
@@ -0,0 +1,7 @@
+package com.oscarhkli.caseboard.api;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public record CaseAssignment(@NotEmpty String assignee) {
+
+}
@@ -0,0 +1,22 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.entity.CaseAttachmentEntity;
+import java.time.LocalDateTime;
+
+/**
+ * Attachment metadata; the content is downloaded from
+ * {@code /api/v1/cases/{caseId}/attachments/{id}}.
+ */
+public record CaseAttachment(Long id,
+                             Long caseId,
+                             String fileName,
+                             String contentType,
+                             long size,
+                             LocalDateTime createdDateTime) {
+
+    public static CaseAttachment of(CaseAttachmentEntity caseAttachmentEntity) {
+        return new CaseAttachment(caseAttachmentEntity.getId(), caseAttachmentEntity.getCaseId(),
+            caseAttachmentEntity.getFileName(), caseAttachmentEntity.getContentType(),
+            caseAttachmentEntity.getSize(), caseAttachmentEntity.getCreatedDateTime());
+    }
+}
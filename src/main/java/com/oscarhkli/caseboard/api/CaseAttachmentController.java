@@ -0,0 +1,183 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.attachment.AttachmentContent;
+import com.oscarhkli.caseboard.attachment.CaseAttachmentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Slf4j
+@Validated
+@AllArgsConstructor
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080",
+    "https://localhost:8080",})
+public class CaseAttachmentController {
+
+    /**
+     * Request attributes of Tomcat's sendfile support: when the connector offers it, it writes
+     * the file range named by the other three to the socket with {@code FileChannel.transferTo}
+     * after the handler returns.
+     */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CaseAttachmentService caseAttachmentService;
+
+    @Operation(summary = "Retrieve a case's attachments", description = "Fetches the metadata of every attachment of a case, oldest first.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved attachments"),
+        @ApiResponse(responseCode = "404", description = "Case not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/{id}/attachments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseAttachmentsFindResponse> getAttachments(
+        @RequestHeader HttpHeaders headers, @PathVariable Long id) {
+        log.info("getAttachments request: case {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseAttachmentService.findAttachments(id).map(CaseAttachmentsFindResponse::of)
+            .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Attach a file to a case", description = "Stores the request body as an attachment named fileName, of the request's content type. The body is streamed to disk, up to case-board.attachments.max-size.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Attachment stored successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid file name", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "404", description = "Case not found"),
+        @ApiResponse(responseCode = "413", description = "Attachment too large", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PostMapping(value = "/v1/cases/{id}/attachments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseAttachment> uploadAttachment(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestParam @NotEmpty @Size(max = 255) String fileName,
+        HttpServletRequest request) throws IOException {
+        log.info("uploadAttachment request: case {}, fileName {}, size {} [referer: {}, "
+                + "user-agent: {}]", id, fileName, request.getContentLengthLong(),
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var contentType = Objects.requireNonNullElse(request.getContentType(),
+            MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        return caseAttachmentService.upload(id, fileName, contentType,
+                request.getContentLengthLong(), Channels.newChannel(request.getInputStream()))
+            .map(caseAttachment -> ResponseEntity.created(URI.create(
+                    "/api/v1/cases/%d/attachments/%d".formatted(id, caseAttachment.id())))
+                .body(caseAttachment))
+            .orElseGet(() -> {
+                log.info("Case {} not found", id);
+                return ResponseEntity.notFound().build();
+            });
+    }
+
+    /**
+     * Serves the whole file, or the one byte range requested with {@code Range}; requests for
+     * several ranges get the whole file. Written by Tomcat's sendfile where the connector
+     * supports it, otherwise copied to the response stream with {@code FileChannel.transferTo}.
+     */
+    @Operation(summary = "Download an attachment", description = "Fetches an attachment's content. Supports a single byte range.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the content"),
+        @ApiResponse(responseCode = "206", description = "Successfully retrieved the requested range"),
+        @ApiResponse(responseCode = "404", description = "Case or attachment not found"),
+        @ApiResponse(responseCode = "416", description = "Invalid or unsatisfiable range")})
+    @GetMapping("/v1/cases/{id}/attachments/{attachmentId}")
+    public void downloadAttachment(@RequestHeader HttpHeaders headers, @PathVariable Long id,
+        @PathVariable Long attachmentId, HttpServletRequest request,
+        HttpServletResponse response) throws IOException {
+        log.info("downloadAttachment request: case {}, attachment {}, range {} [referer: {}, "
+                + "user-agent: {}]", id, attachmentId, headers.getOrEmpty(HttpHeaders.RANGE),
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var found = caseAttachmentService.findContent(id, attachmentId);
+        if (found.isEmpty()) {
+            log.info("Attachment {} of case {} not found", attachmentId, id);
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        var content = found.get();
+        var length = content.attachment().size();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        var start = 0L;
+        var end = length - 1;
+        try {
+            var ranges = headers.getRange();
+            if (ranges.size() == 1 && length > 0) {
+                start = ranges.getFirst().getRangeStart(length);
+                end = ranges.getFirst().getRangeEnd(length);
+                if (start > end) {
+                    throw new IllegalArgumentException("Range starts after the last byte");
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes %d-%d/%d".formatted(start, end, length));
+            }
+        } catch (IllegalArgumentException e) {
+            log.info("Unsatisfiable range {}: {}", headers.getOrEmpty(HttpHeaders.RANGE),
+                e.getMessage());
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */%d".formatted(length));
+            return;
+        }
+        response.setContentType(content.attachment().contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            contentDisposition(content.attachment().fileName()).toString());
+        response.setContentLengthLong(end - start + 1);
+        if (!HttpMethod.HEAD.matches(request.getMethod())) {
+            send(content, start, end - start + 1, request, response);
+        }
+    }
+
+    @Operation(summary = "Delete an attachment", description = "Deletes an attachment and its content.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Attachment deleted successfully"),
+        @ApiResponse(responseCode = "404", description = "Case or attachment not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @DeleteMapping("/v1/cases/{id}/attachments/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @PathVariable Long attachmentId) {
+        log.info("deleteAttachment request: case {}, attachment {} [referer: {}, user-agent: {}]",
+            id, attachmentId, headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseAttachmentService.delete(id, attachmentId) ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    private static ContentDisposition contentDisposition(String fileName) {
+        var builder = ContentDisposition.attachment();
+        return (StandardCharsets.US_ASCII.newEncoder().canEncode(fileName)
+            ? builder.filename(fileName) : builder.filename(fileName, StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static void send(AttachmentContent content, long start, long count,
+        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, content.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        content.transferTo(start, count, Channels.newChannel(response.getOutputStream()));
+    }
+}
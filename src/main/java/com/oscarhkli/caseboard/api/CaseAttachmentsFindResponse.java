@@ -0,0 +1,10 @@
+package com.oscarhkli.caseboard.api;
+
+import java.util.List;
+
+public record CaseAttachmentsFindResponse(List<CaseAttachment> data) {
+
+    public static CaseAttachmentsFindResponse of(List<CaseAttachment> caseAttachments) {
+        return new CaseAttachmentsFindResponse(caseAttachments);
+    }
+}
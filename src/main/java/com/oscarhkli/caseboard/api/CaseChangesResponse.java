@@ -0,0 +1,28 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.CaseChanges;
+import java.util.List;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+@Value
+@Builder
+public class CaseChangesResponse {
+
+    @Singular("singleCase")
+    List<Case> data;
+    @Singular("deletedId")
+    List<Long> deleted;
+    @Singular("archivedId")
+    List<Long> archived;
+    String nextToken;
+    boolean hasMore;
+
+    public static CaseChangesResponse of(CaseChanges caseChanges) {
+        return CaseChangesResponse.builder().data(caseChanges.changed())
+            .deleted(caseChanges.deletedIds())
+            .archived(caseChanges.archivedIds()).nextToken(caseChanges.nextToken().encode())
+            .hasMore(caseChanges.hasMore()).build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.entity.CaseCommentEntity;
+import jakarta.validation.constraints.NotEmpty;
+import java.time.LocalDateTime;
+import lombok.Builder;
+
+@Builder
+public record CaseComment(Long id,
+                          @NotEmpty String author,
+                          @NotEmpty String body,
+                          LocalDateTime createdDateTime) {
+
+    public CaseCommentEntity toEntity(long caseId) {
+        return CaseCommentEntity.builder().caseId(caseId).author(this.author).body(this.body)
+            .build();
+    }
+
+    public static CaseComment of(CaseCommentEntity caseCommentEntity) {
+        return new CaseComment(caseCommentEntity.getId(), caseCommentEntity.getAuthor(),
+            caseCommentEntity.getBody(), caseCommentEntity.getCreatedDateTime());
+    }
+}
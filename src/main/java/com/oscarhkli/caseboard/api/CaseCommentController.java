@@ -0,0 +1,73 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.comment.CaseCommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Slf4j
+@Validated
+@AllArgsConstructor
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080",
+    "https://localhost:8080",})
+public class CaseCommentController {
+
+    static final int MAX_PAGE_LIMIT = 1000;
+
+    private final CaseCommentService caseCommentService;
+
+    @Operation(summary = "Retrieve a case's comments", description = "Fetches one page of at most limit comments of a case, oldest first, after the comment with id after. The id to pass as after for the next page is in next.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved comments"),
+        @ApiResponse(responseCode = "404", description = "Case not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/{id}/comments", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseCommentsFindResponse> getComments(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestParam(required = false) Long after,
+        @RequestParam(defaultValue = "100") int limit) {
+        log.info("getComments request: case {}, after {} [referer: {}, user-agent: {}]", id, after,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseCommentService.findComments(id, after, Math.clamp(limit, 1, MAX_PAGE_LIMIT))
+            .map(CaseCommentsFindResponse::of).map(ResponseEntity::ok)
+            .orElseGet(() -> {
+                log.info("Case {} not found", id);
+                return ResponseEntity.notFound().build();
+            });
+    }
+
+    @Operation(summary = "Comment on a case", description = "Adds a comment to a case.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Comment created successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "404", description = "Case not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PostMapping("/v1/cases/{id}/comments")
+    public ResponseEntity<Long> insertComment(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestBody @NotNull @Valid CaseComment newComment) {
+        log.info("insertComment request: case {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseCommentService.addComment(id, newComment).map(commentId -> {
+            log.info("New comment inserted with commentId: {}", commentId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(commentId);
+        }).orElseGet(() -> {
+            log.info("Case {} not found", id);
+            return ResponseEntity.notFound().build();
+        });
+    }
+}
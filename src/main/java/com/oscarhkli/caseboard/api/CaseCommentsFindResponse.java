@@ -0,0 +1,18 @@
+package com.oscarhkli.caseboard.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.oscarhkli.caseboard.comment.CaseCommentPage;
+import java.util.List;
+
+/**
+ * {@code next} is the id to pass as {@code after} for the following page, and is omitted on the
+ * last page.
+ */
+public record CaseCommentsFindResponse(List<CaseComment> data,
+                                       @JsonInclude(Include.NON_NULL) Long next) {
+
+    public static CaseCommentsFindResponse of(CaseCommentPage caseCommentPage) {
+        return new CaseCommentsFindResponse(caseCommentPage.comments(), caseCommentPage.next());
+    }
+}
@@ -1,14 +1,29 @@
 package com.oscarhkli.caseboard.api;
 
+import com.oscarhkli.caseboard.CaseListCursor;
+import com.oscarhkli.caseboard.CaseMetricsService;
+import com.oscarhkli.caseboard.CasePatch;
 import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.CaseSort;
+import com.oscarhkli.caseboard.SyncToken;
+import com.oscarhkli.caseboard.ingest.CaseIngestionService;
+import com.oscarhkli.caseboard.ingest.IngestionStatus;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -21,26 +36,103 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 @AllArgsConstructor
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080",
     "https://localhost:8080",})
 public class CaseController {
 
+    static final int MAX_CHANGES_LIMIT = 1000;
+    static final int MAX_PAGE_LIMIT = 1000;
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final CaseService caseService;
+    private final CaseMetricsService caseMetricsService;
+    private final CaseIngestionService caseIngestionService;
 
-    @Operation(summary = "Retrieve all cases", description = "Fetches a list of all cases.")
+    @Operation(summary = "Retrieve all cases", description = "Fetches a list of all cases, optionally only those in a status. With sort (lastModifiedDateTime, createdDateTime, caseNumber or status, then asc or desc) or after, fetches one page of at most limit cases in that order, with the cursor of the next page in next. A page after a cursor keeps the cursor's sort. With assignee, always fetches one page of the cases assigned to them, most recently modified first by default. With includeArchived, archived cases are merged into the same order and a page is always fetched, most recently modified first by default.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved cases"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort or cursor", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
     @GetMapping(value = "/v1/cases", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<CasesFindResponse> getCases(@RequestHeader HttpHeaders headers) {
-        log.info("getCases request: [referer: {}, user-agent: {}]",
+    public ResponseEntity<CasesFindResponse> getCases(@RequestHeader HttpHeaders headers,
+        @RequestParam(required = false) String status,
+        @RequestParam(required = false) String assignee,
+        @RequestParam(required = false) CaseSort sort,
+        @RequestParam(required = false) CaseListCursor after,
+        @RequestParam(defaultValue = "100") int limit,
+        @RequestParam(defaultValue = "false") boolean includeArchived) {
+        log.info("getCases request: status {}, assignee {}, sort {}, includeArchived {} "
+                + "[referer: {}, user-agent: {}]", status, assignee,
+            after == null ? sort : after.sort(), includeArchived,
             headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
-        var casesFindResponse = CasesFindResponse.of(caseService.findAllCases());
-        log.info("getCases response size: {}", casesFindResponse.getData().size());
+        CasesFindResponse casesFindResponse;
+        if (assignee != null) {
+            casesFindResponse = CasesFindResponse.ofPage(caseService.findCasesByAssignee(assignee,
+                status, sort, after, Math.clamp(limit, 1, MAX_PAGE_LIMIT), includeArchived));
+        } else if (sort == null && after == null && !includeArchived) {
+            casesFindResponse = CasesFindResponse.of(status == null ? caseService.findAllCases()
+                : caseService.findCasesByStatus(status));
+        } else {
+            casesFindResponse = CasesFindResponse.ofPage(caseService.findCases(status, sort, after,
+                Math.clamp(limit, 1, MAX_PAGE_LIMIT), includeArchived));
+        }
+        log.info("getCases response size: {}", casesFindResponse.data().size());
         return ResponseEntity.ok(casesFindResponse);
     }
 
-    @Operation(summary = "Retrieve a specific case", description = "Fetches a case by its ID.")
+    @Operation(summary = "Retrieve case changes", description = "Fetches cases created, updated or deleted since a sync token, and the ids of cases archived since it. A token older than the tombstone retention is gone; sync again without one.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+        @ApiResponse(responseCode = "400", description = "Invalid sync token", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "410", description = "Sync token older than the tombstone retention", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseChangesResponse> getCaseChanges(@RequestHeader HttpHeaders headers,
+        @RequestParam(required = false) SyncToken since,
+        @RequestParam(defaultValue = "500") int limit) {
+        log.info("getCaseChanges request: {} [referer: {}, user-agent: {}]", since,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var caseChangesResponse = CaseChangesResponse.of(
+            caseService.findChangesSince(since == null ? SyncToken.INITIAL : since,
+                Math.clamp(limit, 1, MAX_CHANGES_LIMIT)));
+        log.info("getCaseChanges response size: {}, deleted: {}, archived: {}, hasMore: {}",
+            caseChangesResponse.getData().size(), caseChangesResponse.getDeleted().size(),
+            caseChangesResponse.getArchived().size(), caseChangesResponse.isHasMore());
+        return ResponseEntity.ok(caseChangesResponse);
+    }
+
+    @Operation(summary = "Retrieve case metrics", description = "Fetches cases created per day, mean time in each status and weekly throughput, from daily rollups. Defaults to the last 90 days; a range may span at most 366 days.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved metrics"),
+        @ApiResponse(responseCode = "400", description = "Invalid date or range", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseMetricsResponse> getCaseMetrics(@RequestHeader HttpHeaders headers,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+        @RequestParam(defaultValue = "CLOSED") String throughputStatus) {
+        log.info("getCaseMetrics request: {} to {} [referer: {}, user-agent: {}]", from, to,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return ResponseEntity.ok(
+            CaseMetricsResponse.of(caseMetricsService.findMetrics(from, to, throughputStatus)));
+    }
+
+    @Operation(summary = "Retrieve an assignee's open case count", description = "Fetches the number of cases assigned to someone that are not in a closed status, from a counter maintained on every assignment and status change.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the count"),
+        @ApiResponse(responseCode = "400", description = "Missing assignee", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/open-count", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OpenCaseCountResponse> getOpenCaseCount(
+        @RequestHeader HttpHeaders headers, @RequestParam String assignee) {
+        log.info("getOpenCaseCount request: {} [referer: {}, user-agent: {}]", assignee,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return ResponseEntity.ok(
+            new OpenCaseCountResponse(assignee, caseService.findOpenCaseCount(assignee)));
+    }
+
+    @Operation(summary = "Retrieve a specific case", description = "Fetches a case by its ID. With includeArchived, falls back to archived cases.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved the case"),
         @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
@@ -48,10 +140,15 @@ public class CaseController {
         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
     @GetMapping(value = "/v1/cases/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<CaseGetResponse> getCase(@RequestHeader HttpHeaders headers,
-        @PathVariable Long id) {
-        log.info("getCase request: {} [referer: {}, user-agent: {}]", id,
-            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
-        return caseService.findCaseById(id).map(CaseGetResponse::of).map(caseGetResponse -> {
+        @PathVariable Long id, @RequestParam(defaultValue = "false") boolean includeArchived) {
+        log.info("getCase request: {}, includeArchived {} [referer: {}, user-agent: {}]", id,
+            includeArchived, headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var found = caseService.findCaseById(id);
+        if (found.isEmpty() && includeArchived) {
+            found = caseService.findArchivedCaseById(id);
+        }
+        return found.map(CaseGetResponse::of).map(caseGetResponse -> {
             log.info("Case {} found", id);
             return ResponseEntity.ok(caseGetResponse);
         }).orElseGet(() -> {
@@ -60,6 +157,40 @@ public class CaseController {
         });
     }
 
+    @Operation(summary = "Retrieve archived cases", description = "Fetches archived cases by case number. A case number may have been reused after its case was archived.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved archived cases"),
+        @ApiResponse(responseCode = "400", description = "Missing case number", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/archived", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CasesFindResponse> getArchivedCases(@RequestHeader HttpHeaders headers,
+        @RequestParam String caseNumber) {
+        log.info("getArchivedCases request: {} [referer: {}, user-agent: {}]", caseNumber,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var casesFindResponse = CasesFindResponse.of(
+            caseService.findArchivedCasesByCaseNumber(caseNumber));
+        log.info("getArchivedCases response size: {}", casesFindResponse.data().size());
+        return ResponseEntity.ok(casesFindResponse);
+    }
+
+    @Operation(summary = "Retrieve an archived case", description = "Fetches an archived case by its ID.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the case"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "404", description = "Archived case not found"),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @GetMapping(value = "/v1/cases/archived/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseGetResponse> getArchivedCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id) {
+        log.info("getArchivedCase request: {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseService.findArchivedCaseById(id).map(CaseGetResponse::of)
+            .map(ResponseEntity::ok).orElseGet(() -> {
+                log.info("Archived case {} not found", id);
+                return ResponseEntity.notFound().build();
+            });
+    }
+
     @Operation(summary = "Create a new case", description = "Inserts a new case into the system.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Case created successfully"),
@@ -69,13 +200,44 @@ public class CaseController {
     public ResponseEntity<Long> insertCase(@RequestHeader HttpHeaders headers,
         @RequestBody @NotNull @Valid Case newCase) {
         log.info("insertCase request caseNumber: {} [referer: {}, user-agent: {}]",
-            newCase.getCaseNumber(), headers.getOrEmpty(HttpHeaders.REFERER),
+            newCase.caseNumber(), headers.getOrEmpty(HttpHeaders.REFERER),
             headers.getOrEmpty(HttpHeaders.USER_AGENT));
         var caseId = caseService.insertCase(newCase);
         log.info("New case inserted with caseId: {}", caseId);
         return ResponseEntity.status(HttpStatus.CREATED).body(caseId);
     }
 
+    @Operation(summary = "Queue a new case", description = "Journals a case for asynchronous insertion and returns a tracking id to poll.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Case queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "503", description = "Ingestion disabled or queue full", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PostMapping(value = "/v1/cases/ingestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseIngestionResponse> ingestCase(@RequestHeader HttpHeaders headers,
+        @RequestBody @NotNull @Valid Case newCase) {
+        log.info("ingestCase request caseNumber: {} [referer: {}, user-agent: {}]",
+            newCase.caseNumber(), headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var trackingId = caseIngestionService.enqueue(newCase);
+        log.info("Case {} queued with trackingId: {}", newCase.caseNumber(), trackingId);
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/cases/ingestions/" + trackingId))
+            .body(CaseIngestionResponse.of(IngestionStatus.queued(trackingId)));
+    }
+
+    @Operation(summary = "Retrieve a queued case's status", description = "Fetches whether a queued case has been inserted or rejected.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the status"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired tracking id")})
+    @GetMapping(value = "/v1/cases/ingestions/{trackingId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseIngestionResponse> getIngestion(@RequestHeader HttpHeaders headers,
+        @PathVariable UUID trackingId) {
+        log.info("getIngestion request: {} [referer: {}, user-agent: {}]", trackingId,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseIngestionService.findStatus(trackingId).map(CaseIngestionResponse::of)
+            .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @Operation(summary = "Update an existing case", description = "Updates a case by its ID.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Case updated successfully"),
@@ -91,6 +253,49 @@ public class CaseController {
         return ResponseEntity.ok(true);
     }
 
+    @Operation(summary = "Patch an existing case", description = "Applies a JSON Merge Patch of title, description and status to a case by its ID. A null description removes it. Returns whether the case changed; a patch that changes nothing is not written.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Case patched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid patch", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Case not found or internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PatchMapping(value = "/v1/cases/{id}", consumes = {MERGE_PATCH_JSON_VALUE,
+        MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Boolean> patchCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestBody @NotNull Map<String, Object> patch) {
+        log.info("patchCase request id: {}, members: {} [referer: {}, user-agent: {}]", id,
+            patch.keySet(), headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var changed = caseService.patchCase(id, CasePatch.of(patch));
+        log.info("Case {} {}", id, changed ? "patched" : "unchanged by patch");
+        return ResponseEntity.ok(changed);
+    }
+
+    @Operation(summary = "Assign a case", description = "Assigns a case by its ID to someone. Returns whether the assignee changed.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Case assigned successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Case not found or internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PutMapping(value = "/v1/cases/{id}/assignee")
+    public ResponseEntity<Boolean> assignCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestBody @NotNull @Valid CaseAssignment caseAssignment) {
+        log.info("assignCase request id: {}, assignee: {} [referer: {}, user-agent: {}]", id,
+            caseAssignment.assignee(), headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return ResponseEntity.ok(caseService.assignCase(id, caseAssignment.assignee()));
+    }
+
+    @Operation(summary = "Unassign a case", description = "Removes the assignee of a case by its ID. Returns whether the case was assigned.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Case unassigned successfully"),
+        @ApiResponse(responseCode = "500", description = "Case not found or internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @DeleteMapping(value = "/v1/cases/{id}/assignee")
+    public ResponseEntity<Boolean> unassignCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id) {
+        log.info("unassignCase request id: {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return ResponseEntity.ok(caseService.assignCase(id, null));
+    }
+
     @Operation(summary = "Delete a case", description = "Deletes a case by its ID.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Case deleted successfully"),
@@ -1,10 +1,18 @@
 package com.oscarhkli.caseboard.api;
 
 import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.InvalidCasePatchException;
+import com.oscarhkli.caseboard.InvalidMetricsRangeException;
+import com.oscarhkli.caseboard.SyncTokenExpiredException;
 import com.oscarhkli.caseboard.api.ApiErrorResponse.ApiError;
 import com.oscarhkli.caseboard.api.ApiErrorResponse.ErrorDetails;
+import com.oscarhkli.caseboard.attachment.AttachmentTooLargeException;
+import com.oscarhkli.caseboard.ingest.CaseIngestionUnavailableException;
 import java.util.ArrayList;
 import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -16,7 +24,9 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-@RestControllerAdvice(annotations = RestController.class, assignableTypes = {CaseController.class})
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RestControllerAdvice(annotations = RestController.class, assignableTypes = {CaseController.class,
+    CaseCommentController.class, CaseAttachmentController.class, CaseImportController.class})
 public class CaseControllerAdvice {
 
     @ExceptionHandler(value = {CaseOperationException.class})
@@ -33,6 +43,26 @@ public class CaseControllerAdvice {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
+    @ExceptionHandler(value = {CaseIngestionUnavailableException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiErrorResponse> handleCaseIngestionUnavailable(
+        CaseIngestionUnavailableException ex) {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.SERVICE_UNAVAILABLE.value()),
+                ex.getMessage(), List.of()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {AttachmentTooLargeException.class})
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ResponseEntity<ApiErrorResponse> handleAttachmentTooLarge(
+        AttachmentTooLargeException ex) {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.PAYLOAD_TOO_LARGE.value()), ex.getMessage(),
+                List.of()));
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
     @ExceptionHandler(value = {MethodArgumentTypeMismatchException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ApiErrorResponse> handleMethodArgumentTypeMismatch(
@@ -59,6 +89,47 @@ public class CaseControllerAdvice {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(value = {InvalidCasePatchException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiErrorResponse> handleInvalidCasePatch(
+        final InvalidCasePatchException ex) {
+        var errors = ex.getErrors().entrySet().stream()
+            .map(error -> new ErrorDetails(error.getKey(), error.getValue())).toList();
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.BAD_REQUEST.value()), ex.getMessage(),
+                errors));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {InvalidMetricsRangeException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiErrorResponse> handleInvalidMetricsRange(
+        final InvalidMetricsRangeException ex) {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.BAD_REQUEST.value()), ex.getMessage(),
+                List.of()));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {SyncTokenExpiredException.class})
+    @ResponseStatus(HttpStatus.GONE)
+    public ResponseEntity<ApiErrorResponse> handleSyncTokenExpired(
+        final SyncTokenExpiredException ex) {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.GONE.value()), ex.getMessage(), List.of()));
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {OptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLockingFailure(
+        final OptimisticLockingFailureException ex) {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.CONFLICT.value()),
+                "Case was changed concurrently, retry the request", List.of()));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     @ExceptionHandler(value = {HttpMessageNotReadableException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ApiErrorResponse> handleHttpMessageNotReadable(
@@ -1,15 +1,8 @@
 package com.oscarhkli.caseboard.api;
 
-import lombok.Builder;
-import lombok.Value;
-
-@Value
-@Builder
-public class CaseGetResponse {
-
-    Case data;
+public record CaseGetResponse(Case data) {
 
     public static CaseGetResponse of(Case singleCase) {
-        return CaseGetResponse.builder().data(singleCase).build();
+        return new CaseGetResponse(singleCase);
     }
 }
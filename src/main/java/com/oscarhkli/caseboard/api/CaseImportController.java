@@ -0,0 +1,85 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.bulkimport.CaseImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Slf4j
+@AllArgsConstructor
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080",
+    "https://localhost:8080",})
+public class CaseImportController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final CaseImportService caseImportService;
+
+    @Operation(summary = "Import cases from CSV", description = "Uploads a CSV file with a header row of caseNumber, title, status and optionally description, and queues it for import. Returns an import id to poll for progress.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import queued"),
+        @ApiResponse(responseCode = "413", description = "File too large", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE)),
+        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))})
+    @PostMapping(value = "/v1/cases/imports", consumes = TEXT_CSV_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseImportResponse> importCases(@RequestHeader HttpHeaders headers,
+        HttpServletRequest request) throws IOException {
+        log.info("importCases request: size {} [referer: {}, user-agent: {}]",
+            request.getContentLengthLong(), headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        var importStatus = caseImportService.submit(
+            Channels.newChannel(request.getInputStream()));
+        log.info("Import queued with importId: {}", importStatus.importId());
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/v1/cases/imports/" + importStatus.importId()))
+            .body(CaseImportResponse.of(importStatus));
+    }
+
+    @Operation(summary = "Retrieve an import's progress", description = "Fetches the state of an import and how many rows have been read, imported and rejected so far.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the import"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired import id")})
+    @GetMapping(value = "/v1/cases/imports/{importId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CaseImportResponse> getImport(@RequestHeader HttpHeaders headers,
+        @PathVariable UUID importId) {
+        log.info("getImport request: {} [referer: {}, user-agent: {}]", importId,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseImportService.findStatus(importId).map(CaseImportResponse::of)
+            .map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Download an import's rejected rows", description = "Fetches the rows rejected so far as CSV: the line number, the reason, then the row as uploaded.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved the rejected rows"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired import id, or not started yet")})
+    @GetMapping(value = "/v1/cases/imports/{importId}/rejected", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<Resource> getRejectedRows(@RequestHeader HttpHeaders headers,
+        @PathVariable UUID importId) {
+        log.info("getRejectedRows request: {} [referer: {}, user-agent: {}]", importId,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return caseImportService.findRejectedRows(importId)
+            .<Resource>map(FileSystemResource::new)
+            .map(resource -> ResponseEntity.ok().contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .body(resource))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,17 @@
+package com.oscarhkli.caseboard.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus.State;
+import java.util.UUID;
+
+public record CaseImportResponse(UUID importId, State state, long rowsRead, long imported,
+                                 long rejected, @JsonInclude(Include.NON_NULL) String message) {
+
+    public static CaseImportResponse of(ImportStatus importStatus) {
+        return new CaseImportResponse(importStatus.importId(), importStatus.state(),
+            importStatus.rowsRead(), importStatus.imported(), importStatus.rejected(),
+            importStatus.message());
+    }
+}
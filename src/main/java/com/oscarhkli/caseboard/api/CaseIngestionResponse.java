@@ -0,0 +1,13 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.ingest.IngestionStatus;
+import com.oscarhkli.caseboard.ingest.IngestionStatus.State;
+import java.util.UUID;
+
+public record CaseIngestionResponse(UUID trackingId, State state, Long caseId, String message) {
+
+    public static CaseIngestionResponse of(IngestionStatus ingestionStatus) {
+        return new CaseIngestionResponse(ingestionStatus.trackingId(), ingestionStatus.state(),
+            ingestionStatus.caseId(), ingestionStatus.message());
+    }
+}
@@ -0,0 +1,139 @@
+package com.oscarhkli.caseboard.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.springframework.boot.jackson.JsonComponent;
+
+/**
+ * Hand-written serializers for the case read responses, the hottest JSON in the API.
+ * <p>
+ * Fields are written in a fixed order with pre-encoded names, with no bean introspection,
+ * property writers or intermediate trees, and list elements go straight to
+ * {@link CaseSerializer} without a per-element serializer lookup. The output is identical to
+ * Jackson's default for these records.
+ */
+@JsonComponent
+public class CaseJsonComponent {
+
+    private static final SerializableString DATA = new SerializedString("data");
+    private static final SerializableString NEXT = new SerializedString("next");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString CASE_NUMBER = new SerializedString("caseNumber");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString ASSIGNEE = new SerializedString("assignee");
+    private static final SerializableString CREATED_DATE_TIME =
+        new SerializedString("createdDateTime");
+    private static final SerializableString LAST_MODIFIED_DATE_TIME =
+        new SerializedString("lastModifiedDateTime");
+
+    /**
+     * ISO-8601 text of recently written timestamps. The same cached cases are read over and
+     * over, so most timestamps are formatted once rather than on every response.
+     */
+    private static final Cache<LocalDateTime, String> FORMATTED_DATE_TIMES = Caffeine.newBuilder()
+        .maximumSize(10_000).build();
+
+    static void writeDateTime(JsonGenerator gen, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(FORMATTED_DATE_TIMES.get(dateTime,
+                DateTimeFormatter.ISO_LOCAL_DATE_TIME::format));
+        }
+    }
+
+    public static class CaseSerializer extends StdSerializer<Case> {
+
+        static final CaseSerializer INSTANCE = new CaseSerializer();
+
+        public CaseSerializer() {
+            super(Case.class);
+        }
+
+        @Override
+        public void serialize(Case value, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(ID);
+            if (value.id() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value.id());
+            }
+            gen.writeFieldName(CASE_NUMBER);
+            gen.writeString(value.caseNumber());
+            gen.writeFieldName(TITLE);
+            gen.writeString(value.title());
+            gen.writeFieldName(DESCRIPTION);
+            gen.writeString(value.description());
+            gen.writeFieldName(STATUS);
+            gen.writeString(value.status());
+            gen.writeFieldName(ASSIGNEE);
+            gen.writeString(value.assignee());
+            gen.writeFieldName(CREATED_DATE_TIME);
+            writeDateTime(gen, value.createdDateTime());
+            gen.writeFieldName(LAST_MODIFIED_DATE_TIME);
+            writeDateTime(gen, value.lastModifiedDateTime());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class CaseGetResponseSerializer extends StdSerializer<CaseGetResponse> {
+
+        public CaseGetResponseSerializer() {
+            super(CaseGetResponse.class);
+        }
+
+        @Override
+        public void serialize(CaseGetResponse value, JsonGenerator gen,
+            SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(DATA);
+            if (value.data() == null) {
+                gen.writeNull();
+            } else {
+                CaseSerializer.INSTANCE.serialize(value.data(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    public static class CasesFindResponseSerializer extends StdSerializer<CasesFindResponse> {
+
+        public CasesFindResponseSerializer() {
+            super(CasesFindResponse.class);
+        }
+
+        @Override
+        public void serialize(CasesFindResponse value, JsonGenerator gen,
+            SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            gen.writeFieldName(DATA);
+            if (value.data() == null) {
+                gen.writeNull();
+            } else {
+                var cases = value.data();
+                gen.writeStartArray(cases, cases.size());
+                for (var singleCase : cases) {
+                    CaseSerializer.INSTANCE.serialize(singleCase, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+            if (value.next() != null) {
+                gen.writeFieldName(NEXT);
+                gen.writeString(value.next());
+            }
+            gen.writeEndObject();
+        }
+    }
+}
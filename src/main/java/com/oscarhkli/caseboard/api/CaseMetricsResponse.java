@@ -0,0 +1,29 @@
+package com.oscarhkli.caseboard.api;
+
+import com.oscarhkli.caseboard.CaseMetrics;
+import com.oscarhkli.caseboard.CaseMetrics.DailyCount;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CaseMetricsResponse {
+
+    LocalDate from;
+    LocalDate to;
+    List<DailyCount> createdPerDay;
+    Map<String, Double> meanSecondsInStatus;
+    String throughputStatus;
+    List<DailyCount> weeklyThroughput;
+
+    public static CaseMetricsResponse of(CaseMetrics caseMetrics) {
+        return CaseMetricsResponse.builder().from(caseMetrics.from()).to(caseMetrics.to())
+            .createdPerDay(caseMetrics.createdPerDay())
+            .meanSecondsInStatus(caseMetrics.meanSecondsInStatus())
+            .throughputStatus(caseMetrics.throughputStatus())
+            .weeklyThroughput(caseMetrics.weeklyThroughput()).build();
+    }
+}
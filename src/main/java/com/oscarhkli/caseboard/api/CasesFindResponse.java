@@ -1,18 +1,26 @@
 package com.oscarhkli.caseboard.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.oscarhkli.caseboard.CasePage;
 import java.util.List;
-import lombok.Builder;
-import lombok.Singular;
-import lombok.Value;
 
-@Value
-@Builder
-public class CasesFindResponse {
+/**
+ * {@code next} is the cursor of the following page of a sorted listing, and is omitted for
+ * unsorted listings and on the last page.
+ */
+public record CasesFindResponse(List<Case> data, @JsonInclude(Include.NON_NULL) String next) {
 
-    @Singular("singleCase")
-    List<Case> data;
+    public CasesFindResponse(List<Case> data) {
+        this(data, null);
+    }
 
     public static CasesFindResponse of(List<Case> cases) {
-        return CasesFindResponse.builder().data(cases).build();
+        return new CasesFindResponse(cases);
+    }
+
+    public static CasesFindResponse ofPage(CasePage casePage) {
+        return new CasesFindResponse(casePage.cases(),
+            casePage.next() == null ? null : casePage.next().encode());
     }
 }
@@ -0,0 +1,5 @@
+package com.oscarhkli.caseboard.api;
+
+public record OpenCaseCountResponse(String assignee, long openCases) {
+
+}
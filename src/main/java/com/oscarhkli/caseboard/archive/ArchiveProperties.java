@@ -0,0 +1,17 @@
+package com.oscarhkli.caseboard.archive;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.archive")
+public record ArchiveProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("CLOSED") List<String> terminalStatuses,
+                                @DefaultValue("P90D") Duration age,
+                                @DefaultValue("PT1H") Duration interval,
+                                @DefaultValue("500") int batchSize,
+                                @DefaultValue("20") int maxBatches,
+                                @DefaultValue("100ms") Duration pause) {
+
+}
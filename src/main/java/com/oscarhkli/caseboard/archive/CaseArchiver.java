@@ -0,0 +1,91 @@
+package com.oscarhkli.caseboard.archive;
+
+import com.oscarhkli.caseboard.OpenCaseCountService;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves cases that have sat in one of {@link ArchiveProperties#terminalStatuses()} for longer than
+ * {@link ArchiveProperties#age()} from {@code cases} to {@code case_archive}, so the hot table and
+ * its indexes only hold cases that are still being worked on.
+ * <p>
+ * Each batch copies and deletes its rows in one transaction, moving their comments and attachment
+ * records to the archive along with them, taking them out of their assignees' open case counts
+ * (a terminal status need not be a closed one) and appending an {@code ARCHIVED} outbox event per
+ * case, then invalidates them like any other write. Like
+ * {@code TombstonePurger}, a run handles at most {@code maxBatches} batches, pausing between
+ * them.
+ */
+@Slf4j
+@AllArgsConstructor
+public class CaseArchiver {
+
+    private final CaseRepository caseRepository;
+    private final CaseArchiveRepository caseArchiveRepository;
+    private final InvalidationBus invalidationBus;
+    private final CaseOutbox caseOutbox;
+    private final OpenCaseCountService openCaseCountService;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties archiveProperties;
+    private final Clock clock;
+
+    @Scheduled(fixedDelayString = "${case-board.archive.interval:PT1H}",
+        initialDelayString = "${case-board.archive.interval:PT1H}")
+    public int archive() {
+        if (!archiveProperties.enabled()) {
+            return 0;
+        }
+        var cutoff = LocalDateTime.now(clock).minus(archiveProperties.age());
+        var archived = 0;
+        for (var batch = 0; batch < archiveProperties.maxBatches(); batch++) {
+            int count = Objects.requireNonNull(
+                transactionTemplate.execute(status -> archiveBatch(cutoff)));
+            archived += count;
+            if (count < archiveProperties.batchSize() || !pause()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} cases closed before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        var caseEntities = caseRepository.findArchivable(archiveProperties.terminalStatuses(),
+            cutoff, archiveProperties.batchSize());
+        if (caseEntities.isEmpty()) {
+            return 0;
+        }
+        // Stamped per batch: delta sync reads archived_at with the same settle window as cases
+        caseArchiveRepository.insertAll(caseEntities, LocalDateTime.now(clock));
+        var ids = caseEntities.stream().map(CaseEntity::getId).toList();
+        caseArchiveRepository.moveCommentsAndAttachments(ids);
+        caseRepository.deleteArchived(ids);
+        openCaseCountService.recordRemoved(caseEntities);
+        caseOutbox.appendChanges(CaseEventType.ARCHIVED, caseEntities);
+        ids.forEach(invalidationBus::publish);
+        return caseEntities.size();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(archiveProperties.pause());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.oscarhkli.caseboard.attachment;
+
+import com.oscarhkli.caseboard.api.CaseAttachment;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An attachment and the file holding its content, for downloads.
+ */
+public record AttachmentContent(CaseAttachment attachment, Path path) {
+
+    /**
+     * Copies {@code count} bytes from {@code position} with {@link FileChannel#transferTo}, which
+     * the JDK turns into {@code sendfile} when {@code target} is a socket and otherwise copies
+     * through a small buffer, never the whole file. Returns the bytes copied, fewer than
+     * {@code count} only if the file is shorter than recorded.
+     */
+    public long transferTo(long position, long count, WritableByteChannel target)
+        throws IOException {
+        try (var file = FileChannel.open(path, StandardOpenOption.READ)) {
+            var copied = 0L;
+            while (copied < count) {
+                var transferred = file.transferTo(position + copied, count - copied, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                copied += transferred;
+            }
+            return copied;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.oscarhkli.caseboard.attachment;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "case-board.attachments")
+public record AttachmentProperties(@DefaultValue("data/attachments") Path directory,
+                                   @DefaultValue("25MB") DataSize maxSize) {
+
+}
@@ -0,0 +1,83 @@
+package com.oscarhkli.caseboard.attachment;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Attachment contents, one file per attachment under {@code directory}, named by a random storage
+ * key rather than the client's file name.
+ * <p>
+ * Uploads are copied from the request channel with {@link FileChannel#transferFrom}, so the heap
+ * never holds more than the JDK's transfer buffer of an upload. Each upload is written to a
+ * {@code .part} file, forced and renamed, so a file under a storage key is always complete.
+ */
+@Slf4j
+public class AttachmentStore {
+
+    private static final long TRANSFER_CHUNK = 1 << 20;
+
+    private final Path directory;
+    private final long maxSize;
+
+    public AttachmentStore(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    public long maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Copies {@code source} to its end into a new file and returns its storage key and size.
+     *
+     * @throws AttachmentTooLargeException once more than {@code maxSize} bytes have been read
+     */
+    public StoredContent write(ReadableByteChannel source) throws IOException {
+        Files.createDirectories(directory);
+        var storageKey = UUID.randomUUID().toString();
+        var part = directory.resolve(storageKey + ".part");
+        long size = 0;
+        try (var file = FileChannel.open(part, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.WRITE)) {
+            // ask for one byte more than allowed, to tell a full-sized upload from a larger one
+            for (long transferred; (transferred = file.transferFrom(source, size,
+                Math.min(TRANSFER_CHUNK, maxSize + 1 - size))) > 0; ) {
+                size += transferred;
+                if (size > maxSize) {
+                    throw new AttachmentTooLargeException(
+                        "Attachment exceeds %d bytes".formatted(maxSize));
+                }
+            }
+            file.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+        Files.move(part, path(storageKey), StandardCopyOption.ATOMIC_MOVE);
+        return new StoredContent(storageKey, size);
+    }
+
+    public Path path(String storageKey) {
+        return directory.resolve(storageKey);
+    }
+
+    public void delete(String storageKey) {
+        try {
+            Files.deleteIfExists(path(storageKey));
+        } catch (IOException e) {
+            log.warn("Cannot delete attachment content {}: {}", storageKey, e.getMessage());
+        }
+    }
+
+    public record StoredContent(String storageKey, long size) {
+
+    }
+}
@@ -0,0 +1,8 @@
+package com.oscarhkli.caseboard.attachment;
+
+public class AttachmentTooLargeException extends RuntimeException {
+
+    public AttachmentTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package com.oscarhkli.caseboard.attachment;
+
+import com.oscarhkli.caseboard.api.CaseAttachment;
+import com.oscarhkli.caseboard.entity.CaseAttachmentEntity;
+import com.oscarhkli.caseboard.entity.CaseAttachmentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Attachments of a case: metadata in {@code case_attachments}, content in the
+ * {@link AttachmentStore}. Methods return empty when the case or attachment does not exist, or
+ * the case is deleted.
+ */
+@Slf4j
+@AllArgsConstructor
+public class CaseAttachmentService {
+
+    private final CaseRepository caseRepository;
+    private final CaseAttachmentRepository caseAttachmentRepository;
+    private final AttachmentStore attachmentStore;
+
+    /**
+     * Streams {@code content} into the store, then records it. Content whose metadata cannot be
+     * saved is deleted again.
+     *
+     * @param declaredSize the request's content length, or -1 if unknown, to reject oversized
+     *                     uploads before reading them
+     */
+    public Optional<CaseAttachment> upload(long caseId, String fileName, String contentType,
+        long declaredSize, ReadableByteChannel content) throws IOException {
+        if (declaredSize > attachmentStore.maxSize()) {
+            throw new AttachmentTooLargeException(
+                "Attachment exceeds %d bytes".formatted(attachmentStore.maxSize()));
+        }
+        if (!caseRepository.existsById(caseId)) {
+            return Optional.empty();
+        }
+        var stored = attachmentStore.write(content);
+        try {
+            var saved = caseAttachmentRepository.save(CaseAttachmentEntity.builder()
+                .caseId(caseId).fileName(fileName).contentType(contentType).size(stored.size())
+                .storageKey(stored.storageKey()).build());
+            log.info("Attachment {} of case {} stored as {}, {} bytes", saved.getId(), caseId,
+                stored.storageKey(), stored.size());
+            return Optional.of(CaseAttachment.of(saved));
+        } catch (RuntimeException e) {
+            attachmentStore.delete(stored.storageKey());
+            throw e;
+        }
+    }
+
+    public Optional<List<CaseAttachment>> findAttachments(long caseId) {
+        if (!caseRepository.existsById(caseId)) {
+            return Optional.empty();
+        }
+        return Optional.of(caseAttachmentRepository.findByCaseIdOrderById(caseId).stream()
+            .map(CaseAttachment::of).toList());
+    }
+
+    public Optional<AttachmentContent> findContent(long caseId, long attachmentId) {
+        if (!caseRepository.existsById(caseId)) {
+            return Optional.empty();
+        }
+        return caseAttachmentRepository.findByIdAndCaseId(attachmentId, caseId).map(
+            caseAttachmentEntity -> new AttachmentContent(CaseAttachment.of(caseAttachmentEntity),
+                attachmentStore.path(caseAttachmentEntity.getStorageKey())));
+    }
+
+    /**
+     * Deletes the record, then the content. Returns false if there was no such attachment.
+     */
+    public boolean delete(long caseId, long attachmentId) {
+        var attachment = caseAttachmentRepository.findByIdAndCaseId(attachmentId, caseId);
+        attachment.ifPresent(caseAttachmentEntity -> {
+            caseAttachmentRepository.delete(caseAttachmentEntity);
+            attachmentStore.delete(caseAttachmentEntity.getStorageKey());
+        });
+        return attachment.isPresent();
+    }
+}
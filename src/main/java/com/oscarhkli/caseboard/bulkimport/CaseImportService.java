@@ -0,0 +1,319 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.attachment.AttachmentStore;
+import com.oscarhkli.caseboard.attachment.AttachmentTooLargeException;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus.State;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk import of cases from CSV with a header row naming {@code caseNumber}, {@code title},
+ * {@code status} and optionally {@code description} (snake case is accepted too).
+ * <p>
+ * {@link #submit} spools the upload to disk and returns at once; imports then run one at a time.
+ * The file is read a chunk of {@code chunkSize} records at a time, so memory does not grow with
+ * the file. Each chunk is validated in parallel against the bean-validation rules of {@link Case},
+ * checked for case numbers that are repeated or already taken with one query, and its valid rows
+ * inserted in one transaction. If that transaction fails on a case number taken in the meantime,
+ * the chunk is retried row by row. Rejected rows are written, with their line and the reason, to
+ * a CSV file that can be downloaded while the import runs.
+ * <p>
+ * Each import is observed as {@code case.import}, a child of the request that submitted it.
+ */
+@Slf4j
+public class CaseImportService implements AutoCloseable {
+
+    private static final List<String> COLUMNS = List.of("caseNumber", "title", "description",
+        "status");
+    private static final List<String> REQUIRED_COLUMNS = List.of("caseNumber", "title", "status");
+
+    record Columns(int caseNumber, int title, int description, int status, int count) {
+
+    }
+
+    record Row(long line, List<String> fields, Case newCase, String error) {
+
+        Row reject(String error) {
+            return new Row(line, fields, newCase, error);
+        }
+    }
+
+    private static final class CaseImport {
+
+        final UUID importId = UUID.randomUUID();
+        final AtomicLong rowsRead = new AtomicLong();
+        final AtomicLong imported = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        volatile State state = State.QUEUED;
+        volatile String message;
+
+        ImportStatus status() {
+            return new ImportStatus(importId, state, rowsRead.get(), imported.get(),
+                rejected.get(), message);
+        }
+    }
+
+    private final CaseService caseService;
+    private final CaseRepository caseRepository;
+    private final Validator validator;
+    private final ImportProperties importProperties;
+    private final ObservationRegistry observationRegistry;
+    private final AttachmentStore uploads;
+    private final ExecutorService runner;
+    private final ForkJoinPool validators;
+    private final Cache<UUID, CaseImport> imports;
+
+    public CaseImportService(CaseService caseService, CaseRepository caseRepository,
+        Validator validator, ImportProperties importProperties,
+        ObservationRegistry observationRegistry) {
+        this.caseService = caseService;
+        this.caseRepository = caseRepository;
+        this.validator = validator;
+        this.importProperties = importProperties;
+        this.observationRegistry = observationRegistry;
+        this.uploads = new AttachmentStore(importProperties.directory(),
+            importProperties.maxSize().toBytes());
+        // carries the submitting request's trace context over to the import thread
+        this.runner = ContextExecutorService.wrap(Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("case-import").daemon().factory()),
+            ContextSnapshotFactory.builder().build()::captureAll);
+        this.validators = new ForkJoinPool(Math.max(1, importProperties.validationThreads()));
+        this.imports = Caffeine.newBuilder()
+            .expireAfterWrite(importProperties.statusRetention())
+            .removalListener((UUID importId, CaseImport caseImport, RemovalCause cause) ->
+                deleteRejectedRows(importId)).build();
+    }
+
+    /**
+     * Spools {@code content} to disk and queues it for import.
+     *
+     * @throws AttachmentTooLargeException once more than {@code maxSize} bytes have been read
+     */
+    public ImportStatus submit(ReadableByteChannel content) throws IOException {
+        AttachmentStore.StoredContent upload;
+        try {
+            upload = uploads.write(content);
+        } catch (AttachmentTooLargeException e) {
+            throw new AttachmentTooLargeException(
+                "Import exceeds %d bytes".formatted(uploads.maxSize()));
+        }
+        var caseImport = new CaseImport();
+        imports.put(caseImport.importId, caseImport);
+        log.info("Import {} queued, {} bytes", caseImport.importId, upload.size());
+        runner.execute(() -> Observation.createNotStarted("case.import", observationRegistry)
+            .highCardinalityKeyValue("import.id", caseImport.importId.toString())
+            .observe(() -> run(caseImport, upload.storageKey())));
+        return caseImport.status();
+    }
+
+    public Optional<ImportStatus> findStatus(UUID importId) {
+        return Optional.ofNullable(imports.getIfPresent(importId)).map(CaseImport::status);
+    }
+
+    /**
+     * The rejected rows written so far, once the import has started.
+     */
+    public Optional<Path> findRejectedRows(UUID importId) {
+        return Optional.ofNullable(imports.getIfPresent(importId))
+            .map(caseImport -> rejectedRowsPath(caseImport.importId)).filter(Files::exists);
+    }
+
+    @Override
+    public void close() {
+        runner.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    private void run(CaseImport caseImport, String storageKey) {
+        caseImport.state = State.RUNNING;
+        var start = System.nanoTime();
+        try (var reader = new CsvReader(
+            Files.newBufferedReader(uploads.path(storageKey), StandardCharsets.UTF_8));
+            var rejects = Files.newBufferedWriter(rejectedRowsPath(caseImport.importId),
+                StandardCharsets.UTF_8)) {
+            importAll(caseImport, reader, rejects);
+            caseImport.state = State.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            log.error("Import {} failed after {} rows: {}", caseImport.importId,
+                caseImport.rowsRead.get(), e.getMessage());
+            caseImport.message = e.getMessage();
+            caseImport.state = State.FAILED;
+        } finally {
+            uploads.delete(storageKey);
+            // retention counts from the end of the import
+            imports.put(caseImport.importId, caseImport);
+        }
+        log.info("Import {} {}: {} rows read, {} imported, {} rejected in {} ms",
+            caseImport.importId, caseImport.state, caseImport.rowsRead.get(),
+            caseImport.imported.get(), caseImport.rejected.get(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void importAll(CaseImport caseImport, CsvReader reader, Writer rejects)
+        throws IOException {
+        var header = reader.next();
+        if (header == null) {
+            throw new IllegalArgumentException("Import has no header row");
+        }
+        var columns = columns(header);
+        CsvWriter.write(rejects, Stream.concat(Stream.of("line", "error"), header.stream())
+            .toList());
+        var chunkSize = Math.max(1, importProperties.chunkSize());
+        var chunk = new ArrayList<Row>(chunkSize);
+        for (List<String> fields; (fields = reader.next()) != null; ) {
+            if (fields.size() == 1 && fields.getFirst().isEmpty()) {
+                continue;
+            }
+            chunk.add(new Row(reader.recordLine(), fields, null, null));
+            if (chunk.size() == chunkSize) {
+                importChunk(caseImport, columns, chunk, rejects);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(caseImport, columns, chunk, rejects);
+        }
+    }
+
+    /**
+     * Where each column is in the header; {@code description} is {@code -1} if absent.
+     */
+    static Columns columns(List<String> header) {
+        var indexes = new HashMap<String, Integer>();
+        for (var i = 0; i < header.size(); i++) {
+            var original = header.get(i);
+            var name = original.replace("\uFEFF", "").replaceAll("[_\\s-]", "");
+            var column = COLUMNS.stream().filter(name::equalsIgnoreCase).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown column " + original));
+            if (indexes.putIfAbsent(column, i) != null) {
+                throw new IllegalArgumentException("Repeated column " + original);
+            }
+        }
+        for (var required : REQUIRED_COLUMNS) {
+            if (!indexes.containsKey(required)) {
+                throw new IllegalArgumentException("Missing column " + required);
+            }
+        }
+        return new Columns(indexes.get("caseNumber"), indexes.get("title"),
+            indexes.getOrDefault("description", -1), indexes.get("status"), header.size());
+    }
+
+    private void importChunk(CaseImport caseImport, Columns columns, List<Row> rows,
+        Writer rejects) throws IOException {
+        // validation is CPU bound and independent per row, the insert is not
+        var validated = validators.submit(() -> rows.parallelStream()
+            .map(row -> validate(columns, row)).toList()).join();
+        var accepted = new LinkedHashMap<String, Row>();
+        var rejected = new ArrayList<Row>();
+        for (var row : validated) {
+            if (row.error() != null) {
+                rejected.add(row);
+            } else if (accepted.putIfAbsent(row.newCase().caseNumber(), row) != null) {
+                rejected.add(row.reject("Case number %s is repeated in the import".formatted(
+                    row.newCase().caseNumber())));
+            }
+        }
+        if (!accepted.isEmpty()) {
+            new HashSet<>(caseRepository.findTakenCaseNumbers(accepted.keySet())).forEach(
+                caseNumber -> rejected.add(accepted.remove(caseNumber).reject(
+                    "Case number %s cannot be reused".formatted(caseNumber))));
+        }
+        var imported = insert(accepted.values(), rejected);
+        rejected.sort(Comparator.comparingLong(Row::line));
+        for (var row : rejected) {
+            CsvWriter.write(rejects, Stream.concat(
+                Stream.of(Long.toString(row.line()), row.error()), row.fields().stream()).toList());
+        }
+        rejects.flush();
+        caseImport.imported.addAndGet(imported);
+        caseImport.rejected.addAndGet(rejected.size());
+        caseImport.rowsRead.addAndGet(rows.size());
+    }
+
+    private Row validate(Columns columns, Row row) {
+        var fields = row.fields();
+        if (fields.size() != columns.count()) {
+            return row.reject("Expected %d fields, found %d".formatted(columns.count(),
+                fields.size()));
+        }
+        var description = columns.description() < 0
+            || fields.get(columns.description()).isEmpty() ? null
+            : fields.get(columns.description());
+        var newCase = new Case(null, fields.get(columns.caseNumber()),
+            fields.get(columns.title()), description, fields.get(columns.status()), null, null,
+            null);
+        var violations = validator.validate(newCase);
+        if (!violations.isEmpty()) {
+            return row.reject(violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted().collect(Collectors.joining("; ")));
+        }
+        return new Row(row.line(), fields, newCase, null);
+    }
+
+    private int insert(Collection<Row> rows, List<Row> rejected) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            caseService.importCases(rows.stream().map(Row::newCase).toList());
+            return rows.size();
+        } catch (CaseOperationException e) {
+            log.info("Chunk conflicts with a concurrent insert, importing row by row");
+            var imported = 0;
+            for (var row : rows) {
+                try {
+                    caseService.insertCase(row.newCase());
+                    imported++;
+                } catch (CaseOperationException rowException) {
+                    rejected.add(row.reject(rowException.getMessage()));
+                }
+            }
+            return imported;
+        }
+    }
+
+    private Path rejectedRowsPath(UUID importId) {
+        return importProperties.directory().resolve(importId + "-rejected.csv");
+    }
+
+    private void deleteRejectedRows(UUID importId) {
+        try {
+            Files.deleteIfExists(rejectedRowsPath(importId));
+        } catch (IOException e) {
+            log.warn("Cannot delete rejected rows of import {}: {}", importId, e.getMessage());
+        }
+    }
+}
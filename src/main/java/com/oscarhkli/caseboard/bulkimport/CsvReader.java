@@ -0,0 +1,92 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: each {@link #next()} reads one record, so a file of any size is
+ * read with memory bounded by its longest record. Fields may be quoted, with {@code ""} for a
+ * quote and line breaks inside quotes; records end with LF or CRLF.
+ */
+final class CsvReader implements Closeable {
+
+    static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The fields of the next record, or {@code null} at the end of the input.
+     */
+    List<String> next() throws IOException {
+        var c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        var fields = new ArrayList<String>();
+        var field = new StringBuilder();
+        var length = 0;
+        var quoted = false;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IOException("Record on line %d exceeds %d characters".formatted(
+                    recordLine, MAX_RECORD_LENGTH));
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException(
+                        "Unterminated quoted field in record on line " + recordLine);
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (!field.isEmpty() && field.charAt(field.length() - 1) == '\r') {
+            field.setLength(field.length() - 1);
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * The line on which the record last returned by {@link #next()} starts.
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes records readable by {@link CsvReader}, quoting only the fields that need it.
+ */
+final class CsvWriter {
+
+    private CsvWriter() {
+    }
+
+    static void write(Writer writer, List<String> fields) throws IOException {
+        for (var i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            var field = fields.get(i) == null ? "" : fields.get(i);
+            if (field.chars().anyMatch(c -> c == ',' || c == '"' || c == '\r' || c == '\n')) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -0,0 +1,16 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "case-board.import")
+public record ImportProperties(@DefaultValue("data/imports") Path directory,
+                               @DefaultValue("1GB") DataSize maxSize,
+                               @DefaultValue("1000") int chunkSize,
+                               @DefaultValue("4") int validationThreads,
+                               @DefaultValue("P1D") Duration statusRetention) {
+
+}
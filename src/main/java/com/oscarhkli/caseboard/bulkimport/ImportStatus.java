@@ -0,0 +1,20 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import java.util.UUID;
+
+public record ImportStatus(UUID importId, State state, long rowsRead, long imported,
+                           long rejected, String message) {
+
+    public enum State {
+        /**
+         * Uploaded, waiting for an earlier import to finish.
+         */
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        /**
+         * Stopped early, e.g. on an unknown column. Chunks committed before stay imported.
+         */
+        FAILED
+    }
+}
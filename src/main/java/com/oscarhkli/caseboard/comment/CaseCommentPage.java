@@ -0,0 +1,12 @@
+package com.oscarhkli.caseboard.comment;
+
+import com.oscarhkli.caseboard.api.CaseComment;
+import java.util.List;
+
+/**
+ * A page of a case's comments, oldest first; {@code next} is the id of the last one, or null on
+ * the last page.
+ */
+public record CaseCommentPage(List<CaseComment> comments, Long next) {
+
+}
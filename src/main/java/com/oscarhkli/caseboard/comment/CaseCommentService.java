@@ -0,0 +1,49 @@
+package com.oscarhkli.caseboard.comment;
+
+import com.oscarhkli.caseboard.api.CaseComment;
+import com.oscarhkli.caseboard.entity.CaseCommentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Comments of a case. Both methods return empty when the case does not exist or is deleted.
+ */
+@Service
+@AllArgsConstructor
+public class CaseCommentService {
+
+    private static final String ID = "id";
+
+    private final CaseRepository caseRepository;
+    private final CaseCommentRepository caseCommentRepository;
+
+    public Optional<Long> addComment(long caseId, CaseComment newComment) {
+        if (!caseRepository.existsById(caseId)) {
+            return Optional.empty();
+        }
+        return Optional.of(caseCommentRepository.save(newComment.toEntity(caseId)).getId());
+    }
+
+    /**
+     * Up to {@code limit} comments, oldest first, after the comment with id {@code after} or from
+     * the first.
+     */
+    public Optional<CaseCommentPage> findComments(long caseId, Long after, int limit) {
+        if (!caseRepository.existsById(caseId)) {
+            return Optional.empty();
+        }
+        var position = after == null ? ScrollPosition.keyset()
+            : ScrollPosition.forward(Map.of(ID, after));
+        var window = caseCommentRepository.findByCaseId(caseId, position, Sort.by(ID),
+            Limit.of(limit));
+        var page = window.getContent();
+        var next = window.hasNext() && !page.isEmpty() ? page.getLast().getId() : null;
+        return Optional.of(new CaseCommentPage(page.stream().map(CaseComment::of).toList(), next));
+    }
+}
@@ -0,0 +1,34 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.OpenCaseCountService;
+import com.oscarhkli.caseboard.archive.ArchiveProperties;
+import com.oscarhkli.caseboard.archive.CaseArchiver;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import java.time.Clock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfiguration {
+
+    /**
+     * Always present; archives nothing while {@code case-board.archive.enabled} is false.
+     */
+    @Bean
+    CaseArchiver caseArchiver(CaseRepository caseRepository,
+        CaseArchiveRepository caseArchiveRepository, InvalidationBus invalidationBus,
+        CaseOutbox caseOutbox, OpenCaseCountService openCaseCountService,
+        PlatformTransactionManager transactionManager, ArchiveProperties archiveProperties,
+        Clock clock) {
+        return new CaseArchiver(caseRepository, caseArchiveRepository, invalidationBus,
+            caseOutbox, openCaseCountService, new TransactionTemplate(transactionManager),
+            archiveProperties, clock);
+    }
+}
@@ -0,0 +1,11 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.AssignmentProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AssignmentProperties.class)
+public class AssignmentConfiguration {
+
+}
@@ -0,0 +1,28 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.attachment.AttachmentProperties;
+import com.oscarhkli.caseboard.attachment.AttachmentStore;
+import com.oscarhkli.caseboard.attachment.CaseAttachmentService;
+import com.oscarhkli.caseboard.entity.CaseAttachmentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AttachmentProperties.class)
+public class AttachmentConfiguration {
+
+    @Bean
+    AttachmentStore attachmentStore(AttachmentProperties attachmentProperties) {
+        return new AttachmentStore(attachmentProperties.directory(),
+            attachmentProperties.maxSize().toBytes());
+    }
+
+    @Bean
+    CaseAttachmentService caseAttachmentService(CaseRepository caseRepository,
+        CaseAttachmentRepository caseAttachmentRepository, AttachmentStore attachmentStore) {
+        return new CaseAttachmentService(caseRepository, caseAttachmentRepository,
+            attachmentStore);
+    }
+}
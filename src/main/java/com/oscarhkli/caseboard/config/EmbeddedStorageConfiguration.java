@@ -0,0 +1,27 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.storage.EmbeddedCaseRepository;
+import com.oscarhkli.caseboard.storage.EmbeddedStorageProperties;
+import java.time.Clock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Under the {@code embedded} profile, cases are served by {@link EmbeddedCaseRepository}, which
+ * takes precedence over the JPA repository wherever a {@code CaseRepository} is injected.
+ */
+@Configuration
+@Profile("embedded")
+@EnableConfigurationProperties(EmbeddedStorageProperties.class)
+public class EmbeddedStorageConfiguration {
+
+    @Bean(initMethod = "open")
+    @Primary
+    EmbeddedCaseRepository embeddedCaseRepository(
+        EmbeddedStorageProperties embeddedStorageProperties, Clock clock) {
+        return new EmbeddedCaseRepository(embeddedStorageProperties, clock);
+    }
+}
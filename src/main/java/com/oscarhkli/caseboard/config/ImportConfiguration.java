@@ -0,0 +1,24 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.bulkimport.CaseImportService;
+import com.oscarhkli.caseboard.bulkimport.ImportProperties;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfiguration {
+
+    @Bean
+    CaseImportService caseImportService(CaseService caseService, CaseRepository caseRepository,
+        Validator validator, ImportProperties importProperties,
+        ObservationRegistry observationRegistry) {
+        return new CaseImportService(caseService, caseRepository, validator, importProperties,
+            observationRegistry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.oscarhkli.caseboard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.ingest.CaseIngestionService;
+import com.oscarhkli.caseboard.ingest.IngestionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(IngestionProperties.class)
+public class IngestionConfiguration {
+
+    @Bean
+    CaseIngestionService caseIngestionService(CaseService caseService,
+        CaseRepository caseRepository, PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper, IngestionProperties ingestionProperties) {
+        return new CaseIngestionService(caseService, caseRepository,
+            new TransactionTemplate(transactionManager), objectMapper, ingestionProperties);
+    }
+}
@@ -0,0 +1,40 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.invalidation.CaseCacheInvalidator;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.invalidation.InvalidationProperties;
+import com.oscarhkli.caseboard.invalidation.JdbcPollingInvalidationBus;
+import com.oscarhkli.caseboard.invalidation.LocalInvalidationBus;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.UUID;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfiguration {
+
+    /**
+     * Picked by {@code type} here rather than by a condition per bus, since conditions are fixed
+     * when the production image is AOT-processed.
+     */
+    @Bean
+    InvalidationBus invalidationBus(JdbcTemplate jdbcTemplate,
+        InvalidationProperties invalidationProperties) {
+        return switch (invalidationProperties.type()) {
+            case LOCAL -> new LocalInvalidationBus();
+            case JDBC -> new JdbcPollingInvalidationBus(jdbcTemplate,
+                UUID.randomUUID().toString(), invalidationProperties.grace(),
+                invalidationProperties.retention(), System::nanoTime);
+        };
+    }
+
+    @Bean
+    CaseCacheInvalidator caseCacheInvalidator(InvalidationBus invalidationBus,
+        CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        return new CaseCacheInvalidator(invalidationBus, cacheManager, entityManagerFactory);
+    }
+}
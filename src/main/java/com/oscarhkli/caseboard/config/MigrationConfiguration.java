@@ -0,0 +1,88 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.migration.CompressedTableMigration;
+import com.oscarhkli.caseboard.migration.ExpectedIndexVerifier;
+import com.oscarhkli.caseboard.migration.OnlineIndexMigration;
+import com.oscarhkli.caseboard.migration.SchemaProperties;
+import jakarta.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Index migrations are declared here as {@link OnlineIndexMigration} beans, which Flyway picks up
+ * alongside the SQL migrations in {@code db/migration}, as are other migrations that need vendor
+ * specific DDL. Versions share one sequence.
+ */
+@Configuration
+@EnableConfigurationProperties(SchemaProperties.class)
+public class MigrationConfiguration {
+
+    @Bean
+    JavaMigration addCasesLastModifiedIndex() {
+        return new OnlineIndexMigration("2", "add cases last modified index", "cases",
+            "idx_cases_last_modified_datetime", "last_modified_datetime");
+    }
+
+    @Bean
+    JavaMigration addCasesDeletedAtIndex() {
+        return new OnlineIndexMigration("4", "add cases deleted at index", "cases",
+            "idx_cases_deleted_at", "deleted_at");
+    }
+
+    @Bean
+    JavaMigration addCasesStatusIndex() {
+        return new OnlineIndexMigration("5", "add cases status index", "cases",
+            "idx_cases_status", "status");
+    }
+
+    @Bean
+    JavaMigration addCasesCreatedIndex() {
+        return new OnlineIndexMigration("9", "add cases created index", "cases",
+            "idx_cases_created_datetime", "created_datetime");
+    }
+
+    @Bean
+    JavaMigration addCasesStatusLastModifiedIndex() {
+        return new OnlineIndexMigration("10", "add cases status last modified index", "cases",
+            "idx_cases_status_last_modified", "status", "last_modified_datetime");
+    }
+
+    @Bean
+    JavaMigration addCasesStatusCreatedIndex() {
+        return new OnlineIndexMigration("11", "add cases status created index", "cases",
+            "idx_cases_status_created", "status", "created_datetime");
+    }
+
+    @Bean
+    JavaMigration addCasesStatusCaseNumberIndex() {
+        return new OnlineIndexMigration("12", "add cases status case number index", "cases",
+            "idx_cases_status_case_number", "status", "case_number");
+    }
+
+    @Bean
+    JavaMigration compressCaseArchive() {
+        return new CompressedTableMigration("16", "compress case archive", "case_archive");
+    }
+
+    @Bean
+    JavaMigration addCasesStatusChangedIndex() {
+        return new OnlineIndexMigration("17", "add cases status changed index", "cases",
+            "idx_cases_status_changed", "status", "status_changed_datetime");
+    }
+
+    @Bean
+    JavaMigration addCasesAssigneeStatusLastModifiedIndex() {
+        return new OnlineIndexMigration("19", "add cases assignee status last modified index",
+            "cases", "idx_cases_assignee_status_last_modified", "assignee", "status",
+            "last_modified_datetime");
+    }
+
+    @Bean
+    ExpectedIndexVerifier expectedIndexVerifier(DataSource dataSource,
+        EntityManagerFactory entityManagerFactory, SchemaProperties schemaProperties) {
+        return new ExpectedIndexVerifier(dataSource, entityManagerFactory, schemaProperties);
+    }
+}
@@ -0,0 +1,58 @@
+package com.oscarhkli.caseboard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.outbox.CaseEventSink;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import com.oscarhkli.caseboard.outbox.FileCaseEventSink;
+import com.oscarhkli.caseboard.outbox.InMemoryCaseEventSink;
+import com.oscarhkli.caseboard.outbox.OutboxProperties;
+import com.oscarhkli.caseboard.outbox.OutboxRelay;
+import com.oscarhkli.caseboard.outbox.WebhookCaseEventSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Objects;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+    @Bean
+    CaseOutbox caseOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+        OutboxProperties outboxProperties) {
+        return new CaseOutbox(jdbcTemplate, objectMapper, outboxProperties.enabled());
+    }
+
+    /**
+     * The sink configured at run time, as one bean whatever its type.
+     */
+    @Bean
+    CaseEventSink caseEventSink(OutboxProperties outboxProperties, ObjectMapper objectMapper) {
+        return switch (outboxProperties.sink()) {
+            case MEMORY -> new InMemoryCaseEventSink();
+            case FILE -> new FileCaseEventSink(outboxProperties.file().path(), objectMapper);
+            case WEBHOOK -> {
+                var webhook = outboxProperties.webhook();
+                yield new WebhookCaseEventSink(Objects.requireNonNull(webhook.url(),
+                    "case-board.outbox.webhook.url is required"), webhook.timeout(), objectMapper);
+            }
+        };
+    }
+
+    /**
+     * Always present; relays nothing while the outbox is disabled.
+     */
+    @Bean
+    OutboxRelay outboxRelay(CaseOutbox caseOutbox, CaseEventSink caseEventSink,
+        PlatformTransactionManager transactionManager, Clock clock, MeterRegistry meterRegistry,
+        OutboxProperties outboxProperties) {
+        return new OutboxRelay(caseOutbox, caseEventSink,
+            new TransactionTemplate(transactionManager), clock, meterRegistry,
+            outboxProperties.batchSize(), outboxProperties.maxBatchesPerRun());
+    }
+}
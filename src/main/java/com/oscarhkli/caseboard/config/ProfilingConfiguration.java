@@ -0,0 +1,42 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.profiling.CaseOperationEventAspect;
+import com.oscarhkli.caseboard.profiling.FlightRecorderEndpoint;
+import com.oscarhkli.caseboard.profiling.FlightRecordingService;
+import com.oscarhkli.caseboard.profiling.ProfilingProperties;
+import com.oscarhkli.caseboard.profiling.SlowRequestHandler;
+import java.time.Clock;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfiguration {
+
+    @Bean
+    CaseOperationEventAspect caseOperationEventAspect() {
+        return new CaseOperationEventAspect();
+    }
+
+    @Bean
+    FlightRecordingService flightRecordingService(ProfilingProperties profilingProperties,
+        Clock clock) {
+        return new FlightRecordingService(profilingProperties, clock);
+    }
+
+    @Bean
+    FlightRecorderEndpoint flightRecorderEndpoint(FlightRecordingService flightRecordingService) {
+        return new FlightRecorderEndpoint(flightRecordingService);
+    }
+
+    /**
+     * Always present; handles no request while the continuous recording is not running.
+     */
+    @Bean
+    SlowRequestHandler slowRequestHandler(FlightRecordingService flightRecordingService,
+        ProfilingProperties profilingProperties) {
+        return new SlowRequestHandler(flightRecordingService,
+            profilingProperties.continuous().slowRequest());
+    }
+}
@@ -0,0 +1,35 @@
+package com.oscarhkli.caseboard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.ratelimit.AdaptiveConcurrencyLimiter;
+import com.oscarhkli.caseboard.ratelimit.RateLimitFilter;
+import com.oscarhkli.caseboard.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfiguration {
+
+    @Bean
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(RateLimitProperties properties) {
+        var concurrency = properties.concurrency();
+        return new AdaptiveConcurrencyLimiter(concurrency.initialLimit(), concurrency.minLimit(),
+            concurrency.maxLimit(), concurrency.tolerance(), concurrency.smoothing());
+    }
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+        AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter, ObjectMapper objectMapper) {
+        var registration = new FilterRegistrationBean<>(
+            new RateLimitFilter(properties, adaptiveConcurrencyLimiter, objectMapper,
+                System::nanoTime));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(properties.enabled());
+        return registration;
+    }
+}
@@ -0,0 +1,51 @@
+package com.oscarhkli.caseboard.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.oscarhkli.caseboard.entity.SecondLevelCacheProperties;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Builds the Caffeine JCache manager behind Hibernate's second-level cache from
+ * {@link SecondLevelCacheProperties}, so regions are sized in {@code application.yml} rather than
+ * a separate Caffeine config file. Hibernate is set to fail on any region not declared there.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfiguration {
+
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager(SecondLevelCacheProperties secondLevelCacheProperties) {
+        var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // one manager per application context, so test contexts do not share regions
+        var cacheManager = provider.getCacheManager(
+            URI.create("case-board-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        secondLevelCacheProperties.regions().forEach((name, region) -> {
+            var configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+            if (region.expireAfterWrite() != null) {
+                configuration.setExpireAfterWrite(
+                    OptionalLong.of(region.expireAfterWrite().toNanos()));
+            }
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
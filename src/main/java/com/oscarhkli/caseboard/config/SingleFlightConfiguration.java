@@ -0,0 +1,17 @@
+package com.oscarhkli.caseboard.config;
+
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.singleflight.CaseReadCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SingleFlightConfiguration {
+
+    @Bean
+    CaseReadCoalescer caseReadCoalescer(InvalidationBus invalidationBus,
+        MeterRegistry meterRegistry) {
+        return new CaseReadCoalescer(invalidationBus, meterRegistry);
+    }
+}
@@ -0,0 +1,75 @@
+package com.oscarhkli.caseboard.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.tracing.FileSpanExporter;
+import com.oscarhkli.caseboard.tracing.FlushObservationListener;
+import com.oscarhkli.caseboard.tracing.ObservedJsonHttpMessageConverter;
+import com.oscarhkli.caseboard.tracing.TracingProperties;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Observations that Spring Boot and datasource-micrometer do not provide: Hibernate flushes and
+ * Jackson serialization of responses. Also adds the OTLP JSON exporter to the log or to a file
+ * selected by {@code case-board.tracing.exporter}.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfiguration {
+
+    /**
+     * Adds a {@link FlushObservationListener} to every session the entity manager factory opens.
+     * Static, like any post-processor, and resolves the registry when the first session opens.
+     */
+    @Bean
+    static BeanPostProcessor flushObservationPostProcessor(
+        ObjectProvider<ObservationRegistry> observationRegistry) {
+        var registry = SingletonSupplier.of(observationRegistry::getObject);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactoryBean) {
+                    entityManagerFactoryBean.setEntityManagerInitializer(entityManager ->
+                        entityManager.unwrap(Session.class).addEventListeners(
+                            new FlushObservationListener(registry.obtain())));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Replaces Boot's converter, which backs off when one of this type exists.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    MappingJackson2HttpMessageConverter observedJsonHttpMessageConverter(ObjectMapper objectMapper,
+        ObservationRegistry observationRegistry) {
+        return new ObservedJsonHttpMessageConverter(objectMapper, observationRegistry);
+    }
+
+    /**
+     * The exporter configured at run time; {@code none} contributes a no-op one.
+     */
+    @Bean
+    SpanExporter caseBoardSpanExporter(TracingProperties tracingProperties) throws IOException {
+        return switch (tracingProperties.exporter()) {
+            case NONE -> SpanExporter.composite();
+            case LOGGING -> OtlpJsonLoggingSpanExporter.create();
+            case FILE -> new FileSpanExporter(tracingProperties.file().path());
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.oscarhkli.caseboard.entity;
+
+import com.oscarhkli.caseboard.CaseListCursor;
+import com.oscarhkli.caseboard.CaseSort;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Cases in {@code case_archive}, the cold tier that {@code CaseArchiver} moves long-closed cases
+ * into. Plain JDBC rather than a JPA entity, so archived rows never enter the persistence context
+ * or the second-level cache, and the archive keeps its own indexes apart from {@code cases}.
+ */
+@Repository
+public class CaseArchiveRepository {
+
+    private static final String COLUMNS = """
+        id, case_number, title, description, status, created_datetime, last_modified_datetime,
+        status_changed_datetime, assignee""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaseArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<CaseEntity> caseEntities, LocalDateTime archivedAt) {
+        jdbcTemplate.batchUpdate("insert into case_archive (" + COLUMNS
+                + ", archived_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", caseEntities,
+            caseEntities.size(), (ps, caseEntity) -> {
+                ps.setLong(1, caseEntity.getId());
+                ps.setString(2, caseEntity.getCaseNumber());
+                ps.setString(3, caseEntity.getTitle());
+                ps.setString(4, caseEntity.getDescription());
+                ps.setString(5, caseEntity.getStatus());
+                ps.setObject(6, caseEntity.getCreatedDateTime());
+                ps.setObject(7, caseEntity.getLastModifiedDateTime());
+                ps.setObject(8, caseEntity.getStatusChangedDateTime());
+                ps.setString(9, caseEntity.getAssignee());
+                ps.setObject(10, archivedAt);
+            });
+    }
+
+    /**
+     * Moves the comments and attachment records of {@code caseIds} into
+     * {@code case_comment_archive} and {@code case_attachment_archive}, in the transaction that
+     * archives the cases. Attachment content stays in the store, still referenced by the archived
+     * record.
+     */
+    public void moveCommentsAndAttachments(Collection<Long> caseIds) {
+        var namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        var params = new MapSqlParameterSource("caseIds", caseIds);
+        namedParameterJdbcTemplate.update("""
+            insert into case_comment_archive (id, case_id, author, body, created_datetime)
+            select id, case_id, author, body, created_datetime from case_comments
+            where case_id in (:caseIds)""", params);
+        namedParameterJdbcTemplate.update("delete from case_comments where case_id in (:caseIds)",
+            params);
+        namedParameterJdbcTemplate.update("""
+            insert into case_attachment_archive
+                (id, case_id, file_name, content_type, size_bytes, storage_key, created_datetime)
+            select id, case_id, file_name, content_type, size_bytes, storage_key, created_datetime
+            from case_attachments where case_id in (:caseIds)""", params);
+        namedParameterJdbcTemplate.update(
+            "delete from case_attachments where case_id in (:caseIds)", params);
+    }
+
+    public Optional<CaseEntity> findById(long id) {
+        return jdbcTemplate.query("select " + COLUMNS + " from case_archive where id = ?",
+            CaseArchiveRepository::toCaseEntity, id).stream().findFirst();
+    }
+
+    /**
+     * Served by {@code idx_case_archive_case_number}. A case number can be reused once its case
+     * is archived, so more than one archived case may match.
+     */
+    public List<CaseEntity> findByCaseNumber(String caseNumber) {
+        return jdbcTemplate.query(
+            "select " + COLUMNS + " from case_archive where case_number = ? order by id",
+            CaseArchiveRepository::toCaseEntity, caseNumber);
+    }
+
+    /**
+     * Up to {@code limit} archived cases, optionally of one assignee and one status, in
+     * {@code sort} order and after {@code after} when given; the archive side of a listing that
+     * includes archived cases. Sorted by {@code lastModifiedDateTime}, pages are served by
+     * {@code idx_case_archive_last_modified} or {@code idx_case_archive_assignee_last_modified}.
+     */
+    public List<CaseEntity> findPage(String assignee, String status, CaseSort sort,
+        CaseListCursor after, int limit) {
+        var column = sort.key().column();
+        var comparison = sort.direction().isAscending() ? ">" : "<";
+        var direction = sort.direction().name().toLowerCase(Locale.ROOT);
+        var conditions = new ArrayList<String>();
+        var params = new MapSqlParameterSource("limit", limit);
+        if (assignee != null) {
+            conditions.add("assignee = :assignee");
+            params.addValue("assignee", assignee);
+        }
+        if (status != null) {
+            conditions.add("status = :status");
+            params.addValue("status", status);
+        }
+        if (after != null) {
+            conditions.add("(%1$s %2$s :value or (%1$s = :value and id %2$s :id))".formatted(
+                column, comparison));
+            params.addValue("value", after.value()).addValue("id", after.id());
+        }
+        var sql = "select " + COLUMNS + " from case_archive"
+            + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+            + " order by %1$s %2$s, id %2$s limit :limit".formatted(column, direction);
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(sql, params,
+            CaseArchiveRepository::toCaseEntity);
+    }
+
+    /**
+     * Ids and archive times of the cases archived after {@code (archivedAt, id)} and no later
+     * than {@code upTo}, in that order, served by {@code idx_case_archive_archived_at}.
+     */
+    public List<ArchivedCase> findArchivedAfter(LocalDateTime archivedAt, long id,
+        LocalDateTime upTo, int limit) {
+        return jdbcTemplate.query("""
+                select id, archived_at from case_archive
+                where (archived_at > ? or (archived_at = ? and id > ?)) and archived_at <= ?
+                order by archived_at, id
+                limit ?""",
+            (rs, rowNum) -> new ArchivedCase(rs.getLong("id"),
+                rs.getObject("archived_at", LocalDateTime.class)),
+            archivedAt, archivedAt, id, upTo, limit);
+    }
+
+    private static CaseEntity toCaseEntity(ResultSet rs, int rowNum) throws SQLException {
+        return CaseEntity.builder()
+            .id(rs.getLong("id"))
+            .caseNumber(rs.getString("case_number"))
+            .title(rs.getString("title"))
+            .description(rs.getString("description"))
+            .status(rs.getString("status"))
+            .createdDateTime(rs.getObject("created_datetime", LocalDateTime.class))
+            .lastModifiedDateTime(rs.getObject("last_modified_datetime", LocalDateTime.class))
+            .statusChangedDateTime(rs.getObject("status_changed_datetime", LocalDateTime.class))
+            .assignee(rs.getString("assignee"))
+            .build();
+    }
+
+    public record ArchivedCase(long id, LocalDateTime archivedAt) {
+
+    }
+}
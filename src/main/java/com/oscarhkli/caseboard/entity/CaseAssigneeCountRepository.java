@@ -0,0 +1,56 @@
+package com.oscarhkli.caseboard.entity;
+
+import com.oscarhkli.caseboard.migration.OnlineIndexMigration;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Open case counters in {@code case_assignee_open_count}, one row per assignee.
+ * <p>
+ * Unlike the daily rollups, a row is only contended by writes to one assignee's cases, so it is
+ * not sharded. Increments are single-statement upserts ({@code on duplicate key update} on MySQL,
+ * standard {@code merge} elsewhere), so they never race on the insert.
+ */
+@Repository
+public class CaseAssigneeCountRepository {
+
+    private static final String MYSQL_UPSERT = """
+        insert into case_assignee_open_count (assignee, open_cases) values (?, ?)
+        on duplicate key update open_cases = open_cases + values(open_cases)""";
+    private static final String MERGE = """
+        merge into case_assignee_open_count t
+        using (select cast(? as varchar(255)) assignee, cast(? as bigint) open_cases) s
+        on t.assignee = s.assignee
+        when matched then update set open_cases = t.open_cases + s.open_cases
+        when not matched then insert (assignee, open_cases) values (s.assignee, s.open_cases)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public CaseAssigneeCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(String assignee, long delta) {
+        jdbcTemplate.update(upsertSql(), assignee, delta);
+    }
+
+    public long findOpenCases(String assignee) {
+        return jdbcTemplate.query(
+                "select open_cases from case_assignee_open_count where assignee = ?",
+                (rs, rowNum) -> rs.getLong(1), assignee)
+            .stream().findFirst().orElse(0L);
+    }
+
+    private String upsertSql() {
+        var sql = upsertSql;
+        if (sql == null) {
+            var mySql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                OnlineIndexMigration.isMySql(connection.getMetaData()));
+            sql = Boolean.TRUE.equals(mySql) ? MYSQL_UPSERT : MERGE;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,55 @@
+package com.oscarhkli.caseboard.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * Metadata of a file attached to a case. The content is stored outside the database, under
+ * {@link #storageKey}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "case_attachments", indexes = {
+    @Index(name = "idx_case_attachments_case_id", columnList = "case_id, id")})
+public class CaseAttachmentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    long id;
+
+    @Column(name = "case_id", nullable = false)
+    long caseId;
+
+    @Column(name = "file_name", nullable = false)
+    String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    long size;
+
+    @Column(name = "storage_key", nullable = false, unique = true)
+    String storageKey;
+
+    @CreatedDate
+    @Column(name = "created_datetime")
+    LocalDateTime createdDateTime;
+}
@@ -0,0 +1,30 @@
+package com.oscarhkli.caseboard.entity;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CaseAttachmentRepository extends JpaRepository<CaseAttachmentEntity, Long> {
+
+    List<CaseAttachmentEntity> findByCaseIdOrderById(long caseId);
+
+    Optional<CaseAttachmentEntity> findByIdAndCaseId(long id, long caseId);
+
+    @Query(value = "select storage_key from case_attachments where case_id in (:caseIds)",
+        nativeQuery = true)
+    List<String> findStorageKeysByCaseIds(@Param("caseIds") Collection<Long> caseIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "case_attachments"))
+    @Query(value = "delete from case_attachments where case_id in (:caseIds)", nativeQuery = true)
+    int deleteByCaseIds(@Param("caseIds") Collection<Long> caseIds);
+}
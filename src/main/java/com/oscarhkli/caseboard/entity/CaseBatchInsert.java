@@ -0,0 +1,17 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.util.List;
+
+/**
+ * Repository fragment of {@link CaseRepository} for inserting many new cases at once.
+ */
+public interface CaseBatchInsert {
+
+    /**
+     * Inserts new cases as given, timestamps included, and sets their generated ids. Either all
+     * of them are inserted or, within the surrounding transaction, none.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if a case number is taken
+     */
+    List<CaseEntity> insertAll(List<CaseEntity> caseEntities);
+}
@@ -0,0 +1,60 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+/**
+ * One JDBC batch per call instead of Hibernate's statement per {@code IDENTITY} entity; with
+ * {@code rewriteBatchedStatements} MySQL Connector/J sends it as multi-row inserts. The entities
+ * are not attached to the persistence context and the auditing listener does not run.
+ */
+public class CaseBatchInsertImpl implements CaseBatchInsert {
+
+    private static final String INSERT = """
+        insert into cases (case_number, title, description, status, assignee, created_datetime,
+        last_modified_datetime, status_changed_datetime) values (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CaseBatchInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<CaseEntity> insertAll(List<CaseEntity> caseEntities) {
+        if (caseEntities.isEmpty()) {
+            return caseEntities;
+        }
+        var keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT,
+            new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var caseEntity = caseEntities.get(i);
+                ps.setString(1, caseEntity.getCaseNumber());
+                ps.setString(2, caseEntity.getTitle());
+                ps.setString(3, caseEntity.getDescription());
+                ps.setString(4, caseEntity.getStatus());
+                ps.setString(5, caseEntity.getAssignee());
+                ps.setObject(6, caseEntity.getCreatedDateTime());
+                ps.setObject(7, caseEntity.getLastModifiedDateTime());
+                ps.setObject(8, caseEntity.getStatusChangedDateTime());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return caseEntities.size();
+            }
+        }, keyHolder);
+        var keys = keyHolder.getKeyList();
+        for (var i = 0; i < caseEntities.size(); i++) {
+            caseEntities.get(i).setId(((Number) keys.get(i).values().iterator().next())
+                .longValue());
+        }
+        return caseEntities;
+    }
+}
@@ -0,0 +1,45 @@
+package com.oscarhkli.caseboard.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "case_comments", indexes = {
+    @Index(name = "idx_case_comments_case_id", columnList = "case_id, id")})
+public class CaseCommentEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    long id;
+
+    @Column(name = "case_id", nullable = false)
+    long caseId;
+
+    @Column(nullable = false)
+    String author;
+
+    @Column(nullable = false)
+    String body;
+
+    @CreatedDate
+    @Column(name = "created_datetime")
+    LocalDateTime createdDateTime;
+}
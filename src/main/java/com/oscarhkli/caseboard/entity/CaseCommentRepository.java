@@ -0,0 +1,30 @@
+package com.oscarhkli.caseboard.entity;
+
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CaseCommentRepository extends JpaRepository<CaseCommentEntity, Long> {
+
+    /**
+     * Keyset page of one case's comments, a range scan of {@code idx_case_comments_case_id}.
+     */
+    Window<CaseCommentEntity> findByCaseId(long caseId, ScrollPosition position, Sort sort,
+        Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "case_comments"))
+    @Query(value = "delete from case_comments where case_id in (:caseIds)", nativeQuery = true)
+    int deleteByCaseIds(@Param("caseIds") Collection<Long> caseIds);
+}
@@ -0,0 +1,16 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.time.LocalDate;
+
+/**
+ * One day of {@code case_daily_rollup} for one status, summed over shards.
+ *
+ * @param created       cases created in the status
+ * @param entered       cases that entered the status, by creation or a status change
+ * @param exited        cases that left the status
+ * @param exitedSeconds total seconds those cases had spent in the status
+ */
+public record CaseDailyRollup(LocalDate date, String status, long created, long entered,
+                              long exited, long exitedSeconds) {
+
+}
@@ -1,19 +1,31 @@
 package com.oscarhkli.caseboard.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -23,12 +35,30 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CaseEntity.CACHE_REGION)
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@SQLRestriction("deleted_at is null")
 @Table(name = "cases", indexes = {
-    @Index(name = "idx_cases_id", columnList = "id")}, uniqueConstraints = {
+    @Index(name = "idx_cases_id", columnList = "id"),
+    @Index(name = "idx_cases_last_modified_datetime", columnList = "last_modified_datetime"),
+    @Index(name = "idx_cases_deleted_at", columnList = "deleted_at"),
+    @Index(name = "idx_cases_status", columnList = "status"),
+    @Index(name = "idx_cases_created_datetime", columnList = "created_datetime"),
+    @Index(name = "idx_cases_status_last_modified",
+        columnList = "status, last_modified_datetime"),
+    @Index(name = "idx_cases_status_created", columnList = "status, created_datetime"),
+    @Index(name = "idx_cases_status_case_number", columnList = "status, case_number"),
+    @Index(name = "idx_cases_status_changed", columnList = "status, status_changed_datetime"),
+    @Index(name = "idx_cases_assignee_status_last_modified",
+        columnList = "assignee, status, last_modified_datetime")},
+    uniqueConstraints = {
     @UniqueConstraint(columnNames = "case_number")})
 public class CaseEntity {
 
+    public static final String CACHE_REGION = "case-entities";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     long id;
@@ -45,6 +75,13 @@ public class CaseEntity {
     @Column(nullable = false)
     String status;
 
+    /**
+     * Who the case is assigned to, if anyone. Changed through {@code CaseService#assignCase}, so
+     * that the open case counts per assignee follow.
+     */
+    @Column
+    String assignee;
+
     @CreatedDate
     @Column(name = "created_datetime")
     LocalDateTime createdDateTime;
@@ -52,4 +89,32 @@ public class CaseEntity {
     @LastModifiedDate
     @Column(name = "last_modified_datetime")
     LocalDateTime lastModifiedDateTime;
+
+    /**
+     * When the case entered its current status, for time-in-status rollups. Null for cases last
+     * changed before it existed, which fall back to {@link #createdDateTime}.
+     */
+    @Column(name = "status_changed_datetime")
+    LocalDateTime statusChangedDateTime;
+
+    /**
+     * Set when the case is soft deleted. Such tombstones are hidden from every JPQL/derived query
+     * by {@link SQLRestriction} and only reachable through the native queries in
+     * {@link CaseRepository}.
+     */
+    @Column(name = "deleted_at")
+    LocalDateTime deletedAt;
+
+    /**
+     * Loaded only when accessed, inside a session, so case reads and the second-level cache entry
+     * stay the size of the case row. Read-only from this side; attachments are written through
+     * {@link CaseAttachmentRepository}, which is also how the API lists them, since entities of
+     * the embedded store carry none.
+     */
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "case_id", insertable = false, updatable = false)
+    @OrderBy("id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    List<CaseAttachmentEntity> attachments;
 }
@@ -1,9 +1,149 @@
 package com.oscarhkli.caseboard.entity;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Native queries that can return tombstones bypass the second-level cache, since a cached
+ * tombstone would be returned by {@code findById} despite {@link SQLRestriction}.
+ * Native updates name the {@code cases} table as their query space, so Hibernate only evicts the
+ * {@link CaseEntity} region and its dependent query results.
+ */
 @Repository
-public interface CaseRepository extends JpaRepository<CaseEntity, Long> {
+public interface CaseRepository extends JpaRepository<CaseEntity, Long>, CaseBatchInsert,
+    CaseRestamp {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CaseEntity> findByStatus(String status);
+
+    Optional<CaseEntity> findByCaseNumber(String caseNumber);
+
+    /**
+     * Live case by id, row-locked until the surrounding transaction ends, so read-modify-write
+     * paths such as the open case counts cannot interleave on one case.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from CaseEntity c where c.id = :id")
+    Optional<CaseEntity> findForUpdateById(@Param("id") long id);
+
+    /**
+     * Keyset page in {@code sort} order. With a {@code CaseSort}, the order is one column then
+     * {@code id}, which InnoDB secondary indexes carry, so each page is a range scan of
+     * {@code idx_cases_last_modified_datetime}, {@code idx_cases_created_datetime}, the
+     * {@code case_number} unique index or {@code idx_cases_status}.
+     */
+    Window<CaseEntity> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Keyset page of one status, served by the {@code idx_cases_status_*} composite indexes.
+     */
+    Window<CaseEntity> findByStatus(String status, ScrollPosition position, Sort sort,
+        Limit limit);
+
+    /**
+     * Keyset page of the cases assigned to {@code assignee}, a range scan of the
+     * {@code assignee} prefix of {@code idx_cases_assignee_status_last_modified}.
+     */
+    Window<CaseEntity> findByAssignee(String assignee, ScrollPosition position, Sort sort,
+        Limit limit);
+
+    /**
+     * Keyset page of one assignee's cases in one status. Sorted by {@code lastModifiedDateTime},
+     * each page is a range scan of {@code idx_cases_assignee_status_last_modified} without a
+     * filesort.
+     */
+    Window<CaseEntity> findByAssigneeAndStatus(String assignee, String status,
+        ScrollPosition position, Sort sort, Limit limit);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cases"))
+    @Query(value = """
+        update cases set deleted_at = :deletedAt, last_modified_datetime = :deletedAt
+        where id = :id and deleted_at is null""", nativeQuery = true)
+    int softDeleteById(@Param("id") long id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    /**
+     * Keyset scan over {@code (last_modified_datetime, id)}, tombstones included, served by
+     * {@code idx_cases_last_modified_datetime} (InnoDB secondary indexes carry the primary key).
+     */
+    @Query(value = """
+        select * from cases
+        where (last_modified_datetime > :lastModified
+               or (last_modified_datetime = :lastModified and id > :id))
+          and last_modified_datetime <= :upTo
+        order by last_modified_datetime, id
+        limit :limit""", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<CaseEntity> findChangedAfter(@Param("lastModified") LocalDateTime lastModified,
+        @Param("id") long id, @Param("upTo") LocalDateTime upTo, @Param("limit") int limit);
+
+    @Query(value = """
+        select * from cases where deleted_at is not null and deleted_at > :since
+        order by deleted_at""", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<CaseEntity> findTombstonesDeletedAfter(@Param("since") LocalDateTime since);
+
+    @Query(value = """
+        select id from cases where deleted_at < :cutoff order by deleted_at
+        limit :limit""", nativeQuery = true)
+    List<Long> findExpiredTombstoneIds(@Param("cutoff") LocalDateTime cutoff,
+        @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cases"))
+    @Query(value = "delete from cases where id in (:ids) and deleted_at is not null",
+        nativeQuery = true)
+    int purgeTombstones(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Up to {@code limit} live cases that have been in one of {@code statuses} since before
+     * {@code cutoff}, served by {@code idx_cases_status_changed}. Cases whose status change was
+     * never recorded count from their last modification. Rows are locked until the surrounding
+     * transaction ends, so a case cannot change between being archived and deleted.
+     */
+    @Query(value = """
+        select * from cases
+        where status in (:statuses) and deleted_at is null
+          and (status_changed_datetime < :cutoff
+               or (status_changed_datetime is null and last_modified_datetime < :cutoff))
+        limit :limit
+        for update""", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<CaseEntity> findArchivable(@Param("statuses") Collection<String> statuses,
+        @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cases"))
+    @Query(value = "delete from cases where id in (:ids) and deleted_at is null",
+        nativeQuery = true)
+    int deleteArchived(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Which of {@code caseNumbers} are taken. Tombstones count, since the unique constraint covers
+     * them.
+     */
+    @Query(value = "select case_number from cases where case_number in (:caseNumbers)",
+        nativeQuery = true)
+    List<String> findTakenCaseNumbers(@Param("caseNumbers") Collection<String> caseNumbers);
 }
@@ -0,0 +1,16 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository fragment of {@link CaseRepository} for moving the delta-sync position of cases
+ * written earlier in the same transaction.
+ */
+public interface CaseRestamp {
+
+    /**
+     * Sets the {@code lastModifiedDateTime} of {@code ids}, tombstones included, to {@code at}.
+     */
+    int restampLastModified(Collection<Long> ids, LocalDateTime at);
+}
@@ -0,0 +1,31 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Plain JDBC, so the update does not make Hibernate evict the whole {@link CaseEntity} region as
+ * a native query on the {@code cases} space would; the restamped cases are invalidated one by one
+ * after commit like any other write.
+ */
+public class CaseRestampImpl implements CaseRestamp {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CaseRestampImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public int restampLastModified(Collection<Long> ids, LocalDateTime at) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+            "update cases set last_modified_datetime = :at where id in (:ids)",
+            new MapSqlParameterSource("ids", ids).addValue("at", at));
+    }
+}
@@ -0,0 +1,80 @@
+package com.oscarhkli.caseboard.entity;
+
+import com.oscarhkli.caseboard.migration.OnlineIndexMigration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Counters in {@code case_daily_rollup}, one row per day, status and shard.
+ * <p>
+ * Every write to a case increments today's row for its status, so without sharding all
+ * concurrent writers would queue on the same row lock. Each increment goes to a random one of
+ * {@link #SHARDS} rows instead and reads sum them, which keeps reads O(days x statuses).
+ * Increments are single-statement upserts ({@code on duplicate key update} on MySQL, standard
+ * {@code merge} elsewhere), so they never race on the insert.
+ */
+@Repository
+public class CaseRollupRepository {
+
+    public static final int SHARDS = 8;
+
+    private static final String MYSQL_UPSERT = """
+        insert into case_daily_rollup
+        (bucket_date, status, shard, created, entered, exited, exited_seconds)
+        values (?, ?, ?, ?, ?, ?, ?)
+        on duplicate key update created = created + values(created),
+        entered = entered + values(entered), exited = exited + values(exited),
+        exited_seconds = exited_seconds + values(exited_seconds)""";
+    private static final String MERGE = """
+        merge into case_daily_rollup t
+        using (select cast(? as date) bucket_date, cast(? as varchar(255)) status,
+        cast(? as int) shard, cast(? as bigint) created, cast(? as bigint) entered,
+        cast(? as bigint) exited, cast(? as bigint) exited_seconds) s
+        on t.bucket_date = s.bucket_date and t.status = s.status and t.shard = s.shard
+        when matched then update set created = t.created + s.created,
+        entered = t.entered + s.entered, exited = t.exited + s.exited,
+        exited_seconds = t.exited_seconds + s.exited_seconds
+        when not matched then insert
+        (bucket_date, status, shard, created, entered, exited, exited_seconds)
+        values (s.bucket_date, s.status, s.shard, s.created, s.entered, s.exited,
+        s.exited_seconds)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public CaseRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(LocalDate date, String status, long created, long entered, long exited,
+        long exitedSeconds) {
+        jdbcTemplate.update(upsertSql(), date, status, ThreadLocalRandom.current().nextInt(SHARDS),
+            created, entered, exited, exitedSeconds);
+    }
+
+    public List<CaseDailyRollup> findBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                select bucket_date, status, sum(created), sum(entered), sum(exited),
+                sum(exited_seconds) from case_daily_rollup
+                where bucket_date between ? and ?
+                group by bucket_date, status
+                order by bucket_date, status""",
+            (rs, rowNum) -> new CaseDailyRollup(rs.getObject(1, LocalDate.class), rs.getString(2),
+                rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6)), from, to);
+    }
+
+    private String upsertSql() {
+        var sql = upsertSql;
+        if (sql == null) {
+            var mySql = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                OnlineIndexMigration.isMySql(connection.getMetaData()));
+            sql = Boolean.TRUE.equals(mySql) ? MYSQL_UPSERT : MERGE;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,18 @@
+package com.oscarhkli.caseboard.entity;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Caffeine settings per Hibernate second-level cache region. A region without
+ * {@code expire-after-write} never expires, which is what the update timestamps region needs.
+ */
+@ConfigurationProperties(prefix = "case-board.second-level-cache")
+public record SecondLevelCacheProperties(Map<String, Region> regions) {
+
+    public record Region(@DefaultValue("10000") long maximumSize, Duration expireAfterWrite) {
+
+    }
+}
@@ -0,0 +1,276 @@
+package com.oscarhkli.caseboard.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.ingest.IngestionJournal.Entry;
+import com.oscarhkli.caseboard.ingest.IngestionStatus.State;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accepts cases for asynchronous insertion.
+ * <p>
+ * {@link #enqueue} only journals the case and returns a tracking id, so its latency is that of
+ * a local fsync whatever the state of the database; concurrent requests share one fsync, taken
+ * outside the lock that orders them in the journal. A pool of workers drains the queue into
+ * {@code cases} through {@link CaseService#insertCase}, a batch per transaction; if a batch
+ * fails, its cases are retried one by one so a duplicate case number rejects only its own case.
+ * Other failures, such as the database being down, put the cases back on the queue. On start the
+ * journal is replayed and every case without an outcome is queued again.
+ * <p>
+ * The journal is compacted to the pending cases and retained outcomes once it is over
+ * {@link IngestionProperties#compactThreshold()} and twice its size after the last compaction,
+ * so outcomes retained for {@link IngestionProperties#statusRetention()} are not rewritten on
+ * every batch.
+ * <p>
+ * Each case keeps the trace context of the request that enqueued it, so its insert shows in
+ * that request's trace.
+ */
+@Slf4j
+public class CaseIngestionService implements SmartLifecycle {
+
+    record Pending(UUID trackingId, Case newCase, boolean replayed, ContextSnapshot context) {
+
+    }
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS =
+        ContextSnapshotFactory.builder().build();
+
+    private final CaseService caseService;
+    private final CaseRepository caseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IngestionProperties ingestionProperties;
+    private final IngestionJournal journal;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final Cache<UUID, IngestionStatus> completed;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public CaseIngestionService(CaseService caseService, CaseRepository caseRepository,
+        TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+        IngestionProperties ingestionProperties) {
+        this.caseService = caseService;
+        this.caseRepository = caseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ingestionProperties = ingestionProperties;
+        this.journal = new IngestionJournal(ingestionProperties.journal(), objectMapper);
+        this.completed = Caffeine.newBuilder()
+            .expireAfterWrite(ingestionProperties.statusRetention()).build();
+    }
+
+    public UUID enqueue(Case newCase) {
+        if (!running) {
+            throw new CaseIngestionUnavailableException("Case ingestion is not enabled");
+        }
+        Pending entry;
+        long position;
+        synchronized (journal) {
+            if (pending.size() >= ingestionProperties.capacity()) {
+                throw new CaseIngestionUnavailableException("Case ingestion queue is full");
+            }
+            var trackingId = UUID.randomUUID();
+            position = journal.append(Entry.enqueued(trackingId, newCase));
+            entry = new Pending(trackingId, newCase, false, CONTEXT_SNAPSHOTS.captureAll());
+            pending.put(trackingId, entry);
+        }
+        try {
+            journal.force(position);
+        } catch (RuntimeException e) {
+            pending.remove(entry.trackingId());
+            throw e;
+        }
+        queue.add(entry);
+        return entry.trackingId();
+    }
+
+    public Optional<IngestionStatus> findStatus(UUID trackingId) {
+        if (pending.containsKey(trackingId)) {
+            return Optional.of(IngestionStatus.queued(trackingId));
+        }
+        return Optional.ofNullable(completed.getIfPresent(trackingId));
+    }
+
+    /**
+     * Inserts the next batch, waiting up to {@code timeout} for the first case.
+     *
+     * @return the number of cases taken from the queue
+     */
+    int drain(long timeout, TimeUnit unit) throws InterruptedException {
+        var first = queue.poll(timeout, unit);
+        if (first == null) {
+            return 0;
+        }
+        var batch = new ArrayList<Pending>(ingestionProperties.batchSize());
+        batch.add(first);
+        queue.drainTo(batch, ingestionProperties.batchSize() - 1);
+        var outcomes = new ArrayList<IngestionStatus>();
+        var retries = new ArrayList<Pending>();
+        try {
+            outcomes.addAll(transactionTemplate.execute(status -> batch.stream()
+                .map(entry -> inserted(entry, insert(entry))).toList()));
+        } catch (RuntimeException e) {
+            log.debug("Ingestion batch of {} failed, inserting one by one: {}", batch.size(),
+                e.getMessage());
+            for (var entry : batch) {
+                try {
+                    outcomes.add(inserted(entry, insert(entry)));
+                } catch (CaseOperationException ex) {
+                    outcomes.add(rejected(entry, ex));
+                } catch (RuntimeException ex) {
+                    log.warn("Ingestion of {} failed, retrying: {}", entry.trackingId(),
+                        ex.getMessage());
+                    retries.add(entry);
+                }
+            }
+        }
+        complete(outcomes);
+        if (!retries.isEmpty()) {
+            Thread.sleep(ingestionProperties.retryDelay());
+            queue.addAll(retries);
+        }
+        return batch.size();
+    }
+
+    private long insert(Pending entry) {
+        try (var scope = entry.context().setThreadLocals()) {
+            return caseService.insertCase(entry.newCase());
+        }
+    }
+
+    private static IngestionStatus inserted(Pending entry, long caseId) {
+        return new IngestionStatus(entry.trackingId(), State.INSERTED, caseId, null);
+    }
+
+    private IngestionStatus rejected(Pending entry, CaseOperationException e) {
+        if (entry.replayed()) {
+            // the insert may have committed before the crash that lost its outcome
+            var existing = caseRepository.findByCaseNumber(entry.newCase().caseNumber());
+            if (existing.isPresent()) {
+                return inserted(entry, existing.map(CaseEntity::getId).get());
+            }
+        }
+        return new IngestionStatus(entry.trackingId(), State.REJECTED, null, e.getMessage());
+    }
+
+    private void complete(List<IngestionStatus> outcomes) {
+        outcomes.forEach(outcome -> {
+            completed.put(outcome.trackingId(), outcome);
+            pending.remove(outcome.trackingId());
+        });
+        journal.appendAll(outcomes.stream().map(Entry::completed).toList());
+        if (journal.size() > Math.max(ingestionProperties.compactThreshold().toBytes(),
+            2 * journal.compactedSize())) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        synchronized (journal) {
+            try {
+                journal.rewrite(Stream.concat(
+                    pending.values().stream()
+                        .map(entry -> Entry.enqueued(entry.trackingId(), entry.newCase())),
+                    completed.asMap().values().stream().map(Entry::completed)).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!ingestionProperties.enabled()) {
+            return;
+        }
+        var replayed = new LinkedHashMap<UUID, Pending>();
+        try {
+            journal.replay(entry -> {
+                switch (entry.type()) {
+                    case ENQUEUED -> replayed.put(entry.trackingId(),
+                        new Pending(entry.trackingId(), entry.newCase(), true,
+                            CONTEXT_SNAPSHOTS.captureFrom()));
+                    case COMPLETED -> {
+                        replayed.remove(entry.trackingId());
+                        completed.put(entry.trackingId(), entry.status());
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pending.putAll(replayed);
+        queue.addAll(replayed.values());
+        compact();
+        if (!replayed.isEmpty()) {
+            log.info("Replayed {} journaled cases for ingestion", replayed.size());
+        }
+        running = true;
+        workers = Executors.newFixedThreadPool(Math.max(1, ingestionProperties.workers()),
+            Thread.ofPlatform().name("case-ingestion-", 0).factory());
+        for (var i = 0; i < ingestionProperties.workers(); i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                drain(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Case ingestion worker failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdownNow();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Case ingestion workers did not stop; the journal replays their cases");
+            }
+            journal.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
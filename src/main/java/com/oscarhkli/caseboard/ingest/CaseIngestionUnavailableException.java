@@ -0,0 +1,8 @@
+package com.oscarhkli.caseboard.ingest;
+
+public class CaseIngestionUnavailableException extends RuntimeException {
+
+    public CaseIngestionUnavailableException(String message) {
+        super(message);
+    }
+}
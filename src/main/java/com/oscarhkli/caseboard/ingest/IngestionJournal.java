@@ -0,0 +1,213 @@
+package com.oscarhkli.caseboard.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.api.Case;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of ingestion requests and their outcomes, one JSON record per line.
+ * <p>
+ * {@link #append} writes a record and returns its end position; {@link #force} returns once the
+ * file is on disk up to that position, so an acknowledged request survives a crash. Forcing is a
+ * group commit: one {@code fsync} covers every record appended before it started, so concurrent
+ * requests share it instead of queueing for one each. Outcomes are written without forcing:
+ * losing one only means the request is replayed. A torn last line from a crash mid-write is
+ * skipped on replay. {@link #rewrite} replaces the file with just the given records, to drop
+ * completed requests.
+ */
+@Slf4j
+class IngestionJournal implements Closeable {
+
+    enum Type {
+        ENQUEUED,
+        COMPLETED
+    }
+
+    record Entry(Type type, UUID trackingId, Case newCase, IngestionStatus status) {
+
+        static Entry enqueued(UUID trackingId, Case newCase) {
+            return new Entry(Type.ENQUEUED, trackingId, newCase, null);
+        }
+
+        static Entry completed(IngestionStatus status) {
+            return new Entry(Type.COMPLETED, status.trackingId(), null, status);
+        }
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final Object forceLock = new Object();
+    private FileChannel channel;
+    private long appended;
+    private volatile long forced;
+    private long compactedSize;
+
+    IngestionJournal(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void replay(Consumer<Entry> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (var lines = Files.lines(path)) {
+            lines.filter(line -> !line.isBlank()).forEach(line -> {
+                try {
+                    consumer.accept(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable ingestion journal record: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the position to {@link #force} for the record to be durable
+     */
+    synchronized long append(Entry entry) {
+        var bytes = encode(entry);
+        write(bytes);
+        appended += bytes.length;
+        return appended;
+    }
+
+    synchronized void appendAll(Collection<Entry> entries) {
+        var buffer = new ByteArrayOutputStream();
+        entries.forEach(entry -> buffer.writeBytes(encode(entry)));
+        write(buffer.toByteArray());
+        appended += buffer.size();
+    }
+
+    /**
+     * Waits until the journal is on disk up to {@code position}. The first caller forces
+     * everything appended so far; callers that queued up behind it usually find their records
+     * already covered.
+     */
+    void force(long position) {
+        synchronized (forceLock) {
+            if (forced >= position) {
+                return;
+            }
+            long upTo;
+            FileChannel out;
+            synchronized (this) {
+                upTo = appended;
+                try {
+                    out = channel();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            try {
+                out.force(false);
+            } catch (ClosedChannelException e) {
+                // rewritten meanwhile, which forced everything up to its own position
+                if (forced < position) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            forced = Math.max(forced, upTo);
+        }
+    }
+
+    synchronized long size() {
+        try {
+            return channel().size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Size of the file as last written by {@link #rewrite}.
+     */
+    synchronized long compactedSize() {
+        return compactedSize;
+    }
+
+    synchronized void rewrite(Collection<Entry> entries) throws IOException {
+        createParentDirectories();
+        var compacted = path.resolveSibling(path.getFileName() + ".compact");
+        var buffer = new ByteArrayOutputStream();
+        try (var out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            entries.forEach(entry -> buffer.writeBytes(encode(entry)));
+            writeFully(out, buffer.toByteArray());
+            out.force(true);
+        }
+        close();
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+        compactedSize = buffer.size();
+        forced = appended;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private byte[] encode(Entry entry) {
+        try {
+            var bytes = objectMapper.writeValueAsBytes(entry);
+            var line = new byte[bytes.length + 1];
+            System.arraycopy(bytes, 0, line, 0, bytes.length);
+            line[bytes.length] = '\n';
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void write(byte[] bytes) {
+        try {
+            writeFully(channel(), bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            createParentDirectories();
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void createParentDirectories() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+    }
+
+    private static void writeFully(FileChannel out, byte[] bytes) throws IOException {
+        var buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.oscarhkli.caseboard.ingest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "case-board.ingestion")
+public record IngestionProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("data/case-ingestion.journal") Path journal,
+                                  @DefaultValue("2") int workers,
+                                  @DefaultValue("100") int batchSize,
+                                  @DefaultValue("10000") int capacity,
+                                  @DefaultValue("PT1S") Duration retryDelay,
+                                  @DefaultValue("PT1H") Duration statusRetention,
+                                  @DefaultValue("64MB") DataSize compactThreshold) {
+
+}
@@ -0,0 +1,22 @@
+package com.oscarhkli.caseboard.ingest;
+
+import java.util.UUID;
+
+public record IngestionStatus(UUID trackingId, State state, Long caseId, String message) {
+
+    public enum State {
+        /**
+         * Journaled, not yet written to {@code cases}.
+         */
+        QUEUED,
+        INSERTED,
+        /**
+         * Will not be retried, e.g. the case number is already taken.
+         */
+        REJECTED
+    }
+
+    public static IngestionStatus queued(UUID trackingId) {
+        return new IngestionStatus(trackingId, State.QUEUED, null, null);
+    }
+}
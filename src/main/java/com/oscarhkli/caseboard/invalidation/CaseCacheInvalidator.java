@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Drops a case from every in-process cache when the {@link InvalidationBus} reports it changed:
+ * the {@link CaseService#CASE_CACHE} entry, the second-level cache entity and the cached query
+ * results, which may list the case.
+ */
+@Slf4j
+public class CaseCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CaseCacheInvalidator(InvalidationBus invalidationBus, CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        invalidationBus.subscribe(this::invalidate);
+    }
+
+    void invalidate(long caseId) {
+        var cache = cacheManager.getCache(CaseService.CASE_CACHE);
+        if (cache != null) {
+            cache.evict(caseId);
+        }
+        entityManagerFactory.getCache().evict(CaseEntity.class, caseId);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+        log.debug("Invalidated case {}", caseId);
+    }
+}
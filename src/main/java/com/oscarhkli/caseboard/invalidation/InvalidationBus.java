@@ -0,0 +1,26 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/**
+ * Broadcasts the ids of changed cases to every backend instance, so each can drop its cached
+ * copies. Delivery is at-least-once and listeners must be idempotent.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Announces that a case changed. Called inside the writing transaction; implementations that
+     * can, only deliver once that transaction commits.
+     */
+    void publish(long caseId);
+
+    /**
+     * Announces that several cases changed, as one message where the implementation allows.
+     */
+    default void publishAll(Collection<Long> caseIds) {
+        caseIds.forEach(this::publish);
+    }
+
+    void subscribe(LongConsumer listener);
+}
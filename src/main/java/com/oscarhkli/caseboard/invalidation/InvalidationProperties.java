@@ -0,0 +1,23 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.invalidation")
+public record InvalidationProperties(@DefaultValue("local") Type type,
+                                     @DefaultValue("PT1S") Duration pollInterval,
+                                     @DefaultValue("PT5S") Duration grace,
+                                     @DefaultValue("PT1H") Duration retention) {
+
+    public enum Type {
+        /**
+         * In-JVM only, for a single instance.
+         */
+        LOCAL,
+        /**
+         * Polls the shared database, for several instances.
+         */
+        JDBC
+    }
+}
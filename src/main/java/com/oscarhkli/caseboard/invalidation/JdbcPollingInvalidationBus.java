@@ -0,0 +1,192 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bus over the {@code case_invalidations} table, needing nothing beyond the shared database.
+ * <p>
+ * {@link #publish} inserts a row in the caller's transaction, so a rolled-back write announces
+ * nothing, and notifies this instance's own listeners once that transaction commits, as
+ * {@link LocalInvalidationBus} does. Every instance polls for rows written by other nodes by their
+ * auto-increment id.
+ * Ids are allocated at insert rather than at commit, so a row may become visible after rows with
+ * higher ids: ids skipped by a poll are remembered as gaps and looked for again by later polls,
+ * for up to {@code grace}. Only a row committed more than {@code grace} after a higher id was
+ * seen is missed. Staleness on other nodes is bounded by the poll interval.
+ * <p>
+ * {@link #start} begins after the newest existing row, so an instance does not replay the table.
+ */
+@Slf4j
+public class JdbcPollingInvalidationBus implements InvalidationBus, SmartLifecycle {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+    private final long graceNanos;
+    private final Duration retention;
+    private final LongSupplier nanoClock;
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+    // unseen id ranges below lastId, by first id
+    private final TreeMap<Long, Gap> gaps = new TreeMap<>();
+    private long lastId;
+    private volatile boolean running;
+
+    public JdbcPollingInvalidationBus(JdbcTemplate jdbcTemplate, String nodeId, Duration grace,
+        Duration retention, LongSupplier nanoClock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeId;
+        this.graceNanos = grace.toNanos();
+        this.retention = retention;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void publish(long caseId) {
+        jdbcTemplate.update("""
+            insert into case_invalidations (case_id, node_id, created_at)
+            values (?, ?, current_timestamp)""", caseId, nodeId);
+        deliverAfterCommit(List.of(caseId));
+    }
+
+    @Override
+    public void publishAll(Collection<Long> caseIds) {
+        jdbcTemplate.batchUpdate("""
+            insert into case_invalidations (case_id, node_id, created_at)
+            values (?, ?, current_timestamp)""",
+            caseIds.stream().map(caseId -> new Object[]{caseId, nodeId}).toList());
+        deliverAfterCommit(List.copyOf(caseIds));
+    }
+
+    @Override
+    public void subscribe(LongConsumer listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reads every row after the oldest open gap, so rows are read again for at most
+     * {@code grace}; those already seen are skipped.
+     */
+    @Scheduled(fixedDelayString = "${case-board.invalidation.poll-interval:PT1S}",
+        initialDelayString = "${case-board.invalidation.poll-interval:PT1S}")
+    public synchronized int poll() {
+        if (!running) {
+            return 0;
+        }
+        var now = nanoClock.getAsLong();
+        gaps.values().removeIf(gap -> now - gap.deadline() > 0);
+        var from = gaps.isEmpty() ? lastId : gaps.firstKey() - 1;
+        var caseIds = new LinkedHashSet<Long>();
+        jdbcTemplate.query("""
+            select id, case_id, node_id from case_invalidations where id > ? order by id""",
+            rs -> {
+                var id = rs.getLong("id");
+                if (id > lastId) {
+                    if (id > lastId + 1) {
+                        gaps.put(lastId + 1, new Gap(id - 1, now + graceNanos));
+                    }
+                    lastId = id;
+                } else if (!fill(id)) {
+                    return;
+                }
+                if (!nodeId.equals(rs.getString("node_id"))) {
+                    caseIds.add(rs.getLong("case_id"));
+                }
+            }, from);
+        deliver(caseIds);
+        if (!caseIds.isEmpty()) {
+            log.debug("Received {} case invalidations", caseIds.size());
+        }
+        return caseIds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${case-board.invalidation.retention:PT1H}",
+        initialDelayString = "${case-board.invalidation.retention:PT1H}")
+    public int purge() {
+        var cutoff = Timestamp.from(databaseTime().toInstant().minus(retention));
+        return jdbcTemplate.update("delete from case_invalidations where created_at < ?", cutoff);
+    }
+
+    @Override
+    public synchronized void start() {
+        lastId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from case_invalidations",
+            Long.class);
+        gaps.clear();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Delivers this node's own writes, which {@link #poll} skips, once the publishing transaction
+     * commits, or immediately outside one.
+     */
+    private void deliverAfterCommit(Collection<Long> caseIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(caseIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(caseIds);
+            }
+        });
+    }
+
+    private void deliver(Collection<Long> caseIds) {
+        for (var caseId : caseIds) {
+            listeners.forEach(listener -> listener.accept(caseId));
+        }
+    }
+
+    /**
+     * Removes {@code id} from the gap holding it, if any, splitting that gap around it.
+     */
+    private boolean fill(long id) {
+        var entry = gaps.floorEntry(id);
+        if (entry == null || entry.getValue().to() < id) {
+            return false;
+        }
+        var gap = gaps.remove(entry.getKey());
+        if (entry.getKey() < id) {
+            gaps.put(entry.getKey(), new Gap(id - 1, gap.deadline()));
+        }
+        if (id < gap.to()) {
+            gaps.put(id + 1, gap);
+        }
+        return true;
+    }
+
+    private Timestamp databaseTime() {
+        return jdbcTemplate.queryForObject("select current_timestamp", Timestamp.class);
+    }
+
+    /**
+     * Ids up to {@code to} that had not committed when a higher id was seen, waited for until
+     * {@code deadline} on the nano clock.
+     */
+    private record Gap(long to, long deadline) {
+
+    }
+}
@@ -0,0 +1,40 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-JVM bus for a single instance and for tests. Delivers to every subscriber after the
+ * publishing transaction commits, or immediately outside one. Several simulated nodes can share
+ * one instance.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(long caseId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(caseId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deliver(caseId);
+            }
+        });
+    }
+
+    private void deliver(long caseId) {
+        listeners.forEach(listener -> listener.accept(caseId));
+    }
+
+    @Override
+    public void subscribe(LongConsumer listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,67 @@
+package com.oscarhkli.caseboard.migration;
+
+import java.sql.SQLException;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Flyway migration that switches a table to InnoDB's compressed row format, for tables that are
+ * written once and read rarely. Only MySQL/MariaDB support it; other databases skip the
+ * migration. Best run while the table is still empty, since the rebuild copies every row.
+ */
+@Slf4j
+public class CompressedTableMigration implements JavaMigration {
+
+    static final int KEY_BLOCK_SIZE = 8;
+
+    private final MigrationVersion version;
+    private final String description;
+    private final String table;
+
+    public CompressedTableMigration(String version, String description, String table) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+        this.table = table;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return "%s row_format=compressed %d".formatted(table, KEY_BLOCK_SIZE).hashCode();
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        if (!OnlineIndexMigration.isMySql(connection.getMetaData())) {
+            log.info("Row compression is MySQL only, leaving {} as is", table);
+            return;
+        }
+        try (var statement = connection.createStatement()) {
+            var ddl = ddl();
+            log.info("Compressing table: {}", ddl);
+            statement.execute(ddl);
+        }
+    }
+
+    String ddl() {
+        return "ALTER TABLE %s ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=%d".formatted(table,
+            KEY_BLOCK_SIZE);
+    }
+}
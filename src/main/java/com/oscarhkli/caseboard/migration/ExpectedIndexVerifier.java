@@ -0,0 +1,68 @@
+package com.oscarhkli.caseboard.migration;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Boot-time check that every index declared in an entity's {@link Table#indexes()} exists in the
+ * database, i.e. that the migrations which build them have run.
+ * <p>
+ * Runs once the application is ready, hence after Flyway, and either fails startup or logs a
+ * warning depending on {@link SchemaProperties#failOnMissingIndex()}. Not during context refresh,
+ * so that the image build's training run, which refreshes the context without a database and
+ * exits, does not need a connection.
+ */
+@Slf4j
+@AllArgsConstructor
+public class ExpectedIndexVerifier implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SchemaProperties schemaProperties;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        List<String> missing;
+        try {
+            missing = findMissingIndexes();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read index metadata", e);
+        }
+        if (missing.isEmpty()) {
+            log.info("All expected indexes exist");
+            return;
+        }
+        var message = "Missing expected indexes: %s".formatted(missing);
+        if (schemaProperties.failOnMissingIndex()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    List<String> findMissingIndexes() throws SQLException {
+        var missing = new ArrayList<String>();
+        try (var connection = dataSource.getConnection()) {
+            for (var entityType : entityManagerFactory.getMetamodel().getEntities()) {
+                var table = entityType.getJavaType().getAnnotation(Table.class);
+                if (table == null) {
+                    continue;
+                }
+                for (var index : table.indexes()) {
+                    if (!OnlineIndexMigration.indexExists(connection, table.name(),
+                        index.name())) {
+                        missing.add("%s.%s".formatted(table.name(), index.name()));
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+}
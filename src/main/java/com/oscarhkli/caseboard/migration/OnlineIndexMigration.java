@@ -0,0 +1,123 @@
+package com.oscarhkli.caseboard.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+/**
+ * Flyway migration that declares a secondary index instead of spelling out vendor DDL.
+ * <p>
+ * On MySQL/MariaDB the index is built with {@code ALGORITHM=INPLACE, LOCK=NONE}, so reads and
+ * writes on a large live table continue during the build; if the server cannot build it online
+ * the statement fails instead of silently locking the table. A short {@code lock_wait_timeout}
+ * keeps the brief metadata lock from queueing behind long transactions and blocking every other
+ * query. Other databases get a plain {@code CREATE INDEX}. The migration is skipped if the index
+ * already exists, so it can be applied to tables that were indexed by hand.
+ */
+@Slf4j
+public class OnlineIndexMigration implements JavaMigration {
+
+    static final int LOCK_WAIT_TIMEOUT_SECONDS = 10;
+
+    private final MigrationVersion version;
+    private final String description;
+    private final String table;
+    private final String indexName;
+    private final List<String> columns;
+
+    public OnlineIndexMigration(String version, String description, String table,
+        String indexName, String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("Index %s has no columns".formatted(indexName));
+        }
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+        this.table = table;
+        this.indexName = indexName;
+        this.columns = List.of(columns);
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return "%s(%s)%s".formatted(table, String.join(",", columns), indexName).hashCode();
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // MySQL DDL commits implicitly; online builds must not be wrapped in a transaction
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        var metaData = connection.getMetaData();
+        if (indexExists(metaData, table, indexName)) {
+            log.info("Index {} already exists on {}, skipping", indexName, table);
+            return;
+        }
+        try (var statement = connection.createStatement()) {
+            if (isMySql(metaData)) {
+                statement.execute(
+                    "SET SESSION lock_wait_timeout = %d".formatted(LOCK_WAIT_TIMEOUT_SECONDS));
+            }
+            var ddl = ddl(isMySql(metaData));
+            log.info("Creating index: {}", ddl);
+            statement.execute(ddl);
+        }
+    }
+
+    String ddl(boolean online) {
+        var columnList = String.join(", ", columns);
+        return online ? "ALTER TABLE %s ADD INDEX %s (%s), ALGORITHM=INPLACE, LOCK=NONE".formatted(
+            table, indexName, columnList)
+            : "CREATE INDEX %s ON %s (%s)".formatted(indexName, table, columnList);
+    }
+
+    public static boolean isMySql(DatabaseMetaData metaData) throws SQLException {
+        var product = metaData.getDatabaseProductName();
+        return "MySQL".equalsIgnoreCase(product) || "MariaDB".equalsIgnoreCase(product);
+    }
+
+    static boolean indexExists(DatabaseMetaData metaData, String table, String indexName)
+        throws SQLException {
+        var connection = metaData.getConnection();
+        try (var indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+            identifier(metaData, table), false, true)) {
+            while (indexes.next()) {
+                if (indexName.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    static boolean indexExists(Connection connection, String table, String indexName)
+        throws SQLException {
+        return indexExists(connection.getMetaData(), table, indexName);
+    }
+}
@@ -0,0 +1,9 @@
+package com.oscarhkli.caseboard.migration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.schema")
+public record SchemaProperties(@DefaultValue("true") boolean failOnMissingIndex) {
+
+}
@@ -0,0 +1,13 @@
+package com.oscarhkli.caseboard.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.Instant;
+
+/**
+ * A case change as delivered to downstream systems. {@code id} is the outbox sequence: it is
+ * unique per event and increases in commit order per case, so consumers can drop redeliveries.
+ */
+public record CaseEvent(long id, long caseId, CaseEventType type, @JsonRawValue String payload,
+                        Instant createdAt) {
+
+}
@@ -0,0 +1,14 @@
+package com.oscarhkli.caseboard.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of {@link OutboxRelay}. A batch counts as delivered only when {@link #deliver}
+ * returns normally; on an exception the whole batch is retried, so a sink may see an event more
+ * than once.
+ */
+public interface CaseEventSink {
+
+    void deliver(List<CaseEvent> events) throws IOException;
+}
@@ -0,0 +1,8 @@
+package com.oscarhkli.caseboard.outbox;
+
+public enum CaseEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    ARCHIVED
+}
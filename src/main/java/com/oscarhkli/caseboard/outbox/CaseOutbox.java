@@ -0,0 +1,102 @@
+package com.oscarhkli.caseboard.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * The {@code case_outbox} table. Events are appended in the caller's transaction, so an event
+ * exists if and only if the case change it describes committed.
+ */
+@AllArgsConstructor
+public class CaseOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public void appendChange(CaseEventType type, CaseEntity caseEntity) {
+        append(caseEntity.getId(), type, payload(caseEntity.getId(), caseEntity.getCaseNumber(),
+            caseEntity.getTitle(), caseEntity.getDescription(), caseEntity.getStatus()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The state carried by {@code CREATED}, {@code UPDATED} and {@code ARCHIVED} events.
+     */
+    public String payload(long id, String caseNumber, String title, String description,
+        String status) {
+        // timestamps are left out: last_modified_datetime is only stamped at flush
+        var state = new LinkedHashMap<String, Object>();
+        state.put("id", id);
+        state.put("caseNumber", caseNumber);
+        state.put("title", title);
+        state.put("description", description);
+        state.put("status", status);
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Appends an event per case in one JDBC batch.
+     */
+    public void appendChanges(CaseEventType type, List<CaseEntity> caseEntities) {
+        if (!enabled || caseEntities.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+            insert into case_outbox (case_id, event_type, payload, created_at)
+            values (?, ?, ?, current_timestamp)""", caseEntities.stream()
+            .map(caseEntity -> new Object[]{caseEntity.getId(), type.name(),
+                payload(caseEntity.getId(), caseEntity.getCaseNumber(), caseEntity.getTitle(),
+                    caseEntity.getDescription(), caseEntity.getStatus())}).toList());
+    }
+
+    public void appendDeleted(long caseId) {
+        append(caseId, CaseEventType.DELETED, null);
+    }
+
+    private void append(long caseId, CaseEventType type, String payload) {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.update("""
+            insert into case_outbox (case_id, event_type, payload, created_at)
+            values (?, ?, ?, current_timestamp)""", caseId, type.name(), payload);
+    }
+
+    /**
+     * Locks the oldest {@code limit} events until the surrounding transaction ends, so relays on
+     * other instances wait instead of delivering the same events out of order.
+     */
+    public List<CaseEvent> lockOldest(int limit) {
+        return jdbcTemplate.query("""
+            select id, case_id, event_type, payload, created_at from case_outbox
+            order by id limit ? for update""", CaseOutbox::toEvent, limit);
+    }
+
+    public int delete(List<Long> ids) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate).update(
+            "delete from case_outbox where id in (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    private static CaseEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+        return new CaseEvent(rs.getLong("id"), rs.getLong("case_id"),
+            CaseEventType.valueOf(rs.getString("event_type")), rs.getString("payload"),
+            rs.getTimestamp("created_at").toInstant());
+    }
+}
@@ -0,0 +1,43 @@
+package com.oscarhkli.caseboard.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.AllArgsConstructor;
+
+/**
+ * Appends events to a file as newline-delimited JSON, forcing each batch to disk before it is
+ * reported delivered.
+ */
+@AllArgsConstructor
+public class FileCaseEventSink implements CaseEventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void deliver(List<CaseEvent> events) throws IOException {
+        var buffer = new ByteArrayOutputStream();
+        for (var event : events) {
+            buffer.write(objectMapper.writeValueAsBytes(event));
+            buffer.write('\n');
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            var bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.oscarhkli.caseboard.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps delivered events in memory. For tests and local runs only.
+ */
+public class InMemoryCaseEventSink implements CaseEventSink {
+
+    private final List<CaseEvent> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(List<CaseEvent> batch) {
+        events.addAll(batch);
+    }
+
+    public List<CaseEvent> getEvents() {
+        return List.copyOf(events);
+    }
+
+    public void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package com.oscarhkli.caseboard.outbox;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "case-board.outbox")
+public record OutboxProperties(@DefaultValue("false") boolean enabled,
+                               @DefaultValue("memory") Sink sink,
+                               @DefaultValue("PT1S") Duration pollInterval,
+                               @DefaultValue("100") int batchSize,
+                               @DefaultValue("10") int maxBatchesPerRun,
+                               @DefaultValue Webhook webhook,
+                               @DefaultValue File file) {
+
+    public enum Sink {
+        MEMORY,
+        FILE,
+        WEBHOOK
+    }
+
+    public record Webhook(URI url, @DefaultValue("PT5S") Duration timeout) {
+
+    }
+
+    public record File(@DefaultValue("case-events.ndjson") Path path) {
+
+    }
+}
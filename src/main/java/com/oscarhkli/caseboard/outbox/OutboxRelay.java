@@ -0,0 +1,96 @@
+package com.oscarhkli.caseboard.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains {@link CaseOutbox} into a {@link CaseEventSink}, oldest first.
+ * <p>
+ * Each batch is locked, delivered and deleted in one transaction, so events are delivered at
+ * least once: a failed delivery or a failed commit leaves the batch to be retried on the next
+ * run. A failed batch also stops the run, so no later event for the same case overtakes it.
+ * Events are deleted once delivered, which keeps the table as small as the backlog.
+ */
+@Slf4j
+public class OutboxRelay {
+
+    private final CaseOutbox caseOutbox;
+    private final CaseEventSink caseEventSink;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer deliveryTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(CaseOutbox caseOutbox, CaseEventSink caseEventSink,
+        TransactionTemplate transactionTemplate, Clock clock, MeterRegistry meterRegistry,
+        int batchSize, int maxBatches) {
+        this.caseOutbox = caseOutbox;
+        this.caseEventSink = caseEventSink;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.delivered = meterRegistry.counter("case.outbox.delivered");
+        this.failures = meterRegistry.counter("case.outbox.failures");
+        this.deliveryTimer = meterRegistry.timer("case.outbox.delivery");
+        Gauge.builder("case.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("Age of the oldest event in the last delivered batch")
+            .baseUnit("seconds").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${case-board.outbox.poll-interval:PT1S}",
+        initialDelayString = "${case-board.outbox.poll-interval:PT1S}")
+    public synchronized int relay() {
+        if (!caseOutbox.isEnabled()) {
+            return 0;
+        }
+        var total = 0;
+        for (var batch = 0; batch < maxBatches; batch++) {
+            int count;
+            try {
+                count = transactionTemplate.execute(status -> deliverBatch());
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox delivery failed, retrying on the next run: {}", e.getMessage());
+                break;
+            }
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int deliverBatch() {
+        var events = caseOutbox.lockOldest(batchSize);
+        if (events.isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+        var start = System.nanoTime();
+        try {
+            caseEventSink.deliver(events);
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        deliveryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        caseOutbox.delete(events.stream().map(CaseEvent::id).toList());
+        lagMillis.set(Math.max(0,
+            clock.millis() - events.getFirst().createdAt().toEpochMilli()));
+        delivered.increment(events.size());
+        return events.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.oscarhkli.caseboard.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array. Any status other than 2xx fails the batch.
+ */
+public class WebhookCaseEventSink implements CaseEventSink {
+
+    private final HttpClient httpClient;
+    private final URI url;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+
+    public WebhookCaseEventSink(URI url, Duration timeout, ObjectMapper objectMapper) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.url = url;
+        this.timeout = timeout;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void deliver(List<CaseEvent> events) throws IOException {
+        var request = HttpRequest.newBuilder(url).timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(events))).build();
+        try {
+            var response = httpClient.send(request, BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException(
+                    "Webhook %s responded %d".formatted(url, response.statusCode()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.oscarhkli.caseboard.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A call of a {@code CaseService} method. The duration is that of the whole call, including the
+ * cache, the transaction and the database.
+ */
+@Name("com.oscarhkli.caseboard.CaseOperation")
+@Label("Case Operation")
+@Category("Case Board")
+@Description("A call of a CaseService method")
+@StackTrace(false)
+class CaseOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    @Description("Cases returned or written")
+    long rows;
+
+    @Label("Failure")
+    @Description("Class of the exception thrown, if any")
+    String failure;
+}
@@ -0,0 +1,56 @@
+package com.oscarhkli.caseboard.profiling;
+
+import com.oscarhkli.caseboard.CaseChanges;
+import com.oscarhkli.caseboard.CasePage;
+import java.util.Collection;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Emits a {@link CaseOperationEvent} for each public {@code CaseService} method. Costs one
+ * allocation and a flag check while no recording enables the event.
+ */
+@Aspect
+public class CaseOperationEventAspect {
+
+    @Around("execution(public * com.oscarhkli.caseboard.CaseService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        var event = new CaseOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            var result = joinPoint.proceed();
+            event.rows = rows(result);
+            return result;
+        } catch (Throwable e) {
+            event.failure = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Cases returned, or {@code 1} for a method that writes a single case.
+     */
+    static long rows(Object result) {
+        return switch (result) {
+            case Collection<?> collection -> collection.size();
+            case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+            case CasePage casePage -> casePage.cases().size();
+            case CaseChanges caseChanges ->
+                caseChanges.changed().size() + caseChanges.deletedIds().size()
+                    + caseChanges.archivedIds().size();
+            case Boolean written -> written ? 1 : 0;
+            case null, default -> 1;
+        };
+    }
+}
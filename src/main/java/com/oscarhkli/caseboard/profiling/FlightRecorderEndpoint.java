@@ -0,0 +1,61 @@
+package com.oscarhkli.caseboard.profiling;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@code /actuator/jfr}: lists recordings ({@code GET}) and starts one ({@code POST} with an
+ * optional {@code preset}, {@code duration} and {@code name}; {@code 429} while
+ * {@code maxRecordings} are unfinished). {@code /actuator/jfr/{id}}
+ * downloads what a recording holds so far ({@code GET}), stops it ({@code POST}) or closes it
+ * ({@code DELETE}). The continuous recording is listed and downloaded like any other.
+ */
+@Endpoint(id = "jfr")
+@AllArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecordingService flightRecordingService;
+
+    @ReadOperation
+    public List<RecordingDescriptor> recordings() {
+        return flightRecordingService.findRecordings();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingDescriptor> start(@Nullable RecordingPreset preset,
+        @Nullable Duration duration, @Nullable String name) {
+        return flightRecordingService.startRecording(
+                preset != null ? preset : RecordingPreset.DEFAULT, duration, name)
+            .map(WebEndpointResponse::new).orElseGet(() -> new WebEndpointResponse<>(
+                WebEndpointResponse.STATUS_TOO_MANY_REQUESTS));
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        return flightRecordingService.dumpRecording(id)
+            .map(path -> new WebEndpointResponse<Resource>(new FileSystemResource(path)))
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingDescriptor> stop(@Selector long id) {
+        return flightRecordingService.stopRecording(id).map(WebEndpointResponse::new)
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> close(@Selector long id) {
+        return new WebEndpointResponse<>(flightRecordingService.closeRecording(id)
+            ? WebEndpointResponse.STATUS_NO_CONTENT : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
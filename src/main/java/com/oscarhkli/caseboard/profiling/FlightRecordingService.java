@@ -0,0 +1,215 @@
+package com.oscarhkli.caseboard.profiling;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Starts, stops and dumps Java Flight Recorder recordings of this JVM.
+ * <p>
+ * On start, a {@link RecordingPreset#DEFAULT} ring recording runs for as long as the application
+ * does, keeping the last {@code maxAge} or {@code maxSize} of events. {@link #dumpContinuous}
+ * writes it out in the background, at most once per {@code dumpCooldown}, so a burst of slow
+ * requests leaves one dump of the minutes before it. Dumps are written to {@code directory}, where
+ * only the newest {@code retainedDumps} are kept.
+ */
+@Slf4j
+public class FlightRecordingService implements SmartLifecycle {
+
+    static final String CONTINUOUS = "case-board-continuous";
+    private static final DateTimeFormatter DUMP_TIME = DateTimeFormatter.ofPattern(
+        "yyyyMMdd'T'HHmmss.SSS");
+
+    private final ProfilingProperties profilingProperties;
+    private final Clock clock;
+    private final ExecutorService dumper = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("jfr-dump").daemon().factory());
+    private final AtomicLong nextContinuousDump = new AtomicLong();
+    private volatile Recording continuous;
+
+    public FlightRecordingService(ProfilingProperties profilingProperties, Clock clock) {
+        this.profilingProperties = profilingProperties;
+        this.clock = clock;
+    }
+
+    public List<RecordingDescriptor> findRecordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+            .map(RecordingDescriptor::of).toList();
+    }
+
+    /**
+     * Starts a recording that stops by itself after {@code duration}, capped at
+     * {@code maxDuration}.
+     *
+     * @return empty if {@code maxRecordings} on-demand recordings are already unfinished
+     */
+    public synchronized Optional<RecordingDescriptor> startRecording(RecordingPreset preset,
+        Duration duration, String name) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        var unfinished = FlightRecorder.getFlightRecorder().getRecordings().stream()
+            .filter(recording -> !CONTINUOUS.equals(recording.getName()))
+            .filter(recording -> recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.DELAYED
+                || recording.getState() == RecordingState.RUNNING)
+            .count();
+        if (unfinished >= profilingProperties.maxRecordings()) {
+            log.warn("Refused JFR recording: {} on-demand recordings are already running",
+                unfinished);
+            return Optional.empty();
+        }
+        var maxDuration = profilingProperties.maxDuration();
+        var recording = new Recording(preset.settings());
+        recording.setName(name != null ? name : "case-board-" + preset.name().toLowerCase());
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0
+            ? maxDuration : duration);
+        recording.setToDisk(true);
+        recording.start();
+        log.info("Started JFR recording {} ({}) with {} settings for {}", recording.getId(),
+            recording.getName(), preset, recording.getDuration());
+        return Optional.of(RecordingDescriptor.of(recording));
+    }
+
+    public Optional<RecordingDescriptor> stopRecording(long id) {
+        return findRecording(id).map(recording -> {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+                log.info("Stopped JFR recording {} ({})", id, recording.getName());
+            }
+            return RecordingDescriptor.of(recording);
+        });
+    }
+
+    /**
+     * Writes what the recording holds so far to a file in {@code directory}.
+     */
+    public Optional<Path> dumpRecording(long id) {
+        return findRecording(id).map(this::dump);
+    }
+
+    public boolean closeRecording(long id) {
+        return findRecording(id).map(recording -> {
+            recording.close();
+            log.info("Closed JFR recording {} ({})", id, recording.getName());
+            return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Dumps the ring recording in the background unless one was dumped within
+     * {@code dumpCooldown}.
+     */
+    public void dumpContinuous(String reason) {
+        var recording = continuous;
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return;
+        }
+        var now = clock.millis();
+        var next = nextContinuousDump.get();
+        if (now < next || !nextContinuousDump.compareAndSet(next,
+            now + profilingProperties.continuous().dumpCooldown().toMillis())) {
+            return;
+        }
+        dumper.execute(() -> {
+            try {
+                log.warn("Dumped continuous JFR recording to {} after {}", dump(recording),
+                    reason);
+            } catch (RuntimeException e) {
+                log.error("Could not dump continuous JFR recording: {}", e.getMessage());
+            }
+        });
+    }
+
+    private Optional<Recording> findRecording(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+            .filter(recording -> recording.getId() == id).findFirst();
+    }
+
+    private Path dump(Recording recording) {
+        try {
+            var directory = profilingProperties.directory();
+            Files.createDirectories(directory);
+            var path = directory.resolve("%s-%d-%s.jfr".formatted(recording.getName(),
+                recording.getId(), DUMP_TIME.format(clock.instant().atZone(clock.getZone()))));
+            recording.dump(path);
+            deleteOldDumps(directory);
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteOldDumps(Path directory) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                .sorted(Comparator.comparing(FlightRecordingService::lastModified).reversed())
+                .toList();
+        }
+        for (var old : dumps.subList(Math.min(dumps.size(),
+            Math.max(1, profilingProperties.retainedDumps())), dumps.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public void start() {
+        var settings = profilingProperties.continuous();
+        if (!settings.enabled()) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available; no continuous recording");
+            return;
+        }
+        var recording = new Recording(RecordingPreset.DEFAULT.settings());
+        recording.setName(CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(settings.maxAge());
+        recording.setMaxSize(settings.maxSize().toBytes());
+        recording.start();
+        continuous = recording;
+        log.info("Started continuous JFR recording {} keeping {} or {}", recording.getId(),
+            settings.maxAge(), settings.maxSize());
+    }
+
+    @Override
+    public void stop() {
+        var recording = continuous;
+        continuous = null;
+        if (recording != null) {
+            recording.close();
+        }
+        dumper.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return continuous != null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.oscarhkli.caseboard.profiling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * @param directory        where recordings are dumped for download
+ * @param maxDuration      the longest an on-demand recording may run
+ * @param retainedDumps    how many dump files are kept; older ones are deleted
+ * @param maxRecordings    the most on-demand recordings that may be unfinished at once
+ * @param continuous       the always-on ring recording
+ */
+@ConfigurationProperties(prefix = "case-board.profiling")
+public record ProfilingProperties(@DefaultValue("data/recordings") Path directory,
+                                  @DefaultValue("PT10M") Duration maxDuration,
+                                  @DefaultValue("10") int retainedDumps,
+                                  @DefaultValue("2") int maxRecordings,
+                                  @DefaultValue Continuous continuous) {
+
+    /**
+     * @param maxAge        how far back the ring recording reaches
+     * @param maxSize       the most the ring recording keeps on disk
+     * @param slowRequest   a request slower than this dumps the ring recording
+     * @param dumpCooldown  the least time between two such dumps
+     */
+    public record Continuous(@DefaultValue("true") boolean enabled,
+                             @DefaultValue("PT15M") Duration maxAge,
+                             @DefaultValue("100MB") DataSize maxSize,
+                             @DefaultValue("2s") Duration slowRequest,
+                             @DefaultValue("PT5M") Duration dumpCooldown) {
+
+    }
+}
@@ -0,0 +1,15 @@
+package com.oscarhkli.caseboard.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+import jdk.jfr.Recording;
+
+public record RecordingDescriptor(long id, String name, String state, Instant startTime,
+                                  Duration duration, long size) {
+
+    static RecordingDescriptor of(Recording recording) {
+        return new RecordingDescriptor(recording.getId(), recording.getName(),
+            recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+            recording.getSize());
+    }
+}
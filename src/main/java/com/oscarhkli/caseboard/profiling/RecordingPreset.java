@@ -0,0 +1,35 @@
+package com.oscarhkli.caseboard.profiling;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+
+/**
+ * The configurations shipped with the JDK: {@code DEFAULT} is meant to stay on in production at
+ * about 1% overhead, {@code PROFILE} samples methods and allocations more often at about 2%.
+ * <p>
+ * Events that capture the environment, system properties and command line are turned off, since
+ * those carry the database credentials and a recording can be downloaded.
+ */
+public enum RecordingPreset {
+    DEFAULT,
+    PROFILE;
+
+    static final List<String> REDACTED_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+        "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    Map<String, String> settings() {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name().toLowerCase());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR configuration " + name() + " is unreadable", e);
+        }
+        var settings = new HashMap<>(configuration.getSettings());
+        REDACTED_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+        return settings;
+    }
+}
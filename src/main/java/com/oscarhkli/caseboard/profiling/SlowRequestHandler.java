@@ -0,0 +1,53 @@
+package com.oscarhkli.caseboard.profiling;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import java.time.Duration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * Dumps the continuous recording when an HTTP request takes longer than {@code slowRequest}.
+ */
+public class SlowRequestHandler implements ObservationHandler<Observation.Context> {
+
+    private static final String START = SlowRequestHandler.class.getName() + ".start";
+
+    private final FlightRecordingService flightRecordingService;
+    private final long thresholdNanos;
+
+    public SlowRequestHandler(FlightRecordingService flightRecordingService,
+        Duration slowRequest) {
+        this.flightRecordingService = flightRecordingService;
+        this.thresholdNanos = slowRequest.toNanos();
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long start = context.get(START);
+        if (start == null) {
+            return;
+        }
+        var elapsed = System.nanoTime() - start;
+        if (elapsed > thresholdNanos) {
+            flightRecordingService.dumpContinuous("%s took %d ms".formatted(
+                context.getContextualName(), elapsed / 1_000_000));
+        }
+    }
+
+    /**
+     * By type, since the name is only set when the observation starts, after handlers are chosen.
+     * None while there is no continuous recording to dump.
+     */
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return flightRecordingService.isRunning()
+            && (context instanceof ServerRequestObservationContext
+            || context instanceof org.springframework.http.server.reactive.observation
+            .ServerRequestObservationContext);
+    }
+}
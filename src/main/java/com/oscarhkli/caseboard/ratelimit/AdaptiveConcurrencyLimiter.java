@@ -0,0 +1,82 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of a gradient limiter.
+ * <p>
+ * A long-term EWMA of request latency is the baseline. When a sample is slower than
+ * {@code tolerance} times the baseline the limit shrinks proportionally; otherwise it grows by
+ * roughly {@code sqrt(limit)}. All state is held in atomics; concurrent updates of the limit may
+ * overwrite each other, which only drops a sample and is harmless for a smoothed estimate.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double RTT_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong longRttBits = new AtomicLong(Double.doubleToLongBits(0));
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+        double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limitBits = new AtomicLong(
+            Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+    }
+
+    public boolean tryAcquire(RequestPriority priority) {
+        var allowed = Math.max(1, (int) (getLimit() * priority.getLimitShare()));
+        while (true) {
+            var current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        var inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(Math.max(1L, rttNanos), inFlightAtCompletion);
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void onSample(long rttNanos, int inFlightAtCompletion) {
+        var longRtt = updateLongRtt(rttNanos);
+        var limit = Double.longBitsToDouble(limitBits.get());
+        var gradient = Math.clamp(tolerance * longRtt / rttNanos, 0.5, 1.0);
+        if (gradient >= 1.0 && inFlightAtCompletion < limit / 2) {
+            // Not enough traffic to prove a higher limit is safe
+            return;
+        }
+        var newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limitBits.set(Double.doubleToLongBits(Math.clamp(newLimit, minLimit, maxLimit)));
+    }
+
+    private double updateLongRtt(long rttNanos) {
+        var previous = Double.longBitsToDouble(longRttBits.get());
+        var updated = previous == 0 ? rttNanos
+            : previous * (1 - RTT_SMOOTHING) + rttNanos * RTT_SMOOTHING;
+        longRttBits.set(Double.doubleToLongBits(updated));
+        return updated;
+    }
+}
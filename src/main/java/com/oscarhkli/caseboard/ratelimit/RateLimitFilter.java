@@ -0,0 +1,118 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oscarhkli.caseboard.api.ApiErrorResponse;
+import com.oscarhkli.caseboard.api.ApiErrorResponse.ApiError;
+import com.oscarhkli.caseboard.api.ApiErrorResponse.ErrorDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Per-client token-bucket rate limiting followed by adaptive concurrency load shedding.
+ * <p>
+ * Clients are keyed by API key header when it holds one of {@link RateLimitProperties#apiKeys()},
+ * and otherwise by remote address, so made-up keys neither dodge the limit nor grow the bucket
+ * map. Buckets live in a Caffeine cache bounded by {@link RateLimitProperties#maxTrackedClients()}
+ * and dropped once idle long enough to have refilled, so eviction is amortized instead of a scan
+ * on the request path. Over-quota clients get 429 and requests shed under load get 503, both with
+ * {@code Retry-After} and an {@link ApiErrorResponse} body.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final long SHED_RETRY_AFTER_SECONDS = 1;
+
+    private final RateLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties,
+        AdaptiveConcurrencyLimiter concurrencyLimiter, ObjectMapper objectMapper,
+        LongSupplier nanoClock) {
+        this.properties = properties;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        // a bucket untouched for this long has refilled, so dropping it loses no state
+        var refill = Duration.ofNanos(
+            (long) (properties.burst() * 1_000_000_000L / properties.permitsPerSecond()));
+        this.buckets = Caffeine.newBuilder().maximumSize(properties.maxTrackedClients())
+            .expireAfterAccess(refill).ticker(nanoClock::getAsLong).build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+        FilterChain filterChain) throws ServletException, IOException {
+        var priority = RequestPriority.of(request);
+        var clientKey = clientKey(request);
+        var now = nanoClock.getAsLong();
+        var waitNanos = bucketFor(clientKey).tryAcquire(priority.getCost(), now);
+        if (waitNanos > 0) {
+            log.warn("Rate limit exceeded: [client: {}, priority: {}]", clientKey, priority);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos),
+                "Rate limit exceeded");
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire(priority)) {
+            log.warn("Request shed: [priority: {}, limit: {}, inFlight: {}]", priority,
+                concurrencyLimiter.getLimit(), concurrencyLimiter.getInFlight());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, SHED_RETRY_AFTER_SECONDS,
+                "Server is overloaded");
+            return;
+        }
+        var start = nanoClock.getAsLong();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(nanoClock.getAsLong() - start);
+        }
+    }
+
+    long trackedClients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        var apiKey = request.getHeader(properties.apiKeyHeader());
+        return apiKey != null && properties.apiKeys().contains(apiKey) ? "key:" + apiKey
+            : "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(String clientKey) {
+        return buckets.get(clientKey,
+            key -> new TokenBucket(properties.permitsPerSecond(), properties.burst()));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+        String message) throws IOException {
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(status.value()), message, List.of(
+                new ErrorDetails(status.getReasonPhrase(),
+                    "Retry after %d seconds".formatted(retryAfterSeconds)))));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+}
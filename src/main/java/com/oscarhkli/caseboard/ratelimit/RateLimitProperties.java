@@ -0,0 +1,28 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param apiKeys           keys issued to clients; only these get a bucket of their own, any
+ *                          other key is limited by remote address
+ * @param maxTrackedClients hard cap on buckets held, least valuable evicted first
+ */
+@ConfigurationProperties(prefix = "case-board.rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("50") double permitsPerSecond,
+                                  @DefaultValue("100") int burst,
+                                  @DefaultValue("X-API-Key") String apiKeyHeader,
+                                  @DefaultValue Set<String> apiKeys,
+                                  @DefaultValue("10000") int maxTrackedClients,
+                                  @DefaultValue Concurrency concurrency) {
+
+    public record Concurrency(@DefaultValue("100") int initialLimit,
+                              @DefaultValue("10") int minLimit,
+                              @DefaultValue("1000") int maxLimit,
+                              @DefaultValue("2.0") double tolerance,
+                              @DefaultValue("0.2") double smoothing) {
+
+    }
+}
@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Priority classes used by {@link RateLimitFilter}.
+ * <p>
+ * {@code cost} is the number of tokens taken from the client's bucket and {@code limitShare} is
+ * the fraction of the adaptive concurrency limit the class may occupy, so full-list reads are
+ * shed before single reads, and single reads before writes.
+ */
+@Getter
+@AllArgsConstructor
+public enum RequestPriority {
+    WRITE(1, 1.0),
+    READ(1, 0.9),
+    LIST(5, 0.6);
+
+    private static final String CASES_PATH = "/api/v1/cases";
+
+    private final int cost;
+    private final double limitShare;
+
+    public static RequestPriority of(HttpServletRequest request) {
+        return switch (request.getMethod()) {
+            case "GET", "HEAD" -> isListRequest(request.getRequestURI()) ? LIST : READ;
+            case "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+
+    private static boolean isListRequest(String uri) {
+        return CASES_PATH.equals(uri) || (CASES_PATH + "/").equals(uri);
+    }
+}
@@ -0,0 +1,53 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ * <p>
+ * Instead of storing a token count and a refill timestamp, the bucket keeps a single "theoretical
+ * arrival time" so that every acquisition is one CAS on an {@link AtomicLong}.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException(
+                "permitsPerSecond and burst must be positive: %s, %d".formatted(permitsPerSecond,
+                    burst));
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * Try to take {@code cost} tokens.
+     *
+     * @return 0 if the tokens were granted, otherwise the nanoseconds to wait before retrying
+     */
+    public long tryAcquire(int cost, long nowNanos) {
+        var increment = emissionIntervalNanos * cost;
+        while (true) {
+            var tat = theoreticalArrivalTime.get();
+            var newTat = Math.max(tat, nowNanos) + increment;
+            var waitNanos = newTat - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has refilled completely, so dropping it loses no state.
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,43 @@
+package com.oscarhkli.caseboard.singleflight;
+
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link SingleFlight}s for the case reads that clients stampede after a change: one case by id,
+ * and the list of all cases or of one status.
+ * <p>
+ * Subscribed to the {@link InvalidationBus}, so once a change commits, reads arriving afterwards
+ * start a fresh query instead of joining one which may have read the case before the change.
+ */
+public class CaseReadCoalescer {
+
+    private final SingleFlight<Long, Optional<Case>> byId;
+    private final SingleFlight<Optional<String>, List<Case>> lists;
+
+    public CaseReadCoalescer(InvalidationBus invalidationBus, MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>("findCaseById", meterRegistry);
+        this.lists = new SingleFlight<>("findCases", meterRegistry);
+        invalidationBus.subscribe(this::forget);
+    }
+
+    public Optional<Case> findCaseById(long id, Supplier<Optional<Case>> loader) {
+        return byId.execute(id, loader);
+    }
+
+    /**
+     * @param status the status listed, or null for all cases
+     */
+    public List<Case> findCases(String status, Supplier<List<Case>> loader) {
+        return lists.execute(Optional.ofNullable(status), loader);
+    }
+
+    void forget(long caseId) {
+        byId.forget(caseId);
+        lists.forgetAll();
+    }
+}
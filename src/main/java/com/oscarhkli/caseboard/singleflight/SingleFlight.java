@@ -0,0 +1,82 @@
+package com.oscarhkli.caseboard.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one: the first caller runs the loader, and
+ * callers arriving while it runs wait for its result instead of running their own.
+ * <p>
+ * In-flight calls are futures in a {@link ConcurrentHashMap}, claimed with {@code putIfAbsent},
+ * so callers for different keys never contend on a lock. Results are not kept once the call
+ * completes; caching stays the job of the cache in front. A loader exception is rethrown to every
+ * caller of that call. {@link #forget} detaches an in-flight call, so that callers arriving after
+ * a write do not join a read which started before it.
+ * <p>
+ * Published as {@code case.reads.executed} and {@code case.reads.coalesced} counters and a
+ * {@code case.reads.in.flight} gauge, tagged with {@code query}.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String query, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("case.reads.executed").tag("query", query)
+            .description("Reads which ran their query").register(meterRegistry);
+        this.coalesced = Counter.builder("case.reads.coalesced").tag("query", query)
+            .description("Reads which shared the result of an identical in-flight read")
+            .register(meterRegistry);
+        Gauge.builder("case.reads.in.flight", calls, ConcurrentMap::size).tag("query", query)
+            .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        var call = new CompletableFuture<V>();
+        var inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+        executed.increment();
+        try {
+            var result = loader.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    public void forget(K key) {
+        calls.remove(key);
+    }
+
+    public void forgetAll() {
+        calls.clear();
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
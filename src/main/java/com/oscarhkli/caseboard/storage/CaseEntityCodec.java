@@ -0,0 +1,91 @@
+package com.oscarhkli.caseboard.storage;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary layout of a {@link CaseEntity} in the write-ahead log and snapshots. Strings are
+ * length-prefixed UTF-8 ({@code -1} for null), timestamps are UTC epoch seconds and nanos behind
+ * a presence flag.
+ * <p>
+ * Records are always written in the current {@link #VERSION}; version 1, without the assignee,
+ * is still read from logs and snapshots written before it.
+ */
+final class CaseEntityCodec {
+
+    static final int VERSION = 2;
+
+    private CaseEntityCodec() {
+    }
+
+    static void write(DataOutput out, CaseEntity caseEntity) throws IOException {
+        out.writeLong(caseEntity.getId());
+        writeString(out, caseEntity.getCaseNumber());
+        writeString(out, caseEntity.getTitle());
+        writeString(out, caseEntity.getDescription());
+        writeString(out, caseEntity.getStatus());
+        writeDateTime(out, caseEntity.getCreatedDateTime());
+        writeDateTime(out, caseEntity.getLastModifiedDateTime());
+        writeDateTime(out, caseEntity.getStatusChangedDateTime());
+        writeDateTime(out, caseEntity.getDeletedAt());
+        writeString(out, caseEntity.getAssignee());
+    }
+
+    static CaseEntity read(DataInput in, int version) throws IOException {
+        var caseEntity = CaseEntity.builder()
+            .id(in.readLong())
+            .caseNumber(readString(in))
+            .title(readString(in))
+            .description(readString(in))
+            .status(readString(in))
+            .createdDateTime(readDateTime(in))
+            .lastModifiedDateTime(readDateTime(in))
+            .statusChangedDateTime(readDateTime(in))
+            .deletedAt(readDateTime(in))
+            .build();
+        if (version >= 2) {
+            caseEntity.setAssignee(readString(in));
+        }
+        return caseEntity;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        var length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        var bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
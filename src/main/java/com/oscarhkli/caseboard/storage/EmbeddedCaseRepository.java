@@ -0,0 +1,989 @@
+package com.oscarhkli.caseboard.storage;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.FluentQuery.FetchableFluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CaseRepository} served from memory, for running without a database server.
+ * <p>
+ * Records are held in a {@link LongObjectHashMap} keyed by id, with secondary indexes on case
+ * number (tombstones included, like the unique constraint), status and assignee (live cases
+ * only), {@code (lastModifiedDateTime, id)} for the delta-sync keyset scan and {@code (deletedAt, id)}
+ * for tombstones. Stored records are never mutated: writes replace them with a copy and reads
+ * return a copy, so callers can modify what they get like a detached entity.
+ * <p>
+ * Writes are serialized under a write lock and appended to the {@link WriteAheadLog}, which is
+ * flushed before the lock is released. {@link #snapshot} rolls the log to a new generation, saves
+ * the records as of that point in a {@link SnapshotFile} and deletes older generations.
+ * {@link #open} loads the newest snapshot and replays the log from its generation onward.
+ * <p>
+ * Each call is atomic and durable on its own and visible to other threads at once, with no
+ * isolation between transactions. Within a Spring transaction, the records a write replaces are
+ * kept in an {@link UndoLog}, and if the transaction rolls back they are written back, so the
+ * store agrees again with the outbox, rollups and counts rolled back in the database. A restored
+ * record gets a new {@code lastModifiedDateTime} for delta sync to pick the reversal up; a
+ * case written again by another transaction in the meantime is left as that transaction wrote it.
+ * Instead of row locks, saving a copy read before another write to the same case fails with
+ * {@link ObjectOptimisticLockingFailureException}, its {@code lastModifiedDateTime} acting as the
+ * version, which is why every write advances it. Audit timestamps come from {@link Clock} instead
+ * of the JPA entity listener. Query by example is not supported.
+ */
+@Slf4j
+public class EmbeddedCaseRepository implements CaseRepository, Closeable {
+
+    private static final Comparator<CaseEntity> BY_ID = Comparator.comparingLong(
+        CaseEntity::getId);
+    private static final Comparator<CaseEntity> BY_LAST_MODIFIED = nullable(
+        CaseEntity::getLastModifiedDateTime).thenComparing(BY_ID);
+    private static final Comparator<CaseEntity> BY_DELETED_AT = nullable(
+        CaseEntity::getDeletedAt).thenComparing(BY_ID);
+    private static final Map<String, Comparator<CaseEntity>> SORTABLE = Map.of(
+        "id", BY_ID,
+        "caseNumber", nullable(CaseEntity::getCaseNumber),
+        "title", nullable(CaseEntity::getTitle),
+        "status", nullable(CaseEntity::getStatus),
+        "assignee", nullable(CaseEntity::getAssignee),
+        "createdDateTime", nullable(CaseEntity::getCreatedDateTime),
+        "lastModifiedDateTime", nullable(CaseEntity::getLastModifiedDateTime),
+        "statusChangedDateTime", nullable(CaseEntity::getStatusChangedDateTime));
+
+    private final EmbeddedStorageProperties properties;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<CaseEntity> byId = new LongObjectHashMap<>();
+    private final Map<String, CaseEntity> byCaseNumber = new HashMap<>();
+    private final Map<String, LongObjectHashMap<CaseEntity>> byStatus = new HashMap<>();
+    private final Map<String, LongObjectHashMap<CaseEntity>> byAssignee = new HashMap<>();
+    private final NavigableSet<CaseEntity> byLastModified = new TreeSet<>(BY_LAST_MODIFIED);
+    private final NavigableSet<CaseEntity> tombstones = new TreeSet<>(BY_DELETED_AT);
+    private long lastId;
+    private long writesSinceSnapshot;
+    private WriteAheadLog wal;
+
+    public EmbeddedCaseRepository(EmbeddedStorageProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public void open() throws IOException {
+        var directory = properties.directory();
+        Files.createDirectories(directory);
+        var snapshots = generations(directory, "snapshot-", ".bin");
+        var segments = generations(directory, "wal-", ".log");
+        var from = snapshots.isEmpty() ? 0L : snapshots.last();
+        lock.writeLock().lock();
+        try {
+            if (!snapshots.isEmpty()) {
+                lastId = SnapshotFile.read(SnapshotFile.path(directory, from), this::apply);
+            }
+            for (var generation : segments.tailSet(from, true)) {
+                WriteAheadLog.replay(WriteAheadLog.segment(directory, generation), this::replay);
+            }
+            wal = new WriteAheadLog(directory, (int) properties.segmentSize().toBytes(),
+                properties.syncWrites());
+            wal.open(Math.max(from, segments.isEmpty() ? 0L : segments.last()) + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        deleteGenerationsBefore(from);
+        log.info("Opened embedded case store in {} with {} records", directory, byId.size());
+    }
+
+    /**
+     * Writes a snapshot if anything changed since the last one, so recovery replays at most one
+     * interval of the log. Only rolling the log happens under the write lock; the records are
+     * serialized afterwards, which is safe because stored records are never mutated.
+     */
+    @Scheduled(fixedDelayString = "${case-board.embedded-storage.snapshot-interval:PT5M}",
+        initialDelayString = "${case-board.embedded-storage.snapshot-interval:PT5M}")
+    public synchronized boolean snapshot() throws IOException {
+        long generation;
+        long snapshotLastId;
+        List<CaseEntity> records;
+        lock.writeLock().lock();
+        try {
+            if (wal == null || writesSinceSnapshot == 0) {
+                return false;
+            }
+            generation = wal.roll();
+            snapshotLastId = lastId;
+            records = new ArrayList<>(byId.size());
+            byId.forEach(records::add);
+            writesSinceSnapshot = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        SnapshotFile.write(SnapshotFile.path(properties.directory(), generation), snapshotLastId,
+            records);
+        deleteGenerationsBefore(generation);
+        log.info("Wrote embedded case store snapshot {} with {} records", generation,
+            records.size());
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (wal == null) {
+            return;
+        }
+        snapshot();
+        lock.writeLock().lock();
+        try {
+            wal.close();
+            wal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public <S extends CaseEntity> S save(S entity) {
+        lock.writeLock().lock();
+        try {
+            put(entity, LocalDateTime.now(clock));
+            return entity;
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    /**
+     * Saves all of {@code entities} or, if any of them would fail, none, as the rollback of a
+     * database transaction would.
+     */
+    @Override
+    public <S extends CaseEntity> List<S> saveAll(Iterable<S> entities) {
+        var saved = new ArrayList<S>();
+        entities.forEach(saved::add);
+        lock.writeLock().lock();
+        try {
+            var caseNumbers = new HashMap<String, CaseEntity>();
+            for (var entity : saved) {
+                check(entity);
+                var other = entity.getCaseNumber() == null ? null
+                    : caseNumbers.putIfAbsent(entity.getCaseNumber(), entity);
+                if (other != null && other != entity) {
+                    throw new DataIntegrityViolationException(
+                        "Unique index or primary key violation: CASE_NUMBER '%s' repeated"
+                            .formatted(entity.getCaseNumber()));
+                }
+            }
+            var now = LocalDateTime.now(clock);
+            saved.forEach(entity -> put(entity, now));
+            return saved;
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    @Override
+    public List<CaseEntity> insertAll(List<CaseEntity> caseEntities) {
+        return saveAll(caseEntities);
+    }
+
+    @Override
+    public <S extends CaseEntity> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends CaseEntity> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public void flush() {
+        // Every write is flushed to the log before it returns.
+    }
+
+    @Override
+    public Optional<CaseEntity> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(live(id)).map(EmbeddedCaseRepository::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same as {@link #findById}: there are no row locks, so a concurrent write to the case is
+     * detected when the copy is saved instead (see {@link #save}).
+     */
+    @Override
+    public Optional<CaseEntity> findForUpdateById(long id) {
+        return findById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return live(id) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public CaseEntity getReferenceById(Long id) {
+        return findById(id).orElseThrow(
+            () -> new EntityNotFoundException("Unable to find case with id " + id));
+    }
+
+    @Override
+    @Deprecated
+    public CaseEntity getOne(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public CaseEntity getById(Long id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public List<CaseEntity> findAll() {
+        return findAll(Sort.unsorted());
+    }
+
+    @Override
+    public List<CaseEntity> findAll(Sort sort) {
+        var comparator = comparator(sort);
+        lock.readLock().lock();
+        try {
+            return liveRecords().stream().sorted(comparator).map(EmbeddedCaseRepository::copy)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<CaseEntity> findAll(Pageable pageable) {
+        var comparator = comparator(pageable.getSort());
+        lock.readLock().lock();
+        try {
+            var records = liveRecords();
+            var content = records.stream().sorted(comparator)
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .map(EmbeddedCaseRepository::copy).toList();
+            return new PageImpl<>(content, pageable, records.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CaseEntity> findAllById(Iterable<Long> ids) {
+        lock.readLock().lock();
+        try {
+            var found = new ArrayList<CaseEntity>();
+            for (var id : ids) {
+                var caseEntity = live(id);
+                if (caseEntity != null) {
+                    found.add(copy(caseEntity));
+                }
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return byId.size() - tombstones.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CaseEntity> findByStatus(String status) {
+        lock.readLock().lock();
+        try {
+            var records = new ArrayList<CaseEntity>();
+            var index = byStatus.get(status);
+            if (index != null) {
+                index.forEach(records::add);
+            }
+            records.sort(BY_ID);
+            return records.stream().map(EmbeddedCaseRepository::copy).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<CaseEntity> findByCaseNumber(String caseNumber) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byCaseNumber.get(caseNumber))
+                .filter(caseEntity -> caseEntity.getDeletedAt() == null)
+                .map(EmbeddedCaseRepository::copy);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sorts the matching live records on every call, unlike the index range scan of the JPA
+     * repository.
+     */
+    @Override
+    public Window<CaseEntity> findAllBy(ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(null, null, position, sort, limit);
+    }
+
+    @Override
+    public Window<CaseEntity> findByStatus(String status, ScrollPosition position, Sort sort,
+        Limit limit) {
+        return scroll(status, null, position, sort, limit);
+    }
+
+    @Override
+    public Window<CaseEntity> findByAssignee(String assignee, ScrollPosition position, Sort sort,
+        Limit limit) {
+        return scroll(null, assignee, position, sort, limit);
+    }
+
+    @Override
+    public Window<CaseEntity> findByAssigneeAndStatus(String assignee, String status,
+        ScrollPosition position, Sort sort, Limit limit) {
+        return scroll(status, assignee, position, sort, limit);
+    }
+
+    @Override
+    public int softDeleteById(long id, LocalDateTime deletedAt) {
+        lock.writeLock().lock();
+        try {
+            var caseEntity = live(id);
+            if (caseEntity == null) {
+                return 0;
+            }
+            var tombstone = copy(caseEntity);
+            tombstone.setDeletedAt(deletedAt);
+            tombstone.setLastModifiedDateTime(deletedAt);
+            appendPut(tombstone);
+            return 1;
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    /**
+     * Only moves records forward, as their {@code lastModifiedDateTime} is also their version.
+     */
+    @Override
+    public int restampLastModified(Collection<Long> ids, LocalDateTime at) {
+        lock.writeLock().lock();
+        try {
+            var restamped = 0;
+            for (var id : ids) {
+                var caseEntity = id == null ? null : byId.get(id);
+                if (caseEntity == null) {
+                    continue;
+                }
+                if (at.isAfter(caseEntity.getLastModifiedDateTime())) {
+                    var copy = copy(caseEntity);
+                    copy.setLastModifiedDateTime(at);
+                    appendPut(copy);
+                }
+                restamped++;
+            }
+            return restamped;
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    @Override
+    public List<CaseEntity> findChangedAfter(LocalDateTime lastModified, long id,
+        LocalDateTime upTo, int limit) {
+        var from = CaseEntity.builder().id(id).lastModifiedDateTime(lastModified).build();
+        lock.readLock().lock();
+        try {
+            return byLastModified.tailSet(from, false).stream()
+                .takeWhile(caseEntity -> !caseEntity.getLastModifiedDateTime().isAfter(upTo))
+                .limit(limit).map(EmbeddedCaseRepository::copy).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<CaseEntity> findTombstonesDeletedAfter(LocalDateTime since) {
+        var from = CaseEntity.builder().id(Long.MAX_VALUE).deletedAt(since).build();
+        lock.readLock().lock();
+        try {
+            return tombstones.tailSet(from, false).stream().map(EmbeddedCaseRepository::copy)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> findExpiredTombstoneIds(LocalDateTime cutoff, int limit) {
+        var to = CaseEntity.builder().id(Long.MIN_VALUE).deletedAt(cutoff).build();
+        lock.readLock().lock();
+        try {
+            return tombstones.headSet(to, false).stream().limit(limit).map(CaseEntity::getId)
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int purgeTombstones(Collection<Long> ids) {
+        return remove(ids, caseEntity -> caseEntity.getDeletedAt() != null);
+    }
+
+    /**
+     * Scans the status index instead of a {@code (status, status_changed_datetime)} range, and
+     * takes no row locks: writes are serialised by the store lock instead.
+     */
+    @Override
+    public List<CaseEntity> findArchivable(Collection<String> statuses, LocalDateTime cutoff,
+        int limit) {
+        lock.readLock().lock();
+        try {
+            var records = new ArrayList<CaseEntity>();
+            for (var status : statuses) {
+                var index = byStatus.get(status);
+                if (index != null) {
+                    index.forEach(caseEntity -> {
+                        var since = caseEntity.getStatusChangedDateTime() != null
+                            ? caseEntity.getStatusChangedDateTime()
+                            : caseEntity.getLastModifiedDateTime();
+                        if (since != null && since.isBefore(cutoff)) {
+                            records.add(caseEntity);
+                        }
+                    });
+                }
+            }
+            records.sort(BY_ID);
+            return records.stream().limit(limit).map(EmbeddedCaseRepository::copy).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int deleteArchived(Collection<Long> ids) {
+        return remove(ids, EmbeddedCaseRepository::isLive);
+    }
+
+    @Override
+    public List<String> findTakenCaseNumbers(Collection<String> caseNumbers) {
+        lock.readLock().lock();
+        try {
+            return caseNumbers.stream().filter(byCaseNumber::containsKey).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        remove(List.of(id), EmbeddedCaseRepository::isLive);
+    }
+
+    @Override
+    public void delete(CaseEntity entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        var toRemove = new ArrayList<Long>();
+        ids.forEach(toRemove::add);
+        remove(toRemove, EmbeddedCaseRepository::isLive);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends CaseEntity> entities) {
+        var toRemove = new ArrayList<Long>();
+        entities.forEach(entity -> toRemove.add(entity.getId()));
+        remove(toRemove, EmbeddedCaseRepository::isLive);
+    }
+
+    @Override
+    public void deleteAll() {
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = liveRecords().stream().map(CaseEntity::getId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        remove(ids, EmbeddedCaseRepository::isLive);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<CaseEntity> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    public <S extends CaseEntity> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity> List<S> findAll(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity> long count(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity> boolean exists(Example<S> example) {
+        throw queryByExampleUnsupported();
+    }
+
+    @Override
+    public <S extends CaseEntity, R> R findBy(Example<S> example,
+        Function<FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleUnsupported();
+    }
+
+    /**
+     * Scans the assignee index when {@code assignee} is given, filtering by {@code status}, and
+     * the status index otherwise.
+     */
+    private Window<CaseEntity> scroll(String status, String assignee, ScrollPosition position,
+        Sort sort, Limit limit) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.scrollsBackward()) {
+            throw new InvalidDataAccessApiUsageException(
+                "Only forward keyset scrolling is supported by the embedded case store");
+        }
+        var comparator = comparator(sort);
+        var from = new CaseEntity();
+        var fromAccessor = PropertyAccessorFactory.forBeanPropertyAccess(from);
+        keyset.getKeys().forEach(fromAccessor::setPropertyValue);
+        var max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE - 1;
+        List<CaseEntity> records;
+        lock.readLock().lock();
+        try {
+            var candidates = new ArrayList<CaseEntity>();
+            if (assignee != null) {
+                var index = byAssignee.get(assignee);
+                if (index != null) {
+                    index.forEach(caseEntity -> {
+                        if (status == null || status.equals(caseEntity.getStatus())) {
+                            candidates.add(caseEntity);
+                        }
+                    });
+                }
+            } else if (status == null) {
+                candidates.addAll(liveRecords());
+            } else if (byStatus.containsKey(status)) {
+                byStatus.get(status).forEach(candidates::add);
+            }
+            records = candidates.stream()
+                .filter(caseEntity -> keyset.isInitial()
+                    || comparator.compare(caseEntity, from) > 0)
+                .sorted(comparator).limit(max + 1L).map(EmbeddedCaseRepository::copy).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+        var page = records.size() > max ? records.subList(0, max) : records;
+        return Window.from(page, index -> {
+            var accessor = PropertyAccessorFactory.forBeanPropertyAccess(page.get(index));
+            var keys = new LinkedHashMap<String, Object>();
+            sort.forEach(order -> keys.put(order.getProperty(),
+                accessor.getPropertyValue(order.getProperty())));
+            return ScrollPosition.forward(keys);
+        }, records.size() > max);
+    }
+
+    private void put(CaseEntity entity, LocalDateTime now) {
+        var existing = check(entity);
+        if (existing == null) {
+            entity.setId(lastId + 1);
+            entity.setCreatedDateTime(now);
+        } else if (entity.getCreatedDateTime() == null) {
+            entity.setCreatedDateTime(existing.getCreatedDateTime());
+        }
+        var lastModified = existing == null
+            || now.isAfter(existing.getLastModifiedDateTime()) ? now
+            : existing.getLastModifiedDateTime().plusNanos(1);
+        entity.setLastModifiedDateTime(lastModified);
+        appendPut(copy(entity));
+    }
+
+    /**
+     * Throws what {@link #put} would for {@code entity}, without writing anything.
+     *
+     * @return the stored record {@code entity} replaces, or {@code null} for a new case
+     */
+    private CaseEntity check(CaseEntity entity) {
+        CaseEntity existing = null;
+        if (entity.getId() != 0) {
+            existing = live(entity.getId());
+            if (existing == null || entity.getLastModifiedDateTime() != null
+                && !entity.getLastModifiedDateTime().equals(existing.getLastModifiedDateTime())) {
+                throw new ObjectOptimisticLockingFailureException(CaseEntity.class,
+                    entity.getId());
+            }
+        }
+        var owner = entity.getCaseNumber() == null ? null
+            : byCaseNumber.get(entity.getCaseNumber());
+        if (owner != null && owner.getId() != entity.getId()) {
+            throw new DataIntegrityViolationException(
+                "Unique index or primary key violation: CASE_NUMBER '%s' already used by case %d"
+                    .formatted(entity.getCaseNumber(), owner.getId()));
+        }
+        return existing;
+    }
+
+    private int remove(Collection<Long> ids, Predicate<CaseEntity> removable) {
+        lock.writeLock().lock();
+        try {
+            var removed = 0;
+            for (var id : ids) {
+                var caseEntity = id == null ? null : byId.get(id);
+                if (caseEntity != null && removable.test(caseEntity)) {
+                    writeRemove(caseEntity);
+                    recordUndo(id, caseEntity, null);
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    private void appendPut(CaseEntity caseEntity) {
+        var before = byId.get(caseEntity.getId());
+        writePut(caseEntity);
+        recordUndo(caseEntity.getId(), before, caseEntity);
+    }
+
+    private void writePut(CaseEntity caseEntity) {
+        append(WriteAheadLog.PUT, out -> CaseEntityCodec.write(out, caseEntity));
+        apply(caseEntity);
+    }
+
+    private void writeRemove(CaseEntity caseEntity) {
+        append(WriteAheadLog.REMOVE, out -> out.writeLong(caseEntity.getId()));
+        unindex(caseEntity);
+    }
+
+    /**
+     * Adds a write to the undo log of the transaction on this thread, if there is one. Called
+     * under the write lock.
+     */
+    private void recordUndo(long id, CaseEntity before, CaseEntity after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        for (var synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof UndoLog undoLog && undoLog.owner() == this) {
+                undoLog.record(id, before, after);
+                return;
+            }
+        }
+        var undoLog = new UndoLog();
+        undoLog.record(id, before, after);
+        TransactionSynchronizationManager.registerSynchronization(undoLog);
+    }
+
+    /**
+     * Writes back what a rolled back transaction replaced, latest write first. A case is only
+     * restored while it is still what the transaction left, and not over another case's number.
+     */
+    private void undo(Map<Long, CaseEntity> before, Map<Long, CaseEntity> after) {
+        lock.writeLock().lock();
+        try {
+            var now = LocalDateTime.now(clock);
+            for (var id : new ArrayList<>(before.keySet()).reversed()) {
+                var current = byId.get(id);
+                var previous = before.get(id);
+                if (current != after.get(id)) {
+                    log.warn("Not undoing rolled back write of case {}, written again since", id);
+                } else if (previous == null) {
+                    writeRemove(current);
+                } else if (previous.getCaseNumber() != null
+                    && byCaseNumber.containsKey(previous.getCaseNumber())
+                    && byCaseNumber.get(previous.getCaseNumber()).getId() != id) {
+                    log.warn("Not undoing rolled back write of case {}, its case number {} is taken",
+                        id, previous.getCaseNumber());
+                } else {
+                    var latest = current == null ? previous : current;
+                    var restored = copy(previous);
+                    restored.setLastModifiedDateTime(
+                        now.isAfter(latest.getLastModifiedDateTime()) ? now
+                            : latest.getLastModifiedDateTime().plusNanos(1));
+                    writePut(restored);
+                }
+            }
+        } finally {
+            flushAndUnlock();
+        }
+    }
+
+    private void append(byte type, RecordWriter writer) {
+        try {
+            var bytes = new ByteArrayOutputStream(256);
+            writer.write(new DataOutputStream(bytes));
+            wal.append(type, bytes.toByteArray());
+            writesSinceSnapshot++;
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException(
+                "Could not append to the write-ahead log", e);
+        }
+    }
+
+    private void flushAndUnlock() {
+        try {
+            wal.flush();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replay(byte type, DataInput payload) throws IOException {
+        switch (type) {
+            case WriteAheadLog.PUT -> apply(CaseEntityCodec.read(payload,
+                CaseEntityCodec.VERSION));
+            case WriteAheadLog.PUT_V1 -> apply(CaseEntityCodec.read(payload, 1));
+            case WriteAheadLog.REMOVE -> {
+                var caseEntity = byId.get(payload.readLong());
+                if (caseEntity != null) {
+                    unindex(caseEntity);
+                }
+            }
+            default -> throw new IOException("Unknown write-ahead log record type " + type);
+        }
+        writesSinceSnapshot++;
+    }
+
+    private void apply(CaseEntity caseEntity) {
+        var previous = byId.get(caseEntity.getId());
+        if (previous != null) {
+            unindex(previous);
+        }
+        byId.put(caseEntity.getId(), caseEntity);
+        if (caseEntity.getCaseNumber() != null) {
+            byCaseNumber.put(caseEntity.getCaseNumber(), caseEntity);
+        }
+        if (isLive(caseEntity)) {
+            byStatus.computeIfAbsent(caseEntity.getStatus(), status -> new LongObjectHashMap<>())
+                .put(caseEntity.getId(), caseEntity);
+            if (caseEntity.getAssignee() != null) {
+                byAssignee.computeIfAbsent(caseEntity.getAssignee(),
+                    assignee -> new LongObjectHashMap<>()).put(caseEntity.getId(), caseEntity);
+            }
+        } else {
+            tombstones.add(caseEntity);
+        }
+        byLastModified.add(caseEntity);
+        lastId = Math.max(lastId, caseEntity.getId());
+    }
+
+    private void unindex(CaseEntity caseEntity) {
+        byId.remove(caseEntity.getId());
+        if (caseEntity.getCaseNumber() != null) {
+            byCaseNumber.remove(caseEntity.getCaseNumber(), caseEntity);
+        }
+        var index = byStatus.get(caseEntity.getStatus());
+        if (index != null && index.remove(caseEntity.getId()) != null && index.size() == 0) {
+            byStatus.remove(caseEntity.getStatus());
+        }
+        var assigned = caseEntity.getAssignee() == null ? null
+            : byAssignee.get(caseEntity.getAssignee());
+        if (assigned != null && assigned.remove(caseEntity.getId()) != null
+            && assigned.size() == 0) {
+            byAssignee.remove(caseEntity.getAssignee());
+        }
+        tombstones.remove(caseEntity);
+        byLastModified.remove(caseEntity);
+    }
+
+    private CaseEntity live(Long id) {
+        if (id == null) {
+            return null;
+        }
+        var caseEntity = byId.get(id);
+        return caseEntity != null && isLive(caseEntity) ? caseEntity : null;
+    }
+
+    private List<CaseEntity> liveRecords() {
+        var records = new ArrayList<CaseEntity>(byId.size());
+        byId.forEach(caseEntity -> {
+            if (isLive(caseEntity)) {
+                records.add(caseEntity);
+            }
+        });
+        return records;
+    }
+
+    private void deleteGenerationsBefore(long generation) throws IOException {
+        var directory = properties.directory();
+        for (var older : generations(directory, "snapshot-", ".bin").headSet(generation)) {
+            Files.deleteIfExists(SnapshotFile.path(directory, older));
+        }
+        for (var older : generations(directory, "wal-", ".log").headSet(generation)) {
+            Files.deleteIfExists(WriteAheadLog.segment(directory, older));
+        }
+    }
+
+    private static NavigableSet<Long> generations(Path directory, String prefix, String suffix)
+        throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                .map(name -> Long.parseLong(name, prefix.length(),
+                    name.length() - suffix.length(), 10))
+                .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    private static boolean isLive(CaseEntity caseEntity) {
+        return caseEntity.getDeletedAt() == null;
+    }
+
+    private static CaseEntity copy(CaseEntity caseEntity) {
+        return CaseEntity.builder().id(caseEntity.getId()).caseNumber(caseEntity.getCaseNumber())
+            .title(caseEntity.getTitle()).description(caseEntity.getDescription())
+            .status(caseEntity.getStatus()).assignee(caseEntity.getAssignee())
+            .createdDateTime(caseEntity.getCreatedDateTime())
+            .lastModifiedDateTime(caseEntity.getLastModifiedDateTime())
+            .statusChangedDateTime(caseEntity.getStatusChangedDateTime())
+            .deletedAt(caseEntity.getDeletedAt()).build();
+    }
+
+    private static Comparator<CaseEntity> comparator(Sort sort) {
+        Comparator<CaseEntity> comparator = null;
+        for (var order : sort) {
+            var property = SORTABLE.get(order.getProperty());
+            if (property == null) {
+                throw new InvalidDataAccessApiUsageException(
+                    "Cannot sort cases by " + order.getProperty());
+            }
+            var next = order.isAscending() ? property : property.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator == null ? BY_ID : comparator.thenComparing(BY_ID);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<CaseEntity> nullable(
+        Function<CaseEntity, T> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private static UnsupportedOperationException queryByExampleUnsupported() {
+        return new UnsupportedOperationException(
+            "Query by example is not supported by the embedded case store");
+    }
+
+    /**
+     * The records one transaction replaced, by id: the first record before it and the last one it
+     * wrote, {@code null} where there was none.
+     */
+    private class UndoLog implements TransactionSynchronization {
+
+        private final Map<Long, CaseEntity> before = new LinkedHashMap<>();
+        private final Map<Long, CaseEntity> after = new HashMap<>();
+
+        EmbeddedCaseRepository owner() {
+            return EmbeddedCaseRepository.this;
+        }
+
+        void record(long id, CaseEntity previous, CaseEntity written) {
+            if (!before.containsKey(id)) {
+                before.put(id, previous);
+            }
+            after.put(id, written);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_ROLLED_BACK) {
+                undo(before, after);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.oscarhkli.caseboard.storage;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "case-board.embedded-storage")
+public record EmbeddedStorageProperties(@DefaultValue("data/embedded") Path directory,
+                                        @DefaultValue("64MB") DataSize segmentSize,
+                                        @DefaultValue("PT5M") Duration snapshotInterval,
+                                        @DefaultValue("true") boolean syncWrites) {
+
+}
@@ -0,0 +1,88 @@
+package com.oscarhkli.caseboard.storage;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full copy of the store as of the start of write-ahead log generation {@code <generation>}
+ * ({@code snapshot-<generation>.bin}): the last assigned id, the record count, each record, and a
+ * trailing CRC32. Written to a temporary file, forced and atomically renamed, so a snapshot file
+ * that exists is complete.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x43425332;
+    /**
+     * Snapshots with records in {@code CaseEntityCodec} version 1.
+     */
+    private static final int MAGIC_V1 = 0x43425331;
+
+    private SnapshotFile() {
+    }
+
+    static Path path(Path directory, long generation) {
+        return directory.resolve("snapshot-%019d.bin".formatted(generation));
+    }
+
+    static void write(Path path, long lastId, Collection<CaseEntity> caseEntities)
+        throws IOException {
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var checked = new CheckedOutputStream(
+                new BufferedOutputStream(Channels.newOutputStream(channel)), new CRC32());
+            var out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(lastId);
+            out.writeInt(caseEntities.size());
+            for (var caseEntity : caseEntities) {
+                CaseEntityCodec.write(out, caseEntity);
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Passes every record to {@code consumer} and returns the last assigned id.
+     */
+    static long read(Path path, Consumer<CaseEntity> consumer) throws IOException {
+        try (var checked = new CheckedInputStream(
+            new BufferedInputStream(Files.newInputStream(path)), new CRC32())) {
+            var in = new DataInputStream(checked);
+            var version = switch (in.readInt()) {
+                case MAGIC -> CaseEntityCodec.VERSION;
+                case MAGIC_V1 -> 1;
+                default -> throw new IOException("Not a case snapshot: " + path);
+            };
+            var lastId = in.readLong();
+            var count = in.readInt();
+            for (var i = 0; i < count; i++) {
+                consumer.accept(CaseEntityCodec.read(in, version));
+            }
+            var expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Corrupt case snapshot: " + path);
+            }
+            return lastId;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.oscarhkli.caseboard.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of store mutations, written through a memory-mapped segment file per
+ * generation ({@code wal-<generation>.log}).
+ * <p>
+ * Each record is {@code [payload length][CRC32][type][payload]}. {@link #append} only copies into
+ * the mapping; {@link #flush} forces the appended range to disk when {@code sync} is on, so a batch
+ * of appends costs one {@code msync}. A full segment rolls over to the next generation. Replay
+ * stops at the zero-filled tail or at the first record whose length or checksum does not match,
+ * which is where a crash tore the last write.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    /**
+     * A record in {@code CaseEntityCodec} version 1, only read from older logs.
+     */
+    static final byte PUT_V1 = 1;
+    static final byte REMOVE = 2;
+    static final byte PUT = 3;
+
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    @FunctionalInterface
+    interface RecordHandler {
+
+        void apply(byte type, DataInput payload) throws IOException;
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean sync;
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int forcedPosition;
+
+    WriteAheadLog(Path directory, int segmentSize, boolean sync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.sync = sync;
+    }
+
+    static Path segment(Path directory, long generation) {
+        return directory.resolve("wal-%019d.log".formatted(generation));
+    }
+
+    static void replay(Path segment, RecordHandler handler) throws IOException {
+        try (var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            var buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= HEADER_BYTES) {
+                var start = buffer.position();
+                var length = buffer.getInt();
+                var remaining = buffer.remaining() - (HEADER_BYTES - Integer.BYTES);
+                if (length <= 0 || length > remaining) {
+                    break;
+                }
+                var checksum = buffer.getInt();
+                var type = buffer.get();
+                var payload = new byte[length];
+                buffer.get(payload);
+                if (checksum != checksum(type, payload)) {
+                    log.warn("Ignoring torn write-ahead log record at {} of {}", start, segment);
+                    break;
+                }
+                handler.apply(type, new DataInputStream(new ByteArrayInputStream(payload)));
+            }
+        }
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    void open(long generation) throws IOException {
+        close();
+        channel = FileChannel.open(segment(directory, generation), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(MapMode.READ_WRITE, 0, segmentSize);
+        forcedPosition = 0;
+        this.generation = generation;
+    }
+
+    void append(byte type, byte[] payload) throws IOException {
+        var length = HEADER_BYTES + payload.length;
+        if (length > segmentSize) {
+            throw new IOException("Record of %d bytes exceeds the %d byte segment size"
+                .formatted(length, segmentSize));
+        }
+        if (length > buffer.remaining()) {
+            roll();
+        }
+        buffer.putInt(payload.length).putInt(checksum(type, payload)).put(type).put(payload);
+    }
+
+    void flush() {
+        var position = buffer.position();
+        if (sync && position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+        }
+        forcedPosition = position;
+    }
+
+    /**
+     * Starts the next generation. Records appended afterwards replay after everything before.
+     */
+    long roll() throws IOException {
+        open(generation + 1);
+        return generation;
+    }
+
+    /**
+     * Forces outstanding appends and closes the segment. The mapping itself is released when it
+     * is garbage collected.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            flush();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        var crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
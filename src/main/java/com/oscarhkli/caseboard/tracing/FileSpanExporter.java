@@ -0,0 +1,116 @@
+package com.oscarhkli.caseboard.tracing;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends each batch of spans to a file as one line of OTLP JSON (an
+ * {@code ExportTraceServiceRequest}), the format the OpenTelemetry Collector's file receiver
+ * reads.
+ * <p>
+ * The SDK has no public file exporter, so spans are serialized by
+ * {@link OtlpJsonLoggingSpanExporter}, which logs the spans of each resource as a JSON line to a
+ * {@code java.util.logging} logger. While this exporter is open, that logger's records go only to
+ * a handler writing to the file, which stays open until {@link #shutdown}.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private static final byte[] PREFIX = "{\"resourceSpans\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "]}\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Path path;
+    private final FileChannel channel;
+    // held, as the log manager only keeps weak references to its loggers
+    private final Logger logger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+    private final FileHandler handler = new FileHandler();
+    private final SpanExporter delegate;
+    private IOException failure;
+
+    public FileSpanExporter(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        logger.addHandler(handler);
+        this.delegate = OtlpJsonLoggingSpanExporter.create();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        failure = null;
+        var result = delegate.export(spans);
+        if (failure != null) {
+            log.warn("Could not write {} spans to {}: {}", spans.size(), path,
+                failure.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        delegate.shutdown();
+        logger.removeHandler(handler);
+        logger.setUseParentHandlers(true);
+        try {
+            channel.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Could not close {}: {}", path, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    /**
+     * Called on the exporting thread, inside {@link #export}.
+     */
+    private class FileHandler extends Handler {
+
+        @Override
+        public void publish(LogRecord logRecord) {
+            var json = logRecord.getMessage().getBytes(StandardCharsets.UTF_8);
+            var line = ByteBuffer.allocate(PREFIX.length + json.length + SUFFIX.length)
+                .put(PREFIX).put(json).put(SUFFIX).flip();
+            try {
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.oscarhkli.caseboard.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Observes each Hibernate flush as {@code hibernate.flush}, so the dirty checking and the
+ * statements it issues show as one span between the service method and its SQL.
+ * <p>
+ * One listener is added to each session as the entity manager factory opens it. A session is used
+ * by one thread at a time, so the open observation needs no synchronization.
+ */
+public class FlushObservationListener extends BaseSessionEventListener {
+
+    private final ObservationRegistry observationRegistry;
+    private Observation observation;
+    private Observation.Scope scope;
+
+    public FlushObservationListener(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public void flushStart() {
+        start("full");
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        stop(numberOfEntities, numberOfCollections);
+    }
+
+    @Override
+    public void partialFlushStart() {
+        start("partial");
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        stop(numberOfEntities, numberOfCollections);
+    }
+
+    @Override
+    public void end() {
+        stop(0, 0);
+    }
+
+    private void start(String type) {
+        if (observation != null) {
+            return;
+        }
+        observation = Observation.createNotStarted("hibernate.flush", observationRegistry)
+            .lowCardinalityKeyValue("type", type)
+            .start();
+        scope = observation.openScope();
+    }
+
+    private void stop(int numberOfEntities, int numberOfCollections) {
+        if (observation == null) {
+            return;
+        }
+        scope.close();
+        observation.highCardinalityKeyValue("entities", String.valueOf(numberOfEntities))
+            .highCardinalityKeyValue("collections", String.valueOf(numberOfCollections))
+            .stop();
+        observation = null;
+        scope = null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.oscarhkli.caseboard.tracing;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Where finished spans are written besides the OTLP endpoint, if one is set with
+ * {@code management.otlp.tracing.endpoint}.
+ */
+@ConfigurationProperties(prefix = "case-board.tracing")
+public record TracingProperties(@DefaultValue("none") Exporter exporter,
+                                @DefaultValue File file) {
+
+    public enum Exporter {
+        NONE,
+        LOGGING,
+        FILE
+    }
+
+    public record File(@DefaultValue("data/traces.ndjson") Path path) {
+
+    }
+}
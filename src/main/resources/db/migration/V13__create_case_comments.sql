@@ -0,0 +1,11 @@
+create table if not exists case_comments
+(
+    id               bigint       not null auto_increment,
+    case_id          bigint       not null,
+    author           varchar(255) not null,
+    body             text         not null,
+    created_datetime timestamp,
+    primary key (id)
+);
+
+create index idx_case_comments_case_id on case_comments (case_id, id);
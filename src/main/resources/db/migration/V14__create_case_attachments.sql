@@ -0,0 +1,13 @@
+create table if not exists case_attachments
+(
+    id               bigint       not null auto_increment,
+    case_id          bigint       not null,
+    file_name        varchar(255) not null,
+    content_type     varchar(255) not null,
+    size_bytes       bigint       not null,
+    storage_key      varchar(64)  not null unique,
+    created_datetime timestamp,
+    primary key (id)
+);
+
+create index idx_case_attachments_case_id on case_attachments (case_id, id);
@@ -0,0 +1,18 @@
+-- Cases moved out of the hot cases table by CaseArchiver. Same columns plus archived_at; ids are
+-- kept, and case numbers are not unique here since a number may be reused once archived.
+create table if not exists case_archive
+(
+    id                      bigint       not null,
+    case_number             varchar(255) not null,
+    title                   varchar(255) not null,
+    description             text,
+    status                  varchar(255) not null,
+    created_datetime        timestamp,
+    last_modified_datetime  timestamp,
+    status_changed_datetime timestamp null,
+    archived_at             timestamp    not null,
+    primary key (id)
+);
+
+create index idx_case_archive_case_number on case_archive (case_number);
+create index idx_case_archive_archived_at on case_archive (archived_at);
@@ -0,0 +1,12 @@
+alter table cases add column assignee varchar(255) null;
+
+alter table case_archive add column assignee varchar(255) null;
+
+-- Open cases per assignee, maintained by OpenCaseCountService in the transaction of each case
+-- write. No case had an assignee before this migration, so there is nothing to seed.
+create table if not exists case_assignee_open_count
+(
+    assignee   varchar(255) not null,
+    open_cases bigint       not null default 0,
+    primary key (assignee)
+);
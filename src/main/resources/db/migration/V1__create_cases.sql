@@ -0,0 +1,13 @@
+create table if not exists cases
+(
+    id                     bigint       not null auto_increment,
+    case_number            varchar(255) not null unique,
+    title                  varchar(255) not null,
+    description            text,
+    status                 varchar(255) not null,
+    created_datetime       timestamp,
+    last_modified_datetime timestamp,
+    primary key (id)
+);
+
+create index idx_cases_id on cases (id);
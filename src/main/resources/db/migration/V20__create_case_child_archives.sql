@@ -0,0 +1,28 @@
+-- Comments and attachment records of archived cases, moved by CaseArchiver in the same batch as
+-- their case. Same columns as the hot tables; ids are kept. Attachment content stays in the
+-- attachment store under the same storage key.
+create table if not exists case_comment_archive
+(
+    id               bigint       not null,
+    case_id          bigint       not null,
+    author           varchar(255) not null,
+    body             text         not null,
+    created_datetime timestamp,
+    primary key (id)
+);
+
+create index idx_case_comment_archive_case_id on case_comment_archive (case_id, id);
+
+create table if not exists case_attachment_archive
+(
+    id               bigint       not null,
+    case_id          bigint       not null,
+    file_name        varchar(255) not null,
+    content_type     varchar(255) not null,
+    size_bytes       bigint       not null,
+    storage_key      varchar(64)  not null,
+    created_datetime timestamp,
+    primary key (id)
+);
+
+create index idx_case_attachment_archive_case_id on case_attachment_archive (case_id, id);
@@ -0,0 +1,5 @@
+-- Keyset pages of archived cases, for listings that include the archive. Other sort keys and
+-- status filters are served from these or sorted, as the archive is rarely listed.
+create index idx_case_archive_last_modified on case_archive (last_modified_datetime, id);
+create index idx_case_archive_assignee_last_modified
+    on case_archive (assignee, last_modified_datetime, id);
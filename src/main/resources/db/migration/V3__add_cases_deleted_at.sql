@@ -0,0 +1 @@
+alter table cases add column deleted_at timestamp null;
@@ -0,0 +1,21 @@
+alter table cases add column status_changed_datetime timestamp null;
+
+create table if not exists case_daily_rollup
+(
+    bucket_date    date         not null,
+    status         varchar(255) not null,
+    shard          int          not null,
+    created        bigint       not null default 0,
+    entered        bigint       not null default 0,
+    exited         bigint       not null default 0,
+    exited_seconds bigint       not null default 0,
+    primary key (bucket_date, status, shard)
+);
+
+-- Seed creation counts from existing cases. Only the current status is known, so history before
+-- this migration is attributed to it and has no status transitions.
+insert into case_daily_rollup (bucket_date, status, shard, created, entered, exited, exited_seconds)
+select cast(created_datetime as date), status, 0, count(*), count(*), 0, 0
+from cases
+where created_datetime is not null
+group by cast(created_datetime as date), status;
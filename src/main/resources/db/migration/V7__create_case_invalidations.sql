@@ -0,0 +1,10 @@
+create table if not exists case_invalidations
+(
+    id         bigint      not null auto_increment,
+    case_id    bigint      not null,
+    node_id    varchar(64) not null,
+    created_at timestamp   not null,
+    primary key (id)
+);
+
+create index idx_case_invalidations_created_at on case_invalidations (created_at);
@@ -0,0 +1,9 @@
+create table if not exists case_outbox
+(
+    id         bigint      not null auto_increment,
+    case_id    bigint      not null,
+    event_type varchar(16) not null,
+    payload    text,
+    created_at timestamp   not null,
+    primary key (id)
+);
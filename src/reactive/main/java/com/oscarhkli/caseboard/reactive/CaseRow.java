@@ -0,0 +1,65 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.api.Case;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code cases} table; the JPA counterpart is
+ * {@link com.oscarhkli.caseboard.entity.CaseEntity}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("cases")
+public class CaseRow {
+
+    @Id
+    Long id;
+
+    @Column("case_number")
+    String caseNumber;
+
+    String title;
+
+    String description;
+
+    String status;
+
+    String assignee;
+
+    @CreatedDate
+    @Column("created_datetime")
+    LocalDateTime createdDateTime;
+
+    @LastModifiedDate
+    @Column("last_modified_datetime")
+    LocalDateTime lastModifiedDateTime;
+
+    @Column("status_changed_datetime")
+    LocalDateTime statusChangedDateTime;
+
+    @Column("deleted_at")
+    LocalDateTime deletedAt;
+
+    public Case toCase() {
+        return Case.builder().id(id).caseNumber(caseNumber).title(title).description(description)
+            .status(status).assignee(assignee).createdDateTime(createdDateTime)
+            .lastModifiedDateTime(lastModifiedDateTime).build();
+    }
+
+    public static CaseRow of(Case newCase) {
+        return CaseRow.builder().caseNumber(newCase.caseNumber()).title(newCase.title())
+            .description(newCase.description()).status(newCase.status())
+            .assignee(newCase.assignee()).build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.oscarhkli.caseboard.entity.CaseAssigneeCountRepository},
+ * so counter increments join the R2DBC transaction of the case write.
+ */
+@Repository
+public class ReactiveCaseAssigneeCountRepository {
+
+    private static final String MYSQL_UPSERT = """
+        insert into case_assignee_open_count (assignee, open_cases) values (:assignee, :delta)
+        on duplicate key update open_cases = open_cases + values(open_cases)""";
+    private static final String MERGE = """
+        merge into case_assignee_open_count t
+        using (select cast(:assignee as varchar(255)) assignee, cast(:delta as bigint) open_cases) s
+        on t.assignee = s.assignee
+        when matched then update set open_cases = t.open_cases + s.open_cases
+        when not matched then insert (assignee, open_cases) values (s.assignee, s.open_cases)""";
+
+    private final DatabaseClient databaseClient;
+    private final String upsertSql;
+
+    public ReactiveCaseAssigneeCountRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.upsertSql = "MySQL".equalsIgnoreCase(
+            databaseClient.getConnectionFactory().getMetadata().getName()) ? MYSQL_UPSERT : MERGE;
+    }
+
+    public Mono<Void> increment(String assignee, long delta) {
+        return databaseClient.sql(upsertSql).bind("assignee", assignee).bind("delta", delta)
+            .then();
+    }
+}
@@ -0,0 +1,107 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.api.CaseGetResponse;
+import com.oscarhkli.caseboard.api.CasesFindResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux version of {@link com.oscarhkli.caseboard.api.CaseController} with the same paths,
+ * payloads and {@link com.oscarhkli.caseboard.api.ApiErrorResponse} errors. The list endpoint
+ * additionally streams {@code application/x-ndjson}, honouring client backpressure.
+ */
+@RestController
+@Slf4j
+@Validated
+@AllArgsConstructor
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080",
+    "https://localhost:8080",})
+public class ReactiveCaseController {
+
+    private final ReactiveCaseService reactiveCaseService;
+
+    @Operation(summary = "Retrieve all cases", description = "Fetches a list of all cases.")
+    @GetMapping(value = "/v1/cases", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CasesFindResponse> getCases(@RequestHeader HttpHeaders headers) {
+        log.info("getCases request: [referer: {}, user-agent: {}]",
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.findAllCases().collectList().map(CasesFindResponse::of)
+            .doOnNext(casesFindResponse -> log.info("getCases response size: {}",
+                casesFindResponse.data().size()));
+    }
+
+    @Operation(summary = "Stream all cases", description = "Streams all cases as NDJSON.")
+    @GetMapping(value = "/v1/cases", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Case> streamCases(@RequestHeader HttpHeaders headers) {
+        log.info("streamCases request: [referer: {}, user-agent: {}]",
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.findAllCases();
+    }
+
+    @Operation(summary = "Retrieve a specific case", description = "Fetches a case by its ID.")
+    @GetMapping(value = "/v1/cases/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<CaseGetResponse>> getCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id) {
+        log.info("getCase request: {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.findCaseById(id).map(CaseGetResponse::of)
+            .map(caseGetResponse -> {
+                log.info("Case {} found", id);
+                return ResponseEntity.ok(caseGetResponse);
+            }).defaultIfEmpty(ResponseEntity.notFound().build())
+            .doOnNext(response -> {
+                if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    log.info("Case {} not found", id);
+                }
+            });
+    }
+
+    @Operation(summary = "Create a new case", description = "Inserts a new case into the system.")
+    @PostMapping("/v1/cases")
+    public Mono<ResponseEntity<Long>> insertCase(@RequestHeader HttpHeaders headers,
+        @RequestBody @NotNull @Valid Case newCase) {
+        log.info("insertCase request caseNumber: {} [referer: {}, user-agent: {}]",
+            newCase.caseNumber(), headers.getOrEmpty(HttpHeaders.REFERER),
+            headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.insertCase(newCase).map(caseId -> {
+            log.info("New case inserted with caseId: {}", caseId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(caseId);
+        });
+    }
+
+    @Operation(summary = "Update an existing case", description = "Updates a case by its ID.")
+    @PutMapping(value = "/v1/cases/{id}")
+    public Mono<ResponseEntity<Boolean>> updateCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id, @RequestBody @NotNull @Valid Case updatedCase) {
+        log.info("updateCase request id: {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.updateCase(id, updatedCase)
+            .thenReturn(ResponseEntity.ok(true));
+    }
+
+    @Operation(summary = "Delete a case", description = "Deletes a case by its ID.")
+    @DeleteMapping(value = "/v1/cases/{id}")
+    public Mono<ResponseEntity<Void>> deleteCase(@RequestHeader HttpHeaders headers,
+        @PathVariable Long id) {
+        log.info("deleteCase request id: {} [referer: {}, user-agent: {}]", id,
+            headers.getOrEmpty(HttpHeaders.REFERER), headers.getOrEmpty(HttpHeaders.USER_AGENT));
+        return reactiveCaseService.deleteCaseById(id)
+            .thenReturn(ResponseEntity.noContent().build());
+    }
+}
@@ -0,0 +1,69 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.api.ApiErrorResponse;
+import com.oscarhkli.caseboard.api.ApiErrorResponse.ApiError;
+import com.oscarhkli.caseboard.api.ApiErrorResponse.ErrorDetails;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Maps WebFlux exceptions onto the same {@link ApiErrorResponse} shape as
+ * {@link com.oscarhkli.caseboard.api.CaseControllerAdvice}.
+ */
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RestControllerAdvice(assignableTypes = {ReactiveCaseController.class})
+public class ReactiveCaseControllerAdvice {
+
+    @ExceptionHandler(value = {CaseOperationException.class})
+    public ResponseEntity<ApiErrorResponse> handleCaseOperation(CaseOperationException ex) {
+        var errors = new ArrayList<ErrorDetails>();
+        if (ex.getCause() != null) {
+            errors.add(new ErrorDetails(ex.getCause().getClass().getSimpleName(),
+                ex.getCause().getMessage()));
+        }
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.INTERNAL_SERVER_ERROR.value()),
+                ex.getMessage(), errors));
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {WebExchangeBindException.class})
+    public ResponseEntity<ApiErrorResponse> handleWebExchangeBind(
+        final WebExchangeBindException ex) {
+        var errors = ex.getBindingResult().getAllErrors().stream().map(
+                error -> new ErrorDetails(((FieldError) error).getField(), error.getDefaultMessage()))
+            .toList();
+        var errorResponse = new ApiErrorResponse(
+            new ApiError(Integer.toString(HttpStatus.BAD_REQUEST.value()), ex.getLocalizedMessage(),
+                errors));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(value = {ServerWebInputException.class})
+    public ResponseEntity<ApiErrorResponse> handleServerWebInput(final ServerWebInputException ex) {
+        ApiError apiError;
+        if (ex.getCause() instanceof TypeMismatchException typeMismatch
+            && ex.getMethodParameter() != null) {
+            apiError = new ApiError(Integer.toString(HttpStatus.BAD_REQUEST.value()),
+                ex.getLocalizedMessage(), List.of(
+                new ErrorDetails(typeMismatch.getClass().getSimpleName(),
+                    "%s %s".formatted(ex.getMethodParameter().getParameterName(),
+                        typeMismatch.getValue()))));
+        } else {
+            apiError = new ApiError(Integer.toString(HttpStatus.BAD_REQUEST.value()),
+                "Required request body is missing", List.of());
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiErrorResponse(apiError));
+    }
+}
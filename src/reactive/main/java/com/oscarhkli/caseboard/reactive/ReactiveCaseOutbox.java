@@ -0,0 +1,44 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import lombok.AllArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Appends to {@code case_outbox} through R2DBC, so events join the transaction of the case write
+ * like {@link CaseOutbox#appendChange} does over JDBC. Payloads and the enabled switch come from
+ * {@link CaseOutbox}, and its relay delivers the rows.
+ */
+@Repository
+@AllArgsConstructor
+public class ReactiveCaseOutbox {
+
+    private final DatabaseClient databaseClient;
+    private final CaseOutbox caseOutbox;
+
+    public Mono<Void> appendChange(CaseEventType type, CaseRow caseRow) {
+        return append(caseRow.getId(), type, caseOutbox.payload(caseRow.getId(),
+            caseRow.getCaseNumber(), caseRow.getTitle(), caseRow.getDescription(),
+            caseRow.getStatus()));
+    }
+
+    public Mono<Void> appendDeleted(long caseId) {
+        return append(caseId, CaseEventType.DELETED, null);
+    }
+
+    private Mono<Void> append(long caseId, CaseEventType type, String payload) {
+        if (!caseOutbox.isEnabled()) {
+            return Mono.empty();
+        }
+        var spec = databaseClient.sql("""
+                insert into case_outbox (case_id, event_type, payload, created_at)
+                values (:caseId, :eventType, :payload, current_timestamp)""")
+            .bind("caseId", caseId).bind("eventType", type.name());
+        spec = payload == null ? spec.bindNull("payload", String.class)
+            : spec.bind("payload", payload);
+        return spec.then();
+    }
+}
@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.reactive;
+
+import java.time.LocalDateTime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tombstones have to be filtered explicitly here; there is no R2DBC equivalent of the
+ * {@code @SQLRestriction} on {@link com.oscarhkli.caseboard.entity.CaseEntity}.
+ */
+@Repository
+public interface ReactiveCaseRepository extends R2dbcRepository<CaseRow, Long> {
+
+    @Query("select * from cases where deleted_at is null order by id")
+    Flux<CaseRow> findAllLive();
+
+    @Query("select * from cases where id = :id and deleted_at is null")
+    Mono<CaseRow> findLiveById(@Param("id") long id);
+
+    /**
+     * Live case by id, row-locked until the surrounding transaction ends, so writes that move it
+     * between open case counts cannot interleave on one case.
+     */
+    @Query("select * from cases where id = :id and deleted_at is null for update")
+    Mono<CaseRow> findLiveByIdForUpdate(@Param("id") long id);
+
+    @Modifying
+    @Query("""
+        update cases set deleted_at = :deletedAt, last_modified_datetime = :deletedAt
+        where id = :id and deleted_at is null""")
+    Mono<Integer> softDeleteById(@Param("id") long id, @Param("deletedAt") LocalDateTime deletedAt);
+}
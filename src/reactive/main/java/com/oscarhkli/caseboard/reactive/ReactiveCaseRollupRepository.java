@@ -0,0 +1,56 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.entity.CaseRollupRepository;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CaseRollupRepository#increment}, spreading increments over
+ * the same {@link CaseRollupRepository#SHARDS} rows, so rollups join the R2DBC transaction of the
+ * case write.
+ */
+@Repository
+public class ReactiveCaseRollupRepository {
+
+    private static final String MYSQL_UPSERT = """
+        insert into case_daily_rollup
+        (bucket_date, status, shard, created, entered, exited, exited_seconds)
+        values (:date, :status, :shard, :created, :entered, :exited, :exitedSeconds)
+        on duplicate key update created = created + values(created),
+        entered = entered + values(entered), exited = exited + values(exited),
+        exited_seconds = exited_seconds + values(exited_seconds)""";
+    private static final String MERGE = """
+        merge into case_daily_rollup t
+        using (select cast(:date as date) bucket_date, cast(:status as varchar(255)) status,
+        cast(:shard as int) shard, cast(:created as bigint) created,
+        cast(:entered as bigint) entered, cast(:exited as bigint) exited,
+        cast(:exitedSeconds as bigint) exited_seconds) s
+        on t.bucket_date = s.bucket_date and t.status = s.status and t.shard = s.shard
+        when matched then update set created = t.created + s.created,
+        entered = t.entered + s.entered, exited = t.exited + s.exited,
+        exited_seconds = t.exited_seconds + s.exited_seconds
+        when not matched then insert
+        (bucket_date, status, shard, created, entered, exited, exited_seconds)
+        values (s.bucket_date, s.status, s.shard, s.created, s.entered, s.exited,
+        s.exited_seconds)""";
+
+    private final DatabaseClient databaseClient;
+    private final String upsertSql;
+
+    public ReactiveCaseRollupRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+        this.upsertSql = "MySQL".equalsIgnoreCase(
+            databaseClient.getConnectionFactory().getMetadata().getName()) ? MYSQL_UPSERT : MERGE;
+    }
+
+    public Mono<Void> increment(LocalDate date, String status, long created, long entered,
+        long exited, long exitedSeconds) {
+        return databaseClient.sql(upsertSql).bind("date", date).bind("status", status)
+            .bind("shard", ThreadLocalRandom.current().nextInt(CaseRollupRepository.SHARDS))
+            .bind("created", created).bind("entered", entered).bind("exited", exited)
+            .bind("exitedSeconds", exitedSeconds).then();
+    }
+}
@@ -0,0 +1,136 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.OpenCaseCountService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of {@link com.oscarhkli.caseboard.CaseService}. Open case counts, daily
+ * rollups and outbox events are written in the R2DBC transaction of each write, with the case row
+ * locked while it moves between counts, and the change is published on the
+ * {@link InvalidationBus} after commit.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ReactiveCaseService {
+
+    private final ReactiveCaseRepository reactiveCaseRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final Clock clock;
+    private final ReactiveCaseAssigneeCountRepository reactiveCaseAssigneeCountRepository;
+    private final OpenCaseCountService openCaseCountService;
+    private final ReactiveCaseOutbox reactiveCaseOutbox;
+    private final ReactiveCaseRollupRepository reactiveCaseRollupRepository;
+    private final InvalidationBus invalidationBus;
+
+    public Flux<Case> findAllCases() {
+        return reactiveCaseRepository.findAllLive().map(CaseRow::toCase);
+    }
+
+    public Mono<Case> findCaseById(long id) {
+        return reactiveCaseRepository.findLiveById(id).map(CaseRow::toCase);
+    }
+
+    public Mono<Long> insertCase(Case newCase) {
+        var now = LocalDateTime.now(clock);
+        var newRow = CaseRow.of(newCase);
+        newRow.setStatusChangedDateTime(now);
+        return reactiveCaseRepository.save(newRow)
+            .flatMap(caseRow -> recordChange(null, null, caseRow.getAssignee(),
+                    caseRow.getStatus())
+                .then(reactiveCaseRollupRepository.increment(now.toLocalDate(),
+                    caseRow.getStatus(), 1, 1, 0, 0))
+                .then(reactiveCaseOutbox.appendChange(CaseEventType.CREATED, caseRow))
+                .thenReturn(caseRow.getId()))
+            .as(transactionalOperator::transactional)
+            .onErrorMap(DataIntegrityViolationException.class, e -> {
+                log.error(e.getMessage());
+                return new CaseOperationException(
+                    "Case number %s cannot be reused".formatted(newCase.caseNumber()));
+            })
+            // cached status queries on other nodes do not list the new case yet
+            .flatMap(id -> publish(id).thenReturn(id));
+    }
+
+    public Mono<Void> updateCase(long id, Case updatedCase) {
+        return reactiveCaseRepository.findLiveByIdForUpdate(id)
+            .switchIfEmpty(Mono.error(
+                () -> new CaseOperationException("Case <id: %d> not found".formatted(id))))
+            .flatMap(caseRow -> {
+                var fromStatus = caseRow.getStatus();
+                var rollups = Objects.equals(fromStatus, updatedCase.status()) ? Mono.<Void>empty()
+                    : recordStatusChange(caseRow, updatedCase.status());
+                caseRow.setTitle(updatedCase.title());
+                caseRow.setDescription(updatedCase.description());
+                caseRow.setStatus(updatedCase.status());
+                return reactiveCaseRepository.save(caseRow).flatMap(saved -> recordChange(
+                        saved.getAssignee(), fromStatus, saved.getAssignee(), saved.getStatus())
+                    .then(rollups)
+                    .then(reactiveCaseOutbox.appendChange(CaseEventType.UPDATED, saved)));
+            }).thenReturn(id).as(transactionalOperator::transactional).flatMap(this::publish);
+    }
+
+    public Mono<Void> deleteCaseById(long id) {
+        return reactiveCaseRepository.findLiveByIdForUpdate(id)
+            .flatMap(caseRow -> reactiveCaseRepository.softDeleteById(id,
+                    LocalDateTime.now(clock)).filter(deleted -> deleted > 0)
+                .flatMap(deleted -> recordChange(caseRow.getAssignee(), caseRow.getStatus(), null,
+                    null).then(reactiveCaseOutbox.appendDeleted(id)).thenReturn(id)))
+            .as(transactionalOperator::transactional).flatMap(this::publish);
+    }
+
+    /**
+     * Publishes once the R2DBC transaction has committed, since buses only defer delivery for
+     * JDBC transactions. A crash in between leaves other nodes' cached copies until they expire.
+     */
+    private Mono<Void> publish(long caseId) {
+        return Mono.fromRunnable(() -> invalidationBus.publish(caseId))
+            .subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
+    /**
+     * Same increments as {@link com.oscarhkli.caseboard.CaseMetricsService#recordStatusChange},
+     * written through R2DBC, restarting the clock of {@code caseRow} in its new status.
+     */
+    private Mono<Void> recordStatusChange(CaseRow caseRow, String newStatus) {
+        var now = LocalDateTime.now(clock);
+        var since = Objects.requireNonNullElse(caseRow.getStatusChangedDateTime(),
+            Objects.requireNonNullElse(caseRow.getCreatedDateTime(), now));
+        var seconds = Math.max(0, Duration.between(since, now).toSeconds());
+        caseRow.setStatusChangedDateTime(now);
+        return reactiveCaseRollupRepository.increment(now.toLocalDate(), caseRow.getStatus(), 0,
+                0, 1, seconds)
+            .then(reactiveCaseRollupRepository.increment(now.toLocalDate(), newStatus, 0, 1, 0,
+                0));
+    }
+
+    /**
+     * Same moves as {@link OpenCaseCountService#recordChange}, written through R2DBC.
+     */
+    private Mono<Void> recordChange(String fromAssignee, String fromStatus, String toAssignee,
+        String toStatus) {
+        var wasCounted = openCaseCountService.isCounted(fromAssignee, fromStatus);
+        var isCounted = openCaseCountService.isCounted(toAssignee, toStatus);
+        if (wasCounted && isCounted && fromAssignee.equals(toAssignee)) {
+            return Mono.empty();
+        }
+        return (wasCounted ? reactiveCaseAssigneeCountRepository.increment(fromAssignee, -1)
+            : Mono.<Void>empty()).then(isCounted
+            ? reactiveCaseAssigneeCountRepository.increment(toAssignee, 1) : Mono.empty());
+    }
+}
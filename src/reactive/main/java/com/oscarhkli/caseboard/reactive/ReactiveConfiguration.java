@@ -0,0 +1,36 @@
+package com.oscarhkli.caseboard.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Boot backs off its JDBC {@code DataSource} and JPA transaction manager once R2DBC is configured,
+ * but Flyway, JPA and the tombstone purge still run over JDBC, so both are declared here. Reactive
+ * code uses the auto-configured {@code TransactionalOperator} on the R2DBC manager.
+ */
+@Configuration
+@EnableR2dbcAuditing(dateTimeProviderRef = "auditingDateTimeProvider")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+            .build();
+    }
+
+    @Bean
+    @Primary
+    JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
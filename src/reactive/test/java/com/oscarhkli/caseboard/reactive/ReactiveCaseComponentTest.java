@@ -0,0 +1,303 @@
+package com.oscarhkli.caseboard.reactive;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.api.ApiErrorResponse;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.api.CaseGetResponse;
+import com.oscarhkli.caseboard.api.CasesFindResponse;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive",
+    "spring.datasource.url=jdbc:h2:mem:case-board-reactive;DB_CLOSE_DELAY=-1",
+    "spring.r2dbc.url=r2dbc:h2:mem:///case-board-reactive;DB_CLOSE_DELAY=-1",
+    "spring.r2dbc.username=sa", "spring.r2dbc.password=password",
+    "case-board.outbox.poll-interval=PT1H"})
+@AutoConfigureWebTestClient
+class ReactiveCaseComponentTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    InvalidationBus invalidationBus;
+
+    @BeforeEach
+    void init() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "cases", "case_assignee_open_count",
+            "case_outbox", "case_daily_rollup");
+        IntStream.rangeClosed(1, 5).forEach(i -> jdbcTemplate.update("""
+                insert into cases (case_number, title, description, status, created_datetime,
+                last_modified_datetime) values (?, ?, ?, ?, current_timestamp, current_timestamp)""",
+            "CASE%03d".formatted(i), "Title %d".formatted(i), "Desc %d".formatted(i),
+            "Status %d".formatted(i)));
+    }
+
+    Long idOf(String caseNumber) {
+        return jdbcTemplate.queryForObject("select id from cases where case_number = ?",
+            Long.class, caseNumber);
+    }
+
+    long openCasesOf(String assignee) {
+        return jdbcTemplate.query(
+                "select open_cases from case_assignee_open_count where assignee = ?",
+                (rs, rowNum) -> rs.getLong(1), assignee).stream().findFirst().orElse(0L);
+    }
+
+    @Nested
+    @DisplayName("Test getCases")
+    class GetCasesTest {
+
+        @Test
+        @DisplayName("""
+            Given some cases exist, \
+            When getCases as JSON, \
+            Then can return 200 with CasesFindResponse""")
+        void getCasesFindResponse() {
+            var response = webTestClient.get().uri("/api/v1/cases")
+                .accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isOk()
+                .expectBody(CasesFindResponse.class).returnResult().getResponseBody();
+
+            then(response).isNotNull();
+            then(response.data()).extracting(Case::caseNumber)
+                .containsExactlyInAnyOrder("CASE001", "CASE002", "CASE003", "CASE004", "CASE005");
+        }
+
+        @Test
+        @DisplayName("""
+            Given some cases exist and one is deleted, \
+            When getCases as NDJSON, \
+            Then can stream the live cases""")
+        void streamCases() {
+            webTestClient.delete().uri("/api/v1/cases/{id}", idOf("CASE005")).exchange()
+                .expectStatus().isNoContent();
+
+            var cases = webTestClient.get().uri("/api/v1/cases")
+                .accept(MediaType.APPLICATION_NDJSON).exchange().expectStatus().isOk()
+                .returnResult(Case.class).getResponseBody().collectList().block();
+
+            then(cases).extracting(Case::caseNumber)
+                .containsExactlyInAnyOrder("CASE001", "CASE002", "CASE003", "CASE004");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getCase")
+    class GetCaseTest {
+
+        @Test
+        @DisplayName("""
+            Given case exists, \
+            When getCase, \
+            Then can return 200 with CaseGetResponse""")
+        void getCase() {
+            var response = webTestClient.get().uri("/api/v1/cases/{id}", idOf("CASE002"))
+                .exchange().expectStatus().isOk().expectBody(CaseGetResponse.class)
+                .returnResult().getResponseBody();
+
+            then(response).isNotNull();
+            then(response.data().title()).isEqualTo("Title 2");
+        }
+
+        @Test
+        @DisplayName("""
+            Given case does not exist, \
+            When getCase, \
+            Then can return 404""")
+        void getCaseNotFound() {
+            webTestClient.get().uri("/api/v1/cases/{id}", 999L).exchange().expectStatus()
+                .isNotFound();
+        }
+
+        @Test
+        @DisplayName("""
+            Given id is not a number, \
+            When getCase, \
+            Then can return 400 with ApiErrorResponse""")
+        void getCaseTypeMismatch() {
+            var response = webTestClient.get().uri("/api/v1/cases/ABC").exchange().expectStatus()
+                .isBadRequest().expectBody(ApiErrorResponse.class).returnResult()
+                .getResponseBody();
+
+            then(response).isNotNull();
+            then(response.error().code()).isEqualTo("400");
+            then(response.error().errors()).singleElement()
+                .satisfies(details -> then(details.message()).isEqualTo("id ABC"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test insertCase, updateCase and deleteCase")
+    class WriteTest {
+
+        @Test
+        @DisplayName("""
+            Given a new case, \
+            When insertCase then updateCase, \
+            Then can return 201 with the id and persist the update""")
+        void insertThenUpdate() {
+            var newCase = Case.builder().caseNumber("CASE006").title("Title 6").status("OPEN")
+                .build();
+            var id = webTestClient.post().uri("/api/v1/cases").bodyValue(newCase).exchange()
+                .expectStatus().isCreated().expectBody(Long.class).returnResult()
+                .getResponseBody();
+            then(id).isEqualTo(idOf("CASE006"));
+
+            var updatedCase = Case.builder().caseNumber("CASE006").title("Title 6a")
+                .status("CLOSED").build();
+            webTestClient.put().uri("/api/v1/cases/{id}", id).bodyValue(updatedCase).exchange()
+                .expectStatus().isOk().expectBody(Boolean.class).isEqualTo(true);
+
+            then(jdbcTemplate.queryForObject("select status from cases where id = ?",
+                String.class, id)).isEqualTo("CLOSED");
+        }
+
+        @Test
+        @DisplayName("""
+            Given a new case assigned to someone, \
+            When insertCase, close another then deleteCase, \
+            Then can keep their open case count""")
+        void maintainOpenCaseCount() {
+            var ids = IntStream.rangeClosed(6, 7).mapToObj(i -> webTestClient.post()
+                .uri("/api/v1/cases").bodyValue(Case.builder().caseNumber("CASE%03d".formatted(i))
+                    .title("Title %d".formatted(i)).status("OPEN").assignee("alice").build())
+                .exchange().expectStatus().isCreated().expectBody(Long.class).returnResult()
+                .getResponseBody()).toList();
+            then(openCasesOf("alice")).isEqualTo(2);
+
+            webTestClient.put().uri("/api/v1/cases/{id}", ids.getFirst()).bodyValue(
+                    Case.builder().caseNumber("CASE006").title("Title 6").status("CLOSED")
+                        .build()).exchange().expectStatus().isOk();
+            then(openCasesOf("alice")).isOne();
+
+            webTestClient.delete().uri("/api/v1/cases/{id}", ids.getLast()).exchange()
+                .expectStatus().isNoContent();
+            webTestClient.delete().uri("/api/v1/cases/{id}", ids.getLast()).exchange()
+                .expectStatus().isNoContent();
+            then(openCasesOf("alice")).isZero();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a new case, \
+            When insertCase then updateCase its status, \
+            Then can count it in the daily rollups and restart its status clock""")
+        void maintainDailyRollups() {
+            var id = webTestClient.post().uri("/api/v1/cases").bodyValue(Case.builder()
+                    .caseNumber("CASE006").title("Title 6").status("OPEN").build()).exchange()
+                .expectStatus().isCreated().expectBody(Long.class).returnResult()
+                .getResponseBody();
+            var created = jdbcTemplate.queryForObject(
+                "select status_changed_datetime from cases where id = ?", LocalDateTime.class, id);
+            then(created).isNotNull();
+
+            webTestClient.put().uri("/api/v1/cases/{id}", id).bodyValue(Case.builder()
+                    .caseNumber("CASE006").title("Title 6").status("CLOSED").build()).exchange()
+                .expectStatus().isOk();
+
+            then(jdbcTemplate.query("""
+                    select status, sum(created), sum(entered), sum(exited) from case_daily_rollup
+                    group by status order by status""",
+                (rs, rowNum) -> List.of(rs.getString(1), rs.getLong(2), rs.getLong(3),
+                    rs.getLong(4))))
+                .containsExactly(List.of("CLOSED", 0L, 1L, 0L), List.of("OPEN", 1L, 1L, 1L));
+            then(jdbcTemplate.queryForObject(
+                "select status_changed_datetime from cases where id = ?", LocalDateTime.class, id))
+                .isAfterOrEqualTo(created);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a new case, \
+            When insertCase, updateCase then deleteCase, \
+            Then can append each change to the outbox and publish its invalidation""")
+        void appendOutboxAndPublish() {
+            var published = new CopyOnWriteArrayList<Long>();
+            invalidationBus.subscribe(published::add);
+            var id = webTestClient.post().uri("/api/v1/cases").bodyValue(Case.builder()
+                    .caseNumber("CASE006").title("Title 6").status("OPEN").build()).exchange()
+                .expectStatus().isCreated().expectBody(Long.class).returnResult()
+                .getResponseBody();
+            webTestClient.put().uri("/api/v1/cases/{id}", id).bodyValue(Case.builder()
+                    .caseNumber("CASE006").title("Title 6a").status("OPEN").build()).exchange()
+                .expectStatus().isOk();
+            webTestClient.delete().uri("/api/v1/cases/{id}", id).exchange().expectStatus()
+                .isNoContent();
+
+            then(jdbcTemplate.queryForList(
+                "select event_type from case_outbox where case_id = ? order by id", String.class,
+                id)).containsExactly("CREATED", "UPDATED", "DELETED");
+            then(jdbcTemplate.queryForObject(
+                "select payload from case_outbox where case_id = ? and event_type = 'UPDATED'",
+                String.class, id)).contains("\"title\":\"Title 6a\"");
+            then(published).containsExactly(id, id, id);
+        }
+
+        @Test
+        @DisplayName("""
+            Given case number is already used, \
+            When insertCase, \
+            Then can return 500 with ApiErrorResponse""")
+        void insertDuplicate() {
+            var newCase = Case.builder().caseNumber("CASE001").title("Title 1").status("OPEN")
+                .build();
+
+            var response = webTestClient.post().uri("/api/v1/cases").bodyValue(newCase)
+                .exchange().expectStatus().is5xxServerError().expectBody(ApiErrorResponse.class)
+                .returnResult().getResponseBody();
+
+            then(response).isNotNull();
+            then(response.error().message()).isEqualTo("Case number CASE001 cannot be reused");
+        }
+
+        @Test
+        @DisplayName("""
+            Given case is missing mandatory fields, \
+            When insertCase, \
+            Then can return 400 with field errors""")
+        void insertInvalid() {
+            var newCase = Case.builder().caseNumber("CASE006").build();
+
+            var response = webTestClient.post().uri("/api/v1/cases").bodyValue(newCase)
+                .exchange().expectStatus().isBadRequest().expectBody(ApiErrorResponse.class)
+                .returnResult().getResponseBody();
+
+            then(response).isNotNull();
+            then(response.error().errors()).extracting(ApiErrorResponse.ErrorDetails::reason)
+                .containsExactlyInAnyOrder("title", "status");
+        }
+
+        @Test
+        @DisplayName("""
+            Given case does not exist, \
+            When updateCase, \
+            Then can return 500 with ApiErrorResponse""")
+        void updateNotFound() {
+            var updatedCase = Case.builder().caseNumber("CASE999").title("Title").status("OPEN")
+                .build();
+
+            var response = webTestClient.put().uri("/api/v1/cases/{id}", 999L)
+                .bodyValue(updatedCase).exchange().expectStatus().is5xxServerError()
+                .expectBody(ApiErrorResponse.class).returnResult().getResponseBody();
+
+            then(response).isNotNull();
+            then(response.error().message()).isEqualTo("Case <id: 999> not found");
+        }
+    }
+}
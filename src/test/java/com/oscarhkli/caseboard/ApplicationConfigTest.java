@@ -0,0 +1,83 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.zaxxer.hikari.HikariConfig;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.actuate.autoconfigure.metrics.PropertiesMeterFilter;
+import org.springframework.boot.context.config.ConfigDataEnvironmentPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Binds the main {@code application.yml}, which the test one shadows on the classpath.
+ */
+class ApplicationConfigTest {
+
+    static Binder binder(String... profiles) {
+        var environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+            "spring.config.location", "file:src/main/resources/application.yml")));
+        ConfigDataEnvironmentPostProcessor.applyTo(environment, new DefaultResourceLoader(),
+            new DefaultBootstrapContext(), List.of(profiles));
+        return Binder.get(environment);
+    }
+
+    @Test
+    @DisplayName("""
+        Given the tuned-datasource and leak-detection profiles, \
+        When bind the Hikari pool settings, \
+        Then can read every timeout in milliseconds""")
+    void bindTunedDatasource() {
+        var hikari = binder("cloud", "tuned-datasource", "leak-detection")
+            .bind("spring.datasource.hikari", Bindable.ofInstance(new HikariConfig())).get();
+
+        then(hikari.getMaximumPoolSize()).isEqualTo(20);
+        then(hikari.getConnectionTimeout()).isEqualTo(3000);
+        then(hikari.getValidationTimeout()).isEqualTo(1000);
+        then(hikari.getMaxLifetime()).isEqualTo(28 * 60_000);
+        then(hikari.getKeepaliveTime()).isEqualTo(5 * 60_000);
+        then(hikari.getLeakDetectionThreshold()).isEqualTo(2000);
+        then(hikari.getDataSourceProperties()).containsEntry("rewriteBatchedStatements", "true");
+    }
+
+    @Test
+    @DisplayName("""
+        Given the main configuration, \
+        When record Hikari wait and usage times through its metric filters, \
+        Then can publish percentiles, a histogram and wait time SLO buckets""")
+    void poolMetricDistributions() {
+        var metricsProperties = binder()
+            .bind("management.metrics", Bindable.ofInstance(new MetricsProperties())).get();
+        var meterFilter = new PropertiesMeterFilter(metricsProperties);
+        var meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(meterFilter);
+        var acquire = meterRegistry.timer("hikaricp.connections.acquire");
+        var usage = meterRegistry.timer("hikaricp.connections.usage");
+
+        acquire.record(Duration.ofMillis(3));
+        usage.record(Duration.ofMillis(20));
+
+        then(acquire.takeSnapshot().percentileValues()).extracting(ValueAtPercentile::percentile)
+            .containsExactly(0.5, 0.95, 0.99);
+        then(acquire.takeSnapshot().histogramCounts())
+            .extracting(countAtBucket -> countAtBucket.bucket(TimeUnit.MILLISECONDS))
+            .contains(1.0, 5.0, 25.0, 100.0, 500.0, 1000.0, 3000.0);
+        then(usage.takeSnapshot().percentileValues()).hasSize(3);
+        then(meterFilter.configure(usage.getId(), DistributionStatisticConfig.DEFAULT)
+            .isPercentileHistogram()).isTrue();
+    }
+}
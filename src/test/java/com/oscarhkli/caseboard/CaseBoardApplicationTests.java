@@ -1,12 +1,84 @@
 package com.oscarhkli.caseboard;
 
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 @SpringBootTest
 class CaseBoardApplicationTests {
 
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    MeterRegistry meterRegistry;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    ObservationRegistry observationRegistry;
+
     @Test
     void contextLoads() {
     }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a connection has been borrowed, \
+        When read the pool metrics, \
+        Then can find wait time, usage and timeouts""")
+    void poolMetrics() {
+        try (var connection = dataSource.getConnection()) {
+            then(connection.isValid(1)).isTrue();
+        }
+
+        var acquire = meterRegistry.get("hikaricp.connections.acquire").timer().takeSnapshot();
+        then(acquire.count()).isPositive();
+        var usage = meterRegistry.get("hikaricp.connections.usage").timer().takeSnapshot();
+        then(usage.count()).isPositive();
+        then(meterRegistry.get("hikaricp.connections.timeout").counter()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("""
+        Given an entity manager from the application's factory, \
+        When flush a new case, \
+        Then can observe the flush as hibernate.flush""")
+    void observeFlush() {
+        List<Observation.Context> flushes = new CopyOnWriteArrayList<>();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                flushes.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return "hibernate.flush".equals(context.getName());
+            }
+        });
+
+        try (var entityManager = entityManagerFactory.createEntityManager()) {
+            var transaction = entityManager.getTransaction();
+            transaction.begin();
+            entityManager.persist(CaseEntity.builder().caseNumber("FLUSH_001").title("Title")
+                .status("OPEN").build());
+            entityManager.flush();
+            transaction.rollback();
+        }
+
+        then(flushes).isNotEmpty();
+    }
 }
@@ -0,0 +1,121 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import com.oscarhkli.caseboard.CaseMetrics.DailyCount;
+import com.oscarhkli.caseboard.entity.CaseDailyRollup;
+import com.oscarhkli.caseboard.entity.CaseRollupRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CaseMetricsServiceTest {
+
+    @Mock
+    CaseRollupRepository caseRollupRepository;
+
+    Clock clock = Clock.fixed(Instant.parse("2025-04-11T10:00:00Z"), ZoneOffset.UTC);
+
+    CaseMetricsService caseMetricsService() {
+        return new CaseMetricsService(caseRollupRepository, clock);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a case moved from OPEN to CLOSED after 90 minutes, \
+        When recordStatusChange, \
+        Then can count an exit from OPEN with its duration and an entry into CLOSED""")
+    void recordStatusChange() {
+        var since = LocalDateTime.of(2025, 4, 10, 23, 0);
+
+        caseMetricsService().recordStatusChange("OPEN", "CLOSED", since, since.plusMinutes(90));
+
+        var date = LocalDate.of(2025, 4, 11);
+        BDDMockito.then(caseRollupRepository).should().increment(date, "OPEN", 0, 0, 1, 5400);
+        BDDMockito.then(caseRollupRepository).should().increment(date, "CLOSED", 0, 1, 0, 0);
+    }
+
+    @Test
+    @DisplayName("""
+        Given rollups over a week boundary, \
+        When findMetrics, \
+        Then can fill empty days and weeks and average time in status over exits""")
+    void findMetrics() {
+        var sunday = LocalDate.of(2025, 4, 6);
+        var monday = LocalDate.of(2025, 4, 7);
+        given(caseRollupRepository.findBetween(sunday, monday.plusDays(1))).willReturn(List.of(
+            new CaseDailyRollup(sunday, "OPEN", 2, 2, 1, 100),
+            new CaseDailyRollup(sunday, "CLOSED", 0, 1, 0, 0),
+            new CaseDailyRollup(monday, "OPEN", 1, 1, 3, 500),
+            new CaseDailyRollup(monday, "CLOSED", 0, 3, 0, 0)));
+
+        var metrics = caseMetricsService().findMetrics(sunday, monday.plusDays(1), "CLOSED");
+
+        then(metrics.createdPerDay()).containsExactly(new DailyCount(sunday, 2),
+            new DailyCount(monday, 1), new DailyCount(monday.plusDays(1), 0));
+        then(metrics.meanSecondsInStatus()).isEqualTo(Map.of("OPEN", 150.0));
+        then(metrics.weeklyThroughput()).containsExactly(
+            new DailyCount(LocalDate.of(2025, 3, 31), 1), new DailyCount(monday, 3));
+    }
+
+    @Test
+    @DisplayName("""
+        Given no range, \
+        When findMetrics, \
+        Then can default to the last 90 days up to today""")
+    void findMetricsDefaultRange() {
+        var today = LocalDate.of(2025, 4, 11);
+        given(caseRollupRepository.findBetween(today.minusDays(89), today)).willReturn(List.of());
+
+        var metrics = caseMetricsService().findMetrics(null, null, "CLOSED");
+
+        then(metrics.from()).isEqualTo(today.minusDays(89));
+        then(metrics.to()).isEqualTo(today);
+        then(metrics.createdPerDay()).hasSize(90);
+    }
+
+    @Test
+    @DisplayName("""
+        Given from after to or a range longer than the cap, \
+        When findMetrics, \
+        Then can throw InvalidMetricsRangeException without reading rollups""")
+    void rejectInvalidRange() {
+        var today = LocalDate.of(2025, 4, 11);
+
+        var reversed = catchThrowableOfType(InvalidMetricsRangeException.class,
+            () -> caseMetricsService().findMetrics(today, today.minusDays(1), "CLOSED"));
+        var tooLong = catchThrowableOfType(InvalidMetricsRangeException.class,
+            () -> caseMetricsService().findMetrics(LocalDate.of(1, 1, 1), today, "CLOSED"));
+
+        then(reversed).hasMessage("from 2025-04-11 is after to 2025-04-10");
+        then(tooLong).hasMessageContaining("longer than 366 days");
+        BDDMockito.then(caseRollupRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("""
+        Given a range of exactly the cap, \
+        When findMetrics, \
+        Then can return one entry per day""")
+    void acceptLongestRange() {
+        var to = LocalDate.of(2025, 4, 11);
+        var from = to.minusDays(CaseMetricsService.MAX_RANGE_DAYS - 1);
+        given(caseRollupRepository.findBetween(from, to)).willReturn(List.of());
+
+        then(caseMetricsService().findMetrics(from, to, "CLOSED").createdPerDay())
+            .hasSize(CaseMetricsService.MAX_RANGE_DAYS);
+    }
+}
@@ -0,0 +1,62 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CasePatchTest {
+
+    @Test
+    @DisplayName("""
+        Given a merge patch with a new title and a null description, \
+        When applyTo a case, \
+        Then can set the title, remove the description and keep the status""")
+    void applyTo() {
+        var members = new HashMap<String, Object>();
+        members.put("title", "New title");
+        members.put("description", null);
+        var caseEntity = CaseEntity.builder().title("Title").description("Description")
+            .status("OPEN").build();
+
+        var changed = CasePatch.of(members).applyTo(caseEntity);
+
+        then(changed).isTrue();
+        then(caseEntity).extracting(CaseEntity::getTitle, CaseEntity::getDescription,
+            CaseEntity::getStatus).containsExactly("New title", null, "OPEN");
+    }
+
+    @Test
+    @DisplayName("""
+        Given an empty merge patch, \
+        When applyTo a case, \
+        Then can report nothing changed""")
+    void applyEmptyPatch() {
+        var caseEntity = CaseEntity.builder().title("Title").status("OPEN").build();
+
+        then(CasePatch.of(Map.of()).applyTo(caseEntity)).isFalse();
+    }
+
+    @Test
+    @DisplayName("""
+        Given members that cannot be applied, \
+        When of, \
+        Then can throw InvalidCasePatchException naming each of them""")
+    void rejectInvalidMembers() {
+        var members = new HashMap<String, Object>();
+        members.put("status", "");
+        members.put("description", 42);
+        members.put("id", 7);
+
+        var thrown = catchThrowableOfType(InvalidCasePatchException.class,
+            () -> CasePatch.of(members));
+
+        then(thrown.getErrors()).containsOnly(Map.entry("status", "must not be empty"),
+            Map.entry("description", "must be a string or null"),
+            Map.entry("id", "cannot be patched"));
+    }
+}
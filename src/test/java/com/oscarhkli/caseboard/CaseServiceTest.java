@@ -3,17 +3,30 @@ package com.oscarhkli.caseboard;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 
 import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
 import com.oscarhkli.caseboard.entity.CaseEntity;
 import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.invalidation.LocalInvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import com.oscarhkli.caseboard.singleflight.CaseReadCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,8 +37,14 @@ import org.mockito.BDDMockito;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 @ExtendWith(MockitoExtension.class)
 class CaseServiceTest {
@@ -34,6 +53,24 @@ class CaseServiceTest {
     CaseService caseService;
     @Mock
     CaseRepository caseRepository;
+    @Mock
+    CaseMetricsService caseMetricsService;
+    @Mock
+    InvalidationBus invalidationBus;
+    @Mock
+    CaseOutbox caseOutbox;
+    @Mock
+    Clock clock;
+    @Mock
+    CaseArchiveRepository caseArchiveRepository;
+    @Mock
+    OpenCaseCountService openCaseCountService;
+    @Spy
+    TombstoneProperties tombstoneProperties = new TombstoneProperties(Duration.ofDays(7), 500, 20,
+        Duration.ZERO);
+    @Spy
+    CaseReadCoalescer caseReadCoalescer = new CaseReadCoalescer(new LocalInvalidationBus(),
+        new SimpleMeterRegistry());
 
     @Nested
     @DisplayName("Test findAllCases")
@@ -73,6 +110,25 @@ class CaseServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Test findCasesByStatus")
+    class FindCasesByStatusTest {
+
+        @Test
+        @DisplayName("""
+            Given caseRepository can return caseEntities in a status, \
+            When findCasesByStatus, \
+            Then can return those cases""")
+        void findCasesByStatus() {
+            given(caseRepository.findByStatus("OPEN")).willReturn(
+                List.of(CaseEntity.builder().id(1L).status("OPEN").build()));
+
+            var cases = caseService.findCasesByStatus("OPEN");
+
+            then(cases).containsExactly(Case.builder().id(1L).status("OPEN").build());
+        }
+    }
+
     @Nested
     @DisplayName("Test findCaseById")
     class FindCaseByIdTest {
@@ -110,6 +166,257 @@ class CaseServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Test findArchivedCaseById and findArchivedCasesByCaseNumber")
+    class FindArchivedCasesTest {
+
+        @Test
+        @DisplayName("""
+            Given caseArchiveRepository can return archived caseEntities, \
+            When findArchivedCaseById and findArchivedCasesByCaseNumber, \
+            Then can return them without reading the hot table""")
+        void findArchivedCases() {
+            var fakeCaseEntity1 = CaseEntity.builder().id(1L).caseNumber("CASE-1").build();
+            given(caseArchiveRepository.findById(1L)).willReturn(Optional.of(fakeCaseEntity1));
+            given(caseArchiveRepository.findByCaseNumber("CASE-1")).willReturn(
+                List.of(fakeCaseEntity1));
+
+            var expectedCase1 = Case.builder().id(1L).caseNumber("CASE-1").build();
+            then(caseService.findArchivedCaseById(1L)).contains(expectedCase1);
+            then(caseService.findArchivedCasesByCaseNumber("CASE-1")).containsExactly(
+                expectedCase1);
+            BDDMockito.then(caseRepository).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findCases")
+    class FindCasesTest {
+
+        CaseSort byLastModified = CaseSort.valueOf("lastModifiedDateTime,desc");
+        LocalDateTime t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+
+        @Test
+        @DisplayName("""
+            Given caseRepository returns a window with more cases, \
+            When findCases, \
+            Then can return the cursor after the last case""")
+        void findFirstPage() {
+            given(caseRepository.findByStatus("OPEN", ScrollPosition.keyset(),
+                byLastModified.toSort(), Limit.of(2))).willReturn(Window.from(List.of(
+                CaseEntity.builder().id(4L).lastModifiedDateTime(t1.plusMinutes(1)).build(),
+                CaseEntity.builder().id(2L).lastModifiedDateTime(t1).build()),
+                ScrollPosition::offset, true));
+
+            var casePage = caseService.findCases("OPEN", byLastModified, null, 2, false);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(4L, 2L);
+            then(casePage.next()).isEqualTo(new CaseListCursor(byLastModified, t1, 2L));
+        }
+
+        @Test
+        @DisplayName("""
+            Given a cursor and a different sort, \
+            When findCases, \
+            Then can continue in the cursor's order and return no cursor on the last page""")
+        void findNextPage() {
+            var after = new CaseListCursor(byLastModified, t1, 2L);
+            given(caseRepository.findAllBy(after.toScrollPosition(), byLastModified.toSort(),
+                Limit.of(2))).willReturn(Window.from(List.of(
+                CaseEntity.builder().id(1L).lastModifiedDateTime(t1).build()),
+                ScrollPosition::offset, false));
+
+            var casePage = caseService.findCases(null, CaseSort.valueOf("caseNumber"), after, 2,
+                false);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(1L);
+            then(casePage.next()).isNull();
+        }
+
+        @Test
+        @DisplayName("""
+            Given includeArchived and no sort, \
+            When findCases, \
+            Then can merge archived cases into the page, most recently modified first""")
+        void findIncludingArchived() {
+            given(caseRepository.findByStatus("CLOSED", ScrollPosition.keyset(),
+                byLastModified.toSort(), Limit.of(2))).willReturn(Window.from(List.of(
+                CaseEntity.builder().id(4L).lastModifiedDateTime(t1.plusMinutes(2)).build(),
+                CaseEntity.builder().id(2L).lastModifiedDateTime(t1).build()),
+                ScrollPosition::offset, true));
+            given(caseArchiveRepository.findPage(null, "CLOSED", byLastModified, null, 3))
+                .willReturn(List.of(
+                    CaseEntity.builder().id(3L).lastModifiedDateTime(t1.plusMinutes(1)).build()));
+
+            var casePage = caseService.findCases("CLOSED", null, null, 2, true);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(4L, 3L);
+            then(casePage.next()).isEqualTo(
+                new CaseListCursor(byLastModified, t1.plusMinutes(1), 3L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findCasesByAssignee")
+    class FindCasesByAssigneeTest {
+
+        @Test
+        @DisplayName("""
+            Given a status and no sort, \
+            When findCasesByAssignee, \
+            Then can return the assignee's cases of the status, most recently modified first""")
+        void findByAssigneeAndStatus() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            given(caseRepository.findByAssigneeAndStatus("alice", "OPEN", ScrollPosition.keyset(),
+                CaseService.DEFAULT_PAGE_SORT.toSort(), Limit.of(1))).willReturn(
+                Window.from(List.of(CaseEntity.builder().id(4L).assignee("alice")
+                    .lastModifiedDateTime(t1).build()), ScrollPosition::offset, true));
+
+            var casePage = caseService.findCasesByAssignee("alice", "OPEN", null, null, 1,
+                false);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(4L);
+            then(casePage.next()).isEqualTo(
+                new CaseListCursor(CaseService.DEFAULT_PAGE_SORT, t1, 4L));
+        }
+
+        @Test
+        @DisplayName("""
+            Given no status, \
+            When findCasesByAssignee, \
+            Then can return the assignee's cases of every status in the given sort""")
+        void findByAssignee() {
+            var byCaseNumber = CaseSort.valueOf("caseNumber");
+            given(caseRepository.findByAssignee("alice", ScrollPosition.keyset(),
+                byCaseNumber.toSort(), Limit.of(2))).willReturn(Window.from(List.of(
+                CaseEntity.builder().id(1L).build()), ScrollPosition::offset, false));
+
+            var casePage = caseService.findCasesByAssignee("alice", null, byCaseNumber, null, 2,
+                false);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(1L);
+            then(casePage.next()).isNull();
+        }
+
+        @Test
+        @DisplayName("""
+            Given includeArchived and a cursor past the assignee's live cases, \
+            When findCasesByAssignee, \
+            Then can page on through their archived cases""")
+        void findArchivedAfterLiveCases() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var after = new CaseListCursor(CaseService.DEFAULT_PAGE_SORT, t1, 4L);
+            given(caseRepository.findByAssignee("alice", after.toScrollPosition(),
+                CaseService.DEFAULT_PAGE_SORT.toSort(), Limit.of(1))).willReturn(
+                Window.from(List.of(), ScrollPosition::offset, false));
+            given(caseArchiveRepository.findPage("alice", null, CaseService.DEFAULT_PAGE_SORT,
+                after, 2)).willReturn(List.of(
+                CaseEntity.builder().id(3L).lastModifiedDateTime(t1.minusDays(1)).build(),
+                CaseEntity.builder().id(1L).lastModifiedDateTime(t1.minusDays(2)).build()));
+
+            var casePage = caseService.findCasesByAssignee("alice", null, null, after, 1, true);
+
+            then(casePage.cases()).extracting(Case::id).containsExactly(3L);
+            then(casePage.next()).isEqualTo(
+                new CaseListCursor(CaseService.DEFAULT_PAGE_SORT, t1.minusDays(1), 3L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findChangesSince")
+    class FindChangesSinceTest {
+
+        @Test
+        @DisplayName("""
+            Given caseRepository returns one more change than the limit, \
+            When findChangesSince, \
+            Then can split upserts from tombstones and return the next token""")
+        void findChangesSince() {
+            var now = Instant.parse("2025-04-04T18:45:00Z");
+            given(clock.instant()).willReturn(now);
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            var since = new SyncToken(LocalDateTime.parse("2025-04-04T18:00:00"), 1L);
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            given(caseRepository.findChangedAfter(since.lastModifiedDateTime(), 1L,
+                LocalDateTime.parse("2025-04-04T18:44:58"), 3)).willReturn(List.of(
+                CaseEntity.builder().id(2L).lastModifiedDateTime(t1).build(),
+                CaseEntity.builder().id(3L).lastModifiedDateTime(t2).deletedAt(t2).build(),
+                CaseEntity.builder().id(4L).lastModifiedDateTime(t2).build()));
+
+            var caseChanges = caseService.findChangesSince(since, 2);
+
+            then(caseChanges.changed()).containsExactly(
+                Case.builder().id(2L).lastModifiedDateTime(t1).build());
+            then(caseChanges.deletedIds()).containsExactly(3L);
+            then(caseChanges.nextToken()).isEqualTo(new SyncToken(t2, 3L));
+            then(caseChanges.hasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was archived between two changes, \
+            When findChangesSince, \
+            Then can report its id in order with the changes""")
+        void findArchivedSince() {
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:45:00Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            var upTo = LocalDateTime.parse("2025-04-04T18:44:58");
+            given(caseRepository.findChangedAfter(SyncToken.INITIAL.lastModifiedDateTime(), 0L,
+                upTo, 3)).willReturn(List.of(
+                CaseEntity.builder().id(2L).lastModifiedDateTime(t1).build(),
+                CaseEntity.builder().id(4L).lastModifiedDateTime(t2).build()));
+            given(caseArchiveRepository.findArchivedAfter(SyncToken.INITIAL.lastModifiedDateTime(),
+                0L, upTo, 3)).willReturn(List.of(
+                new CaseArchiveRepository.ArchivedCase(6L, t1.plusMinutes(5))));
+
+            var caseChanges = caseService.findChangesSince(SyncToken.INITIAL, 2);
+
+            then(caseChanges.changed()).extracting(Case::id).containsExactly(2L);
+            then(caseChanges.deletedIds()).isEmpty();
+            then(caseChanges.archivedIds()).containsExactly(6L);
+            then(caseChanges.nextToken()).isEqualTo(new SyncToken(t1.plusMinutes(5), 6L));
+            then(caseChanges.hasMore()).isTrue();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a token older than the tombstone retention, \
+            When findChangesSince, \
+            Then can throw SyncTokenExpiredException without reading changes""")
+        void expiredToken() {
+            given(clock.instant()).willReturn(Instant.parse("2025-04-11T18:45:00Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            var since = new SyncToken(LocalDateTime.parse("2025-04-04T18:44:59"), 1L);
+
+            var thrown = catchThrowableOfType(SyncTokenExpiredException.class,
+                () -> caseService.findChangesSince(since, 10));
+
+            then(thrown).hasMessage("Sync token is older than PT168H, sync again without it");
+            BDDMockito.then(caseRepository).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("""
+            Given no changes, \
+            When findChangesSince, \
+            Then can return the same token""")
+        void noChanges() {
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:45:00Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            given(caseRepository.findChangedAfter(any(), any(Long.class), any(),
+                any(Integer.class))).willReturn(List.of());
+
+            var caseChanges = caseService.findChangesSince(SyncToken.INITIAL, 10);
+
+            then(caseChanges.changed()).isEmpty();
+            then(caseChanges.nextToken()).isEqualTo(SyncToken.INITIAL);
+            then(caseChanges.hasMore()).isFalse();
+        }
+    }
+
     @Nested
     @DisplayName("Test insertCase")
     class InsertCaseTest {
@@ -128,10 +435,19 @@ class CaseServiceTest {
             var fakeSavedCaseEntity = CaseEntity.builder().id(3L).build();
             willReturn(fakeCaseEntity).given(newCase).toEntity();
             given(caseRepository.save(fakeCaseEntity)).willReturn(fakeSavedCaseEntity);
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:43:57Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
 
             var actual = caseService.insertCase(newCase);
 
             then(actual).isEqualTo(3L);
+            var now = LocalDateTime.of(2025, 4, 4, 18, 43, 57);
+            then(fakeCaseEntity.getStatusChangedDateTime()).isEqualTo(now);
+            BDDMockito.then(caseMetricsService).should().recordCreated("status2", now);
+            BDDMockito.then(openCaseCountService).should().recordCreated(null, "status2", 1);
+            BDDMockito.then(caseOutbox).should()
+                .appendChange(CaseEventType.CREATED, fakeSavedCaseEntity);
+            BDDMockito.then(invalidationBus).should().publish(3L);
         }
 
         @Test
@@ -148,10 +464,90 @@ class CaseServiceTest {
             willReturn(fakeCaseEntity).given(newCase).toEntity();
             given(caseRepository.save(fakeCaseEntity)).willThrow(
                 new DataIntegrityViolationException("Some message"));
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:43:57Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
 
             var thrown = catchThrowableOfType(CaseOperationException.class,
                 () -> caseService.insertCase(newCase));
             then(thrown).hasMessageContainingAll("Case number caseNumber2 cannot be reused");
+            BDDMockito.then(caseMetricsService).shouldHaveNoInteractions();
+            BDDMockito.then(caseOutbox).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test importCases")
+    class ImportCasesTest {
+
+        @Test
+        @DisplayName("""
+            Given a chunk of new cases, \
+            When importCases, \
+            Then can insert them together, recording one rollup increment per status""")
+        void importCases() {
+            var newCases = List.of(
+                Case.builder().caseNumber("A").title("title").status("OPEN").build(),
+                Case.builder().caseNumber("B").title("title").status("CLOSED").build(),
+                Case.builder().caseNumber("C").title("title").status("OPEN").build());
+            var savedEntities = List.of(CaseEntity.builder().id(1L).status("OPEN").build(),
+                CaseEntity.builder().id(2L).status("CLOSED").build(),
+                CaseEntity.builder().id(3L).status("OPEN").build());
+            given(caseRepository.insertAll(anyList())).willReturn(savedEntities);
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:43:57Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+
+            var actual = caseService.importCases(newCases);
+
+            then(actual).containsExactly(1L, 2L, 3L);
+            var now = LocalDateTime.of(2025, 4, 4, 18, 43, 57);
+            BDDMockito.then(caseMetricsService).should().recordCreated("OPEN", now, 2);
+            BDDMockito.then(caseMetricsService).should().recordCreated("CLOSED", now, 1);
+            BDDMockito.then(caseOutbox).should().appendChanges(CaseEventType.CREATED, savedEntities);
+            BDDMockito.then(invalidationBus).should().publishAll(List.of(1L, 2L, 3L));
+        }
+
+        @Test
+        @DisplayName("""
+            Given a chunk imported in a transaction that takes a while to commit, \
+            When the transaction commits, \
+            Then can restamp the cases just before commit rather than when inserted""")
+        void restampBeforeCommit() {
+            given(caseRepository.insertAll(anyList())).willReturn(
+                List.of(CaseEntity.builder().id(1L).status("OPEN").build()));
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:43:57Z"),
+                Instant.parse("2025-04-04T18:44:30Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                caseService.importCases(
+                    List.of(Case.builder().caseNumber("A").title("title").status("OPEN").build()));
+                BDDMockito.then(caseRepository).should(never()).restampLastModified(any(), any());
+
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            BDDMockito.then(caseRepository).should().restampLastModified(List.of(1L),
+                LocalDateTime.parse("2025-04-04T18:44:30"));
+        }
+
+        @Test
+        @DisplayName("""
+            Given a chunk with a taken case number, \
+            When importCases, \
+            Then can throw CaseOperationException""")
+        void takenCaseNumber() {
+            given(caseRepository.insertAll(anyList())).willThrow(
+                new DataIntegrityViolationException("Some message"));
+            given(clock.instant()).willReturn(Instant.parse("2025-04-04T18:43:57Z"));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+
+            var thrown = catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.importCases(List.of(Case.builder().caseNumber("A").build())));
+
+            then(thrown).hasMessage("Case numbers of the import cannot be reused");
+            BDDMockito.then(caseOutbox).shouldHaveNoInteractions();
         }
     }
 
@@ -176,7 +572,10 @@ class CaseServiceTest {
             var fakeCaseEntity = CaseEntity.builder().id(id).caseNumber("caseNumber").title("title")
                 .description("description").status("status").createdDateTime(now)
                 .lastModifiedDateTime(now).build();
-            given(caseRepository.findById(id)).willReturn(Optional.of(fakeCaseEntity));
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(fakeCaseEntity));
+            var changedAt = now.plusHours(1);
+            given(clock.instant()).willReturn(changedAt.toInstant(ZoneOffset.UTC));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
 
             caseService.updateCase(id, updatedCase);
 
@@ -184,8 +583,33 @@ class CaseServiceTest {
             var actual = caseEntityCaptor.getValue();
             var expected = CaseEntity.builder().id(id).caseNumber("caseNumber").title("title2")
                 .description("description2").status("status2").createdDateTime(now)
-                .lastModifiedDateTime(now).build();
+                .lastModifiedDateTime(now).statusChangedDateTime(changedAt).build();
             then(actual).usingRecursiveComparison().isEqualTo(expected);
+            BDDMockito.then(caseMetricsService).should()
+                .recordStatusChange("status", "status2", now, changedAt);
+            BDDMockito.then(caseOutbox).should().appendChange(CaseEventType.UPDATED, actual);
+            BDDMockito.then(invalidationBus).should().publish(id);
+        }
+
+        @Test
+        @DisplayName("""
+            Given updatedCase keeps the status, \
+            When updateCase, \
+            Then can update caseEntity without recording a status change""")
+        void updateCaseWithoutStatusChange() {
+            var id = 2L;
+            var updatedCase = Case.builder().caseNumber("caseNumber").title("title2")
+                .description("description2").status("status").build();
+            var fakeCaseEntity = CaseEntity.builder().id(id).caseNumber("caseNumber").title("title")
+                .status("status").build();
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(fakeCaseEntity));
+
+            caseService.updateCase(id, updatedCase);
+
+            BDDMockito.then(caseRepository).should().save(caseEntityCaptor.capture());
+            then(caseEntityCaptor.getValue().getTitle()).isEqualTo("title2");
+            then(caseEntityCaptor.getValue().getStatusChangedDateTime()).isNull();
+            BDDMockito.then(caseMetricsService).shouldHaveNoInteractions();
         }
 
         @Test
@@ -198,12 +622,165 @@ class CaseServiceTest {
             var updatedCase = Case.builder().id(id).caseNumber("caseNumber2").title("title2")
                 .description("description2").status("status2").build();
 
-            given(caseRepository.findById(id)).willReturn(Optional.empty());
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.empty());
 
             var thrown = catchThrowableOfType(CaseOperationException.class,
                 () -> caseService.updateCase(id, updatedCase));
             then(thrown).hasMessage("Case <id: 1> not found");
             BDDMockito.then(caseRepository).should(never()).save(any(CaseEntity.class));
+            BDDMockito.then(caseOutbox).shouldHaveNoInteractions();
+            BDDMockito.then(invalidationBus).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test patchCase")
+    class PatchCaseTest {
+
+        @Test
+        @DisplayName("""
+            Given a patch of the status only, \
+            When patchCase, \
+            Then can change only the status and record the status change""")
+        void patchStatus() {
+            var id = 2L;
+            var now = LocalDateTime.now(Clock.systemUTC());
+            var fakeCaseEntity = CaseEntity.builder().id(id).caseNumber("caseNumber").title("title")
+                .description("description").status("OPEN").createdDateTime(now).build();
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(fakeCaseEntity));
+            var changedAt = now.plusHours(1);
+            given(clock.instant()).willReturn(changedAt.toInstant(ZoneOffset.UTC));
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+
+            var actual = caseService.patchCase(id, CasePatch.of(Map.of("status", "CLOSED")));
+
+            then(actual).isTrue();
+            then(fakeCaseEntity).extracting(CaseEntity::getTitle, CaseEntity::getDescription,
+                    CaseEntity::getStatus, CaseEntity::getStatusChangedDateTime)
+                .containsExactly("title", "description", "CLOSED", changedAt);
+            BDDMockito.then(caseRepository).should().save(fakeCaseEntity);
+            BDDMockito.then(caseMetricsService).should()
+                .recordStatusChange("OPEN", "CLOSED", now, changedAt);
+            BDDMockito.then(openCaseCountService).should()
+                .recordChange(null, "OPEN", null, "CLOSED");
+            BDDMockito.then(caseOutbox).should().appendChange(CaseEventType.UPDATED,
+                fakeCaseEntity);
+            BDDMockito.then(invalidationBus).should().publish(id);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a patch setting the values the case already has, \
+            When patchCase, \
+            Then can return false without saving, publishing or recording anything""")
+        void skipNoOpPatch() {
+            var id = 2L;
+            var fakeCaseEntity = CaseEntity.builder().id(id).caseNumber("caseNumber").title("title")
+                .status("OPEN").build();
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(fakeCaseEntity));
+            var patch = new HashMap<String, Object>();
+            patch.put("title", "title");
+            patch.put("description", null);
+            patch.put("status", "OPEN");
+
+            var actual = caseService.patchCase(id, CasePatch.of(patch));
+
+            then(actual).isFalse();
+            BDDMockito.then(caseRepository).should(never()).save(any(CaseEntity.class));
+            BDDMockito.then(caseMetricsService).shouldHaveNoInteractions();
+            BDDMockito.then(caseOutbox).shouldHaveNoInteractions();
+            BDDMockito.then(invalidationBus).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("""
+            Given caseRepository cannot find by id, \
+            When patchCase, \
+            Then can throw CaseOperationException""")
+        void notFound() {
+            given(caseRepository.findForUpdateById(1L)).willReturn(Optional.empty());
+
+            var thrown = catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.patchCase(1L, CasePatch.of(Map.of("title", "title2"))));
+
+            then(thrown).hasMessage("Case <id: 1> not found");
+            BDDMockito.then(caseRepository).should(never()).save(any(CaseEntity.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test assignCase")
+    class AssignCaseTest {
+
+        @Test
+        @DisplayName("""
+            Given an open case assigned to someone else, \
+            When assignCase, \
+            Then can move the case between the assignees' open counts and publish the change""")
+        void reassign() {
+            var id = 2L;
+            var fakeCaseEntity = CaseEntity.builder().id(id).status("OPEN").assignee("alice")
+                .build();
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(fakeCaseEntity));
+
+            var actual = caseService.assignCase(id, "bob");
+
+            then(actual).isTrue();
+            then(fakeCaseEntity.getAssignee()).isEqualTo("bob");
+            BDDMockito.then(openCaseCountService).should()
+                .recordChange("alice", "OPEN", "bob", "OPEN");
+            BDDMockito.then(caseRepository).should().save(fakeCaseEntity);
+            BDDMockito.then(caseOutbox).should().appendChange(CaseEventType.UPDATED,
+                fakeCaseEntity);
+            BDDMockito.then(invalidationBus).should().publish(id);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case already assigned to the assignee, \
+            When assignCase, \
+            Then can return false without saving or counting""")
+        void skipSameAssignee() {
+            var id = 2L;
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(
+                CaseEntity.builder().id(id).status("OPEN").assignee("alice").build()));
+
+            var actual = caseService.assignCase(id, "alice");
+
+            then(actual).isFalse();
+            BDDMockito.then(caseRepository).should(never()).save(any());
+            BDDMockito.then(openCaseCountService).shouldHaveNoInteractions();
+            BDDMockito.then(invalidationBus).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("""
+            Given id not found, \
+            When assignCase, \
+            Then can throw CaseOperationException""")
+        void notFound() {
+            given(caseRepository.findForUpdateById(2L)).willReturn(Optional.empty());
+
+            var thrown = catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.assignCase(2L, "alice"));
+
+            then(thrown).hasMessage("Case <id: 2> not found");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findOpenCaseCount")
+    class FindOpenCaseCountTest {
+
+        @Test
+        @DisplayName("""
+            Given openCaseCountService has a count, \
+            When findOpenCaseCount, \
+            Then can return it""")
+        void findOpenCaseCount() {
+            given(openCaseCountService.findOpenCount("alice")).willReturn(3L);
+
+            then(caseService.findOpenCaseCount("alice")).isEqualTo(3L);
         }
     }
 
@@ -215,13 +792,60 @@ class CaseServiceTest {
         @DisplayName("""
             Given id, \
             When deleteByCaseId, \
-            Then can call caseRepository to deleteById no matter even if id does not exist""")
+            Then can call caseRepository to softDeleteById no matter even if id does not exist""")
         void getOptionalEmptyForNotFoundId() {
             var id = 1L;
+            var now = Instant.parse("2025-04-04T18:43:57Z");
+            given(clock.instant()).willReturn(now);
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+
+            caseService.deleteCaseById(id);
+
+            BDDMockito.then(caseRepository).should()
+                .softDeleteById(id, LocalDateTime.ofInstant(now, ZoneOffset.UTC));
+            BDDMockito.then(caseRepository).should(never()).deleteById(any());
+            BDDMockito.then(caseOutbox).shouldHaveNoInteractions();
+            BDDMockito.then(invalidationBus).shouldHaveNoInteractions();
+        }
+
+        @Test
+        @DisplayName("""
+            Given id of a live case, \
+            When deleteByCaseId, \
+            Then can record a deleted event and broadcast an invalidation""")
+        void deleteBroadcastsInvalidation() {
+            var id = 1L;
+            var now = Instant.parse("2025-04-04T18:43:57Z");
+            given(clock.instant()).willReturn(now);
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            given(caseRepository.softDeleteById(id, LocalDateTime.ofInstant(now, ZoneOffset.UTC)))
+                .willReturn(1);
+
+            caseService.deleteCaseById(id);
+
+            BDDMockito.then(caseOutbox).should().appendDeleted(id);
+            BDDMockito.then(invalidationBus).should().publish(id);
+        }
+
+        @Test
+        @DisplayName("""
+            Given id of a live case with an assignee, \
+            When deleteByCaseId, \
+            Then can remove the case from the assignee's open count""")
+        void deleteUncountsAssignedCase() {
+            var id = 1L;
+            var now = Instant.parse("2025-04-04T18:43:57Z");
+            given(clock.instant()).willReturn(now);
+            given(clock.getZone()).willReturn(ZoneOffset.UTC);
+            given(caseRepository.findForUpdateById(id)).willReturn(Optional.of(
+                CaseEntity.builder().id(id).status("OPEN").assignee("alice").build()));
+            given(caseRepository.softDeleteById(id, LocalDateTime.ofInstant(now, ZoneOffset.UTC)))
+                .willReturn(1);
 
             caseService.deleteCaseById(id);
 
-            BDDMockito.then(caseRepository).should().deleteById(id);
+            BDDMockito.then(openCaseCountService).should()
+                .recordChange("alice", "OPEN", null, null);
         }
     }
 }
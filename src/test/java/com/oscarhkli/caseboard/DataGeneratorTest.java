@@ -0,0 +1,126 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.entity.CaseRollupRepository;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@JdbcTest
+class DataGeneratorTest {
+
+    static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    DataGenerator dataGenerator(int cases, int batchSize) {
+        return new DataGenerator(jdbcTemplate, new CaseRollupRepository(jdbcTemplate),
+            new TransactionTemplate(transactionManager),
+            new DataGeneratorProperties(true, cases, batchSize, 42, EPOCH, Duration.ofDays(30)));
+    }
+
+    @BeforeEach
+    void init() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "cases", "case_archive",
+            "case_daily_rollup");
+    }
+
+    @Test
+    @DisplayName("""
+        Given some cases were already generated, \
+        When generate with a larger target, \
+        Then can insert only the missing cases""")
+    void generateResumes() {
+        then(dataGenerator(25, 10).generate()).isEqualTo(25);
+        var title = jdbcTemplate.queryForObject(
+            "select title from cases where case_number = 'GEN-000000007'", String.class);
+
+        then(dataGenerator(60, 7).generate()).isEqualTo(35);
+        then(dataGenerator(60, 7).generate()).isZero();
+
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "cases")).isEqualTo(60);
+        then(jdbcTemplate.queryForObject(
+            "select title from cases where case_number = 'GEN-000000007'", String.class))
+            .isEqualTo(title);
+    }
+
+    @Test
+    @DisplayName("""
+        Given generated cases were deleted or archived, \
+        When generate with a larger target, \
+        Then can resume after the highest generated case number""")
+    void generateResumesAfterHighestNumber() {
+        dataGenerator(20, 10).generate();
+        jdbcTemplate.update("""
+            insert into case_archive (id, case_number, title, status, archived_at)
+            select id, case_number, title, status, current_timestamp from cases
+            where case_number = 'GEN-000000019'""");
+        jdbcTemplate.update(
+            "delete from cases where case_number in ('GEN-000000003', 'GEN-000000019')");
+
+        then(dataGenerator(30, 10).generate()).isEqualTo(10);
+
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "cases")).isEqualTo(28);
+        then(JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "cases",
+            "case_number = 'GEN-000000019'")).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+        Given no generated cases, \
+        When generate, \
+        Then can count every case in the daily rollup of its creation day and status""")
+    void generateRollups() {
+        dataGenerator(50, 7).generate();
+
+        RowMapper<List<Object>> counts = (rs, rowNum) -> List.of(
+            rs.getObject(1, LocalDate.class), rs.getString(2), rs.getLong(3));
+        var fromCases = jdbcTemplate.query("""
+            select cast(created_datetime as date) d, status, count(*) from cases
+            group by cast(created_datetime as date), status order by d, status""", counts);
+        then(fromCases).isNotEmpty();
+        then(jdbcTemplate.query("""
+            select bucket_date d, status, sum(created) from case_daily_rollup
+            group by bucket_date, status order by d, status""", counts)).isEqualTo(fromCases);
+        then(JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "case_daily_rollup",
+            "created <> entered or exited <> 0")).isZero();
+        then(JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "cases",
+            "status_changed_datetime is null or status_changed_datetime <> created_datetime"))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("""
+        Given the same seed, \
+        When generate rows, \
+        Then can produce identical rows within the configured time span""")
+    void rowsAreReproducible() {
+        var first = dataGenerator(100, 10);
+        var second = dataGenerator(100, 50);
+
+        for (var n = 0; n < 100; n++) {
+            var row = first.row(n);
+            then(second.row(n)).containsExactly(row);
+            var created = (LocalDateTime) row[4];
+            var lastModified = (LocalDateTime) row[5];
+            then(created).isBetween(EPOCH, EPOCH.plusDays(30));
+            then(lastModified).isBetween(created, EPOCH.plusDays(30));
+        }
+        then(first.row(1)[1]).isNotEqualTo(first.row(2)[1]);
+    }
+}
@@ -0,0 +1,116 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class InitializerTest {
+
+    @Mock
+    CaseRepository caseRepository;
+    @Mock
+    DataSource dataSource;
+    @Mock
+    Connection connection;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+    @Captor
+    ArgumentCaptor<AvailabilityChangeEvent<ReadinessState>> eventCaptor;
+
+    ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(
+        CaseService.CASE_CACHE);
+
+    Initializer initializer(boolean enabled) {
+        return new Initializer(caseRepository, dataSource,
+            new ObjectMapper().registerModule(new JavaTimeModule()), cacheManager, eventPublisher,
+            new WarmUpProperties(enabled, 10, 2));
+    }
+
+    @BeforeEach
+    void init() {
+        cacheManager.getCache(CaseService.CASE_CACHE).clear();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given some hot cases, \
+        When warmUp on application ready, \
+        Then can open connections, cache hot cases and only then accept traffic""")
+    void warmUp() {
+        given(dataSource.getConnection()).willReturn(connection);
+        var hotCases = List.of(
+            CaseEntity.builder().id(1L).caseNumber("CASE001").title("Title 1").status("Open")
+                .build(),
+            CaseEntity.builder().id(2L).caseNumber("CASE002").title("Title 2").status("Open")
+                .build());
+        given(caseRepository.findAll(any(Pageable.class))).willReturn(new PageImpl<>(hotCases));
+
+        initializer(true).warmUp();
+
+        BDDMockito.then(connection).should().close();
+        BDDMockito.then(eventPublisher).should(times(2))
+            .publishEvent(eventCaptor.capture());
+        then(eventCaptor.getAllValues()).extracting(AvailabilityChangeEvent::getState)
+            .containsExactly(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+        var cache = cacheManager.getCache(CaseService.CASE_CACHE);
+        then(cache.get(1L, Case.class)).isEqualTo(Case.of(hotCases.get(0)));
+        then(cache.get(2L, Case.class)).isEqualTo(Case.of(hotCases.get(1)));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given the database is unavailable, \
+        When warmUp on application ready, \
+        Then can still accept traffic""")
+    void acceptTrafficWhenWarmUpFails() {
+        given(dataSource.getConnection()).willThrow(new SQLException("down"));
+
+        initializer(true).warmUp();
+
+        BDDMockito.then(eventPublisher).should(times(2))
+            .publishEvent(eventCaptor.capture());
+        then(eventCaptor.getAllValues().getLast().getState()).isEqualTo(
+            ReadinessState.ACCEPTING_TRAFFIC);
+        BDDMockito.then(caseRepository).should(never()).findAll(any(Pageable.class));
+    }
+
+    @SneakyThrows
+    @Test
+    void skipWhenDisabled() {
+        initializer(false).warmUp();
+
+        BDDMockito.then(dataSource).should(never()).getConnection();
+        BDDMockito.then(eventPublisher).should(never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+
+import com.oscarhkli.caseboard.entity.CaseAssigneeCountRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OpenCaseCountServiceTest {
+
+    @Mock
+    CaseAssigneeCountRepository caseAssigneeCountRepository;
+
+    OpenCaseCountService openCaseCountService() {
+        return new OpenCaseCountService(caseAssigneeCountRepository,
+            new AssignmentProperties(List.of("CLOSED")));
+    }
+
+    @Test
+    @DisplayName("""
+        Given an open case moved from one assignee to another, \
+        When recordChange, \
+        Then can decrement the old assignee and increment the new one""")
+    void reassign() {
+        openCaseCountService().recordChange("alice", "OPEN", "bob", "OPEN");
+
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("alice", -1);
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("bob", 1);
+    }
+
+    @Test
+    @DisplayName("""
+        Given an assigned case closed, \
+        When recordChange, \
+        Then can decrement its assignee only""")
+    void close() {
+        openCaseCountService().recordChange("alice", "OPEN", "alice", "CLOSED");
+
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("alice", -1);
+        BDDMockito.then(caseAssigneeCountRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("""
+        Given removed cases of several assignees, some not open, \
+        When recordRemoved, \
+        Then can decrement each assignee once by their open cases""")
+    void remove() {
+        openCaseCountService().recordRemoved(List.of(
+            CaseEntity.builder().id(1L).assignee("alice").status("RESOLVED").build(),
+            CaseEntity.builder().id(2L).assignee("bob").status("OPEN").build(),
+            CaseEntity.builder().id(3L).assignee("alice").status("RESOLVED").build(),
+            CaseEntity.builder().id(4L).assignee("carol").status("CLOSED").build(),
+            CaseEntity.builder().id(5L).status("OPEN").build()));
+
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("alice", -2);
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("bob", -1);
+        BDDMockito.then(caseAssigneeCountRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("""
+        Given changes that do not move a case in or out of an open count, \
+        When recordChange, \
+        Then can write nothing""")
+    void skipUncountedChanges() {
+        var openCaseCountService = openCaseCountService();
+
+        openCaseCountService.recordChange("alice", "OPEN", "alice", "IN_PROGRESS");
+        openCaseCountService.recordChange(null, "OPEN", null, "CLOSED");
+        openCaseCountService.recordChange("alice", "CLOSED", "bob", "CLOSED");
+
+        BDDMockito.then(caseAssigneeCountRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("""
+        Given cases created open and closed, \
+        When recordCreated, \
+        Then can count only the open cases of an assignee""")
+    void recordCreated() {
+        var openCaseCountService = openCaseCountService();
+
+        openCaseCountService.recordCreated("alice", "OPEN", 3);
+        openCaseCountService.recordCreated("alice", "CLOSED", 2);
+        openCaseCountService.recordCreated(null, "OPEN", 1);
+
+        BDDMockito.then(caseAssigneeCountRepository).should().increment("alice", 3);
+        BDDMockito.then(caseAssigneeCountRepository).shouldHaveNoMoreInteractions();
+    }
+
+    @Test
+    @DisplayName("""
+        Given caseAssigneeCountRepository has a count, \
+        When findOpenCount, \
+        Then can return it""")
+    void findOpenCount() {
+        given(caseAssigneeCountRepository.findOpenCases("alice")).willReturn(4L);
+
+        then(openCaseCountService().findOpenCount("alice")).isEqualTo(4L);
+    }
+}
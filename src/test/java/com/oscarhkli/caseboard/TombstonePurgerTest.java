@@ -0,0 +1,119 @@
+package com.oscarhkli.caseboard;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.oscarhkli.caseboard.attachment.AttachmentStore;
+import com.oscarhkli.caseboard.entity.CaseAttachmentRepository;
+import com.oscarhkli.caseboard.entity.CaseCommentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class TombstonePurgerTest {
+
+    @Mock
+    CaseRepository caseRepository;
+    @Mock
+    CaseCommentRepository caseCommentRepository;
+    @Mock
+    CaseAttachmentRepository caseAttachmentRepository;
+    @Mock
+    AttachmentStore attachmentStore;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    Clock clock = Clock.fixed(Instant.parse("2025-04-11T00:00:00Z"), ZoneOffset.UTC);
+
+    TombstonePurger tombstonePurger(int batchSize, int maxBatches) {
+        return new TombstonePurger(caseRepository, caseCommentRepository,
+            caseAttachmentRepository, attachmentStore, new TransactionTemplate(transactionManager),
+            new TombstoneProperties(Duration.ofDays(7), batchSize, maxBatches, Duration.ZERO),
+            clock);
+    }
+
+    @Test
+    @DisplayName("""
+        Given more expired tombstones than one batch, \
+        When purgeExpiredTombstones, \
+        Then can purge batch by batch until a short batch""")
+    void purgeInBatches() {
+        var cutoff = LocalDateTime.parse("2025-04-04T00:00:00");
+        given(caseRepository.findExpiredTombstoneIds(cutoff, 2)).willReturn(List.of(1L, 2L))
+            .willReturn(List.of(3L));
+        given(caseRepository.purgeTombstones(List.of(1L, 2L))).willReturn(2);
+        given(caseRepository.purgeTombstones(List.of(3L))).willReturn(1);
+
+        var purged = tombstonePurger(2, 10).purgeExpiredTombstones();
+
+        then(purged).isEqualTo(3);
+        BDDMockito.then(caseRepository).should(times(2)).findExpiredTombstoneIds(cutoff, 2);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a backlog of expired tombstones, \
+        When purgeExpiredTombstones, \
+        Then can stop after purgeMaxBatches""")
+    void boundedByMaxBatches() {
+        given(caseRepository.findExpiredTombstoneIds(any(), anyInt())).willReturn(List.of(1L));
+        given(caseRepository.purgeTombstones(List.of(1L))).willReturn(1);
+
+        var purged = tombstonePurger(1, 3).purgeExpiredTombstones();
+
+        then(purged).isEqualTo(3);
+        BDDMockito.then(caseRepository).should(times(3)).purgeTombstones(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("""
+        Given expired tombstones with comments and attachments, \
+        When purgeExpiredTombstones, \
+        Then can delete their comments and attachment records in the same transaction, \
+        and the attachment content after it commits""")
+    void purgeCommentsAndAttachments() {
+        given(caseRepository.findExpiredTombstoneIds(any(), anyInt())).willReturn(
+            List.of(1L, 2L));
+        given(caseAttachmentRepository.findStorageKeysByCaseIds(List.of(1L, 2L))).willReturn(
+            List.of("key-a", "key-b"));
+        given(caseRepository.purgeTombstones(List.of(1L, 2L))).willReturn(2);
+
+        then(tombstonePurger(10, 10).purgeExpiredTombstones()).isEqualTo(2);
+
+        InOrder inOrder = Mockito.inOrder(caseCommentRepository, caseAttachmentRepository,
+            caseRepository, transactionManager, attachmentStore);
+        inOrder.verify(caseCommentRepository).deleteByCaseIds(List.of(1L, 2L));
+        inOrder.verify(caseAttachmentRepository).deleteByCaseIds(List.of(1L, 2L));
+        inOrder.verify(caseRepository).purgeTombstones(List.of(1L, 2L));
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(attachmentStore).delete("key-a");
+        inOrder.verify(attachmentStore).delete("key-b");
+    }
+
+    @Test
+    void nothingToPurge() {
+        given(caseRepository.findExpiredTombstoneIds(any(), anyInt())).willReturn(List.of());
+
+        then(tombstonePurger(10, 10).purgeExpiredTombstones()).isZero();
+        BDDMockito.then(caseRepository).should(never()).purgeTombstones(any());
+    }
+}
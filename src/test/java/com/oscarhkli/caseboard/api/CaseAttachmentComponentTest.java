@@ -0,0 +1,98 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Arrays;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Runs against the embedded Tomcat, whose NIO connector serves downloads with sendfile.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class CaseAttachmentComponentTest {
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    CaseRepository caseRepository;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+    long caseId;
+
+    @BeforeEach
+    void init() {
+        caseId = caseRepository.save(CaseEntity.builder()
+            .caseNumber("ATTACH_%d".formatted(System.nanoTime())).title("Title").status("OPEN")
+            .build()).getId();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given an uploaded attachment, \
+        When download the whole of it and a range of it, \
+        Then can return the bytes uploaded""")
+    void uploadAndDownload() {
+        var bytes = new byte[1000];
+        Arrays.setAll(new int[bytes.length], i -> bytes[i] = (byte) i);
+        var base = "http://localhost:%d/api/v1/cases/%d/attachments".formatted(port, caseId);
+
+        var uploaded = httpClient.send(HttpRequest.newBuilder(URI.create(base + "?fileName=a.bin"))
+            .header(HttpHeaders.CONTENT_TYPE, "application/octet-stream")
+            .POST(BodyPublishers.ofByteArray(bytes)).build(), BodyHandlers.ofString());
+        var attachment = objectMapper.readValue(uploaded.body(), CaseAttachment.class);
+        var location = URI.create("http://localhost:%d".formatted(port)
+            + uploaded.headers().firstValue(HttpHeaders.LOCATION).orElseThrow());
+        var whole = httpClient.send(HttpRequest.newBuilder(location).build(),
+            BodyHandlers.ofByteArray());
+        var range = httpClient.send(HttpRequest.newBuilder(location)
+            .header(HttpHeaders.RANGE, "bytes=100-199").build(), BodyHandlers.ofByteArray());
+        var listed = httpClient.send(HttpRequest.newBuilder(URI.create(base)).build(),
+            BodyHandlers.ofString());
+
+        then(uploaded.statusCode()).isEqualTo(201);
+        then(attachment.size()).isEqualTo(1000);
+        then(whole.statusCode()).isEqualTo(200);
+        then(whole.body()).isEqualTo(bytes);
+        then(range.statusCode()).isEqualTo(206);
+        then(range.headers().firstValue(HttpHeaders.CONTENT_RANGE)).contains("bytes 100-199/1000");
+        then(range.body()).isEqualTo(Arrays.copyOfRange(bytes, 100, 200));
+        then(objectMapper.readValue(listed.body(), CaseAttachmentsFindResponse.class).data())
+            .extracting(CaseAttachment::id, CaseAttachment::fileName)
+            .containsExactly(tuple(attachment.id(), "a.bin"));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given an upload larger than the configured maximum, \
+        When upload it, \
+        Then can return 413""")
+    void uploadTooLarge() {
+        var response = httpClient.send(HttpRequest.newBuilder(URI.create(
+                "http://localhost:%d/api/v1/cases/%d/attachments?fileName=big.bin".formatted(port,
+                    caseId)))
+            .POST(BodyPublishers.ofByteArray(new byte[2048])).build(), BodyHandlers.ofString());
+
+        then(response.statusCode()).isEqualTo(413);
+    }
+}
@@ -0,0 +1,190 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.attachment.AttachmentContent;
+import com.oscarhkli.caseboard.attachment.AttachmentTooLargeException;
+import com.oscarhkli.caseboard.attachment.CaseAttachmentService;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = CaseAttachmentController.class)
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+class CaseAttachmentControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @MockitoBean
+    CaseAttachmentService caseAttachmentService;
+    @TempDir
+    Path dir;
+
+    @Nested
+    @DisplayName("Test uploadAttachment")
+    class UploadAttachmentTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseAttachmentService can store the upload, \
+            When uploadAttachment, \
+            Then can return 201 with the attachment and its location""")
+        void uploadAttachment() {
+            var attachment = new CaseAttachment(5L, 1L, "notes.txt", "text/plain", 5, null);
+            given(caseAttachmentService.upload(eq(1L), eq("notes.txt"), eq("text/plain"),
+                eq(5L), any())).willReturn(Optional.of(attachment));
+
+            var response = mockMvc.perform(post("/api/v1/cases/1/attachments")
+                    .param("fileName", "notes.txt").contentType(MediaType.TEXT_PLAIN)
+                    .content("hello")).andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/cases/1/attachments/5"))
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseAttachment.class)).isEqualTo(attachment);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the upload is too large, \
+            When uploadAttachment, \
+            Then can return 413""")
+        void tooLarge() {
+            given(caseAttachmentService.upload(anyLong(), any(), any(), anyLong(), any()))
+                .willThrow(new AttachmentTooLargeException("Attachment exceeds 1 bytes"));
+
+            var response = mockMvc.perform(post("/api/v1/cases/1/attachments")
+                    .param("fileName", "notes.txt").content("hello"))
+                .andExpect(status().isPayloadTooLarge()).andReturn().getResponse()
+                .getContentAsString();
+
+            var apiErrorResponse = objectMapper.readValue(response, ApiErrorResponse.class);
+            then(apiErrorResponse.error().message()).isEqualTo("Attachment exceeds 1 bytes");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test downloadAttachment")
+    class DownloadAttachmentTest {
+
+        @SneakyThrows
+        @BeforeEach
+        void init() {
+            var path = Files.writeString(dir.resolve("key"), "0123456789");
+            given(caseAttachmentService.findContent(1L, 5L)).willReturn(Optional.of(
+                new AttachmentContent(
+                    new CaseAttachment(5L, 1L, "digits.txt", "text/plain", 10, null), path)));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an attachment, \
+            When downloadAttachment without Range, \
+            Then can return 200 with the whole content""")
+        void downloadWhole() {
+            var response = mockMvc.perform(get("/api/v1/cases/1/attachments/5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"digits.txt\""))
+                .andReturn().getResponse();
+
+            then(response.getContentType()).isEqualTo("text/plain");
+            then(response.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("0123456789");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an attachment, \
+            When downloadAttachment with a suffix Range, \
+            Then can return 206 with the last bytes""")
+        void downloadRange() {
+            var response = mockMvc.perform(get("/api/v1/cases/1/attachments/5")
+                    .header(HttpHeaders.RANGE, "bytes=-4"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 6-9/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andReturn().getResponse();
+
+            then(response.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("6789");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an attachment, \
+            When downloadAttachment with a Range past its end, \
+            Then can return 416 with its length""")
+        void unsatisfiableRange() {
+            mockMvc.perform(get("/api/v1/cases/1/attachments/5")
+                    .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the connector supports sendfile, \
+            When downloadAttachment with Range, \
+            Then can hand the file range to the connector instead of writing it""")
+        void sendfile() {
+            var result = mockMvc.perform(get("/api/v1/cases/1/attachments/5")
+                    .header(HttpHeaders.RANGE, "bytes=2-4")
+                    .requestAttr(CaseAttachmentController.SENDFILE_SUPPORT, true))
+                .andExpect(status().isPartialContent()).andReturn();
+
+            var request = result.getRequest();
+            then(request.getAttribute(CaseAttachmentController.SENDFILE_FILENAME))
+                .isEqualTo(dir.resolve("key").toAbsolutePath().toString());
+            then(request.getAttribute(CaseAttachmentController.SENDFILE_START)).isEqualTo(2L);
+            then(request.getAttribute(CaseAttachmentController.SENDFILE_END)).isEqualTo(5L);
+            then(result.getResponse().getContentAsByteArray()).isEmpty();
+            then(result.getResponse().getContentLengthLong()).isEqualTo(3);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the attachment does not exist, \
+            When downloadAttachment, \
+            Then can return 404""")
+        void notFound() {
+            mockMvc.perform(get("/api/v1/cases/1/attachments/6"))
+                .andExpect(status().isNotFound());
+        }
+    }
+}
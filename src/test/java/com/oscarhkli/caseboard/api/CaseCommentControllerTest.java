@@ -0,0 +1,121 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.comment.CaseCommentPage;
+import com.oscarhkli.caseboard.comment.CaseCommentService;
+import java.util.List;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = CaseCommentController.class)
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+class CaseCommentControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @MockitoBean
+    CaseCommentService caseCommentService;
+
+    @Nested
+    @DisplayName("Test getComments")
+    class GetCommentsTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseCommentService can return a page of comments, \
+            When getComments with after and an oversized limit, \
+            Then can return 200 with the comments and next, asking for at most 1000""")
+        void getComments() {
+            given(caseCommentService.findComments(1L, 3L, CaseCommentController.MAX_PAGE_LIMIT))
+                .willReturn(Optional.of(new CaseCommentPage(
+                    List.of(CaseComment.builder().id(4L).author("alice").body("Hi").build()),
+                    4L)));
+
+            var response = mockMvc.perform(get("/api/v1/cases/1/comments")
+                    .param("after", "3").param("limit", "5000")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var actual = objectMapper.readValue(response, CaseCommentsFindResponse.class);
+            then(actual.data()).extracting(CaseComment::id).containsExactly(4L);
+            then(actual.next()).isEqualTo(4L);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the case does not exist, \
+            When getComments, \
+            Then can return 404""")
+        void caseNotFound() {
+            given(caseCommentService.findComments(1L, null, 100)).willReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/v1/cases/1/comments")).andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test insertComment")
+    class InsertCommentTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseCommentService can add the comment, \
+            When insertComment, \
+            Then can return 201 with the new comment id""")
+        void insertComment() {
+            var newComment = CaseComment.builder().author("alice").body("Looks good").build();
+            given(caseCommentService.addComment(1L, newComment)).willReturn(Optional.of(9L));
+
+            var response = mockMvc.perform(post("/api/v1/cases/1/comments")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(newComment)))
+                .andExpect(status().isCreated()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            then(Long.parseLong(response)).isEqualTo(9L);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a comment without a body, \
+            When insertComment, \
+            Then can return 400 without adding it""")
+        void invalidComment() {
+            mockMvc.perform(post("/api/v1/cases/1/comments")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content("{\"author\":\"alice\"}"))
+                .andExpect(status().isBadRequest());
+
+            BDDMockito.then(caseCommentService).should(never()).addComment(anyLong(), any());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.oscarhkli.caseboard.entity.CaseEntity;
 import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.ingest.IngestionStatus.State;
 import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Comparator;
@@ -29,6 +30,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 
 @Slf4j
@@ -43,6 +46,8 @@ class CaseComponentTest {
 
     @Autowired
     CaseRepository caseRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
 
     CustomComparator comparator = new CustomComparator(JSONCompareMode.LENIENT,
         Customization.customization("data.id", (o1, o2) -> true),
@@ -51,7 +56,7 @@ class CaseComponentTest {
 
     @BeforeEach
     void init() {
-        caseRepository.deleteAll();
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "cases");
         var caseEntities = Stream.of(1, 2, 3, 4, 5).map(
             i -> CaseEntity.builder().caseNumber("CASE%03d".formatted(i))
                 .title("Title %d".formatted(i)).description("Desc %d".formatted(i))
@@ -177,6 +182,36 @@ class CaseComponentTest {
 
             then(allCases.getLast().getId()).isEqualTo(actual);
         }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a valid case, \
+            When ingestCase and poll its status, \
+            Then can see it inserted by the ingestion workers""")
+        void ingestCase() {
+            var newCase = Case.builder().caseNumber("CASE_009").title("Title 009")
+                .status("STATUS_009").build();
+
+            var location = mockMvc.perform(post("/api/v1/cases/ingestions")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(newCase)))
+                .andExpect(status().isAccepted()).andReturn().getResponse().getHeader("Location");
+
+            CaseIngestionResponse ingestion = null;
+            for (var attempt = 0; attempt < 100; attempt++) {
+                ingestion = objectMapper.readValue(mockMvc.perform(get(location))
+                        .andExpect(status().isOk()).andReturn().getResponse().getContentAsString(),
+                    CaseIngestionResponse.class);
+                if (ingestion.state() != State.QUEUED) {
+                    break;
+                }
+                Thread.sleep(50);
+            }
+            then(ingestion.state()).isEqualTo(State.INSERTED);
+            then(caseRepository.findById(ingestion.caseId())).get()
+                .extracting(CaseEntity::getCaseNumber).isEqualTo("CASE_009");
+        }
     }
 
     @Nested
@@ -2,20 +2,45 @@ package com.oscarhkli.caseboard.api;
 
 import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.CaseChanges;
+import com.oscarhkli.caseboard.CaseMetrics;
+import com.oscarhkli.caseboard.CaseMetrics.DailyCount;
+import com.oscarhkli.caseboard.CaseListCursor;
+import com.oscarhkli.caseboard.CaseMetricsService;
+import com.oscarhkli.caseboard.CasePage;
 import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CasePatch;
 import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.CaseSort;
+import com.oscarhkli.caseboard.InvalidMetricsRangeException;
+import com.oscarhkli.caseboard.SyncToken;
+import com.oscarhkli.caseboard.SyncTokenExpiredException;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.ingest.CaseIngestionService;
+import com.oscarhkli.caseboard.ingest.CaseIngestionUnavailableException;
+import com.oscarhkli.caseboard.ingest.IngestionStatus;
+import com.oscarhkli.caseboard.ingest.IngestionStatus.State;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -27,6 +52,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -41,6 +67,10 @@ class CaseControllerTest {
     ObjectMapper objectMapper;
     @MockitoBean
     CaseService caseService;
+    @MockitoBean
+    CaseMetricsService caseMetricsService;
+    @MockitoBean
+    CaseIngestionService caseIngestionService;
 
     @Nested
     @DisplayName("Test getCases")
@@ -64,8 +94,7 @@ class CaseControllerTest {
                 .andDo(print()).andReturn().getResponse().getContentAsString();
 
             var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
-            var expected = CasesFindResponse.builder().singleCase(fakeCase1).singleCase(fakeCase2)
-                .build();
+            var expected = CasesFindResponse.of(List.of(fakeCase1, fakeCase2));
             then(casesFindResponse).usingRecursiveComparison().isEqualTo(expected);
         }
 
@@ -84,8 +113,224 @@ class CaseControllerTest {
                 .andDo(print()).andReturn().getResponse().getContentAsString();
 
             var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
-            var expected = CasesFindResponse.builder().build();
+            var expected = CasesFindResponse.of(List.of());
+            then(casesFindResponse).usingRecursiveComparison().isEqualTo(expected);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return cases in a status, \
+            When getCases with status, \
+            Then can return 200 with only those cases""")
+        void getCasesByStatus() {
+            var fakeCase = Case.builder().id(1L).status("OPEN").build();
+
+            given(caseService.findCasesByStatus("OPEN")).willReturn(List.of(fakeCase));
+
+            var response = mockMvc.perform(get("/api/v1/cases").param("status", "OPEN")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
+            var expected = CasesFindResponse.of(List.of(fakeCase));
             then(casesFindResponse).usingRecursiveComparison().isEqualTo(expected);
+            BDDMockito.then(caseService).should(never()).findAllCases();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return a sorted page with more cases, \
+            When getCases with status, sort and limit, \
+            Then can return 200 with the page and the next cursor""")
+        void getSortedPage() {
+            var sort = CaseSort.valueOf("lastModifiedDateTime,desc");
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var fakeCase = Case.builder().id(2L).status("OPEN").lastModifiedDateTime(t1).build();
+            var next = new CaseListCursor(sort, t1, 2L);
+            given(caseService.findCases("OPEN", sort, null, 1, false)).willReturn(
+                new CasePage(List.of(fakeCase), next));
+
+            var response = mockMvc.perform(get("/api/v1/cases").param("status", "OPEN")
+                    .param("sort", "lastModifiedDateTime,desc").param("limit", "1")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
+            then(casesFindResponse).isEqualTo(
+                new CasesFindResponse(List.of(fakeCase), next.encode()));
+            then(CaseListCursor.valueOf(casesFindResponse.next())).isEqualTo(next);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a client has a cursor, \
+            When getCases after the cursor, \
+            Then can pass the cursor to caseService""")
+        void getNextPage() {
+            var after = new CaseListCursor(CaseSort.valueOf("caseNumber"), "CASE_001", 1L);
+            given(caseService.findCases(null, null, after, 100, false)).willReturn(
+                new CasePage(List.of(), null));
+
+            var response = mockMvc.perform(get("/api/v1/cases").param("after", after.encode())
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(response).isEqualTo("{\"data\":[]}");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return a page with archived cases, \
+            When getCases with includeArchived but no sort, \
+            Then can return 200 with the page rather than every case""")
+        void getCasesIncludingArchived() {
+            var fakeCase = Case.builder().id(2L).status("CLOSED").build();
+            given(caseService.findCases(null, null, null, 100, true)).willReturn(
+                new CasePage(List.of(fakeCase), null));
+
+            var response = mockMvc.perform(get("/api/v1/cases").param("includeArchived", "true")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
+            then(casesFindResponse).isEqualTo(new CasesFindResponse(List.of(fakeCase), null));
+            BDDMockito.then(caseService).should(never()).findAllCases();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return a page of an assignee's cases, \
+            When getCases with assignee and status but no sort, \
+            Then can return 200 with the page""")
+        void getCasesByAssignee() {
+            var fakeCase = Case.builder().id(2L).status("OPEN").assignee("alice").build();
+            given(caseService.findCasesByAssignee("alice", "OPEN", null, null, 100, false)).willReturn(
+                new CasePage(List.of(fakeCase), null));
+
+            var response = mockMvc.perform(get("/api/v1/cases").param("assignee", "alice")
+                    .param("status", "OPEN").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            var casesFindResponse = objectMapper.readValue(response, CasesFindResponse.class);
+            then(casesFindResponse).isEqualTo(new CasesFindResponse(List.of(fakeCase), null));
+            BDDMockito.then(caseService).should(never()).findCasesByStatus(any());
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a sort on an unindexed property, \
+            When getCases, \
+            Then can return 400""")
+        void getCasesWithInvalidSort() {
+            mockMvc.perform(get("/api/v1/cases").param("sort", "title,asc")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isBadRequest())
+                .andDo(print());
+
+            BDDMockito.then(caseService).shouldHaveNoInteractions();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getCaseMetrics")
+    class GetCaseMetricsTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseMetricsService can return metrics for a range, \
+            When getCaseMetrics, \
+            Then can return 200 with CaseMetricsResponse""")
+        void getCaseMetrics() {
+            var from = LocalDate.of(2025, 4, 7);
+            var to = LocalDate.of(2025, 4, 8);
+            var caseMetrics = new CaseMetrics(from, to,
+                List.of(new DailyCount(from, 3), new DailyCount(to, 1)), Map.of("OPEN", 90.0),
+                "RESOLVED", List.of(new DailyCount(from, 2)));
+            given(caseMetricsService.findMetrics(from, to, "RESOLVED")).willReturn(caseMetrics);
+
+            var response = mockMvc.perform(get("/api/v1/cases/metrics").param("from", "2025-04-07")
+                    .param("to", "2025-04-08").param("throughputStatus", "RESOLVED")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var caseMetricsResponse = objectMapper.readValue(response, CaseMetricsResponse.class);
+            then(caseMetricsResponse).usingRecursiveComparison()
+                .isEqualTo(CaseMetricsResponse.of(caseMetrics));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given from is not a date, \
+            When getCaseMetrics, \
+            Then can return 400""")
+        void getCaseMetricsWithInvalidDate() {
+            mockMvc.perform(get("/api/v1/cases/metrics").param("from", "yesterday")
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isBadRequest());
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseMetricsService rejects the range, \
+            When getCaseMetrics, \
+            Then can return 400 with the reason""")
+        void getCaseMetricsWithInvalidRange() {
+            var from = LocalDate.of(1, 1, 1);
+            var to = LocalDate.of(9999, 12, 31);
+            given(caseMetricsService.findMetrics(from, to, "CLOSED")).willThrow(
+                new InvalidMetricsRangeException("Range is too long"));
+
+            var response = mockMvc.perform(get("/api/v1/cases/metrics").param("from", "0001-01-01")
+                    .param("to", "9999-12-31").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            then(objectMapper.readValue(response, ApiErrorResponse.class).error().message())
+                .isEqualTo("Range is too long");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getOpenCaseCount")
+    class GetOpenCaseCountTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return an assignee's open case count, \
+            When getOpenCaseCount, \
+            Then can return 200 with OpenCaseCountResponse""")
+        void getOpenCaseCount() {
+            given(caseService.findOpenCaseCount("alice")).willReturn(3L);
+
+            var response = mockMvc.perform(get("/api/v1/cases/open-count")
+                    .param("assignee", "alice").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            then(objectMapper.readValue(response, OpenCaseCountResponse.class))
+                .isEqualTo(new OpenCaseCountResponse("alice", 3));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given no assignee, \
+            When getOpenCaseCount, \
+            Then can return 400""")
+        void getOpenCaseCountWithoutAssignee() {
+            mockMvc.perform(get("/api/v1/cases/open-count")
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isBadRequest());
+
+            BDDMockito.then(caseService).shouldHaveNoInteractions();
         }
     }
 
@@ -110,7 +355,7 @@ class CaseControllerTest {
                 .andDo(print()).andReturn().getResponse().getContentAsString();
 
             var caseGetResponse = objectMapper.readValue(response, CaseGetResponse.class);
-            var expected = CaseGetResponse.builder().data(fakeCase1).build();
+            var expected = CaseGetResponse.of(fakeCase1);
             then(caseGetResponse).usingRecursiveComparison().isEqualTo(expected);
         }
 
@@ -147,6 +392,184 @@ class CaseControllerTest {
             then(apiErrorResponse.error().message()).contains("id", "ABC");
             BDDMockito.then(caseService).shouldHaveNoInteractions();
         }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given case only in the archive, \
+            When getCase with includeArchived, \
+            Then can return 200 with the archived case""")
+        void includeArchived() {
+            var fakeCase1 = Case.builder().id(1L).status("CLOSED").build();
+
+            given(caseService.findCaseById(1L)).willReturn(Optional.empty());
+            given(caseService.findArchivedCaseById(1L)).willReturn(Optional.of(fakeCase1));
+
+            var response = mockMvc.perform(
+                    get("/api/v1/cases/{id}", 1L).param("includeArchived", "true")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseGetResponse.class)).usingRecursiveComparison()
+                .isEqualTo(CaseGetResponse.of(fakeCase1));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given case not found, \
+            When getCase without includeArchived, \
+            Then can return 404 without reading the archive""")
+        void archiveNotReadByDefault() {
+            given(caseService.findCaseById(1L)).willReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/v1/cases/{id}", 1L).accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isNotFound());
+
+            BDDMockito.then(caseService).should(never()).findArchivedCaseById(anyLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getArchivedCase and getArchivedCases")
+    class GetArchivedCaseTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can find an archived case by id, \
+            When getArchivedCase, \
+            Then can return 200 with CaseGetResponse""")
+        void getArchivedCase() {
+            var fakeCase1 = Case.builder().id(1L).status("CLOSED").build();
+
+            given(caseService.findArchivedCaseById(1L)).willReturn(Optional.of(fakeCase1));
+
+            var response = mockMvc.perform(get("/api/v1/cases/archived/{id}", 1L)
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseGetResponse.class)).usingRecursiveComparison()
+                .isEqualTo(CaseGetResponse.of(fakeCase1));
+            BDDMockito.then(caseService).should(never()).findCaseById(anyLong());
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given no archived case with the id, \
+            When getArchivedCase, \
+            Then can return 404""")
+        void archivedCaseNotFound() {
+            given(caseService.findArchivedCaseById(2L)).willReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/v1/cases/archived/{id}", 2L)
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isNotFound());
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given archived cases with the case number, \
+            When getArchivedCases, \
+            Then can return 200 with CasesFindResponse""")
+        void getArchivedCases() {
+            var fakeCase1 = Case.builder().id(1L).caseNumber("CASE-1").build();
+            var fakeCase2 = Case.builder().id(7L).caseNumber("CASE-1").build();
+
+            given(caseService.findArchivedCasesByCaseNumber("CASE-1")).willReturn(
+                List.of(fakeCase1, fakeCase2));
+
+            var response = mockMvc.perform(get("/api/v1/cases/archived").param("caseNumber", "CASE-1")
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CasesFindResponse.class).data())
+                .usingRecursiveFieldByFieldElementComparator().containsExactly(fakeCase1, fakeCase2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getCaseChanges")
+    class GetCaseChangesTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can return changes since a token, \
+            When getCaseChanges, \
+            Then can return 200 with CaseChangesResponse and next token""")
+        void getCaseChanges() {
+            var since = new SyncToken(LocalDateTime.parse("2025-04-04T18:43:57"), 2L);
+            var next = new SyncToken(LocalDateTime.parse("2025-04-04T18:45:00"), 5L);
+            var fakeCase = Case.builder().id(4L).build();
+            given(caseService.findChangesSince(since, 100)).willReturn(
+                new CaseChanges(List.of(fakeCase), List.of(5L), List.of(3L), next, true));
+
+            var response = mockMvc.perform(
+                    get("/api/v1/cases/changes").param("since", since.encode())
+                        .param("limit", "100").accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            var caseChangesResponse = objectMapper.readValue(response, CaseChangesResponse.class);
+            var expected = CaseChangesResponse.builder().singleCase(fakeCase).deletedId(5L)
+                .archivedId(3L).nextToken(next.encode()).hasMore(true).build();
+            then(caseChangesResponse).usingRecursiveComparison().isEqualTo(expected);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given no token and an oversized limit, \
+            When getCaseChanges, \
+            Then can sync from the beginning with the limit capped""")
+        void getCaseChangesFromBeginning() {
+            given(caseService.findChangesSince(SyncToken.INITIAL,
+                CaseController.MAX_CHANGES_LIMIT)).willReturn(
+                new CaseChanges(List.of(), List.of(), List.of(), SyncToken.INITIAL, false));
+
+            mockMvc.perform(get("/api/v1/cases/changes").param("limit", "100000")
+                .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk());
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a malformed token, \
+            When getCaseChanges, \
+            Then can return 400 with ApiErrorResponse""")
+        void shouldHandleBadRequestForToken() {
+            var response = mockMvc.perform(
+                    get("/api/v1/cases/changes").param("since", "not-a-token")
+                        .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isBadRequest())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var apiErrorResponse = objectMapper.readValue(response, ApiErrorResponse.class);
+            then(apiErrorResponse.error().code()).isEqualTo("400");
+            BDDMockito.then(caseService).shouldHaveNoInteractions();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the token is older than the tombstone retention, \
+            When getCaseChanges, \
+            Then can return 410 with ApiErrorResponse""")
+        void getCaseChangesWithExpiredToken() {
+            var since = new SyncToken(LocalDateTime.parse("2025-04-04T18:43:57"), 2L);
+            given(caseService.findChangesSince(since, 500)).willThrow(
+                new SyncTokenExpiredException("Sync token is older than PT168H"));
+
+            var response = mockMvc.perform(
+                    get("/api/v1/cases/changes").param("since", since.encode())
+                        .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isGone())
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            var apiErrorResponse = objectMapper.readValue(response, ApiErrorResponse.class);
+            then(apiErrorResponse.error().code()).isEqualTo("410");
+            then(apiErrorResponse.error().message()).isEqualTo("Sync token is older than PT168H");
+        }
     }
 
     @Nested
@@ -238,6 +661,102 @@ class CaseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Test ingestCase")
+    class IngestCaseTest {
+
+        Case newCase = Case.builder().caseNumber("CASE_001").title("Title 001")
+            .status("STATUS_001").build();
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseIngestionService can queue the case, \
+            When ingestCase, \
+            Then can return 202 with the tracking id and its status location""")
+        void ingestCase() {
+            var trackingId = UUID.fromString("7b1f6f0e-1f3c-4c39-9a3c-0d8c2f4e5a61");
+            given(caseIngestionService.enqueue(newCase)).willReturn(trackingId);
+
+            var response = mockMvc.perform(post("/api/v1/cases/ingestions")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(newCase)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/cases/ingestions/" + trackingId))
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseIngestionResponse.class)).isEqualTo(
+                new CaseIngestionResponse(trackingId, State.QUEUED, null, null));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an invalid case, \
+            When ingestCase, \
+            Then can return 400 without queueing""")
+        void ingestInvalidCase() {
+            mockMvc.perform(post("/api/v1/cases/ingestions")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(Case.builder().build())))
+                .andExpect(status().isBadRequest()).andDo(print());
+
+            BDDMockito.then(caseIngestionService).shouldHaveNoInteractions();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the ingestion queue is full, \
+            When ingestCase, \
+            Then can return 503""")
+        void ingestWhenFull() {
+            given(caseIngestionService.enqueue(newCase)).willThrow(
+                new CaseIngestionUnavailableException("Case ingestion queue is full"));
+
+            var response = mockMvc.perform(post("/api/v1/cases/ingestions")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(objectMapper.writeValueAsString(newCase)))
+                .andExpect(status().isServiceUnavailable()).andDo(print()).andReturn()
+                .getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, ApiErrorResponse.class).error().message())
+                .isEqualTo("Case ingestion queue is full");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a case was inserted, \
+            When getIngestion, \
+            Then can return 200 with the case id""")
+        void getIngestion() {
+            var trackingId = UUID.randomUUID();
+            given(caseIngestionService.findStatus(trackingId)).willReturn(
+                Optional.of(new IngestionStatus(trackingId, State.INSERTED, 42L, null)));
+
+            var response = mockMvc.perform(get("/api/v1/cases/ingestions/{trackingId}", trackingId))
+                .andExpect(status().isOk()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            then(objectMapper.readValue(response, CaseIngestionResponse.class)).isEqualTo(
+                new CaseIngestionResponse(trackingId, State.INSERTED, 42L, null));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an unknown tracking id, \
+            When getIngestion, \
+            Then can return 404""")
+        void getUnknownIngestion() {
+            given(caseIngestionService.findStatus(any())).willReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/v1/cases/ingestions/{trackingId}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        }
+    }
+
     @Nested
     @DisplayName("Test updateCase")
     class UpdateCasesTest {
@@ -343,6 +862,125 @@ class CaseControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Test patchCase")
+    class PatchCaseTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can apply a merge patch, \
+            When patchCase with application/merge-patch+json, \
+            Then can return 200 with whether the case changed""")
+        void patchCase() {
+            given(caseService.patchCase(2L, CasePatch.of(Map.of("status", "CLOSED"))))
+                .willReturn(true);
+
+            var response = mockMvc.perform(patch("/api/v1/cases/{id}", 2L)
+                    .contentType(CaseController.MERGE_PATCH_JSON_VALUE)
+                    .content("""
+                        {"status":"CLOSED"}""")).andExpect(status().isOk()).andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+            then(Boolean.parseBoolean(response)).isTrue();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a patch removing the title and changing the case number, \
+            When patchCase, \
+            Then can return 400 listing both members""")
+        void invalidPatch() {
+            var response = mockMvc.perform(patch("/api/v1/cases/{id}", 2L)
+                    .contentType(CaseController.MERGE_PATCH_JSON_VALUE)
+                    .content("""
+                        {"title":null,"caseNumber":"CASE_002"}"""))
+                .andExpect(status().isBadRequest()).andDo(print()).andReturn().getResponse()
+                .getContentAsString();
+
+            var apiErrorResponse = objectMapper.readValue(response, ApiErrorResponse.class);
+            then(apiErrorResponse.error().errors()).extracting("reason", "message")
+                .containsExactly(tuple("title", "must not be empty"),
+                    tuple("caseNumber", "cannot be patched"));
+            BDDMockito.then(caseService).should(never()).patchCase(anyLong(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test assignCase")
+    class AssignCaseTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseService can assign the case, \
+            When assignCase, \
+            Then can return 200 with whether the assignee changed""")
+        void assignCase() {
+            given(caseService.assignCase(2L, "alice")).willReturn(true);
+
+            var response = mockMvc.perform(put("/api/v1/cases/{id}/assignee", 2L)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE).content("""
+                        {"assignee":"alice"}""")).andExpect(status().isOk()).andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+            then(Boolean.parseBoolean(response)).isTrue();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an empty assignee, \
+            When assignCase, \
+            Then can return 400""")
+        void assignCaseWithEmptyAssignee() {
+            var response = mockMvc.perform(put("/api/v1/cases/{id}/assignee", 2L)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE).content("""
+                        {"assignee":""}""")).andExpect(status().isBadRequest()).andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+            var apiErrorResponse = objectMapper.readValue(response, ApiErrorResponse.class);
+            then(apiErrorResponse.error().errors()).extracting("reason", "message")
+                .containsExactly(tuple("assignee", "must not be empty"));
+            BDDMockito.then(caseService).shouldHaveNoInteractions();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the case is changed concurrently, \
+            When assignCase, \
+            Then can return 409""")
+        void assignCaseConcurrently() {
+            given(caseService.assignCase(2L, "alice")).willThrow(
+                new ObjectOptimisticLockingFailureException(CaseEntity.class, 2L));
+
+            var response = mockMvc.perform(put("/api/v1/cases/{id}/assignee", 2L)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE).content("""
+                        {"assignee":"alice"}""")).andExpect(status().isConflict()).andDo(print())
+                .andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, ApiErrorResponse.class).error().message())
+                .isEqualTo("Case was changed concurrently, retry the request");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given an assigned case, \
+            When unassignCase, \
+            Then can assign the case to no one""")
+        void unassignCase() {
+            given(caseService.assignCase(2L, null)).willReturn(true);
+
+            mockMvc.perform(delete("/api/v1/cases/{id}/assignee", 2L)).andExpect(status().isOk())
+                .andDo(print());
+
+            BDDMockito.then(caseService).should().assignCase(2L, null);
+        }
+    }
+
     @Nested
     @DisplayName("Test deleteCase")
     class DeleteCasesTest {
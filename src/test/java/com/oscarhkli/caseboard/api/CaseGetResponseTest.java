@@ -16,9 +16,8 @@ class CaseGetResponseTest {
             .lastModifiedDateTime(now).build();
 
         var actual = CaseGetResponse.of(singleCase);
-        var expected = CaseGetResponse.builder().data(
-            Case.builder().id(1L).caseNumber("caseNumber").title("title").description("description")
-                .status("status").createdDateTime(now).lastModifiedDateTime(now).build()).build();
+        var expected = new CaseGetResponse(
+            new Case(1L, "caseNumber", "title", "description", "status", null, now, now));
         then(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 }
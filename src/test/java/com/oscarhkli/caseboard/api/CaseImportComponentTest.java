@@ -0,0 +1,76 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus.State;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+class CaseImportComponentTest {
+
+    @LocalServerPort
+    int port;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    CaseRepository caseRepository;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a CSV of valid rows, an invalid row and a taken case number, \
+        When import and poll the import until done, \
+        Then can insert the valid cases and reject the others""")
+    void importCsv() {
+        var prefix = "IMPORT_%d_".formatted(System.nanoTime());
+        caseRepository.save(CaseEntity.builder().caseNumber(prefix + "TAKEN").title("Title")
+            .status("OPEN").build());
+        var csv = new StringBuilder("caseNumber,title,description,status\n");
+        for (var i = 0; i < 7; i++) {
+            csv.append("%s%d,Title %d,,OPEN\n".formatted(prefix, i, i));
+        }
+        csv.append("%sBAD,,,OPEN\n%sTAKEN,Title,,OPEN\n".formatted(prefix, prefix));
+
+        var submitted = httpClient.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:%d/api/v1/cases/imports".formatted(port)))
+            .header(HttpHeaders.CONTENT_TYPE, "text/csv")
+            .POST(BodyPublishers.ofString(csv.toString())).build(), BodyHandlers.ofString());
+        var location = URI.create("http://localhost:%d".formatted(port)
+            + submitted.headers().firstValue(HttpHeaders.LOCATION).orElseThrow());
+        CaseImportResponse done = null;
+        for (var i = 0; i < 500 && (done == null || done.state() == State.QUEUED
+            || done.state() == State.RUNNING); i++) {
+            Thread.sleep(10);
+            done = objectMapper.readValue(httpClient.send(HttpRequest.newBuilder(location).build(),
+                BodyHandlers.ofString()).body(), CaseImportResponse.class);
+        }
+        var rejected = httpClient.send(HttpRequest.newBuilder(URI.create(location + "/rejected"))
+            .build(), BodyHandlers.ofString());
+
+        then(submitted.statusCode()).isEqualTo(202);
+        then(done).isNotNull();
+        then(done.state()).isEqualTo(State.COMPLETED);
+        then(done.imported()).isEqualTo(7);
+        then(done.rejected()).isEqualTo(2);
+        then(caseRepository.findByCaseNumber(prefix + "6")).isPresent();
+        then(rejected.body()).contains("9,title must not be empty",
+            "10,Case number %sTAKEN cannot be reused".formatted(prefix));
+    }
+}
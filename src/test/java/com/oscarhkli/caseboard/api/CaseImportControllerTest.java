@@ -0,0 +1,133 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.attachment.AttachmentTooLargeException;
+import com.oscarhkli.caseboard.bulkimport.CaseImportService;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus.State;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = CaseImportController.class)
+@AutoConfigureMockMvc
+@ExtendWith(MockitoExtension.class)
+class CaseImportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @MockitoBean
+    CaseImportService caseImportService;
+
+    UUID importId = UUID.fromString("5b0c1c9e-2d1e-4f5a-9a43-3f3b7c1a2b10");
+
+    @Nested
+    @DisplayName("Test importCases")
+    class ImportCasesTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given caseImportService can queue the upload, \
+            When importCases, \
+            Then can return 202 with the import id and its location""")
+        void importCases() {
+            given(caseImportService.submit(any())).willReturn(
+                new ImportStatus(importId, State.QUEUED, 0, 0, 0, null));
+
+            var response = mockMvc.perform(post("/api/v1/cases/imports").contentType("text/csv")
+                    .content("caseNumber,title,status\nA,Title,OPEN\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/v1/cases/imports/" + importId))
+                .andDo(print()).andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseImportResponse.class)).isEqualTo(
+                new CaseImportResponse(importId, State.QUEUED, 0, 0, 0, null));
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the upload is too large, \
+            When importCases, \
+            Then can return 413""")
+        void tooLarge() {
+            given(caseImportService.submit(any())).willThrow(
+                new AttachmentTooLargeException("Import exceeds 1 bytes"));
+
+            mockMvc.perform(post("/api/v1/cases/imports").contentType("text/csv").content("a,b"))
+                .andExpect(status().isPayloadTooLarge());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test getImport and getRejectedRows")
+    class GetImportTest {
+
+        @TempDir
+        Path dir;
+
+        @SneakyThrows
+        @Test
+        void getImport() {
+            given(caseImportService.findStatus(importId)).willReturn(
+                Optional.of(new ImportStatus(importId, State.RUNNING, 10, 8, 2, null)));
+
+            var response = mockMvc.perform(get("/api/v1/cases/imports/{importId}", importId)
+                    .accept(MediaType.APPLICATION_JSON_VALUE)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+            then(objectMapper.readValue(response, CaseImportResponse.class)).isEqualTo(
+                new CaseImportResponse(importId, State.RUNNING, 10, 8, 2, null));
+        }
+
+        @SneakyThrows
+        @Test
+        void getRejectedRows() {
+            var rejected = Files.writeString(dir.resolve("rejected.csv"), "line,error\n");
+            given(caseImportService.findRejectedRows(importId)).willReturn(Optional.of(rejected));
+
+            var response = mockMvc.perform(get("/api/v1/cases/imports/{importId}/rejected",
+                    importId)).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+            then(response).isEqualTo("line,error\n");
+        }
+
+        @SneakyThrows
+        @Test
+        void unknownImport() {
+            given(caseImportService.findStatus(importId)).willReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/v1/cases/imports/{importId}", importId))
+                .andExpect(status().isNotFound());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.oscarhkli.caseboard.api;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@JsonTest
+class CaseJsonComponentTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    ObjectMapper reflectiveObjectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    Case fullCase = new Case(1L, "CASE_001", "Title \"quoted\"", "Line 1\nLine 2", "OPEN",
+        "alice", LocalDateTime.of(2025, 4, 4, 18, 43, 57),
+        LocalDateTime.of(2025, 4, 5, 1, 2, 3, 120_000));
+    Case sparseCase = new Case(null, "CASE_002", "Title", null, "CLOSED", null,
+        LocalDateTime.of(2025, 4, 4, 0, 0), null);
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given cases with every field, nulls and fractional seconds, \
+        When serialize the read responses, \
+        Then can write the same JSON as Jackson's reflective serializers""")
+    void sameJsonAsReflective() {
+        var responses = List.of(CaseGetResponse.of(fullCase), CaseGetResponse.of(sparseCase),
+            CaseGetResponse.of(null), CasesFindResponse.of(List.of(fullCase, sparseCase)),
+            CasesFindResponse.of(List.of()), CasesFindResponse.of(null));
+
+        for (var response : responses) {
+            then(objectMapper.writeValueAsString(response))
+                .isEqualTo(reflectiveObjectMapper.writeValueAsString(response));
+        }
+        then(objectMapper.writeValueAsString(fullCase)).contains(
+            "\"lastModifiedDateTime\":\"2025-04-05T01:02:03.00012\"");
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given JSON written by the custom serializers, \
+        When deserialize, \
+        Then can read back the same responses""")
+    void roundTrip() {
+        var casesFindResponse = CasesFindResponse.of(Arrays.asList(fullCase, sparseCase));
+
+        var json = objectMapper.writeValueAsString(casesFindResponse);
+
+        then(objectMapper.readValue(json, CasesFindResponse.class)).isEqualTo(casesFindResponse);
+    }
+}
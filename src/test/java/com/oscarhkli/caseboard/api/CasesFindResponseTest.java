@@ -20,12 +20,10 @@ class CasesFindResponseTest {
             .lastModifiedDateTime(now.plusDays(2)).build();
 
         var actual = CasesFindResponse.of(List.of(singleCase1, singleCase2));
-        var expected = CasesFindResponse.builder().singleCase(
-                Case.builder().id(1L).caseNumber("caseNumber").title("title").description("description")
-                    .status("status").createdDateTime(now).lastModifiedDateTime(now).build())
-            .singleCase(Case.builder().id(2L).caseNumber("caseNumber2").title("title2")
-                .description("description2").status("status2").createdDateTime(now.plusDays(1))
-                .lastModifiedDateTime(now.plusDays(2)).build()).build();
+        var expected = new CasesFindResponse(List.of(
+            new Case(1L, "caseNumber", "title", "description", "status", null, now, now),
+            new Case(2L, "caseNumber2", "title2", "description2", "status2", null,
+                now.plusDays(1), now.plusDays(2))));
         then(actual).usingRecursiveComparison().isEqualTo(expected);
     }
 }
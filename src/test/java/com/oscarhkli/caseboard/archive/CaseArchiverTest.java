@@ -0,0 +1,153 @@
+package com.oscarhkli.caseboard.archive;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import com.oscarhkli.caseboard.OpenCaseCountService;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.invalidation.InvalidationBus;
+import com.oscarhkli.caseboard.outbox.CaseEventType;
+import com.oscarhkli.caseboard.outbox.CaseOutbox;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class CaseArchiverTest {
+
+    @Mock
+    CaseRepository caseRepository;
+    @Mock
+    CaseArchiveRepository caseArchiveRepository;
+    @Mock
+    InvalidationBus invalidationBus;
+    @Mock
+    CaseOutbox caseOutbox;
+    @Mock
+    OpenCaseCountService openCaseCountService;
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    Clock clock = Clock.fixed(Instant.parse("2025-04-11T00:00:00Z"), ZoneOffset.UTC);
+
+    CaseArchiver caseArchiver(int batchSize, int maxBatches) {
+        return caseArchiver(true, batchSize, maxBatches);
+    }
+
+    CaseArchiver caseArchiver(boolean enabled, int batchSize, int maxBatches) {
+        return new CaseArchiver(caseRepository, caseArchiveRepository, invalidationBus,
+            caseOutbox, openCaseCountService, new TransactionTemplate(transactionManager),
+            new ArchiveProperties(enabled, List.of("CLOSED"), Duration.ofDays(90), Duration.ofHours(1),
+                batchSize, maxBatches, Duration.ZERO), clock);
+    }
+
+    static CaseEntity caseEntity(long id) {
+        return CaseEntity.builder().id(id).status("CLOSED").build();
+    }
+
+    @Test
+    @DisplayName("""
+        Given more archivable cases than one batch, \
+        When archive, \
+        Then can copy, move comments and attachments, delete, uncount, record and invalidate batch by batch until a short batch""")
+    void archiveInBatches() {
+        var now = LocalDateTime.parse("2025-04-11T00:00:00");
+        var cutoff = LocalDateTime.parse("2025-01-11T00:00:00");
+        var batch1 = List.of(caseEntity(1L), caseEntity(2L));
+        var batch2 = List.of(caseEntity(3L));
+        given(caseRepository.findArchivable(List.of("CLOSED"), cutoff, 2)).willReturn(batch1)
+            .willReturn(batch2);
+
+        var archived = caseArchiver(2, 10).archive();
+
+        then(archived).isEqualTo(3);
+        BDDMockito.then(caseArchiveRepository).should().insertAll(batch1, now);
+        BDDMockito.then(caseArchiveRepository).should().insertAll(batch2, now);
+        BDDMockito.then(caseArchiveRepository).should()
+            .moveCommentsAndAttachments(List.of(1L, 2L));
+        BDDMockito.then(caseArchiveRepository).should().moveCommentsAndAttachments(List.of(3L));
+        BDDMockito.then(caseRepository).should().deleteArchived(List.of(1L, 2L));
+        BDDMockito.then(caseRepository).should().deleteArchived(List.of(3L));
+        BDDMockito.then(openCaseCountService).should().recordRemoved(batch1);
+        BDDMockito.then(openCaseCountService).should().recordRemoved(batch2);
+        BDDMockito.then(caseOutbox).should().appendChanges(CaseEventType.ARCHIVED, batch1);
+        BDDMockito.then(caseOutbox).should().appendChanges(CaseEventType.ARCHIVED, batch2);
+        BDDMockito.then(invalidationBus).should().publish(1L);
+        BDDMockito.then(invalidationBus).should().publish(2L);
+        BDDMockito.then(invalidationBus).should().publish(3L);
+        BDDMockito.then(transactionManager).should(times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("""
+        Given batches committed some time apart, \
+        When archive, \
+        Then can stamp each batch with its own archive time""")
+    void stampEachBatch() {
+        clock = mock(Clock.class);
+        given(clock.getZone()).willReturn(ZoneOffset.UTC);
+        given(clock.instant()).willReturn(Instant.parse("2025-04-11T00:00:00Z"))
+            .willReturn(Instant.parse("2025-04-11T00:00:01Z"))
+            .willReturn(Instant.parse("2025-04-11T00:00:05Z"));
+        var batch1 = List.of(caseEntity(1L));
+        var batch2 = List.of(caseEntity(2L));
+        given(caseRepository.findArchivable(any(), any(), anyInt())).willReturn(batch1)
+            .willReturn(batch2).willReturn(List.of());
+
+        then(caseArchiver(1, 10).archive()).isEqualTo(2);
+        BDDMockito.then(caseArchiveRepository).should()
+            .insertAll(batch1, LocalDateTime.parse("2025-04-11T00:00:01"));
+        BDDMockito.then(caseArchiveRepository).should()
+            .insertAll(batch2, LocalDateTime.parse("2025-04-11T00:00:05"));
+    }
+
+    @Test
+    @DisplayName("""
+        Given a backlog of archivable cases, \
+        When archive, \
+        Then can stop after maxBatches""")
+    void boundedByMaxBatches() {
+        given(caseRepository.findArchivable(any(), any(), anyInt())).willReturn(
+            List.of(caseEntity(1L)));
+
+        then(caseArchiver(1, 3).archive()).isEqualTo(3);
+        BDDMockito.then(caseRepository).should(times(3)).deleteArchived(List.of(1L));
+    }
+
+    @Test
+    void nothingToArchive() {
+        given(caseRepository.findArchivable(any(), any(), anyInt())).willReturn(List.of());
+
+        then(caseArchiver(10, 10).archive()).isZero();
+        BDDMockito.then(caseArchiveRepository).should(never()).insertAll(any(), any());
+        BDDMockito.then(caseRepository).should(never()).deleteArchived(any());
+    }
+
+    @Test
+    @DisplayName("""
+        Given archiving is disabled, \
+        When archive, \
+        Then can leave every case in place""")
+    void disabled() {
+        then(caseArchiver(false, 10, 10).archive()).isZero();
+        BDDMockito.then(caseRepository).shouldHaveNoInteractions();
+    }
+}
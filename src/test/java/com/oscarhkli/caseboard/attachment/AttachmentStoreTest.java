@@ -0,0 +1,67 @@
+package com.oscarhkli.caseboard.attachment;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.api.CaseAttachment;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AttachmentStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given an upload within the size limit, \
+        When write and transfer a range of it, \
+        Then can read back the range from a file named by its storage key""")
+    void writeAndTransfer() {
+        var store = new AttachmentStore(dir.resolve("attachments"), 16);
+        var bytes = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+        var stored = store.write(Channels.newChannel(new ByteArrayInputStream(bytes)));
+        var content = new AttachmentContent(
+            new CaseAttachment(1L, 1L, "a.txt", "text/plain", stored.size(), null),
+            store.path(stored.storageKey()));
+        var out = new ByteArrayOutputStream();
+        var copied = content.transferTo(10, 6, Channels.newChannel(out));
+
+        then(stored.size()).isEqualTo(16);
+        then(Files.readAllBytes(store.path(stored.storageKey()))).isEqualTo(bytes);
+        then(copied).isEqualTo(6);
+        then(out.toString(StandardCharsets.US_ASCII)).isEqualTo("abcdef");
+        try (var files = Files.list(dir.resolve("attachments"))) {
+            then(files).containsExactly(store.path(stored.storageKey()));
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given an upload one byte over the size limit, \
+        When write, \
+        Then can throw AttachmentTooLargeException and leave no file behind""")
+    void rejectOversized() {
+        var store = new AttachmentStore(dir, 16);
+        var bytes = new byte[17];
+
+        var thrown = catchThrowableOfType(AttachmentTooLargeException.class,
+            () -> store.write(Channels.newChannel(new ByteArrayInputStream(bytes))));
+
+        then(thrown).hasMessage("Attachment exceeds 16 bytes");
+        try (var files = Files.list(dir)) {
+            then(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.oscarhkli.caseboard.attachment;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+
+import com.oscarhkli.caseboard.entity.CaseAttachmentEntity;
+import com.oscarhkli.caseboard.entity.CaseAttachmentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+@ExtendWith(MockitoExtension.class)
+class CaseAttachmentServiceTest {
+
+    @Mock
+    CaseRepository caseRepository;
+    @Mock
+    CaseAttachmentRepository caseAttachmentRepository;
+    @TempDir
+    Path dir;
+
+    CaseAttachmentService caseAttachmentService;
+
+    @BeforeEach
+    void init() {
+        caseAttachmentService = new CaseAttachmentService(caseRepository,
+            caseAttachmentRepository, new AttachmentStore(dir, 1024));
+    }
+
+    @Nested
+    @DisplayName("Test upload")
+    class UploadTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the case exists, \
+            When upload, \
+            Then can store the content and save its metadata""")
+        void upload() {
+            given(caseRepository.existsById(1L)).willReturn(true);
+            given(caseAttachmentRepository.save(any())).willAnswer(invocation -> {
+                CaseAttachmentEntity caseAttachmentEntity = invocation.getArgument(0);
+                caseAttachmentEntity.setId(5L);
+                return caseAttachmentEntity;
+            });
+
+            var actual = caseAttachmentService.upload(1L, "a.txt", "text/plain", 3,
+                Channels.newChannel(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+
+            then(actual).hasValueSatisfying(caseAttachment -> {
+                then(caseAttachment.id()).isEqualTo(5L);
+                then(caseAttachment.fileName()).isEqualTo("a.txt");
+                then(caseAttachment.size()).isEqualTo(3);
+            });
+            try (var files = Files.list(dir)) {
+                then(files).hasSize(1);
+            }
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the case does not exist, \
+            When upload, \
+            Then can return empty without storing anything""")
+        void caseNotFound() {
+            given(caseRepository.existsById(1L)).willReturn(false);
+
+            var actual = caseAttachmentService.upload(1L, "a.txt", "text/plain", 3,
+                Channels.newChannel(new ByteArrayInputStream(new byte[]{1, 2, 3})));
+
+            then(actual).isEmpty();
+            BDDMockito.then(caseAttachmentRepository).should(never()).save(any());
+            try (var files = Files.list(dir)) {
+                then(files).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("""
+            Given the declared content length exceeds the limit, \
+            When upload, \
+            Then can throw AttachmentTooLargeException before reading the content""")
+        void declaredTooLarge() {
+            var thrown = catchThrowableOfType(AttachmentTooLargeException.class,
+                () -> caseAttachmentService.upload(1L, "a.bin", "application/octet-stream",
+                    1025, null));
+
+            then(thrown).hasMessage("Attachment exceeds 1024 bytes");
+            BDDMockito.then(caseRepository).shouldHaveNoInteractions();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the metadata cannot be saved, \
+            When upload, \
+            Then can delete the stored content again""")
+        void saveFails() {
+            given(caseRepository.existsById(1L)).willReturn(true);
+            given(caseAttachmentRepository.save(any())).willThrow(
+                new DataAccessResourceFailureException("down"));
+
+            var thrown = catchThrowableOfType(DataAccessResourceFailureException.class,
+                () -> caseAttachmentService.upload(1L, "a.txt", "text/plain", -1,
+                    Channels.newChannel(new ByteArrayInputStream(new byte[]{1}))));
+
+            then(thrown).hasMessage("down");
+            try (var files = Files.list(dir)) {
+                then(files).isEmpty();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findContent")
+    class FindContentTest {
+
+        @Test
+        @DisplayName("""
+            Given an attachment of the case, \
+            When findContent, \
+            Then can return its metadata and the path of its storage key""")
+        void findContent() {
+            given(caseRepository.existsById(1L)).willReturn(true);
+            given(caseAttachmentRepository.findByIdAndCaseId(5L, 1L)).willReturn(Optional.of(
+                CaseAttachmentEntity.builder().id(5L).caseId(1L).fileName("a.txt")
+                    .contentType("text/plain").size(3).storageKey("key").build()));
+
+            var actual = caseAttachmentService.findContent(1L, 5L);
+
+            then(actual).hasValueSatisfying(content -> {
+                then(content.attachment().fileName()).isEqualTo("a.txt");
+                then(content.path()).isEqualTo(dir.resolve("key"));
+            });
+        }
+
+        @Test
+        @DisplayName("""
+            Given the case does not exist, \
+            When findContent, \
+            Then can return empty""")
+        void caseNotFound() {
+            given(caseRepository.existsById(1L)).willReturn(false);
+
+            then(caseAttachmentService.findContent(1L, 5L)).isEmpty();
+            BDDMockito.then(caseAttachmentRepository).shouldHaveNoInteractions();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.attachment.AttachmentTooLargeException;
+import com.oscarhkli.caseboard.bulkimport.ImportStatus.State;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class CaseImportServiceTest {
+
+    @Mock
+    CaseService caseService;
+    @Mock
+    CaseRepository caseRepository;
+    @TempDir
+    Path dir;
+
+    CaseImportService caseImportService;
+
+    @BeforeEach
+    void init() {
+        caseImportService = new CaseImportService(caseService, caseRepository,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ImportProperties(dir, DataSize.ofKilobytes(1), 2, 2, Duration.ofHours(1)),
+            ObservationRegistry.NOOP);
+    }
+
+    @AfterEach
+    void close() {
+        caseImportService.close();
+    }
+
+    @SneakyThrows
+    ImportStatus importAndWait(String csv) {
+        var queued = caseImportService.submit(Channels.newChannel(
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))));
+        for (var i = 0; i < 500; i++) {
+            var status = caseImportService.findStatus(queued.importId()).orElseThrow();
+            if (status.state() == State.COMPLETED || status.state() == State.FAILED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Import did not finish");
+    }
+
+    static Case newCase(String caseNumber, String description) {
+        return new Case(null, caseNumber, "Title", description, "OPEN", null, null, null);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given rows that are valid, invalid, repeated and already taken over several chunks, \
+        When import, \
+        Then can insert the valid rows chunk by chunk and write the rest to the rejected rows""")
+    void importInChunks() {
+        given(caseRepository.findTakenCaseNumbers(anyCollection())).willAnswer(invocation ->
+            invocation.<Collection<String>>getArgument(0).stream()
+                .filter("TAKEN"::equals).toList());
+
+        var status = importAndWait("""
+            case_number,title,description,status
+            A,Title,,OPEN
+            B,,Missing title,OPEN
+            C,Title,"Quoted, with comma",OPEN
+            C,Title,Repeated,OPEN
+            TAKEN,Title,,OPEN
+            D,Title
+            E,Title,,OPEN
+            """);
+
+        then(status).isEqualTo(new ImportStatus(status.importId(), State.COMPLETED, 7, 3, 4,
+            null));
+        BDDMockito.then(caseService).should().importCases(List.of(newCase("A", null)));
+        BDDMockito.then(caseService).should().importCases(List.of(newCase("C",
+            "Quoted, with comma")));
+        BDDMockito.then(caseService).should().importCases(List.of(newCase("E", null)));
+        var rejected = Files.readAllLines(
+            caseImportService.findRejectedRows(status.importId()).orElseThrow());
+        then(rejected).containsExactly(
+            "line,error,case_number,title,description,status",
+            "3,title must not be empty,B,,Missing title,OPEN",
+            "5,Case number C is repeated in the import,C,Title,Repeated,OPEN",
+            "6,Case number TAKEN cannot be reused,TAKEN,Title,,OPEN",
+            "7,\"Expected 4 fields, found 2\",D,Title");
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a chunk whose insert conflicts with a concurrent insert, \
+        When import, \
+        Then can retry the chunk row by row and reject only the conflicting row""")
+    void retryChunkRowByRow() {
+        given(caseRepository.findTakenCaseNumbers(anyCollection())).willReturn(List.of());
+        given(caseService.importCases(any())).willThrow(
+            new CaseOperationException("Case numbers of the import cannot be reused"));
+        given(caseService.insertCase(any())).willAnswer(invocation -> {
+            if (invocation.<Case>getArgument(0).caseNumber().equals("B")) {
+                throw new CaseOperationException("Case number B cannot be reused");
+            }
+            return 1L;
+        });
+
+        var status = importAndWait("caseNumber,title,status\nA,Title,OPEN\nB,Title,OPEN\n");
+
+        then(status.imported()).isOne();
+        then(status.rejected()).isOne();
+        BDDMockito.then(caseService).should().insertCase(newCase("A", null));
+        then(Files.readString(caseImportService.findRejectedRows(status.importId()).orElseThrow()))
+            .contains("3,Case number B cannot be reused,B,Title,OPEN");
+    }
+
+    @Test
+    @DisplayName("""
+        Given a header without a status column, \
+        When import, \
+        Then can fail without inserting anything""")
+    void missingColumn() {
+        var status = importAndWait("caseNumber,title\nA,Title\n");
+
+        then(status.state()).isEqualTo(State.FAILED);
+        then(status.message()).isEqualTo("Missing column status");
+        BDDMockito.then(caseService).should(never()).importCases(any());
+    }
+
+    @Test
+    void tooLarge() {
+        var content = new ByteArrayInputStream(new byte[2048]);
+
+        var thrown = catchThrowableOfType(AttachmentTooLargeException.class,
+            () -> caseImportService.submit(Channels.newChannel(content)));
+
+        then(thrown).hasMessage("Import exceeds 1024 bytes");
+    }
+
+    @Test
+    void unknownImport() {
+        then(caseImportService.findStatus(UUID.randomUUID())).isEmpty();
+        then(caseImportService.findRejectedRows(UUID.randomUUID())).isEmpty();
+    }
+}
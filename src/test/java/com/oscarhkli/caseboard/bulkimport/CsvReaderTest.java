@@ -0,0 +1,60 @@
+package com.oscarhkli.caseboard.bulkimport;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given records with quoted fields, escaped quotes, line breaks and CRLF endings, \
+        When next, \
+        Then can return each record's fields and the line it starts on""")
+    void readRecords() {
+        var reader = new CsvReader(new StringReader(
+            "a,b,c\r\n\"x, y\",\"say \"\"hi\"\"\",\n\"multi\nline\",2,3\nlast,,"));
+
+        then(reader.next()).containsExactly("a", "b", "c");
+        then(reader.next()).containsExactly("x, y", "say \"hi\"", "");
+        then(reader.recordLine()).isEqualTo(2);
+        then(reader.next()).containsExactly("multi\nline", "2", "3");
+        then(reader.recordLine()).isEqualTo(3);
+        then(reader.next()).containsExactly("last", "", "");
+        then(reader.recordLine()).isEqualTo(5);
+        then(reader.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuote() {
+        var reader = new CsvReader(new StringReader("a,\"b\nc"));
+
+        var thrown = catchThrowableOfType(IOException.class, reader::next);
+
+        then(thrown).hasMessage("Unterminated quoted field in record on line 1");
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given fields that need quoting, \
+        When written by CsvWriter, \
+        Then can be read back unchanged""")
+    void roundTrip() {
+        var fields = List.of("plain", "with, comma", "with \"quote\"", "two\nlines", "");
+        var writer = new StringWriter();
+
+        CsvWriter.write(writer, fields);
+
+        then(new CsvReader(new StringReader(writer.toString())).next())
+            .containsExactlyElementsOf(fields);
+    }
+}
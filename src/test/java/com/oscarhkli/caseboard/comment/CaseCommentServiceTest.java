@@ -0,0 +1,116 @@
+package com.oscarhkli.caseboard.comment;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+
+import com.oscarhkli.caseboard.api.CaseComment;
+import com.oscarhkli.caseboard.entity.CaseCommentEntity;
+import com.oscarhkli.caseboard.entity.CaseCommentRepository;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+@ExtendWith(MockitoExtension.class)
+class CaseCommentServiceTest {
+
+    @InjectMocks
+    CaseCommentService caseCommentService;
+    @Mock
+    CaseRepository caseRepository;
+    @Mock
+    CaseCommentRepository caseCommentRepository;
+
+    @Nested
+    @DisplayName("Test addComment")
+    class AddCommentTest {
+
+        @Test
+        @DisplayName("""
+            Given the case exists, \
+            When addComment, \
+            Then can save the comment against the case and return its id""")
+        void addComment() {
+            given(caseRepository.existsById(1L)).willReturn(true);
+            given(caseCommentRepository.save(any())).willAnswer(invocation -> {
+                CaseCommentEntity caseCommentEntity = invocation.getArgument(0);
+                then(caseCommentEntity.getCaseId()).isEqualTo(1L);
+                caseCommentEntity.setId(9L);
+                return caseCommentEntity;
+            });
+
+            var actual = caseCommentService.addComment(1L,
+                CaseComment.builder().author("alice").body("Looks good").build());
+
+            then(actual).contains(9L);
+        }
+
+        @Test
+        @DisplayName("""
+            Given the case does not exist, \
+            When addComment, \
+            Then can return empty without saving""")
+        void caseNotFound() {
+            given(caseRepository.existsById(1L)).willReturn(false);
+
+            var actual = caseCommentService.addComment(1L,
+                CaseComment.builder().author("alice").body("Looks good").build());
+
+            then(actual).isEmpty();
+            BDDMockito.then(caseCommentRepository).should(never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findComments")
+    class FindCommentsTest {
+
+        @Test
+        @DisplayName("""
+            Given more comments follow the page, \
+            When findComments after a comment id, \
+            Then can scroll by id from it and return the last id as next""")
+        void findComments() {
+            given(caseRepository.existsById(1L)).willReturn(true);
+            var comments = List.of(CaseCommentEntity.builder().id(4L).caseId(1L).build(),
+                CaseCommentEntity.builder().id(6L).caseId(1L).build());
+            given(caseCommentRepository.findByCaseId(1L, ScrollPosition.forward(Map.of("id", 3L)),
+                Sort.by("id"), Limit.of(2))).willReturn(
+                Window.from(comments, ScrollPosition::offset, true));
+
+            var actual = caseCommentService.findComments(1L, 3L, 2);
+
+            then(actual).hasValueSatisfying(page -> {
+                then(page.comments()).extracting(CaseComment::id).containsExactly(4L, 6L);
+                then(page.next()).isEqualTo(6L);
+            });
+        }
+
+        @Test
+        @DisplayName("""
+            Given the case does not exist, \
+            When findComments, \
+            Then can return empty""")
+        void caseNotFound() {
+            given(caseRepository.existsById(1L)).willReturn(false);
+
+            then(caseCommentService.findComments(1L, null, 2)).isEmpty();
+            BDDMockito.then(caseCommentRepository).should(never())
+                .findByCaseId(eq(1L), any(), any(), any());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.oscarhkli.caseboard.entity;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.CaseListCursor;
+import com.oscarhkli.caseboard.CaseSort;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@JdbcTest
+@Import(CaseArchiveRepository.class)
+class CaseArchiveRepositoryTest {
+
+    @Autowired
+    CaseArchiveRepository caseArchiveRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("""
+        Given cases inserted into the archive, \
+        When findById and findByCaseNumber, \
+        Then can read them back with their original ids""")
+    void insertAllAndFind() {
+        var closed = LocalDateTime.parse("2025-01-01T10:00:00");
+        var caseEntity1 = CaseEntity.builder().id(3L).caseNumber("CASE_001").title("Title 001")
+            .description("Description 001").status("CLOSED").createdDateTime(closed.minusDays(1))
+            .lastModifiedDateTime(closed).statusChangedDateTime(closed).build();
+        var caseEntity2 = CaseEntity.builder().id(9L).caseNumber("CASE_001").title("Title 002")
+            .status("CLOSED").createdDateTime(closed).lastModifiedDateTime(closed).build();
+
+        caseArchiveRepository.insertAll(List.of(caseEntity1, caseEntity2), closed.plusDays(90));
+
+        then(caseArchiveRepository.findById(3L)).contains(caseEntity1);
+        then(caseArchiveRepository.findById(4L)).isEmpty();
+        then(caseArchiveRepository.findByCaseNumber("CASE_001")).containsExactly(caseEntity1,
+            caseEntity2);
+        then(caseArchiveRepository.findByCaseNumber("CASE_002")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("""
+        Given comments and attachments on an archived case and on another case, \
+        When moveCommentsAndAttachments, \
+        Then can move only the archived case's rows to the archive tables""")
+    void moveCommentsAndAttachments() {
+        jdbcTemplate.update("""
+            insert into case_comments (id, case_id, author, body) values
+            (1, 3, 'alice', 'Comment 1'), (2, 4, 'bob', 'Comment 2'), (3, 3, 'bob', 'Comment 3')""");
+        jdbcTemplate.update("""
+            insert into case_attachments
+                (id, case_id, file_name, content_type, size_bytes, storage_key) values
+            (5, 3, 'a.txt', 'text/plain', 1, 'key-a'), (6, 4, 'b.txt', 'text/plain', 1, 'key-b')""");
+
+        caseArchiveRepository.moveCommentsAndAttachments(List.of(3L));
+
+        then(ids("select id from case_comments")).containsExactly(2L);
+        then(ids("select id from case_comment_archive")).containsExactly(1L, 3L);
+        then(ids("select id from case_attachments")).containsExactly(6L);
+        then(jdbcTemplate.queryForList("select storage_key from case_attachment_archive",
+            String.class)).containsExactly("key-a");
+    }
+
+    @Test
+    @DisplayName("""
+        Given archived cases of two assignees, \
+        When findPage with and without a cursor, \
+        Then can read keyset pages of one assignee in sort order""")
+    void findPage() {
+        var t1 = LocalDateTime.parse("2025-01-01T10:00:00");
+        var caseEntities = List.of(archived(1L, "alice", t1), archived(2L, "bob", t1.plusHours(1)),
+            archived(3L, "alice", t1.plusHours(2)), archived(4L, "alice", t1));
+        caseArchiveRepository.insertAll(caseEntities, t1.plusDays(90));
+        var byLastModified = CaseSort.valueOf("lastModifiedDateTime,desc");
+
+        var page1 = caseArchiveRepository.findPage("alice", "CLOSED", byLastModified, null, 2);
+        var page2 = caseArchiveRepository.findPage("alice", null, byLastModified,
+            CaseListCursor.after(byLastModified, page1.getLast()), 2);
+
+        then(page1).extracting(CaseEntity::getId).containsExactly(3L, 4L);
+        then(page2).extracting(CaseEntity::getId).containsExactly(1L);
+        then(caseArchiveRepository.findPage(null, null, CaseSort.valueOf("caseNumber"),
+            new CaseListCursor(CaseSort.valueOf("caseNumber"), "CASE_002", 2L), 10))
+            .extracting(CaseEntity::getId).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("""
+        Given cases archived at different times, \
+        When findArchivedAfter, \
+        Then can return those after the position and up to the bound, oldest first""")
+    void findArchivedAfter() {
+        var t1 = LocalDateTime.parse("2025-04-01T10:00:00");
+        caseArchiveRepository.insertAll(List.of(archived(5L, null, t1), archived(7L, null, t1)),
+            t1.plusDays(1));
+        caseArchiveRepository.insertAll(List.of(archived(6L, null, t1)), t1.plusDays(2));
+        caseArchiveRepository.insertAll(List.of(archived(8L, null, t1)), t1.plusDays(3));
+
+        var archivedCases = caseArchiveRepository.findArchivedAfter(t1.plusDays(1), 5L,
+            t1.plusDays(2), 10);
+
+        then(archivedCases).containsExactly(
+            new CaseArchiveRepository.ArchivedCase(7L, t1.plusDays(1)),
+            new CaseArchiveRepository.ArchivedCase(6L, t1.plusDays(2)));
+    }
+
+    static CaseEntity archived(long id, String assignee, LocalDateTime lastModified) {
+        return CaseEntity.builder().id(id).caseNumber("CASE_00" + id).title("Title " + id)
+            .status("CLOSED").assignee(assignee).lastModifiedDateTime(lastModified).build();
+    }
+
+    List<Long> ids(String query) {
+        return jdbcTemplate.queryForList(query + " order by id", Long.class);
+    }
+}
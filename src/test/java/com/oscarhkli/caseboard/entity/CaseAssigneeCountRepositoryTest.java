@@ -0,0 +1,32 @@
+package com.oscarhkli.caseboard.entity;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+
+@JdbcTest
+@Import(CaseAssigneeCountRepository.class)
+class CaseAssigneeCountRepositoryTest {
+
+    @Autowired
+    CaseAssigneeCountRepository caseAssigneeCountRepository;
+
+    @Test
+    @DisplayName("""
+        Given increments and decrements of assignees, \
+        When findOpenCases, \
+        Then can return each assignee's net count and 0 for an unknown assignee""")
+    void incrementAndFindOpenCases() {
+        caseAssigneeCountRepository.increment("alice", 3);
+        caseAssigneeCountRepository.increment("alice", -1);
+        caseAssigneeCountRepository.increment("bob", 1);
+
+        then(caseAssigneeCountRepository.findOpenCases("alice")).isEqualTo(2);
+        then(caseAssigneeCountRepository.findOpenCases("bob")).isEqualTo(1);
+        then(caseAssigneeCountRepository.findOpenCases("carol")).isZero();
+    }
+}
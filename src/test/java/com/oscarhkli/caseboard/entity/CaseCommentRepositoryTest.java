@@ -0,0 +1,67 @@
+package com.oscarhkli.caseboard.entity;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.config.JpaConfiguration;
+import com.oscarhkli.caseboard.config.SecondLevelCacheConfiguration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional
+@Import({JpaConfiguration.class, SecondLevelCacheConfiguration.class})
+class CaseCommentRepositoryTest {
+
+    @Autowired
+    CaseCommentRepository caseCommentRepository;
+
+    @Test
+    @DisplayName("""
+        Given comments on two cases, \
+        When scroll one case's comments by id from the last id seen, \
+        Then can read that case's comments in order, a page at a time""")
+    void scrollComments() {
+        var ids = Stream.of(1L, 2L, 1L, 1L).map(caseId -> caseCommentRepository.save(
+            CaseCommentEntity.builder().caseId(caseId).author("alice").body("Comment").build())
+            .getId()).toList();
+        var sort = Sort.by("id");
+
+        var first = caseCommentRepository.findByCaseId(1L, ScrollPosition.keyset(), sort,
+            Limit.of(2));
+        var second = caseCommentRepository.findByCaseId(1L,
+            ScrollPosition.forward(Map.of("id", first.getContent().getLast().getId())), sort,
+            Limit.of(2));
+
+        then(first).extracting(CaseCommentEntity::getId).containsExactly(ids.get(0), ids.get(2));
+        then(first.hasNext()).isTrue();
+        then(first.getContent().getFirst().getCreatedDateTime()).isNotNull();
+        then(second).extracting(CaseCommentEntity::getId).containsExactly(ids.get(3));
+        then(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("""
+        Given comments on three cases, \
+        When deleteByCaseIds two of them, \
+        Then can keep only the third case's comments""")
+    void deleteByCaseIds() {
+        Stream.of(1L, 2L, 3L, 1L).forEach(caseId -> caseCommentRepository.save(
+            CaseCommentEntity.builder().caseId(caseId).author("alice").body("Comment").build()));
+
+        var deleted = caseCommentRepository.deleteByCaseIds(List.of(1L, 2L));
+
+        then(deleted).isEqualTo(3);
+        then(caseCommentRepository.findAll()).extracting(CaseCommentEntity::getCaseId)
+            .containsExactly(3L);
+    }
+}
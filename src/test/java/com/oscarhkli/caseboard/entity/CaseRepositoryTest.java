@@ -1,26 +1,55 @@
 package com.oscarhkli.caseboard.entity;
 
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.assertj.core.api.BDDAssertions.then;
 
 import com.oscarhkli.caseboard.config.JpaConfiguration;
+import com.oscarhkli.caseboard.config.SecondLevelCacheConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @DataJpaTest
 @Transactional
-@Import(JpaConfiguration.class)
+@Import({JpaConfiguration.class, SecondLevelCacheConfiguration.class})
 class CaseRepositoryTest {
 
     @Autowired
     CaseRepository caseRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    CaseAttachmentRepository caseAttachmentRepository;
+    @Autowired
+    TestEntityManager testEntityManager;
 
     @BeforeEach
     void init() {
@@ -56,5 +85,365 @@ class CaseRepositoryTest {
             then(thrown).hasMessageContainingAll("Unique index or primary key violation",
                 "CASE_NUMBER");
         }
+
+        @Test
+        void insertAllInOneBatch() {
+            var now = LocalDateTime.now(Clock.systemUTC()).truncatedTo(ChronoUnit.SECONDS);
+            var caseEntities = Stream.of("CASE_001", "CASE_002").map(caseNumber ->
+                CaseEntity.builder().caseNumber(caseNumber).title("Title").status("OPEN")
+                    .assignee("alice").createdDateTime(now).lastModifiedDateTime(now)
+                    .statusChangedDateTime(now).build()).toList();
+
+            var inserted = caseRepository.insertAll(caseEntities);
+
+            then(inserted).extracting(CaseEntity::getId).doesNotContain(0L).doesNotHaveDuplicates();
+            then(caseRepository.findAllById(inserted.stream().map(CaseEntity::getId).toList()))
+                .extracting(CaseEntity::getCaseNumber, CaseEntity::getAssignee,
+                    CaseEntity::getCreatedDateTime)
+                .containsExactlyInAnyOrder(tuple("CASE_001", "alice", now),
+                    tuple("CASE_002", "alice", now));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test soft delete")
+    class SoftDeleteTest {
+
+        CaseEntity saved;
+
+        @BeforeEach
+        void init() {
+            saved = caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_001").title("Title 001")
+                    .description("Description 001").status("Status 001").build());
+        }
+
+        @Test
+        void softDeletedCaseIsHiddenFromReads() {
+            var now = LocalDateTime.now(Clock.systemUTC());
+
+            var updated = caseRepository.softDeleteById(saved.getId(), now);
+
+            then(updated).isOne();
+            then(caseRepository.findById(saved.getId())).isEmpty();
+            then(caseRepository.findAll()).isEmpty();
+            then(caseRepository.softDeleteById(saved.getId(), now)).isZero();
+        }
+
+        @Test
+        void findForUpdateOnlyLiveCases() {
+            then(caseRepository.findForUpdateById(saved.getId())).contains(saved);
+
+            caseRepository.softDeleteById(saved.getId(), LocalDateTime.now(Clock.systemUTC()));
+
+            then(caseRepository.findForUpdateById(saved.getId())).isEmpty();
+        }
+
+        @Test
+        void tombstoneIsVisibleToDeltaSync() {
+            var now = LocalDateTime.now(Clock.systemUTC()).truncatedTo(ChronoUnit.SECONDS);
+            caseRepository.softDeleteById(saved.getId(), now);
+
+            var tombstones = caseRepository.findTombstonesDeletedAfter(now.minusMinutes(1));
+
+            then(tombstones).extracting(CaseEntity::getId, CaseEntity::getCaseNumber)
+                .containsExactly(tuple(saved.getId(), "CASE_001"));
+            then(tombstones.getFirst().getDeletedAt()).isEqualTo(now);
+            then(caseRepository.findTombstonesDeletedAfter(now)).isEmpty();
+        }
+
+        @Test
+        void purgeOnlyExpiredTombstones() {
+            var alive = caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_002").title("Title 002")
+                    .description("Description 002").status("Status 002").build());
+            var now = LocalDateTime.now(Clock.systemUTC());
+            caseRepository.softDeleteById(saved.getId(), now.minusDays(8));
+
+            var expired = caseRepository.findExpiredTombstoneIds(now.minusDays(7), 10);
+            var purged = caseRepository.purgeTombstones(expired);
+
+            then(expired).containsExactly(saved.getId());
+            then(purged).isOne();
+            then(caseRepository.findTombstonesDeletedAfter(now.minusYears(1))).isEmpty();
+            then(caseRepository.findById(alive.getId())).isPresent();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findChangedAfter")
+    class FindChangedAfterTest {
+
+        @Test
+        void keysetScanIncludesTombstonesInOrder() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            var ids = Stream.of(1, 2, 3).map(i -> caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_00%d".formatted(i)).title("Title")
+                    .status("Status").build()).getId()).toList();
+            caseRepository.flush();
+            jdbcTemplate.update("update cases set last_modified_datetime = ? where id = ?", t1,
+                ids.get(0));
+            jdbcTemplate.update("update cases set last_modified_datetime = ? where id in (?, ?)",
+                t2, ids.get(1), ids.get(2));
+            caseRepository.softDeleteById(ids.get(1), t2);
+
+            var all = caseRepository.findChangedAfter(t1.minusDays(1), 0, t2, 10);
+            var afterFirst = caseRepository.findChangedAfter(t2, ids.get(1), t2, 10);
+            var settled = caseRepository.findChangedAfter(t1.minusDays(1), 0, t1, 10);
+
+            then(all).extracting(CaseEntity::getId).containsExactlyElementsOf(ids);
+            then(all.get(1).getDeletedAt()).isEqualTo(t2);
+            then(afterFirst).extracting(CaseEntity::getId).containsExactly(ids.get(2));
+            then(settled).extracting(CaseEntity::getId).containsExactly(ids.get(0));
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case and a tombstone stamped earlier, \
+            When restampLastModified, \
+            Then can move both to the new position in the keyset scan""")
+        void restampMovesCasesForward() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            var ids = Stream.of(1, 2, 3).map(i -> caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_00%d".formatted(i)).title("Title")
+                    .status("Status").build()).getId()).toList();
+            caseRepository.flush();
+            jdbcTemplate.update("update cases set last_modified_datetime = ?", t1);
+            caseRepository.softDeleteById(ids.get(1), t1);
+
+            then(caseRepository.restampLastModified(List.of(ids.get(0), ids.get(1)), t2))
+                .isEqualTo(2);
+
+            then(caseRepository.findChangedAfter(t1, ids.get(2), t2, 10))
+                .extracting(CaseEntity::getId).containsExactly(ids.get(0), ids.get(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test archiving")
+    class ArchiveTest {
+
+        @Test
+        @DisplayName("""
+            Given cases closed before and after the cutoff, an open case and a tombstone, \
+            When findArchivable and deleteArchived, \
+            Then can find and delete only live cases closed before the cutoff""")
+        void findAndDeleteArchivable() {
+            var cutoff = LocalDateTime.parse("2025-01-01T00:00:00");
+            var ids = Stream.of("CLOSED", "CLOSED", "OPEN", "CLOSED", "CLOSED").map(status ->
+                caseRepository.save(CaseEntity.builder().caseNumber("CASE_" + UUID.randomUUID())
+                    .title("Title").status(status).build()).getId()).toList();
+            caseRepository.flush();
+            jdbcTemplate.update("update cases set status_changed_datetime = ? where id in (?, ?, ?)",
+                cutoff.minusDays(1), ids.get(0), ids.get(2), ids.get(3));
+            jdbcTemplate.update("update cases set status_changed_datetime = ? where id = ?",
+                cutoff.plusDays(1), ids.get(1));
+            jdbcTemplate.update("update cases set last_modified_datetime = ? where id = ?",
+                cutoff.minusDays(1), ids.get(4));
+            caseRepository.softDeleteById(ids.get(3), cutoff);
+
+            var archivable = caseRepository.findArchivable(List.of("CLOSED"), cutoff, 10);
+            var deleted = caseRepository.deleteArchived(
+                archivable.stream().map(CaseEntity::getId).toList());
+
+            then(archivable).extracting(CaseEntity::getId)
+                .containsExactlyInAnyOrder(ids.get(0), ids.get(4));
+            then(deleted).isEqualTo(2);
+            then(caseRepository.findAll()).extracting(CaseEntity::getId)
+                .containsExactlyInAnyOrder(ids.get(1), ids.get(2));
+            then(caseRepository.findTombstonesDeletedAfter(cutoff.minusDays(1)))
+                .extracting(CaseEntity::getId).containsExactly(ids.get(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test keyset scrolling")
+    class ScrollTest {
+
+        @Test
+        @DisplayName("""
+            Given live cases share last modified times and one case is deleted, \
+            When scroll pages sorted by last modified descending, \
+            Then can read every live case once with ties ordered by id""")
+        void scrollSortedPages() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            var ids = Stream.of(1, 2, 3, 4).map(i -> caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_00%d".formatted(i)).title("Title")
+                    .status(i == 4 ? "CLOSED" : "OPEN").build()).getId()).toList();
+            caseRepository.flush();
+            jdbcTemplate.update("update cases set last_modified_datetime = ? where id in (?, ?)",
+                t1, ids.get(0), ids.get(1));
+            jdbcTemplate.update("update cases set last_modified_datetime = ? where id in (?, ?)",
+                t2, ids.get(2), ids.get(3));
+            caseRepository.softDeleteById(ids.get(2), t2);
+            var sort = Sort.by(Direction.DESC, "lastModifiedDateTime", "id");
+
+            var first = caseRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+            var second = caseRepository.findAllBy(first.positionAt(1), sort, Limit.of(2));
+            var open = caseRepository.findByStatus("OPEN", ScrollPosition.keyset(), sort,
+                Limit.of(2));
+
+            then(first).extracting(CaseEntity::getId).containsExactly(ids.get(3), ids.get(1));
+            then(first.hasNext()).isTrue();
+            then(second).extracting(CaseEntity::getId).containsExactly(ids.get(0));
+            then(second.hasNext()).isFalse();
+            then(open).extracting(CaseEntity::getId).containsExactly(ids.get(1), ids.get(0));
+            then(open.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("""
+            Given cases of several assignees and statuses, \
+            When scroll by assignee and status sorted by last modified descending, \
+            Then can read only that assignee's cases of that status""")
+        void scrollByAssigneeAndStatus() {
+            var ids = Stream.of(1, 2, 3, 4).map(i -> caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_00%d".formatted(i)).title("Title")
+                    .status(i == 2 ? "CLOSED" : "OPEN").assignee(i == 4 ? "bob" : "alice")
+                    .build()).getId()).toList();
+            caseRepository.flush();
+            var sort = Sort.by(Direction.DESC, "lastModifiedDateTime", "id");
+
+            var aliceOpen = caseRepository.findByAssigneeAndStatus("alice", "OPEN",
+                ScrollPosition.keyset(), sort, Limit.of(10));
+            var alice = caseRepository.findByAssignee("alice", ScrollPosition.keyset(), sort,
+                Limit.of(10));
+
+            then(aliceOpen).extracting(CaseEntity::getId)
+                .containsExactlyInAnyOrder(ids.get(0), ids.get(2));
+            then(alice).extracting(CaseEntity::getId)
+                .containsExactlyInAnyOrder(ids.get(0), ids.get(1), ids.get(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Test dynamic update")
+    class DynamicUpdateTest {
+
+        @Test
+        @DisplayName("""
+            Given the description is changed behind the persistence context, \
+            When change only the status and flush, \
+            Then can write the status without overwriting the description""")
+        void writeOnlyChangedColumns() {
+            var caseEntity = caseRepository.save(CaseEntity.builder().caseNumber("CASE_001")
+                .title("Title").description("Before").status("OPEN").build());
+            testEntityManager.flush();
+            jdbcTemplate.update("update cases set description = 'Elsewhere' where id = ?",
+                caseEntity.getId());
+
+            caseEntity.setStatus("CLOSED");
+            testEntityManager.flush();
+
+            then(jdbcTemplate.queryForMap("select description, status from cases where id = ?",
+                caseEntity.getId())).containsEntry("DESCRIPTION", "Elsewhere")
+                .containsEntry("STATUS", "CLOSED");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test attachments")
+    class AttachmentsTest {
+
+        @Test
+        @DisplayName("""
+            Given a case with two attachments, \
+            When findById, \
+            Then can load the case without its attachments until they are accessed""")
+        void loadAttachmentsLazily() {
+            var caseId = caseRepository.save(CaseEntity.builder().caseNumber("CASE_001")
+                .title("Title").status("OPEN").build()).getId();
+            Stream.of("b.txt", "a.txt").forEach(fileName -> caseAttachmentRepository.save(
+                CaseAttachmentEntity.builder().caseId(caseId).fileName(fileName)
+                    .contentType("text/plain").size(1).storageKey(fileName).build()));
+            testEntityManager.flush();
+            testEntityManager.clear();
+
+            var actual = caseRepository.findById(caseId).orElseThrow();
+
+            then(Hibernate.isInitialized(actual.getAttachments())).isFalse();
+            then(actual.getAttachments()).extracting(CaseAttachmentEntity::getFileName)
+                .containsExactly("b.txt", "a.txt");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test second-level cache")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class SecondLevelCacheTest {
+
+        Statistics statistics;
+        CaseEntity saved;
+
+        @BeforeEach
+        void init() {
+            JdbcTestUtils.deleteFromTables(jdbcTemplate, "cases");
+            entityManagerFactory.getCache().evictAll();
+            saved = caseRepository.save(
+                CaseEntity.builder().caseNumber("CASE_001").title("Title 001")
+                    .description("Description 001").status("OPEN").build());
+            statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+        }
+
+        @AfterEach
+        void cleanUp() {
+            JdbcTestUtils.deleteFromTables(jdbcTemplate, "cases");
+            entityManagerFactory.getCache().evictAll();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was loaded once, \
+            When findById in another session, \
+            Then can return it from the second-level cache without a statement""")
+        void findByIdHitsCache() {
+            caseRepository.findById(saved.getId());
+            var statements = statistics.getPrepareStatementCount();
+
+            then(caseRepository.findById(saved.getId())).get()
+                .extracting(CaseEntity::getTitle).isEqualTo("Title 001");
+
+            then(statistics.getPrepareStatementCount()).isEqualTo(statements);
+            then(statistics.getDomainDataRegionStatistics(CaseEntity.CACHE_REGION).getHitCount())
+                .isPositive();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a status query ran once, \
+            When findByStatus again, \
+            Then can serve it from the query cache until a case changes""")
+        void findByStatusHitsQueryCache() {
+            caseRepository.findByStatus("OPEN");
+
+            then(caseRepository.findByStatus("OPEN")).extracting(CaseEntity::getId)
+                .containsExactly(saved.getId());
+            then(statistics.getQueryCacheHitCount()).isOne();
+
+            caseRepository.save(CaseEntity.builder().caseNumber("CASE_002").title("Title 002")
+                .status("OPEN").build());
+            then(caseRepository.findByStatus("OPEN")).hasSize(2);
+            then(statistics.getQueryCacheHitCount()).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a cached case is soft deleted and read back by delta sync, \
+            When findById, \
+            Then can return empty instead of a cached tombstone""")
+        void tombstoneIsNotCached() {
+            caseRepository.findById(saved.getId());
+            var now = LocalDateTime.now(Clock.systemUTC());
+
+            caseRepository.softDeleteById(saved.getId(), now);
+            caseRepository.findTombstonesDeletedAfter(now.minusMinutes(1));
+            caseRepository.findChangedAfter(now.minusMinutes(1), 0, now.plusMinutes(1), 10);
+
+            then(caseRepository.findById(saved.getId())).isEmpty();
+        }
     }
 }
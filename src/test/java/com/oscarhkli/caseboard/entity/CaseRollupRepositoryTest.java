@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.entity;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+
+@JdbcTest
+@Import(CaseRollupRepository.class)
+class CaseRollupRepositoryTest {
+
+    @Autowired
+    CaseRollupRepository caseRollupRepository;
+
+    @Test
+    @DisplayName("""
+        Given increments spread over shards, \
+        When findBetween, \
+        Then can sum them per day and status within the range only""")
+    void incrementAndFindBetween() {
+        var date = LocalDate.of(2025, 4, 7);
+        IntStream.range(0, 20).forEach(
+            i -> caseRollupRepository.increment(date, "OPEN", 1, 1, 0, 0));
+        caseRollupRepository.increment(date, "OPEN", 0, 0, 2, 300);
+        caseRollupRepository.increment(date, "CLOSED", 0, 1, 0, 0);
+        caseRollupRepository.increment(date.plusDays(1), "OPEN", 1, 1, 0, 0);
+
+        then(caseRollupRepository.findBetween(date, date)).containsExactly(
+            new CaseDailyRollup(date, "CLOSED", 0, 1, 0, 0),
+            new CaseDailyRollup(date, "OPEN", 20, 20, 2, 300));
+    }
+}
@@ -0,0 +1,232 @@
+package com.oscarhkli.caseboard.ingest;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import com.oscarhkli.caseboard.ingest.IngestionStatus.State;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+class CaseIngestionServiceTest {
+
+    @TempDir
+    Path dir;
+
+    CaseService caseService = mock(CaseService.class);
+    CaseRepository caseRepository = mock(CaseRepository.class);
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    CaseIngestionService service;
+
+    Case case1 = Case.builder().caseNumber("CASE_001").title("Title 1").status("OPEN").build();
+    Case case2 = Case.builder().caseNumber("CASE_002").title("Title 2").status("OPEN").build();
+
+    CaseIngestionService start(int capacity) {
+        return start(capacity, DataSize.ofMegabytes(1));
+    }
+
+    CaseIngestionService start(int capacity, DataSize compactThreshold) {
+        // no worker threads: the tests drain the queue themselves
+        var ingestionProperties = new IngestionProperties(true, dir.resolve("ingest.journal"), 0,
+            10, capacity, Duration.ZERO, Duration.ofHours(1), compactThreshold);
+        service = new CaseIngestionService(caseService, caseRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), objectMapper,
+            ingestionProperties);
+        service.start();
+        return service;
+    }
+
+    @AfterEach
+    void stop() {
+        service.stop();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given cases are queued, \
+        When drain, \
+        Then can insert them in one batch and report them inserted""")
+    void enqueueAndDrain() {
+        start(10);
+        given(caseService.insertCase(case1)).willReturn(11L);
+        given(caseService.insertCase(case2)).willReturn(12L);
+
+        var trackingId1 = service.enqueue(case1);
+        var trackingId2 = service.enqueue(case2);
+
+        then(service.findStatus(trackingId1)).get().extracting(IngestionStatus::state)
+            .isEqualTo(State.QUEUED);
+        then(service.drain(0, TimeUnit.SECONDS)).isEqualTo(2);
+        then(service.findStatus(trackingId1)).contains(
+            new IngestionStatus(trackingId1, State.INSERTED, 11L, null));
+        then(service.findStatus(trackingId2)).contains(
+            new IngestionStatus(trackingId2, State.INSERTED, 12L, null));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a queued case reuses a case number, \
+        When drain, \
+        Then can reject only that case""")
+    void rejectDuplicate() {
+        start(10);
+        given(caseService.insertCase(case1)).willReturn(11L);
+        given(caseService.insertCase(case2)).willThrow(
+            new CaseOperationException("Case number CASE_002 cannot be reused"));
+        var trackingId1 = service.enqueue(case1);
+        var trackingId2 = service.enqueue(case2);
+
+        service.drain(0, TimeUnit.SECONDS);
+
+        then(service.findStatus(trackingId1)).get().extracting(IngestionStatus::state)
+            .isEqualTo(State.INSERTED);
+        then(service.findStatus(trackingId2)).contains(new IngestionStatus(trackingId2,
+            State.REJECTED, null, "Case number CASE_002 cannot be reused"));
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given the database fails, \
+        When drain, \
+        Then can keep the case queued and insert it on a later drain""")
+    void retryTransientFailure() {
+        start(10);
+        given(caseService.insertCase(case1)).willThrow(new QueryTimeoutException("timeout"))
+            .willThrow(new QueryTimeoutException("timeout")).willReturn(11L);
+        var trackingId = service.enqueue(case1);
+
+        service.drain(0, TimeUnit.SECONDS);
+        then(service.findStatus(trackingId)).get().extracting(IngestionStatus::state)
+            .isEqualTo(State.QUEUED);
+
+        service.drain(0, TimeUnit.SECONDS);
+        then(service.findStatus(trackingId)).get().extracting(IngestionStatus::caseId)
+            .isEqualTo(11L);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given cases were queued and one was inserted before a crash tore the journal, \
+        When start again, \
+        Then can replay the others and resolve a replayed duplicate to the existing case""")
+    void replayAfterCrash() {
+        start(10);
+        given(caseService.insertCase(case1)).willReturn(11L);
+        var trackingId1 = service.enqueue(case1);
+        service.drain(0, TimeUnit.SECONDS);
+        var trackingId2 = service.enqueue(case2);
+        var case3 = Case.builder().caseNumber("CASE_003").title("Title 3").status("OPEN").build();
+        var trackingId3 = service.enqueue(case3);
+        service.stop();
+        Files.writeString(dir.resolve("ingest.journal"), "{\"type\":\"COMPL",
+            StandardOpenOption.APPEND);
+
+        // CASE_002 committed but its outcome was lost; CASE_003 never reached the database
+        given(caseService.insertCase(case2)).willThrow(
+            new CaseOperationException("Case number CASE_002 cannot be reused"));
+        given(caseRepository.findByCaseNumber("CASE_002")).willReturn(
+            Optional.of(CaseEntity.builder().id(12L).build()));
+        given(caseService.insertCase(case3)).willReturn(13L);
+        start(10);
+
+        then(service.findStatus(trackingId1)).get().extracting(IngestionStatus::caseId)
+            .isEqualTo(11L);
+        then(service.drain(0, TimeUnit.SECONDS)).isEqualTo(2);
+        then(service.findStatus(trackingId2)).get().extracting(IngestionStatus::caseId)
+            .isEqualTo(12L);
+        then(service.findStatus(trackingId3)).get().extracting(IngestionStatus::caseId)
+            .isEqualTo(13L);
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given cases are enqueued concurrently, \
+        When start again without draining, \
+        Then can replay every acknowledged case""")
+    void enqueueConcurrently() {
+        start(100);
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            var futures = IntStream.rangeClosed(1, 50).mapToObj(i -> executor.submit(
+                () -> service.enqueue(Case.builder().caseNumber("CASE_%03d".formatted(i))
+                    .title("Title %d".formatted(i)).status("OPEN").build()))).toList();
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        service.stop();
+
+        start(100);
+
+        then(service.drain(0, TimeUnit.SECONDS) + service.drain(0, TimeUnit.SECONDS)
+            + service.drain(0, TimeUnit.SECONDS) + service.drain(0, TimeUnit.SECONDS)
+            + service.drain(0, TimeUnit.SECONDS)).isEqualTo(50);
+        then(service.drain(0, TimeUnit.SECONDS)).isZero();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given the journal was compacted to the retained outcomes, \
+        When drain a batch that keeps it under twice that size, \
+        Then can append to the journal without compacting it again""")
+    void compactOnlyAfterDoubling() {
+        start(100, DataSize.ofBytes(1));
+        var journal = dir.resolve("ingest.journal");
+        given(caseService.insertCase(any())).willReturn(11L);
+        for (var i = 1; i <= 10; i++) {
+            service.enqueue(Case.builder().caseNumber("CASE_%03d".formatted(i))
+                .title("Title %d".formatted(i)).status("OPEN").build());
+        }
+        service.drain(0, TimeUnit.SECONDS);
+        then(Files.readAllLines(journal)).hasSize(10);
+
+        service.enqueue(case1);
+        service.drain(0, TimeUnit.SECONDS);
+
+        then(Files.readAllLines(journal)).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("""
+        Given the queue is at capacity, \
+        When enqueue, \
+        Then can throw CaseIngestionUnavailableException""")
+    void rejectWhenFull() {
+        start(1);
+        service.enqueue(case1);
+
+        var thrown = catchThrowableOfType(CaseIngestionUnavailableException.class,
+            () -> service.enqueue(case2));
+
+        then(thrown).hasMessage("Case ingestion queue is full");
+    }
+}
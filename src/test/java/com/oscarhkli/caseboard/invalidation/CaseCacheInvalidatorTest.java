@@ -0,0 +1,51 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Optional;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class CaseCacheInvalidatorTest {
+
+    @Test
+    @DisplayName("""
+        Given two nodes sharing a local bus each caching the same case, \
+        When one node publishes the case, \
+        Then can evict it from the case cache, the entity region and the query region""")
+    void invalidateOnEveryNode() {
+        var bus = new LocalInvalidationBus();
+        var nodes = new ConcurrentMapCacheManager[]{new ConcurrentMapCacheManager(),
+            new ConcurrentMapCacheManager()};
+        var secondLevelCache = mock(Cache.class);
+        var sessionFactory = mock(SessionFactory.class);
+        var hibernateCache = mock(org.hibernate.Cache.class);
+        var entityManagerFactory = mock(EntityManagerFactory.class);
+        given(entityManagerFactory.getCache()).willReturn(secondLevelCache);
+        given(entityManagerFactory.unwrap(SessionFactory.class)).willReturn(sessionFactory);
+        given(sessionFactory.getCache()).willReturn(hibernateCache);
+        for (var node : nodes) {
+            new CaseCacheInvalidator(bus, node, entityManagerFactory);
+            node.getCache(CaseService.CASE_CACHE).put(1L, Optional.empty());
+            node.getCache(CaseService.CASE_CACHE).put(2L, Optional.empty());
+        }
+
+        bus.publish(1L);
+
+        for (var node : nodes) {
+            then(node.getCache(CaseService.CASE_CACHE).get(1L)).isNull();
+            then(node.getCache(CaseService.CASE_CACHE).get(2L)).isNotNull();
+        }
+        BDDMockito.then(secondLevelCache).should(BDDMockito.times(2)).evict(CaseEntity.class, 1L);
+        BDDMockito.then(hibernateCache).should(BDDMockito.times(2)).evictDefaultQueryRegion();
+    }
+}
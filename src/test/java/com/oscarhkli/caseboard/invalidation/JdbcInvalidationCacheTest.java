@@ -0,0 +1,37 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.oscarhkli.caseboard.CasePatch;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "case-board.invalidation.type=jdbc")
+class JdbcInvalidationCacheTest {
+
+    @Autowired
+    CaseService caseService;
+    @Autowired
+    InvalidationBus invalidationBus;
+
+    @Test
+    @DisplayName("""
+        Given the JDBC bus and a cached case, \
+        When patchCase on the same node, \
+        Then can read the patched case from findCaseById""")
+    void patchEvictsOnWritingNode() {
+        then(invalidationBus).isInstanceOf(JdbcPollingInvalidationBus.class);
+        var id = caseService.insertCase(Case.builder().caseNumber("PATCH_001").title("Before")
+            .status("OPEN").build());
+        then(caseService.findCaseById(id)).get().extracting(Case::title).isEqualTo("Before");
+
+        caseService.patchCase(id, CasePatch.of(Map.of("title", "After")));
+
+        then(caseService.findCaseById(id)).get().extracting(Case::title).isEqualTo("After");
+    }
+}
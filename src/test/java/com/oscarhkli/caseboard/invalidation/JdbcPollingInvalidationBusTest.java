@@ -0,0 +1,166 @@
+package com.oscarhkli.caseboard.invalidation;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@JdbcTest
+class JdbcPollingInvalidationBusTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    JdbcPollingInvalidationBus nodeA;
+    JdbcPollingInvalidationBus nodeB;
+    List<Long> receivedByA = new ArrayList<>();
+    List<Long> receivedByB = new ArrayList<>();
+    AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    void init() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "case_invalidations");
+        nodeA = node("node-a");
+        nodeB = node("node-b");
+        nodeA.subscribe(receivedByA::add);
+        nodeB.subscribe(receivedByB::add);
+        nodeA.start();
+        nodeB.start();
+    }
+
+    JdbcPollingInvalidationBus node(String nodeId) {
+        return new JdbcPollingInvalidationBus(jdbcTemplate, nodeId, Duration.ofSeconds(5),
+            Duration.ofHours(1), nanos::get);
+    }
+
+    /**
+     * Inserts a row from node A with an id {@code offset} past the newest, as if its transaction
+     * had taken that id earlier and only committed now.
+     */
+    void commit(long offset, long caseId) {
+        jdbcTemplate.update("""
+            insert into case_invalidations (id, case_id, node_id, created_at)
+            values ((select coalesce(max(id), 0) from case_invalidations) + ?, ?, 'node-a',
+            current_timestamp)""", offset, caseId);
+    }
+
+    @Test
+    @DisplayName("""
+        Given node A published invalidations in a transaction not yet committed, \
+        When both nodes poll, \
+        Then can deliver them to node B once per case, skipping node A's own rows""")
+    void deliverToOtherNodes() {
+        nodeA.publish(1L);
+        nodeA.publish(2L);
+        nodeA.publish(2L);
+
+        nodeA.poll();
+        nodeB.poll();
+
+        then(receivedByA).isEmpty();
+        then(receivedByB).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("""
+        Given node A publishes in one transaction that commits and one that rolls back, \
+        When node A polls, \
+        Then can have notified node A's own listeners of the committed cases only, after commit""")
+    void deliverOwnWritesAfterCommit() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.publishAll(List.of(1L, 2L));
+            then(receivedByA).isEmpty();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            nodeA.publish(3L);
+            status.setRollbackOnly();
+        });
+        nodeA.poll();
+
+        then(receivedByA).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a row that committed after a row with a higher id was polled, \
+        When node B polls within the grace, \
+        Then can deliver the late row once""")
+    void deliverLateCommit() {
+        commit(1, 1L);
+        commit(2, 3L);
+        nodeB.poll();
+        commit(-1, 2L);
+
+        nodeB.poll();
+        nodeB.poll();
+
+        then(receivedByB).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a gap in the ids older than the grace, \
+        When its row commits and node B polls, \
+        Then can skip it""")
+    void giveUpOnGapAfterGrace() {
+        commit(1, 1L);
+        commit(2, 3L);
+        nodeB.poll();
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        commit(-1, 2L);
+
+        then(nodeB.poll()).isZero();
+        then(receivedByB).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("""
+        Given invalidations written before a node started, \
+        When the node polls, \
+        Then can skip them""")
+    void startAfterNewest() {
+        nodeA.publish(1L);
+        var nodeC = node("node-c");
+        List<Long> receivedByC = new ArrayList<>();
+        nodeC.subscribe(receivedByC::add);
+
+        nodeC.start();
+        nodeA.publish(2L);
+        nodeC.poll();
+
+        then(receivedByC).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("""
+        Given invalidations older than the retention, \
+        When purge, \
+        Then can delete them""")
+    void purgeExpired() {
+        nodeA.publish(1L);
+        jdbcTemplate.update(
+            "update case_invalidations set created_at = dateadd('HOUR', -2, current_timestamp)");
+        nodeA.publish(2L);
+
+        then(nodeA.purge()).isOne();
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_invalidations")).isOne();
+    }
+}
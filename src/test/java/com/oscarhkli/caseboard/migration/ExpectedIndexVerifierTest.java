@@ -0,0 +1,68 @@
+package com.oscarhkli.caseboard.migration;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import java.util.Set;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class ExpectedIndexVerifierTest {
+
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+
+    @Test
+    @DisplayName("""
+        Given no database, \
+        When refresh the context like the image build's training run, \
+        Then can start without opening a connection""")
+    void refreshWithoutDatabase() {
+        var dataSource = mock(DataSource.class);
+
+        new ApplicationContextRunner()
+            .withBean(ExpectedIndexVerifier.class, () -> new ExpectedIndexVerifier(dataSource,
+                entityManagerFactory, new SchemaProperties(true)))
+            .run(context -> then(context).hasNotFailed());
+
+        BDDMockito.then(dataSource).shouldHaveNoInteractions();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a table without the indexes its entity declares, \
+        When the application is ready, \
+        Then can fail startup naming the missing indexes""")
+    void failOnMissingIndex() {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:expected-index-verifier-test");
+        try (var connection = dataSource.getConnection();
+            var statement = connection.createStatement()) {
+            statement.execute("create table cases (id bigint primary key)");
+        }
+        var metamodel = mock(Metamodel.class);
+        EntityType<CaseEntity> entityType = mock();
+        given(entityManagerFactory.getMetamodel()).willReturn(metamodel);
+        willReturn(Set.of(entityType)).given(metamodel).getEntities();
+        given(entityType.getJavaType()).willReturn(CaseEntity.class);
+        var verifier = new ExpectedIndexVerifier(dataSource, entityManagerFactory,
+            new SchemaProperties(true));
+
+        var thrown = catchThrowableOfType(IllegalStateException.class,
+            () -> verifier.onApplicationEvent(mock(ApplicationReadyEvent.class)));
+
+        then(thrown).hasMessageContaining("cases.idx_cases_last_modified_datetime");
+    }
+}
@@ -0,0 +1,65 @@
+package com.oscarhkli.caseboard.migration;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import lombok.SneakyThrows;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OnlineIndexMigrationTest {
+
+    Connection connection;
+    Context context = mock(Context.class);
+    OnlineIndexMigration migration = new OnlineIndexMigration("2", "add index", "cases",
+        "idx_cases_status", "status", "last_modified_datetime");
+
+    @SneakyThrows
+    @BeforeEach
+    void init() {
+        connection = DriverManager.getConnection("jdbc:h2:mem:online-index-migration-test");
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                create table cases (id bigint primary key, status varchar(255),
+                last_modified_datetime timestamp)""");
+        }
+        given(context.getConnection()).willReturn(connection);
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void close() {
+        connection.close();
+    }
+
+    @Test
+    void ddl() {
+        then(migration.ddl(true)).isEqualTo("""
+            ALTER TABLE cases ADD INDEX idx_cases_status (status, last_modified_datetime), \
+            ALGORITHM=INPLACE, LOCK=NONE""");
+        then(migration.ddl(false)).isEqualTo(
+            "CREATE INDEX idx_cases_status ON cases (status, last_modified_datetime)");
+        then(migration.canExecuteInTransaction()).isFalse();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given the index does not exist, \
+        When migrate twice, \
+        Then can create the index once and skip the second time""")
+    void migrateIsIdempotent() {
+        then(OnlineIndexMigration.indexExists(connection, "cases", "idx_cases_status")).isFalse();
+
+        migration.migrate(context);
+        migration.migrate(context);
+
+        then(OnlineIndexMigration.indexExists(connection, "cases", "idx_cases_status")).isTrue();
+    }
+}
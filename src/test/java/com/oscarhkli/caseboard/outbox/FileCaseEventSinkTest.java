@@ -0,0 +1,42 @@
+package com.oscarhkli.caseboard.outbox;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class FileCaseEventSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given two batches, \
+        When deliver, \
+        Then can append one JSON line per event with the payload inlined""")
+    void appendNdjson() {
+        var path = dir.resolve("events/case-events.ndjson");
+        var sink = new FileCaseEventSink(path, Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+        var createdAt = Instant.parse("2025-04-04T18:43:57Z");
+
+        sink.deliver(List.of(new CaseEvent(1, 7, CaseEventType.CREATED, "{\"id\":7}", createdAt)));
+        sink.deliver(List.of(new CaseEvent(2, 7, CaseEventType.DELETED, null, createdAt)));
+
+        then(Files.readAllLines(path)).containsExactly("""
+            {"id":1,"caseId":7,"type":"CREATED","payload":{"id":7},\
+            "createdAt":"2025-04-04T18:43:57Z"}""", """
+            {"id":2,"caseId":7,"type":"DELETED","payload":null,\
+            "createdAt":"2025-04-04T18:43:57Z"}""");
+    }
+}
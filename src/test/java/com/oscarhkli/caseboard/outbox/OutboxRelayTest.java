@@ -0,0 +1,136 @@
+package com.oscarhkli.caseboard.outbox;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    CaseOutbox caseOutbox;
+    InMemoryCaseEventSink sink = new InMemoryCaseEventSink();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void init() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "case_outbox");
+        caseOutbox = new CaseOutbox(jdbcTemplate, Jackson2ObjectMapperBuilder.json().build(),
+            true);
+    }
+
+    OutboxRelay relay(CaseEventSink caseEventSink, int batchSize) {
+        return new OutboxRelay(caseOutbox, caseEventSink,
+            new TransactionTemplate(transactionManager), Clock.systemUTC(), meterRegistry,
+            batchSize, 10);
+    }
+
+    @Test
+    @DisplayName("""
+        Given changes to two cases in the outbox, \
+        When relay in batches smaller than the backlog, \
+        Then can deliver every event once in outbox order and empty the outbox""")
+    void relayInOrder() {
+        var case1 = CaseEntity.builder().id(1L).caseNumber("C-1").title("t").status("OPEN").build();
+        var case2 = CaseEntity.builder().id(2L).caseNumber("C-2").title("t").status("OPEN").build();
+        caseOutbox.appendChange(CaseEventType.CREATED, case1);
+        caseOutbox.appendChange(CaseEventType.CREATED, case2);
+        case1.setStatus("CLOSED");
+        caseOutbox.appendChange(CaseEventType.UPDATED, case1);
+        caseOutbox.appendDeleted(2L);
+
+        var delivered = relay(sink, 3).relay();
+
+        then(delivered).isEqualTo(4);
+        then(sink.getEvents()).extracting(CaseEvent::caseId, CaseEvent::type).containsExactly(
+            tuple(1L, CaseEventType.CREATED),
+            tuple(2L, CaseEventType.CREATED),
+            tuple(1L, CaseEventType.UPDATED),
+            tuple(2L, CaseEventType.DELETED));
+        then(sink.getEvents().get(2).payload()).contains("\"status\":\"CLOSED\"");
+        then(sink.getEvents().get(3).payload()).isNull();
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_outbox")).isZero();
+        then(meterRegistry.counter("case.outbox.delivered").count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("""
+        Given the sink fails once, \
+        When relay twice, \
+        Then can keep the events after the failure and deliver them on the next run""")
+    void retryAfterFailure() {
+        var entity = CaseEntity.builder().id(1L).caseNumber("C-1").title("t").status("OPEN").build();
+        caseOutbox.appendChange(CaseEventType.CREATED, entity);
+        caseOutbox.appendDeleted(1L);
+        var failing = new AtomicBoolean(true);
+        CaseEventSink flakySink = events -> {
+            if (failing.getAndSet(false)) {
+                throw new IOException("unavailable");
+            }
+            sink.deliver(events);
+        };
+        var relay = relay(flakySink, 1);
+
+        then(relay.relay()).isZero();
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_outbox")).isEqualTo(2);
+        then(meterRegistry.counter("case.outbox.failures").count()).isOne();
+
+        then(relay.relay()).isEqualTo(2);
+        then(sink.getEvents()).extracting(CaseEvent::type)
+            .containsExactly(CaseEventType.CREATED, CaseEventType.DELETED);
+    }
+
+    @Test
+    @DisplayName("""
+        Given the outbox is disabled, \
+        When append, \
+        Then can write nothing""")
+    void disabled() {
+        var disabledOutbox = new CaseOutbox(jdbcTemplate, Jackson2ObjectMapperBuilder.json().build(), false);
+
+        disabledOutbox.appendDeleted(1L);
+
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_outbox")).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+        Given events left in the outbox while it is disabled, \
+        When relay, \
+        Then can deliver nothing""")
+    void relayNothingWhenDisabled() {
+        caseOutbox.appendDeleted(1L);
+        var disabledOutbox = new CaseOutbox(jdbcTemplate,
+            Jackson2ObjectMapperBuilder.json().build(), false);
+
+        var relayed = new OutboxRelay(disabledOutbox, sink,
+            new TransactionTemplate(transactionManager), Clock.systemUTC(), meterRegistry, 10, 10)
+            .relay();
+
+        then(relayed).isZero();
+        then(sink.getEvents()).isEmpty();
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_outbox")).isOne();
+    }
+}
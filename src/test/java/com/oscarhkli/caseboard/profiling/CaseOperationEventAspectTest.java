@@ -0,0 +1,105 @@
+package com.oscarhkli.caseboard.profiling;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+import static org.mockito.BDDMockito.given;
+
+import com.oscarhkli.caseboard.CaseChanges;
+import com.oscarhkli.caseboard.CasePage;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseArchiveRepository;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+@ExtendWith(MockitoExtension.class)
+class CaseOperationEventAspectTest {
+
+    @Mock
+    CaseArchiveRepository caseArchiveRepository;
+    @TempDir
+    Path dir;
+
+    @Nested
+    class RecordTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a recording enabling the case operation event, \
+            When CaseService methods are called, \
+            Then can record each with its operation, rows and failure""")
+        void recordOperations() {
+            given(caseArchiveRepository.findByCaseNumber("CASE-1")).willReturn(
+                List.of(CaseEntity.builder().id(1L).build(),
+                    CaseEntity.builder().id(2L).build()));
+            given(caseArchiveRepository.findById(3L)).willThrow(new IllegalStateException());
+            var proxyFactory = new AspectJProxyFactory(
+                new CaseService(null, null, null, null, null, null, caseArchiveRepository,
+                    null, null));
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAspect(new CaseOperationEventAspect());
+            CaseService caseService = proxyFactory.getProxy();
+
+            List<RecordedEvent> events;
+            try (var recording = new Recording()) {
+                recording.enable("com.oscarhkli.caseboard.CaseOperation");
+                recording.start();
+                caseService.findArchivedCasesByCaseNumber("CASE-1");
+                thenThrownBy(() -> caseService.findArchivedCaseById(3L))
+                    .isInstanceOf(IllegalStateException.class);
+                recording.stop();
+                var file = dir.resolve("operations.jfr");
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            }
+
+            then(events).hasSize(2);
+            then(events.getFirst().getString("operation"))
+                .isEqualTo("findArchivedCasesByCaseNumber");
+            then(events.getFirst().getLong("rows")).isEqualTo(2);
+            then(events.getFirst().getString("failure")).isNull();
+            then(events.getLast().getString("operation")).isEqualTo("findArchivedCaseById");
+            then(events.getLast().getString("failure"))
+                .isEqualTo(IllegalStateException.class.getName());
+        }
+    }
+
+    @Nested
+    class RowsTest {
+
+        @Test
+        @DisplayName("""
+            Given the results of CaseService methods, \
+            When rows, \
+            Then can count the cases returned, or 1 for a single write""")
+        void countRows() {
+            var someCase = Case.builder().id(1L).build();
+
+            then(CaseOperationEventAspect.rows(List.of(someCase, someCase))).isEqualTo(2);
+            then(CaseOperationEventAspect.rows(Optional.empty())).isZero();
+            then(CaseOperationEventAspect.rows(new CasePage(List.of(someCase), null)))
+                .isEqualTo(1);
+            then(CaseOperationEventAspect.rows(
+                new CaseChanges(List.of(someCase), List.of(2L, 3L), List.of(4L), null, false)))
+                .isEqualTo(4);
+            then(CaseOperationEventAspect.rows(false)).isZero();
+            then(CaseOperationEventAspect.rows(7L)).isEqualTo(1);
+            then(CaseOperationEventAspect.rows(null)).isEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.oscarhkli.caseboard.profiling;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class FlightRecordingServiceTest {
+
+    @TempDir
+    Path dir;
+
+    FlightRecordingService flightRecordingService;
+
+    @AfterEach
+    void close() {
+        flightRecordingService.findRecordings().stream()
+            .filter(recording -> recording.name().startsWith("test-"))
+            .forEach(recording -> flightRecordingService.closeRecording(recording.id()));
+        flightRecordingService.stop();
+    }
+
+    FlightRecordingService flightRecordingService(int retainedDumps, boolean continuous,
+        Clock clock) {
+        return new FlightRecordingService(new ProfilingProperties(dir, Duration.ofMinutes(1),
+            retainedDumps, 2, new ProfilingProperties.Continuous(continuous, Duration.ofMinutes(5),
+            DataSize.ofMegabytes(10), Duration.ofSeconds(1), Duration.ofMinutes(5))), clock);
+    }
+
+    @SneakyThrows
+    static boolean isEmpty(Path directory) {
+        if (!Files.exists(directory)) {
+            return true;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    @Nested
+    class OnDemandTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a recording started with the profile preset, \
+            When stop and dump it, \
+            Then can download a file holding the events recorded meanwhile""")
+        void startStopDump() {
+            flightRecordingService = flightRecordingService(10, false, Clock.systemUTC());
+
+            var started = flightRecordingService.startRecording(RecordingPreset.PROFILE,
+                Duration.ofHours(1), "test-profile").orElseThrow();
+            var event = new CaseOperationEvent();
+            event.operation = "findCaseById";
+            event.rows = 1;
+            event.commit();
+            var stopped = flightRecordingService.stopRecording(started.id());
+            var dump = flightRecordingService.dumpRecording(started.id());
+
+            then(started.state()).isEqualTo("RUNNING");
+            then(started.duration()).isEqualTo(Duration.ofMinutes(1));
+            then(flightRecordingService.findRecordings()).extracting(RecordingDescriptor::name)
+                .contains("test-profile");
+            then(stopped).hasValueSatisfying(recording ->
+                then(recording.state()).isEqualTo("STOPPED"));
+            then(dump).hasValueSatisfying(path -> {
+                then(path.getParent()).isEqualTo(dir);
+                then(path.getFileName().toString()).startsWith("test-profile-" + started.id());
+            });
+            then(RecordingFile.readAllEvents(dump.get()))
+                .filteredOn(recorded -> recorded.getEventType().getName()
+                    .equals("com.oscarhkli.caseboard.CaseOperation"))
+                .singleElement().satisfies(recorded ->
+                    then(recorded.getString("operation")).isEqualTo("findCaseById"));
+            then(RecordingFile.readAllEvents(dump.get()))
+                .extracting(recorded -> recorded.getEventType().getName())
+                .doesNotContainAnyElementsOf(RecordingPreset.REDACTED_EVENTS);
+        }
+
+        @Test
+        @DisplayName("""
+            Given as many on-demand recordings running as allowed, \
+            When start another, \
+            Then can refuse it until one stops""")
+        void capRunningRecordings() {
+            flightRecordingService = flightRecordingService(10, false, Clock.systemUTC());
+            var first = flightRecordingService.startRecording(RecordingPreset.DEFAULT, null,
+                "test-first").orElseThrow();
+            flightRecordingService.startRecording(RecordingPreset.DEFAULT, null, "test-second");
+
+            var refused = flightRecordingService.startRecording(RecordingPreset.DEFAULT, null,
+                "test-third");
+            flightRecordingService.stopRecording(first.id());
+            var accepted = flightRecordingService.startRecording(RecordingPreset.DEFAULT, null,
+                "test-third");
+
+            then(refused).isEmpty();
+            then(accepted).isPresent();
+        }
+
+        @Test
+        @DisplayName("""
+            Given no recording with the id, \
+            When stop, dump or close it, \
+            Then can find nothing""")
+        void unknownRecording() {
+            flightRecordingService = flightRecordingService(10, false, Clock.systemUTC());
+
+            then(flightRecordingService.stopRecording(-1)).isEmpty();
+            then(flightRecordingService.dumpRecording(-1)).isEmpty();
+            then(flightRecordingService.closeRecording(-1)).isFalse();
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given more dumps than are retained, \
+            When dump again, \
+            Then can delete the oldest""")
+        void retainNewestDumps() {
+            flightRecordingService = flightRecordingService(2, false, Clock.systemUTC());
+            var started = flightRecordingService.startRecording(RecordingPreset.DEFAULT, null,
+                "test-retained").orElseThrow();
+
+            for (var i = 0; i < 3; i++) {
+                flightRecordingService.dumpRecording(started.id());
+                Thread.sleep(10);
+            }
+
+            try (Stream<Path> files = Files.list(dir)) {
+                then(files).hasSize(2);
+            }
+        }
+    }
+
+    @Nested
+    class ContinuousTest {
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the continuous recording, \
+            When two slow requests come within the cooldown, \
+            Then can dump it once""")
+        void dumpOncePerCooldown() {
+            flightRecordingService = flightRecordingService(10, true,
+                Clock.fixed(Instant.parse("2025-04-04T18:43:57Z"), ZoneOffset.UTC));
+            flightRecordingService.start();
+
+            flightRecordingService.dumpContinuous("GET /api/v1/cases took 3000 ms");
+            flightRecordingService.dumpContinuous("GET /api/v1/cases took 4000 ms");
+
+            then(flightRecordingService.isRunning()).isTrue();
+            then(flightRecordingService.findRecordings()).extracting(RecordingDescriptor::name)
+                .contains(FlightRecordingService.CONTINUOUS);
+            for (var i = 0; i < 1000 && isEmpty(dir); i++) {
+                Thread.sleep(10);
+            }
+            try (Stream<Path> files = Files.list(dir)) {
+                then(files).singleElement().satisfies(path ->
+                    then(path.getFileName().toString())
+                        .startsWith(FlightRecordingService.CONTINUOUS)
+                        .endsWith("-20250404T184357.000.jfr"));
+            }
+        }
+
+        @Test
+        @DisplayName("""
+            Given the continuous recording is disabled, \
+            When start, \
+            Then can run no recording and ignore slow requests""")
+        void disabled() {
+            flightRecordingService = flightRecordingService(10, false, Clock.systemUTC());
+            flightRecordingService.start();
+
+            flightRecordingService.dumpContinuous("GET /api/v1/cases took 3000 ms");
+
+            then(flightRecordingService.isRunning()).isFalse();
+            then(dir).isEmptyDirectory();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.oscarhkli.caseboard.profiling;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class SlowRequestHandlerTest {
+
+    @Mock
+    FlightRecordingService flightRecordingService;
+
+    ObservationRegistry observationRegistry(Duration slowRequest) {
+        var observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+            new SlowRequestHandler(flightRecordingService, slowRequest));
+        return observationRegistry;
+    }
+
+    void request(ObservationRegistry observationRegistry) {
+        var context = new ServerRequestObservationContext(new MockHttpServletRequest(),
+            new MockHttpServletResponse());
+        Observation.createNotStarted("http.server.requests", () -> context, observationRegistry)
+            .contextualName("http get /api/v1/cases")
+            .observe(() -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+    }
+
+    @Test
+    @DisplayName("""
+        Given a request slower than the threshold, \
+        When it ends, \
+        Then can dump the continuous recording naming the request""")
+    void dumpOnSlowRequest() {
+        given(flightRecordingService.isRunning()).willReturn(true);
+
+        request(observationRegistry(Duration.ofMillis(1)));
+
+        then(flightRecordingService).should().dumpContinuous(
+            startsWith("http get /api/v1/cases took "));
+    }
+
+    @Test
+    @DisplayName("""
+        Given a request faster than the threshold, \
+        When it ends, \
+        Then can leave the continuous recording alone""")
+    void ignoreFastRequest() {
+        given(flightRecordingService.isRunning()).willReturn(true);
+
+        request(observationRegistry(Duration.ofMinutes(1)));
+
+        then(flightRecordingService).should(never()).dumpContinuous(anyString());
+    }
+
+    @Test
+    @DisplayName("""
+        Given no continuous recording, \
+        When a slow request ends, \
+        Then can leave the flight recorder alone""")
+    void ignoreWithoutRecording() {
+        given(flightRecordingService.isRunning()).willReturn(false);
+
+        request(observationRegistry(Duration.ofMillis(1)));
+
+        then(flightRecordingService).should(never()).dumpContinuous(anyString());
+    }
+}
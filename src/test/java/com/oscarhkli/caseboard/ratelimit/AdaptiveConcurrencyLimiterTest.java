@@ -0,0 +1,70 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("""
+        Given limit 10, \
+        When requests of each priority acquire permits, \
+        Then full-list reads are shed before single reads and writes""")
+    void lowerPriorityShedFirst() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0, 0.2);
+
+        IntStream.range(0, 6).forEach(i -> then(limiter.tryAcquire(RequestPriority.LIST)).isTrue());
+        then(limiter.tryAcquire(RequestPriority.LIST)).isFalse();
+        IntStream.range(0, 3).forEach(i -> then(limiter.tryAcquire(RequestPriority.READ)).isTrue());
+        then(limiter.tryAcquire(RequestPriority.READ)).isFalse();
+        then(limiter.tryAcquire(RequestPriority.WRITE)).isTrue();
+        then(limiter.tryAcquire(RequestPriority.WRITE)).isFalse();
+        then(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a stable baseline latency, \
+        When latency rises far beyond tolerance, \
+        Then the limit shrinks""")
+    void shrinkOnLatencyIncrease() {
+        var limiter = new AdaptiveConcurrencyLimiter(100, 10, 1000, 2.0, 0.2);
+        var baseline = TimeUnit.MILLISECONDS.toNanos(5);
+        IntStream.range(0, 20).forEach(i -> {
+            limiter.tryAcquire(RequestPriority.WRITE);
+            limiter.release(baseline);
+        });
+        var before = limiter.getLimit();
+
+        IntStream.range(0, 20).forEach(i -> {
+            limiter.tryAcquire(RequestPriority.WRITE);
+            limiter.release(baseline * 20);
+        });
+
+        then(limiter.getLimit()).isLessThan(before);
+        then(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+        Given the limiter is saturated with steady latency, \
+        When requests complete, \
+        Then the limit grows up to the max""")
+    void growWhenSaturated() {
+        var limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, 2.0, 1.0);
+        var latency = TimeUnit.MILLISECONDS.toNanos(5);
+
+        IntStream.range(0, 50).forEach(i -> {
+            while (limiter.tryAcquire(RequestPriority.WRITE)) {
+                // saturate
+            }
+            limiter.release(latency);
+        });
+
+        then(limiter.getLimit()).isEqualTo(20);
+    }
+}
@@ -0,0 +1,129 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oscarhkli.caseboard.api.ApiErrorResponse;
+import com.oscarhkli.caseboard.ratelimit.RateLimitProperties.Concurrency;
+import java.util.Set;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    RateLimitProperties properties(int burst, int initialLimit) {
+        return new RateLimitProperties(true, 1, burst, "X-API-Key", Set.of("a", "b"), 100,
+            new Concurrency(initialLimit, 1, 100, 2.0, 0.2));
+    }
+
+    @SneakyThrows
+    MockHttpServletResponse perform(RateLimitFilter filter, MockHttpServletRequest request) {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a client has used up its burst, \
+        When it sends another request, \
+        Then can return 429 with Retry-After and ApiErrorResponse""")
+    void rejectOverQuotaClient() {
+        var properties = properties(5, 100);
+        var filter = new RateLimitFilter(properties, new AdaptiveConcurrencyLimiter(100, 1, 100,
+            2.0, 0.2), objectMapper, () -> 0L);
+
+        var first = perform(filter, new MockHttpServletRequest("GET", "/api/v1/cases"));
+        var second = perform(filter, new MockHttpServletRequest("GET", "/api/v1/cases"));
+
+        then(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        then(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+        var errorResponse = objectMapper.readValue(second.getContentAsString(),
+            ApiErrorResponse.class);
+        then(errorResponse.error().code()).isEqualTo("429");
+    }
+
+    @Test
+    @DisplayName("""
+        Given two clients with different API keys, \
+        When one exhausts its quota, \
+        Then the other is unaffected""")
+    void keyByApiKey() {
+        var filter = new RateLimitFilter(properties(1, 100), new AdaptiveConcurrencyLimiter(100, 1,
+            100, 2.0, 0.2), objectMapper, () -> 0L);
+        var requestA = new MockHttpServletRequest("PUT", "/api/v1/cases/1");
+        requestA.addHeader("X-API-Key", "a");
+        var requestB = new MockHttpServletRequest("PUT", "/api/v1/cases/1");
+        requestB.addHeader("X-API-Key", "b");
+
+        then(perform(filter, requestA).getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(perform(filter, requestA).getStatus()).isEqualTo(
+            HttpStatus.TOO_MANY_REQUESTS.value());
+        then(perform(filter, requestB).getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(filter.trackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("""
+        Given a client sends API keys that were never issued, \
+        When it varies the key, \
+        Then can still limit it by remote address""")
+    void keyUnknownApiKeysByAddress() {
+        var filter = new RateLimitFilter(properties(1, 100), new AdaptiveConcurrencyLimiter(100, 1,
+            100, 2.0, 0.2), objectMapper, () -> 0L);
+        var requestX = new MockHttpServletRequest("PUT", "/api/v1/cases/1");
+        requestX.addHeader("X-API-Key", "x");
+        var requestY = new MockHttpServletRequest("PUT", "/api/v1/cases/1");
+        requestY.addHeader("X-API-Key", "y");
+
+        then(perform(filter, requestX).getStatus()).isEqualTo(HttpStatus.OK.value());
+        then(perform(filter, requestY).getStatus()).isEqualTo(
+            HttpStatus.TOO_MANY_REQUESTS.value());
+        then(filter.trackedClients()).isOne();
+    }
+
+    @Test
+    @DisplayName("""
+        Given more clients than maxTrackedClients, \
+        When each sends a request, \
+        Then can keep at most maxTrackedClients buckets""")
+    void capTrackedClients() {
+        var filter = new RateLimitFilter(properties(100, 100), new AdaptiveConcurrencyLimiter(100,
+            1, 100, 2.0, 0.2), objectMapper, () -> 0L);
+
+        for (var i = 0; i < 1000; i++) {
+            var request = new MockHttpServletRequest("GET", "/api/v1/cases");
+            request.setRemoteAddr("10.0.%d.%d".formatted(i / 256, i % 256));
+            perform(filter, request);
+        }
+
+        then(filter.trackedClients()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("""
+        Given the concurrency limit is reached, \
+        When a new request arrives, \
+        Then can return 503 with Retry-After""")
+    void shedWhenOverloaded() {
+        var limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0, 0.2);
+        limiter.tryAcquire(RequestPriority.WRITE);
+        var filter = new RateLimitFilter(properties(100, 1), limiter, objectMapper, () -> 0L);
+
+        var response = perform(filter, new MockHttpServletRequest("DELETE", "/api/v1/cases/1"));
+
+        then(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        then(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        then(limiter.getInFlight()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,63 @@
+package com.oscarhkli.caseboard.ratelimit;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("""
+        Given a bucket with burst 3, \
+        When acquiring 4 tokens at once, \
+        Then the 4th is denied with the time until the next refill""")
+    void denyBeyondBurst() {
+        var bucket = new TokenBucket(10, 3);
+        var now = 1_000L;
+
+        then(bucket.tryAcquire(1, now)).isZero();
+        then(bucket.tryAcquire(1, now)).isZero();
+        then(bucket.tryAcquire(1, now)).isZero();
+        then(bucket.tryAcquire(1, now)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("""
+        Given an exhausted bucket, \
+        When time passes by one emission interval, \
+        Then one more token is granted""")
+    void refillOverTime() {
+        var bucket = new TokenBucket(10, 1);
+        var now = 0L;
+
+        then(bucket.tryAcquire(1, now)).isZero();
+        then(bucket.tryAcquire(1, now)).isPositive();
+        then(bucket.tryAcquire(1, now + TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+    }
+
+    @Test
+    @DisplayName("""
+        Given a bucket, \
+        When acquiring a cost larger than the remaining tokens, \
+        Then it is denied without consuming anything""")
+    void denyCostlyRequestWithoutConsuming() {
+        var bucket = new TokenBucket(10, 5);
+        var now = 0L;
+
+        then(bucket.tryAcquire(3, now)).isZero();
+        then(bucket.tryAcquire(5, now)).isPositive();
+        then(bucket.tryAcquire(2, now)).isZero();
+    }
+
+    @Test
+    void idleOnceFullyRefilled() {
+        var bucket = new TokenBucket(10, 2);
+
+        then(bucket.isIdle(0L)).isTrue();
+        bucket.tryAcquire(1, 0L);
+        then(bucket.isIdle(0L)).isFalse();
+        then(bucket.isIdle(TimeUnit.MILLISECONDS.toNanos(100))).isTrue();
+    }
+}
@@ -0,0 +1,127 @@
+package com.oscarhkli.caseboard.singleflight;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.BDDAssertions.then;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger loads = new AtomicInteger();
+
+    @SneakyThrows
+    String slowLoad(String result) {
+        loads.incrementAndGet();
+        release.await(5, TimeUnit.SECONDS);
+        return result;
+    }
+
+    double count(String name) {
+        return meterRegistry.get(name).tag("query", "test").counter().count();
+    }
+
+    @SneakyThrows
+    void awaitCoalesced(double expected) {
+        while (count("case.reads.coalesced") < expected) {
+            Thread.sleep(1);
+        }
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a read for a key is in flight, \
+        When more reads for the same key arrive, \
+        Then can run the loader once and return its result to every caller""")
+    void coalesceConcurrentReads() {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var results = new ArrayList<Future<String>>();
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> slowLoad("one"))));
+            while (loads.get() == 0) {
+                Thread.sleep(1);
+            }
+            for (var i = 0; i < 9; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(1L, () -> slowLoad("x"))));
+            }
+            awaitCoalesced(9);
+            var other = singleFlight.execute(2L, () -> "two");
+
+            release.countDown();
+
+            for (var result : results) {
+                then(result.get(5, TimeUnit.SECONDS)).isEqualTo("one");
+            }
+            then(other).isEqualTo("two");
+        }
+        then(loads).hasValue(1);
+        then(count("case.reads.executed")).isEqualTo(2);
+        then(count("case.reads.coalesced")).isEqualTo(9);
+        then(meterRegistry.get("case.reads.in.flight").gauge().value()).isZero();
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a read for a key is in flight, \
+        When the loader fails, \
+        Then can rethrow the failure to every caller and load again on the next read""")
+    void propagateFailure() {
+        var started = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            slowLoad("unused");
+            throw new IllegalStateException("boom");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        var follower = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> "x"));
+        awaitCoalesced(1);
+
+        release.countDown();
+
+        then(leader).failsWithin(5, TimeUnit.SECONDS).withThrowableThat()
+            .havingRootCause().isInstanceOf(IllegalStateException.class);
+        then(follower).failsWithin(5, TimeUnit.SECONDS).withThrowableThat()
+            .havingRootCause().withMessage("boom");
+        then(singleFlight.execute(1L, () -> "again")).isEqualTo("again");
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a read for a key is in flight, \
+        When forget the key, \
+        Then can start a new read for callers arriving afterwards""")
+    void forget() {
+        var stale = CompletableFuture.supplyAsync(
+            () -> singleFlight.execute(1L, () -> slowLoad("stale")));
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        singleFlight.forget(1L);
+        var fresh = singleFlight.execute(1L, () -> "fresh");
+        release.countDown();
+
+        then(fresh).isEqualTo("fresh");
+        then(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        then(count("case.reads.coalesced")).isZero();
+        var thrown = catchThrowableOfType(IllegalArgumentException.class,
+            () -> singleFlight.execute(2L, () -> {
+                throw new IllegalArgumentException("direct");
+            }));
+        then(thrown).hasMessage("direct");
+    }
+}
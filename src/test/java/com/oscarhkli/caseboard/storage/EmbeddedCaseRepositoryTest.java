@@ -0,0 +1,600 @@
+package com.oscarhkli.caseboard.storage;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+
+class EmbeddedCaseRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    Clock clock = mock(Clock.class);
+    LocalDateTime now = LocalDateTime.parse("2025-04-04T18:00:00");
+    EmbeddedCaseRepository caseRepository;
+
+    @SneakyThrows
+    EmbeddedCaseRepository open(DataSize segmentSize) {
+        var properties = new EmbeddedStorageProperties(dir, segmentSize, Duration.ofMinutes(5),
+            true);
+        caseRepository = new EmbeddedCaseRepository(properties, clock);
+        caseRepository.open();
+        return caseRepository;
+    }
+
+    @SneakyThrows
+    EmbeddedCaseRepository reopen() {
+        caseRepository.close();
+        return open(DataSize.ofMegabytes(1));
+    }
+
+    void tick(LocalDateTime time) {
+        given(clock.instant()).willReturn(time.toInstant(ZoneOffset.UTC));
+    }
+
+    static CaseEntity newCase(int i) {
+        return CaseEntity.builder().caseNumber("CASE_%03d".formatted(i)).title("Title %03d"
+            .formatted(i)).description("Description %03d".formatted(i)).status("Status %03d"
+            .formatted(i)).build();
+    }
+
+    @BeforeEach
+    void init() {
+        given(clock.getZone()).willReturn(ZoneOffset.UTC);
+        tick(now);
+        open(DataSize.ofMegabytes(1));
+    }
+
+    @SneakyThrows
+    @AfterEach
+    void close() {
+        caseRepository.close();
+    }
+
+    @Nested
+    @DisplayName("Test constraints")
+    class ConstraintTest {
+
+        @Test
+        void insertOnce() {
+            var saved = caseRepository.save(newCase(1));
+
+            then(saved.getId()).isOne();
+            then(saved.getCreatedDateTime()).isEqualTo(now);
+            then(saved.getLastModifiedDateTime()).isEqualTo(now);
+            then(caseRepository.findById(saved.getId())).contains(saved);
+            then(caseRepository.findByCaseNumber("CASE_001")).contains(saved);
+            then(caseRepository.findByStatus("Status 001")).containsExactly(saved);
+        }
+
+        @Test
+        void insertWithSameCaseNumberTwice() {
+            caseRepository.save(newCase(1));
+            var thrown = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> caseRepository.save(newCase(1)));
+            then(thrown).hasMessageContainingAll("Unique index or primary key violation",
+                "CASE_NUMBER");
+            then(caseRepository.count()).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given one case number of a batch is taken, \
+            When insertAll, \
+            Then can insert none of the batch""")
+        void insertAllOrNone() {
+            caseRepository.save(newCase(3));
+
+            var thrown = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> caseRepository.insertAll(List.of(newCase(1), newCase(2), newCase(3))));
+
+            then(thrown).hasMessageContaining("CASE_003");
+            then(caseRepository.count()).isOne();
+            then(caseRepository.findByCaseNumber("CASE_001")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was read, \
+            When modify the copy without saving it, \
+            Then can still read the stored case unchanged""")
+        void readsAreCopies() {
+            var saved = caseRepository.save(newCase(1));
+
+            caseRepository.findById(saved.getId()).orElseThrow().setStatus("Changed");
+
+            then(caseRepository.findById(saved.getId())).get().extracting(CaseEntity::getStatus)
+                .isEqualTo("Status 001");
+            then(caseRepository.findByStatus("Changed")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was soft deleted, \
+            When save the copy read before, \
+            Then cannot resurrect it""")
+        void updateDeleted() {
+            var saved = caseRepository.save(newCase(1));
+            caseRepository.softDeleteById(saved.getId(), now);
+
+            var thrown = catchThrowableOfType(ObjectOptimisticLockingFailureException.class,
+                () -> caseRepository.save(saved));
+
+            then(thrown).isNotNull();
+            then(caseRepository.findById(saved.getId())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was changed after it was read for update, \
+            When save the copy read before, \
+            Then cannot overwrite the change""")
+        void updateStale() {
+            var saved = caseRepository.save(newCase(1));
+            var stale = caseRepository.findForUpdateById(saved.getId()).orElseThrow();
+            var current = caseRepository.findForUpdateById(saved.getId()).orElseThrow();
+            current.setAssignee("alice");
+            caseRepository.save(current);
+
+            stale.setAssignee("bob");
+            var thrown = catchThrowableOfType(ObjectOptimisticLockingFailureException.class,
+                () -> caseRepository.save(stale));
+
+            then(thrown).isNotNull();
+            then(caseRepository.findById(saved.getId())).get()
+                .extracting(CaseEntity::getAssignee).isEqualTo("alice");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test soft delete")
+    class SoftDeleteTest {
+
+        CaseEntity saved;
+
+        @BeforeEach
+        void init() {
+            saved = caseRepository.save(newCase(1));
+        }
+
+        @Test
+        void softDeletedCaseIsHiddenFromReads() {
+            var updated = caseRepository.softDeleteById(saved.getId(), now);
+
+            then(updated).isOne();
+            then(caseRepository.findById(saved.getId())).isEmpty();
+            then(caseRepository.findAll()).isEmpty();
+            then(caseRepository.findByStatus("Status 001")).isEmpty();
+            then(caseRepository.findByCaseNumber("CASE_001")).isEmpty();
+            then(caseRepository.softDeleteById(saved.getId(), now)).isZero();
+        }
+
+        @Test
+        void tombstoneIsVisibleToDeltaSync() {
+            var deletedAt = now.truncatedTo(ChronoUnit.SECONDS);
+            caseRepository.softDeleteById(saved.getId(), deletedAt);
+
+            var tombstones = caseRepository.findTombstonesDeletedAfter(deletedAt.minusMinutes(1));
+
+            then(tombstones).extracting(CaseEntity::getId, CaseEntity::getCaseNumber)
+                .containsExactly(tuple(saved.getId(), "CASE_001"));
+            then(tombstones.getFirst().getDeletedAt()).isEqualTo(deletedAt);
+            then(caseRepository.findTombstonesDeletedAfter(deletedAt)).isEmpty();
+        }
+
+        @Test
+        void purgeOnlyExpiredTombstones() {
+            var alive = caseRepository.save(newCase(2));
+            caseRepository.softDeleteById(saved.getId(), now.minusDays(8));
+
+            var expired = caseRepository.findExpiredTombstoneIds(now.minusDays(7), 10);
+            var purged = caseRepository.purgeTombstones(expired);
+
+            then(expired).containsExactly(saved.getId());
+            then(purged).isOne();
+            then(caseRepository.findTombstonesDeletedAfter(now.minusYears(1))).isEmpty();
+            then(caseRepository.findById(alive.getId())).isPresent();
+            then(caseRepository.purgeTombstones(List.of(alive.getId()))).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test archiving")
+    class ArchiveTest {
+
+        static CaseEntity withStatus(CaseEntity caseEntity, String status,
+            LocalDateTime statusChangedDateTime) {
+            caseEntity.setStatus(status);
+            caseEntity.setStatusChangedDateTime(statusChangedDateTime);
+            return caseEntity;
+        }
+
+        @Test
+        @DisplayName("""
+            Given cases closed before and after the cutoff and an open case, \
+            When findArchivable and deleteArchived, \
+            Then can find and remove only cases closed before the cutoff""")
+        void findAndDeleteArchivable() {
+            var cutoff = now.minusDays(90);
+            tick(cutoff.minusDays(1));
+            var closedLongAgo = caseRepository.save(withStatus(newCase(1), "CLOSED", null)).getId();
+            var openLongAgo = caseRepository.save(withStatus(newCase(2), "OPEN", null)).getId();
+            tick(now);
+            var closedRecently = caseRepository.save(
+                withStatus(newCase(3), "CLOSED", cutoff.plusDays(1))).getId();
+            var closedBeforeCutoff = caseRepository.save(
+                withStatus(newCase(4), "CLOSED", cutoff.minusDays(1))).getId();
+
+            var archivable = caseRepository.findArchivable(List.of("CLOSED"), cutoff, 10);
+            var deleted = caseRepository.deleteArchived(
+                archivable.stream().map(CaseEntity::getId).toList());
+
+            then(archivable).extracting(CaseEntity::getId)
+                .containsExactly(closedLongAgo, closedBeforeCutoff);
+            then(deleted).isEqualTo(2);
+            then(caseRepository.findAll()).extracting(CaseEntity::getId)
+                .containsExactlyInAnyOrder(openLongAgo, closedRecently);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test findChangedAfter")
+    class FindChangedAfterTest {
+
+        @Test
+        void keysetScanIncludesTombstonesInOrder() {
+            var t1 = LocalDateTime.parse("2025-04-04T18:10:00");
+            var t2 = LocalDateTime.parse("2025-04-04T18:20:00");
+            tick(t1);
+            var first = caseRepository.save(newCase(1)).getId();
+            tick(t2);
+            var ids = Stream.concat(Stream.of(first), Stream.of(2, 3)
+                .map(i -> caseRepository.save(newCase(i)).getId())).toList();
+            caseRepository.softDeleteById(ids.get(1), t2);
+
+            var all = caseRepository.findChangedAfter(t1.minusDays(1), 0, t2, 10);
+            var afterFirst = caseRepository.findChangedAfter(t2, ids.get(1), t2, 10);
+            var settled = caseRepository.findChangedAfter(t1.minusDays(1), 0, t1, 10);
+
+            then(all).extracting(CaseEntity::getId).containsExactlyElementsOf(ids);
+            then(all.get(1).getDeletedAt()).isEqualTo(t2);
+            then(afterFirst).extracting(CaseEntity::getId).containsExactly(ids.get(2));
+            then(settled).extracting(CaseEntity::getId).containsExactly(ids.get(0));
+        }
+
+        @Test
+        @DisplayName("""
+            Given cases were modified at different times, \
+            When find a page sorted by last modified descending, \
+            Then can get the most recently modified cases first""")
+        void findPageSortedByLastModified() {
+            IntStream.rangeClosed(1, 3).forEach(i -> {
+                tick(now.plusMinutes(i));
+                caseRepository.save(newCase(i));
+            });
+
+            var page = caseRepository.findAll(PageRequest.of(0, 2,
+                Sort.by(Sort.Direction.DESC, "lastModifiedDateTime")));
+
+            then(page.getContent()).extracting(CaseEntity::getCaseNumber)
+                .containsExactly("CASE_003", "CASE_002");
+            then(page.getTotalElements()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test keyset scrolling")
+    class ScrollTest {
+
+        @Test
+        @DisplayName("""
+            Given live cases share last modified times and one case is deleted, \
+            When scroll pages sorted by last modified descending, \
+            Then can read every live case once with ties ordered by id""")
+        void scrollSortedPages() {
+            tick(now);
+            var ids = IntStream.rangeClosed(1, 4).mapToObj(i -> {
+                if (i == 3) {
+                    tick(now.plusMinutes(1));
+                }
+                var caseEntity = newCase(i);
+                caseEntity.setStatus(i == 4 ? "CLOSED" : "OPEN");
+                return caseRepository.save(caseEntity).getId();
+            }).toList();
+            caseRepository.softDeleteById(ids.get(2), now.plusMinutes(1));
+            var sort = Sort.by(Direction.DESC, "lastModifiedDateTime", "id");
+
+            var first = caseRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+            var second = caseRepository.findAllBy(first.positionAt(1), sort, Limit.of(2));
+            var open = caseRepository.findByStatus("OPEN", ScrollPosition.keyset(), sort,
+                Limit.of(2));
+
+            then(first).extracting(CaseEntity::getId).containsExactly(ids.get(3), ids.get(1));
+            then(first.hasNext()).isTrue();
+            then(second).extracting(CaseEntity::getId).containsExactly(ids.get(0));
+            then(second.hasNext()).isFalse();
+            then(open).extracting(CaseEntity::getId).containsExactly(ids.get(1), ids.get(0));
+            then(open.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("""
+            Given cases of several assignees and one reassigned, \
+            When scroll by assignee, with and without a status, \
+            Then can read only the cases currently assigned to them""")
+        void scrollByAssignee() {
+            var saved = IntStream.rangeClosed(1, 4).mapToObj(i -> {
+                var caseEntity = newCase(i);
+                caseEntity.setStatus(i == 2 ? "CLOSED" : "OPEN");
+                caseEntity.setAssignee(i == 4 ? "bob" : "alice");
+                return caseRepository.save(caseEntity);
+            }).toList();
+            var reassigned = saved.get(2);
+            reassigned.setAssignee("bob");
+            caseRepository.save(reassigned);
+            var sort = Sort.by(Direction.ASC, "id");
+
+            var alice = caseRepository.findByAssignee("alice", ScrollPosition.keyset(), sort,
+                Limit.of(10));
+            var bobOpen = caseRepository.findByAssigneeAndStatus("bob", "OPEN",
+                ScrollPosition.keyset(), sort, Limit.of(1));
+
+            then(alice).extracting(CaseEntity::getId).containsExactly(1L, 2L);
+            then(bobOpen).extracting(CaseEntity::getId).containsExactly(3L);
+            then(bobOpen.hasNext()).isTrue();
+            then(caseRepository.findByAssignee("carol", ScrollPosition.keyset(), sort,
+                Limit.of(10))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test rollback")
+    class RollbackTest {
+
+        void inTransaction(Runnable writes, int status) {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                writes.run();
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), status);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        @Test
+        @DisplayName("""
+            Given a transaction inserted, updated, soft deleted and purged cases, \
+            When it rolls back, \
+            Then can restore every case it replaced, restamped, and drop the ones it inserted""")
+        void undoRolledBackWrites() {
+            var updated = caseRepository.save(newCase(1));
+            var deleted = caseRepository.save(newCase(2));
+            var purged = caseRepository.save(newCase(3));
+            caseRepository.softDeleteById(purged.getId(), now.minusDays(8));
+            tick(now.plusSeconds(1));
+
+            inTransaction(() -> {
+                caseRepository.save(newCase(4));
+                var copy = caseRepository.findForUpdateById(updated.getId()).orElseThrow();
+                copy.setStatus("Closed");
+                caseRepository.save(copy);
+                copy.setAssignee("alice");
+                caseRepository.save(copy);
+                caseRepository.softDeleteById(deleted.getId(), now.plusSeconds(1));
+                caseRepository.purgeTombstones(List.of(purged.getId()));
+                tick(now.plusSeconds(2));
+            }, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            then(caseRepository.findAll()).extracting(CaseEntity::getId, CaseEntity::getStatus,
+                    CaseEntity::getAssignee, CaseEntity::getLastModifiedDateTime)
+                .containsExactly(tuple(1L, "Status 001", null, now.plusSeconds(2)),
+                    tuple(2L, "Status 002", null, now.plusSeconds(2)));
+            then(caseRepository.findByCaseNumber("CASE_004")).isEmpty();
+            then(caseRepository.findByStatus("Closed")).isEmpty();
+            then(caseRepository.findTombstonesDeletedAfter(now.minusDays(9)))
+                .extracting(CaseEntity::getId).containsExactly(purged.getId());
+            then(reopen().findAll()).extracting(CaseEntity::getId).containsExactly(1L, 2L);
+            then(caseRepository.save(newCase(4)).getId()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a transaction updated a case, \
+            When it commits, \
+            Then can keep the update""")
+        void keepCommittedWrites() {
+            var saved = caseRepository.save(newCase(1));
+
+            inTransaction(() -> {
+                saved.setStatus("Closed");
+                caseRepository.save(saved);
+            }, TransactionSynchronization.STATUS_COMMITTED);
+
+            then(caseRepository.findById(saved.getId())).get().extracting(CaseEntity::getStatus)
+                .isEqualTo("Closed");
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a transaction updated a case that another thread updated again after it, \
+            When the transaction rolls back, \
+            Then can keep the other thread's update""")
+        void keepWritesOfOtherTransactions() {
+            var saved = caseRepository.save(newCase(1));
+
+            inTransaction(() -> {
+                saved.setStatus("Closed");
+                caseRepository.save(saved);
+                var other = new Thread(() -> {
+                    var copy = caseRepository.findForUpdateById(saved.getId()).orElseThrow();
+                    copy.setAssignee("alice");
+                    caseRepository.save(copy);
+                });
+                other.start();
+                try {
+                    other.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+            then(caseRepository.findById(saved.getId())).get()
+                .extracting(CaseEntity::getStatus, CaseEntity::getAssignee)
+                .containsExactly("Closed", "alice");
+        }
+    }
+
+    @Nested
+    @DisplayName("Test durability")
+    class DurabilityTest {
+
+        @Test
+        @DisplayName("""
+            Given cases were inserted, updated, soft deleted and purged, \
+            When reopen from the write-ahead log alone, \
+            Then can recover the same state and keep assigning new ids""")
+        void replayLog() {
+            var updated = caseRepository.save(newCase(1));
+            updated.setStatus("Closed");
+            updated.setAssignee("alice");
+            caseRepository.save(updated);
+            var deleted = caseRepository.save(newCase(2));
+            caseRepository.softDeleteById(deleted.getId(), now);
+            var purged = caseRepository.save(newCase(3));
+            caseRepository.softDeleteById(purged.getId(), now.minusDays(8));
+            caseRepository.purgeTombstones(List.of(purged.getId()));
+
+            var recovered = open(DataSize.ofMegabytes(1));
+
+            then(recovered.findAll()).containsExactly(updated);
+            then(recovered.findByStatus("Closed")).containsExactly(updated);
+            then(recovered.findTombstonesDeletedAfter(now.minusDays(1)))
+                .extracting(CaseEntity::getId).containsExactly(deleted.getId());
+            then(recovered.save(newCase(4)).getId()).isEqualTo(4);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a snapshot was written and more cases were inserted after it, \
+            When reopen, \
+            Then can recover from the snapshot plus the newer log and drop older generations""")
+        void recoverFromSnapshot() {
+            var beforeSnapshot = caseRepository.save(newCase(1));
+            then(caseRepository.snapshot()).isTrue();
+            then(caseRepository.snapshot()).isFalse();
+            var afterSnapshot = caseRepository.save(newCase(2));
+
+            var recovered = open(DataSize.ofMegabytes(1));
+
+            then(recovered.findAll()).containsExactly(beforeSnapshot, afterSnapshot);
+            try (var files = Files.list(dir)) {
+                then(files.map(file -> file.getFileName().toString()))
+                    .noneMatch(name -> name.endsWith("0000000001.log"));
+            }
+            then(reopen().findAll()).containsExactly(beforeSnapshot, afterSnapshot);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given the last log record was torn by a crash, \
+            When reopen, \
+            Then can recover every record before it""")
+        void ignoreTornRecord() {
+            var saved = caseRepository.save(newCase(1));
+            caseRepository.save(newCase(2));
+            var segment = WriteAheadLog.segment(dir, 1);
+            // [length][crc][type][payload]: flip bytes inside the second record's payload
+            var secondRecord = 9 + ByteBuffer.wrap(Files.readAllBytes(segment)).getInt(0);
+            try (var channel = Files.newByteChannel(segment, StandardOpenOption.WRITE)) {
+                channel.position(secondRecord + 20);
+                channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+            }
+
+            var recovered = open(DataSize.ofMegabytes(1));
+
+            then(recovered.findAll()).containsExactly(saved);
+        }
+
+        @SneakyThrows
+        @Test
+        @DisplayName("""
+            Given a log record written before cases had an assignee, \
+            When reopen, \
+            Then can read it as an unassigned case""")
+        void replayVersion1Record() {
+            caseRepository.close();
+            var caseEntity = newCase(1);
+            caseEntity.setId(1L);
+            var bytes = new ByteArrayOutputStream();
+            CaseEntityCodec.write(new DataOutputStream(bytes), caseEntity);
+            // version 1 records end before the assignee, written here as a null length of -1
+            var payload = Arrays.copyOf(bytes.toByteArray(), bytes.size() - Integer.BYTES);
+            var wal = new WriteAheadLog(dir, 1024, true);
+            wal.open(2);
+            wal.append(WriteAheadLog.PUT_V1, payload);
+            wal.close();
+
+            var recovered = open(DataSize.ofMegabytes(1));
+
+            then(recovered.findById(1L)).hasValueSatisfying(found -> then(found)
+                .extracting(CaseEntity::getCaseNumber, CaseEntity::getAssignee)
+                .containsExactly("CASE_001", null));
+        }
+
+        @Test
+        @DisplayName("""
+            Given the log segment is small, \
+            When insert more cases than fit in one segment, \
+            Then can roll over to new segments and recover all cases""")
+        void rollOverSegments() {
+            open(DataSize.ofBytes(512));
+
+            var saved = IntStream.rangeClosed(1, 20).mapToObj(
+                i -> caseRepository.save(newCase(i))).toList();
+
+            then(WriteAheadLog.segment(dir, 3)).exists();
+            then(open(DataSize.ofBytes(512)).findAll()).containsExactlyElementsOf(saved);
+        }
+    }
+}
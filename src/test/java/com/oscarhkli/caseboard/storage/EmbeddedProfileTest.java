@@ -0,0 +1,367 @@
+package com.oscarhkli.caseboard.storage;
+
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.mockito.BDDMockito.willReturn;
+
+import com.oscarhkli.caseboard.CaseOperationException;
+import com.oscarhkli.caseboard.CasePatch;
+import com.oscarhkli.caseboard.CaseService;
+import com.oscarhkli.caseboard.SyncToken;
+import com.oscarhkli.caseboard.SyncTokenExpiredException;
+import com.oscarhkli.caseboard.api.Case;
+import com.oscarhkli.caseboard.entity.CaseEntity;
+import com.oscarhkli.caseboard.entity.CaseRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CaseService} scenarios against the embedded store, with the outbox, rollups and open
+ * case counts still in the database. The outbox relay is held back so its rows can be counted.
+ */
+@SpringBootTest(properties = "case-board.outbox.poll-interval=PT1H")
+@ActiveProfiles({"test", "embedded"})
+class EmbeddedProfileTest {
+
+    @Autowired
+    CaseService caseService;
+    @Autowired
+    CaseRepository caseRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @MockitoSpyBean
+    Clock clock;
+
+    @BeforeEach
+    void init() {
+        caseRepository.deleteAll();
+        caseRepository.purgeTombstones(
+            caseRepository.findExpiredTombstoneIds(LocalDateTime.MAX, Integer.MAX_VALUE));
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "case_outbox", "case_daily_rollup",
+            "case_assignee_open_count");
+    }
+
+    static Case newCase(String caseNumber, String status, String assignee) {
+        return Case.builder().caseNumber(caseNumber).title("Title " + caseNumber).status(status)
+            .assignee(assignee).build();
+    }
+
+    long created(String status) {
+        return jdbcTemplate.queryForObject(
+            "select coalesce(sum(created), 0) from case_daily_rollup where status = ?", Long.class,
+            status);
+    }
+
+    int outboxEvents() {
+        return JdbcTestUtils.countRowsInTable(jdbcTemplate, "case_outbox");
+    }
+
+    @Test
+    @DisplayName("""
+        Given the embedded profile is active, \
+        When insert, update and delete a case through the service, \
+        Then can serve it from the embedded store without touching the cases table""")
+    void serveCasesFromEmbeddedStore() {
+        var id = caseService.insertCase(
+            Case.builder().caseNumber("EMBEDDED_001").title("Title").status("OPEN").build());
+        caseService.updateCase(id,
+            Case.builder().caseNumber("EMBEDDED_001").title("Title").status("CLOSED").build());
+
+        then(AopUtils.getTargetClass(caseRepository)).isEqualTo(EmbeddedCaseRepository.class);
+        then(caseService.findCaseById(id)).get().extracting(Case::status).isEqualTo("CLOSED");
+        then(caseService.findCasesByStatus("CLOSED")).extracting(Case::id).containsExactly(id);
+        then(JdbcTestUtils.countRowsInTable(jdbcTemplate, "cases")).isZero();
+
+        caseService.deleteCaseById(id);
+
+        then(caseService.findCaseById(id)).isEmpty();
+    }
+
+    @Nested
+    @DisplayName("Test finding cases")
+    class FindTest {
+
+        @Test
+        @DisplayName("""
+            Given cases of two statuses, \
+            When findAllCases and findCasesByStatus, \
+            Then can list all of them or those of one status""")
+        void findAllAndByStatus() {
+            var open = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", null));
+            var closed = caseService.insertCase(newCase("EMBEDDED_002", "CLOSED", null));
+
+            then(caseService.findAllCases()).extracting(Case::id).containsExactly(open, closed);
+            then(caseService.findCasesByStatus("OPEN")).extracting(Case::id).containsExactly(open);
+        }
+
+        @Test
+        void findCaseById() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", null));
+
+            then(caseService.findCaseById(id)).get().extracting(Case::caseNumber)
+                .isEqualTo("EMBEDDED_001");
+            then(caseService.findCaseById(-1L)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("""
+            Given three cases, \
+            When findCases two at a time, \
+            Then can page through them most recently modified first""")
+        void findPages() {
+            var ids = List.of(caseService.insertCase(newCase("EMBEDDED_001", "OPEN", null)),
+                caseService.insertCase(newCase("EMBEDDED_002", "OPEN", null)),
+                caseService.insertCase(newCase("EMBEDDED_003", "OPEN", null)));
+
+            var first = caseService.findCases(null, null, null, 2, false);
+            var second = caseService.findCases(null, null, first.next(), 2, false);
+
+            then(first.cases()).extracting(Case::id).containsExactly(ids.get(2), ids.get(1));
+            then(second.cases()).extracting(Case::id).containsExactly(ids.get(0));
+            then(second.next()).isNull();
+        }
+
+        @Test
+        @DisplayName("""
+            Given cases assigned to two people, \
+            When findCasesByAssignee with and without a status, \
+            Then can list only that person's cases""")
+        void findByAssignee() {
+            var open = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+            var closed = caseService.insertCase(newCase("EMBEDDED_002", "CLOSED", "alice"));
+            caseService.insertCase(newCase("EMBEDDED_003", "OPEN", "bob"));
+
+            then(caseService.findCasesByAssignee("alice", null, null, null, 10, false).cases())
+                .extracting(Case::id).containsExactly(closed, open);
+            then(caseService.findCasesByAssignee("alice", "OPEN", null, null, 10, false).cases())
+                .extracting(Case::id).containsExactly(open);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case was inserted and another deleted, \
+            When findChangesSince once they have settled, \
+            Then can report both, and nothing after the returned token""")
+        void findChangesSince() {
+            var changed = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", null));
+            var deleted = caseService.insertCase(newCase("EMBEDDED_002", "OPEN", null));
+            caseService.deleteCaseById(deleted);
+            willReturn(Instant.now().plusSeconds(3)).given(clock).instant();
+
+            var changes = caseService.findChangesSince(SyncToken.INITIAL, 10);
+
+            then(changes.changed()).extracting(Case::id).containsExactly(changed);
+            then(changes.deletedIds()).containsExactly(deleted);
+            then(caseService.findChangesSince(changes.nextToken(), 10).changed()).isEmpty();
+        }
+
+        @Test
+        void expiredToken() {
+            var thrown = catchThrowableOfType(SyncTokenExpiredException.class,
+                () -> caseService.findChangesSince(
+                    new SyncToken(LocalDateTime.now().minusDays(30), 1L), 10));
+
+            then(thrown).isNotNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("Test writing cases")
+    class WriteTest {
+
+        @Test
+        @DisplayName("""
+            Given a new case, \
+            When insertCase, \
+            Then can store it and record its rollup, open count and outbox event""")
+        void insertCase() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+
+            then(caseRepository.findById(id)).get().extracting(CaseEntity::getCaseNumber)
+                .isEqualTo("EMBEDDED_001");
+            then(created("OPEN")).isOne();
+            then(caseService.findOpenCaseCount("alice")).isOne();
+            then(outboxEvents()).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case number is taken, \
+            When insertCase with it, \
+            Then can throw CaseOperationException without recording anything""")
+        void insertTakenCaseNumber() {
+            caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+
+            var thrown = catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice")));
+
+            then(thrown).hasMessage("Case number EMBEDDED_001 cannot be reused");
+            then(caseRepository.count()).isOne();
+            then(created("OPEN")).isOne();
+            then(caseService.findOpenCaseCount("alice")).isOne();
+            then(outboxEvents()).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given a chunk of new cases, \
+            When importCases, \
+            Then can store them all with their rollups, open counts and outbox events""")
+        void importCases() {
+            var ids = caseService.importCases(List.of(newCase("EMBEDDED_001", "OPEN", "alice"),
+                newCase("EMBEDDED_002", "CLOSED", "alice"),
+                newCase("EMBEDDED_003", "OPEN", "alice")));
+
+            then(caseRepository.findAllById(ids)).hasSize(3);
+            then(created("OPEN")).isEqualTo(2);
+            then(created("CLOSED")).isOne();
+            then(caseService.findOpenCaseCount("alice")).isEqualTo(2);
+            then(outboxEvents()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("""
+            Given one case number of a chunk is taken, \
+            When importCases, \
+            Then can throw CaseOperationException and import none of the chunk""")
+        void importTakenCaseNumber() {
+            caseService.insertCase(newCase("EMBEDDED_002", "OPEN", null));
+
+            var thrown = catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.importCases(List.of(newCase("EMBEDDED_001", "OPEN", null),
+                    newCase("EMBEDDED_002", "OPEN", null))));
+
+            then(thrown).hasMessage("Case numbers of the import cannot be reused");
+            then(caseRepository.findByCaseNumber("EMBEDDED_001")).isEmpty();
+            then(created("OPEN")).isOne();
+            then(outboxEvents()).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given an open case, \
+            When updateCase to close it, \
+            Then can store the change and take it out of its assignee's open count""")
+        void updateCase() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+
+            caseService.updateCase(id, newCase("EMBEDDED_001", "CLOSED", "alice"));
+
+            then(caseService.findCaseById(id)).get().extracting(Case::status).isEqualTo("CLOSED");
+            then(caseService.findOpenCaseCount("alice")).isZero();
+            then(outboxEvents()).isEqualTo(2);
+            then(catchThrowableOfType(CaseOperationException.class,
+                () -> caseService.updateCase(id + 1, newCase("EMBEDDED_001", "OPEN", null))))
+                .hasMessage("Case <id: %d> not found".formatted(id + 1));
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case, \
+            When patchCase with a change and then with the same change, \
+            Then can write only the first""")
+        void patchCase() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", null));
+
+            then(caseService.patchCase(id, CasePatch.of(Map.of("title", "New title")))).isTrue();
+            then(caseService.patchCase(id, CasePatch.of(Map.of("title", "New title")))).isFalse();
+
+            then(caseService.findCaseById(id)).get().extracting(Case::title)
+                .isEqualTo("New title");
+            then(outboxEvents()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("""
+            Given a case assigned to alice, \
+            When assignCase to bob, \
+            Then can move it to bob's open count""")
+        void assignCase() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+
+            then(caseService.assignCase(id, "bob")).isTrue();
+            then(caseService.assignCase(id, "bob")).isFalse();
+
+            then(caseRepository.findById(id)).get().extracting(CaseEntity::getAssignee)
+                .isEqualTo("bob");
+            then(caseService.findOpenCaseCount("alice")).isZero();
+            then(caseService.findOpenCaseCount("bob")).isOne();
+        }
+
+        @Test
+        @DisplayName("""
+            Given an assigned case, \
+            When deleteCaseById, \
+            Then can leave a tombstone and take it out of its assignee's open count""")
+        void deleteCase() {
+            var id = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+
+            caseService.deleteCaseById(id);
+            caseService.deleteCaseById(id);
+
+            then(caseRepository.findById(id)).isEmpty();
+            then(caseRepository.findTombstonesDeletedAfter(LocalDateTime.MIN))
+                .extracting(CaseEntity::getId).containsExactly(id);
+            then(caseService.findOpenCaseCount("alice")).isZero();
+            then(outboxEvents()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Test rollback")
+    class RollbackTest {
+
+        @Test
+        @DisplayName("""
+            Given a transaction inserted, updated, reassigned and deleted cases, \
+            When it rolls back, \
+            Then can leave the embedded store agreeing with the outbox, rollups and counts""")
+        void rollBackWithTheDatabase() {
+            var kept = caseService.insertCase(newCase("EMBEDDED_001", "OPEN", "alice"));
+            var deleted = caseService.insertCase(newCase("EMBEDDED_002", "OPEN", "alice"));
+            var rollups = jdbcTemplate.queryForList(
+                "select * from case_daily_rollup order by bucket_date, status, shard");
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                caseService.insertCase(newCase("EMBEDDED_003", "OPEN", "alice"));
+                caseService.updateCase(kept, newCase("EMBEDDED_001", "CLOSED", "alice"));
+                caseService.assignCase(kept, "bob");
+                caseService.deleteCaseById(deleted);
+                status.setRollbackOnly();
+            });
+
+            then(caseRepository.findAll())
+                .extracting(CaseEntity::getId, CaseEntity::getStatus, CaseEntity::getAssignee)
+                .containsExactly(tuple(kept, "OPEN", "alice"),
+                    tuple(deleted, "OPEN", "alice"));
+            then(caseRepository.findByCaseNumber("EMBEDDED_003")).isEmpty();
+            then(caseRepository.findTombstonesDeletedAfter(LocalDateTime.MIN)).isEmpty();
+            then(jdbcTemplate.queryForList(
+                "select * from case_daily_rollup order by bucket_date, status, shard"))
+                .isEqualTo(rollups);
+            then(caseService.findOpenCaseCount("alice")).isEqualTo(2);
+            then(caseService.findOpenCaseCount("bob")).isZero();
+            then(outboxEvents()).isEqualTo(2);
+            then(caseService.insertCase(newCase("EMBEDDED_003", "OPEN", null))).isNotNull();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.oscarhkli.caseboard.storage;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    @Test
+    @DisplayName("""
+        Given random puts and removes over a small key range, \
+        When compare with a HashMap, \
+        Then can hold the same entries through collisions, resizes and backward shifts""")
+    void matchesHashMap() {
+        var map = new LongObjectHashMap<String>();
+        var expected = new HashMap<Long, String>();
+        var random = new Random(42);
+
+        for (var i = 0; i < 100_000; i++) {
+            var key = 1 + random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                then(map.remove(key)).isEqualTo(expected.remove((long) key));
+            } else {
+                then(map.put(key, "v" + i)).isEqualTo(expected.put((long) key, "v" + i));
+            }
+        }
+
+        then(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> then(map.get(key)).isEqualTo(value));
+        var values = new ArrayList<String>();
+        map.forEach(values::add);
+        then(values).containsExactlyInAnyOrderElementsOf(expected.values());
+        then(map.get(0)).isNull();
+    }
+}
@@ -0,0 +1,69 @@
+package com.oscarhkli.caseboard.tracing;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSpanExporterTest {
+
+    @TempDir
+    Path dir;
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given two spans exported separately, \
+        When export, \
+        Then can append one OTLP JSON request per line""")
+    void appendOtlpJson() {
+        var path = dir.resolve("traces/traces.ndjson");
+        try (var tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(path))).build()) {
+            var tracer = tracerProvider.get("test");
+
+            tracer.spanBuilder("case-service#find-case-by-id").startSpan().end();
+            tracer.spanBuilder("query").startSpan().end();
+        }
+
+        var lines = Files.readAllLines(path);
+        then(lines).hasSize(2);
+        var request = new ObjectMapper().readTree(lines.getFirst());
+        then(request.at("/resourceSpans/0/scopeSpans/0/spans/0/name").asText())
+            .isEqualTo("case-service#find-case-by-id");
+        then(new ObjectMapper().readTree(lines.getLast())
+            .at("/resourceSpans/0/scopeSpans/0/spans/0/name").asText()).isEqualTo("query");
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given an exporter that has been shut down, \
+        When another exporter exports to a second file, \
+        Then can write the span to the second file only""")
+    void shutdownReleasesLogger() {
+        var first = dir.resolve("first.ndjson");
+        var second = dir.resolve("second.ndjson");
+
+        export(first, "first");
+        export(second, "second");
+
+        then(Files.readAllLines(first)).hasSize(1);
+        then(Files.readAllLines(second)).singleElement().asString().contains("\"second\"");
+    }
+
+    @SneakyThrows
+    void export(Path path, String spanName) {
+        try (var tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(path))).build()) {
+            tracerProvider.get("test").spanBuilder(spanName).startSpan().end();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.oscarhkli.caseboard.tracing;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FlushObservationListenerTest {
+
+    List<Observation.Context> stopped = new ArrayList<>();
+    ObservationRegistry observationRegistry = ObservationRegistry.create();
+
+    @BeforeEach
+    void init() {
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("""
+        Given a full and a partial flush, \
+        When each ends, \
+        Then can observe both with their type and counts""")
+    void observeFlushes() {
+        var listener = new FlushObservationListener(observationRegistry);
+
+        listener.flushStart();
+        listener.flushEnd(3, 1);
+        listener.partialFlushStart();
+        listener.partialFlushEnd(2, 0);
+
+        then(stopped).hasSize(2);
+        then(stopped.getFirst().getName()).isEqualTo("hibernate.flush");
+        then(stopped.getFirst().getAllKeyValues()).contains(KeyValue.of("type", "full"),
+            KeyValue.of("entities", "3"), KeyValue.of("collections", "1"));
+        then(stopped.getLast().getAllKeyValues()).contains(KeyValue.of("type", "partial"),
+            KeyValue.of("entities", "2"));
+    }
+
+    @Test
+    @DisplayName("""
+        Given a flush that never ended, \
+        When the session ends, \
+        Then can stop its observation once""")
+    void stopOnSessionEnd() {
+        var listener = new FlushObservationListener(observationRegistry);
+
+        listener.flushStart();
+        listener.end();
+        listener.end();
+
+        then(stopped).hasSize(1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.oscarhkli.caseboard.tracing;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class ObservedJsonHttpMessageConverterTest {
+
+    record Body(long id, String title) {
+
+    }
+
+    @SneakyThrows
+    @Test
+    @DisplayName("""
+        Given a response body, \
+        When write, \
+        Then can write the same JSON and observe the serialization tagged with the body type""")
+    void observeWrite() {
+        var stopped = new ArrayList<Observation.Context>();
+        var observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        var converter = new ObservedJsonHttpMessageConverter(new ObjectMapper(),
+            observationRegistry);
+        var outputMessage = new MockHttpOutputMessage();
+
+        converter.write(new Body(7, "Lost card"), MediaType.APPLICATION_JSON, outputMessage);
+
+        then(new ObjectMapper().readValue(outputMessage.getBodyAsString(),
+            new TypeReference<Map<String, Object>>() {
+            }))
+            .isEqualTo(Map.of("id", 7, "title", "Lost card"));
+        then(stopped).extracting(Observation.Context::getName).isEqualTo(List.of("http.json.write"));
+        then(stopped.getFirst().getLowCardinalityKeyValues())
+            .containsExactly(KeyValue.of("type", "Body"));
+    }
+}